@@ -0,0 +1,56 @@
+package edu.union.adt.graph.benchmarks;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import edu.union.adt.graph.*;
+
+
+/**
+ * Measures building a whole graph, with addEdge one edge at a time
+ * and with a single addEdges call, for the same shapes, sizes and
+ * implementations as GraphBenchmark.
+ * @author Neil Daterao
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class BuildBenchmark {
+
+    private static final long SEED = 260L;
+
+    @Param({"SPARSE", "DENSE", "POWER_LAW", "GRID"})
+    public Shape shape;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int edges;
+
+    @Param({"DEFAULT", "INDEXED", "HASHED", "COMPACT", "CONCURRENT"})
+    public Implementation impl;
+
+    private EdgeList edgeList;
+    private List<Map.Entry<Integer, Integer>> entries;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        edgeList = shape.generate(edges, new Random(SEED));
+        entries = edgeList.entries();
+    }
+
+    @Benchmark
+    public Graph<Integer> addEdges()
+    {
+        return edgeList.toGraph(impl);
+    }
+
+    @Benchmark
+    public Graph<Integer> addEdgesBulk()
+    {
+        Graph<Integer> g = impl.<Integer>create();
+        g.addEdges(entries);
+        return g;
+    }
+}
@@ -0,0 +1,107 @@
+package edu.union.adt.graph.benchmarks;
+
+import java.util.*;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.IntGraph;
+
+
+/**
+ * A synthetic graph kept as two parallel arrays of vertex numbers.
+ * Every edge in the list is distinct, so feeding the list to
+ * Graph.addEdge produces a graph with exactly size() edges.
+ * @author Neil Daterao
+ */
+public class EdgeList {
+
+    private final int numVertices;
+    private final int[] sources;
+    private final int[] targets;
+    private final Integer[] boxed;
+
+    EdgeList(int numVertices, int[] sources, int[] targets)
+    {
+        this.numVertices = numVertices;
+        this.sources = sources;
+        this.targets = targets;
+
+        // Box every vertex once so all graphs built from this list
+        // share the same Integer objects.
+        boxed = new Integer[numVertices];
+        for (int i = 0; i < numVertices; i++) { boxed[i] = i; }
+    }
+
+    /**
+     * @return the number of vertices in the list.
+     */
+    public int numVertices() { return numVertices; }
+
+    /**
+     * @return the number of edges in the list.
+     */
+    public int size() { return sources.length; }
+
+    /**
+     * @return the source vertex of edge i.
+     */
+    public Integer source(int i) { return boxed[sources[i]]; }
+
+    /**
+     * @return the target vertex of edge i.
+     */
+    public Integer target(int i) { return boxed[targets[i]]; }
+
+    /**
+     * @return the boxed form of vertex number v.
+     */
+    public Integer vertex(int v) { return boxed[v]; }
+
+    /**
+     * Builds a graph holding every vertex and edge of this list.
+     *
+     * @param impl the kind of graph to build
+     * @return the new graph
+     */
+    public Graph<Integer> toGraph(Implementation impl)
+    {
+        Graph<Integer> g = impl.<Integer>create();
+        fill(g);
+        return g;
+    }
+
+    /**
+     * Adds every vertex and edge of this list to a graph.
+     *
+     * @param g the graph to fill
+     */
+    public void fill(Graph<Integer> g)
+    {
+        for (int v = 0; v < numVertices; v++) { g.addVertex(boxed[v]); }
+        for (int i = 0; i < sources.length; i++) { g.addEdge(boxed[sources[i]], boxed[targets[i]]); }
+    }
+
+    /**
+     * Adds every vertex and edge of this list to an IntGraph, without
+     * boxing.
+     *
+     * @param g the graph to fill
+     */
+    public void fill(IntGraph g)
+    {
+        for (int v = 0; v < numVertices; v++) { g.addVertex(v); }
+        for (int i = 0; i < sources.length; i++) { g.addEdge(sources[i], targets[i]); }
+    }
+
+    /**
+     * @return the edges of this list as (source, target) pairs, for
+     * Graph.addEdges.
+     */
+    public List<Map.Entry<Integer, Integer>> entries()
+    {
+        List<Map.Entry<Integer, Integer>> entries = new ArrayList<>(sources.length);
+        for (int i = 0; i < sources.length; i++) {
+            entries.add(new AbstractMap.SimpleImmutableEntry<>(boxed[sources[i]], boxed[targets[i]]));
+        }
+        return entries;
+    }
+}
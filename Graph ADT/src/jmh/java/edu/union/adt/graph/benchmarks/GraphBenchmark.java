@@ -0,0 +1,331 @@
+package edu.union.adt.graph.benchmarks;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import edu.union.adt.graph.*;
+
+
+/**
+ * JMH benchmarks for every operation of the Graph interface.  Each
+ * benchmark runs against every combination of shape, edge count and
+ * implementation below.  Queries
+ * pick their vertices from fixed, seeded tables so two builds see the
+ * same workload.
+ *
+ * Run with `gradle jmh`; see build.gradle for how to narrow a run.
+ * @author Neil Daterao
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class GraphBenchmark {
+
+    private static final long SEED = 260L;
+    private static final int QUERIES = 1024;
+
+    @Param({"SPARSE", "DENSE", "POWER_LAW", "GRID"})
+    public Shape shape;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int edges;
+
+    @Param({"DEFAULT", "INDEXED", "HASHED", "COMPACT", "CONCURRENT"})
+    public Implementation impl;
+
+    private EdgeList edgeList;
+    private Graph<Integer> graph;
+    private Graph<Integer> copy;
+    private Graph<Integer> rewired; // copy with one edge reversed
+    private Graph<Integer> cached;  // copy behind a cache that holds every query
+
+    private Integer[] from;
+    private Integer[] to;
+    private int next;
+
+    // Vertices removeVertex takes out and puts back, with the edges
+    // needed to put them back.
+    private Integer[] removable;
+    private Integer[][] removableOut;
+    private Integer[][] removableIn;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        Random random = new Random(SEED);
+        edgeList = shape.generate(edges, random);
+        graph = edgeList.toGraph(impl);
+        copy = edgeList.toGraph(impl);
+        rewired = edgeList.toGraph(impl);
+        cached = GraphFactory.createCachingGraph(copy, QUERIES);
+        for (int e = 0; e < edgeList.size(); e++) {
+            Integer source = edgeList.source(e);
+            Integer target = edgeList.target(e);
+            if (!rewired.hasEdge(target, source)) {
+                rewired.removeEdge(source, target);
+                rewired.addEdge(target, source);
+                break;
+            }
+        }
+
+        from = new Integer[QUERIES];
+        to = new Integer[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            // Half the pairs are edges of the graph, half are random.
+            if (i % 2 == 0) {
+                int e = random.nextInt(edgeList.size());
+                from[i] = edgeList.source(e);
+                to[i] = edgeList.target(e);
+            }
+            else {
+                from[i] = edgeList.vertex(random.nextInt(edgeList.numVertices()));
+                to[i] = edgeList.vertex(random.nextInt(edgeList.numVertices()));
+            }
+        }
+
+        removable = new Integer[QUERIES];
+        Map<Integer, Integer> slot = new HashMap<>();
+        for (int i = 0; i < QUERIES; i++) {
+            removable[i] = edgeList.vertex(random.nextInt(edgeList.numVertices()));
+            slot.put(removable[i], i);
+        }
+        List<List<Integer>> out = new ArrayList<>();
+        List<List<Integer>> in = new ArrayList<>();
+        for (int i = 0; i < QUERIES; i++) {
+            out.add(new ArrayList<Integer>());
+            in.add(new ArrayList<Integer>());
+        }
+        for (int e = 0; e < edgeList.size(); e++) {
+            Integer source = slot.get(edgeList.source(e));
+            Integer target = slot.get(edgeList.target(e));
+            if (source != null) { out.get(source).add(edgeList.target(e)); }
+            if (target != null) { in.get(target).add(edgeList.source(e)); }
+        }
+        removableOut = new Integer[QUERIES][];
+        removableIn = new Integer[QUERIES][];
+        for (int i = 0; i < QUERIES; i++) {
+            // A vertex drawn twice only keeps its edges in its last slot.
+            int last = slot.get(removable[i]);
+            removableOut[i] = out.get(last).toArray(new Integer[0]);
+            removableIn[i] = in.get(last).toArray(new Integer[0]);
+        }
+    }
+
+    private int nextQuery()
+    {
+        next = (next + 1) & (QUERIES - 1);
+        return next;
+    }
+
+    /**
+     * Adds an edge that is already in the graph, which is the
+     * duplicate check addEdge does on every call.  Building a graph
+     * from scratch is measured by BuildBenchmark.
+     */
+    @Benchmark
+    public Graph<Integer> addEdge()
+    {
+        int e = nextQuery() % edgeList.size();
+        graph.addEdge(edgeList.source(e), edgeList.target(e));
+        return graph;
+    }
+
+    @Benchmark
+    public boolean hasEdge()
+    {
+        int q = nextQuery();
+        return graph.hasEdge(from[q], to[q]);
+    }
+
+    @Benchmark
+    public void adjacentTo(Blackhole bh)
+    {
+        int q = nextQuery();
+        for (Integer v : graph.adjacentTo(from[q])) { bh.consume(v); }
+    }
+
+    /**
+     * Visits the same neighbors as adjacentTo, through forEachNeighbor.
+     */
+    @Benchmark
+    public void forEachNeighbor(Blackhole bh)
+    {
+        graph.forEachNeighbor(from[nextQuery()], bh::consume);
+    }
+
+    /**
+     * Removes a vertex and then restores it with all of its edges, so
+     * the graph is the same size on every invocation.  The score
+     * includes the cost of the addEdge calls that restore it.
+     */
+    @Benchmark
+    public Graph<Integer> removeVertex()
+    {
+        int q = nextQuery();
+        Integer v = removable[q];
+        graph.removeVertex(v);
+        graph.addVertex(v);
+        for (Integer w : removableOut[q]) { graph.addEdge(v, w); }
+        for (Integer u : removableIn[q]) { graph.addEdge(u, v); }
+        return graph;
+    }
+
+    @Benchmark
+    public int numEdges()
+    {
+        return graph.numEdges();
+    }
+
+    @Benchmark
+    public boolean hasPath()
+    {
+        int q = nextQuery();
+        return graph.hasPath(from[q], to[q]);
+    }
+
+    @Benchmark
+    public int pathLength()
+    {
+        int q = nextQuery();
+        return graph.pathLength(from[q], to[q]);
+    }
+
+    /**
+     * pathLength on the same pairs through a CachingGraph, which after
+     * the first round answers every query from its cache.
+     */
+    @Benchmark
+    public int pathLengthCached()
+    {
+        int q = nextQuery();
+        return cached.pathLength(from[q], to[q]);
+    }
+
+    @Benchmark
+    public Iterable<Integer> getPath()
+    {
+        int q = nextQuery();
+        return graph.getPath(from[q], to[q]);
+    }
+
+    /**
+     * One search from a source, then QUERIES path lengths from it.
+     * Compare with QUERIES calls of pathLength.
+     */
+    @Benchmark
+    public int shortestPathTreeFanOut()
+    {
+        ShortestPathTree<Integer> tree = graph.shortestPathTree(from[nextQuery()]);
+        int sum = 0;
+        for (Integer target : to) { sum += tree.pathLength(target); }
+        return sum;
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> distancesFrom()
+    {
+        return graph.distancesFrom(from[nextQuery()]);
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> distancesFromParallel()
+    {
+        return graph.distancesFrom(from[nextQuery()], ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Removes and re-adds one edge, then takes a snapshot: what a
+     * reader refreshing its copy of a slowly changing graph pays.
+     */
+    @Benchmark
+    public Graph<Integer> snapshot()
+    {
+        int e = nextQuery() % edgeList.size();
+        graph.removeEdge(edgeList.source(e), edgeList.target(e));
+        graph.addEdge(edgeList.source(e), edgeList.target(e));
+        return graph.snapshot();
+    }
+
+    /**
+     * Compares two separately built graphs with the same edges, the
+     * worst case for equals.
+     */
+    @Benchmark
+    public boolean equalsCopy()
+    {
+        return graph.equals(copy);
+    }
+
+    /**
+     * Compares graphs with the same vertex and edge counts that differ
+     * in one edge, the case the fingerprint is there to catch.
+     */
+    @Benchmark
+    public boolean equalsRewired()
+    {
+        return graph.equals(rewired);
+    }
+
+    /**
+     * Compares two separately built graphs with the same edges as
+     * sets, the worst case for equalsIgnoringOrder.
+     */
+    @Benchmark
+    public boolean equalsIgnoringOrderCopy()
+    {
+        return graph.equalsIgnoringOrder(copy);
+    }
+
+    @Benchmark
+    public boolean equalsIgnoringOrderCopyParallel()
+    {
+        return graph.equalsIgnoringOrder(copy, ForkJoinPool.commonPool());
+    }
+
+    @Benchmark
+    public int hashCodeGraph()
+    {
+        return graph.hashCode();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public String toStringWhole()
+    {
+        return graph.toString();
+    }
+
+    /**
+     * Streams the whole graph to a writer that drops what it is given,
+     * so only the cost of walking and formatting is measured.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void writeTo() throws IOException
+    {
+        graph.writeTo(new Writer() {
+            @Override
+            public void write(char[] buffer, int offset, int length) { }
+
+            @Override
+            public void flush() { }
+
+            @Override
+            public void close() { }
+        });
+    }
+
+    @Benchmark
+    public String toStringCapped()
+    {
+        return graph.toString(200);
+    }
+}
@@ -0,0 +1,57 @@
+package edu.union.adt.graph.benchmarks;
+
+import edu.union.adt.graph.*;
+
+
+/**
+ * The Graph implementations the benchmarks compare, by the factory
+ * method that creates them.
+ * @author Neil Daterao
+ */
+public enum Implementation {
+
+    /**
+     * GraphFactory.createGraph
+     */
+    DEFAULT {
+        @Override
+        <V> Graph<V> create() { return GraphFactory.<V>createGraph(); }
+    },
+
+    /**
+     * GraphFactory.createGraph(GraphOption.REVERSE_INDEX)
+     */
+    INDEXED {
+        @Override
+        <V> Graph<V> create() { return GraphFactory.<V>createGraph(GraphOption.REVERSE_INDEX); }
+    },
+
+    /**
+     * GraphFactory.createGraph(GraphOption.HASHED_ADJACENCY)
+     */
+    HASHED {
+        @Override
+        <V> Graph<V> create() { return GraphFactory.<V>createGraph(GraphOption.HASHED_ADJACENCY); }
+    },
+
+    /**
+     * GraphFactory.createCompactGraph
+     */
+    COMPACT {
+        @Override
+        <V> Graph<V> create() { return GraphFactory.<V>createCompactGraph(); }
+    },
+
+    /**
+     * GraphFactory.createConcurrentGraph
+     */
+    CONCURRENT {
+        @Override
+        <V> Graph<V> create() { return GraphFactory.<V>createConcurrentGraph(); }
+    };
+
+    /**
+     * @return a new, empty graph of this implementation.
+     */
+    abstract <V> Graph<V> create();
+}
@@ -0,0 +1,84 @@
+package edu.union.adt.graph.benchmarks;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import edu.union.adt.graph.*;
+
+
+/**
+ * Compares IntGraph with GraphImpl of Integer on the same edge lists:
+ * building the graph, and pathLength between random pairs.  Run with
+ * "-prof gc" to compare the bytes each allocates.
+ * @author Neil Daterao
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class IntGraphBenchmark {
+
+    private static final long SEED = 260L;
+    private static final int QUERIES = 1024;
+
+    @Param({"SPARSE", "POWER_LAW", "GRID"})
+    public Shape shape;
+
+    @Param({"100000", "1000000"})
+    public int edges;
+
+    private EdgeList edgeList;
+    private IntGraph intGraph;
+    private Graph<Integer> boxedGraph;
+    private int[] from;
+    private int[] to;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        Random random = new Random(SEED);
+        edgeList = shape.generate(edges, random);
+        intGraph = GraphFactory.createIntGraph();
+        edgeList.fill(intGraph);
+        boxedGraph = edgeList.toGraph(Implementation.DEFAULT);
+
+        from = new int[QUERIES];
+        to = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            from[i] = random.nextInt(edgeList.numVertices());
+            to[i] = random.nextInt(edgeList.numVertices());
+        }
+    }
+
+    @Benchmark
+    public IntGraph buildInt()
+    {
+        IntGraph g = GraphFactory.createIntGraph();
+        edgeList.fill(g);
+        return g;
+    }
+
+    @Benchmark
+    public Graph<Integer> buildBoxed()
+    {
+        return edgeList.toGraph(Implementation.DEFAULT);
+    }
+
+    @Benchmark
+    public int pathLengthInt()
+    {
+        int q = next;
+        next = (next + 1) & (QUERIES - 1);
+        return intGraph.pathLength(from[q], to[q]);
+    }
+
+    @Benchmark
+    public int pathLengthBoxed()
+    {
+        int q = next;
+        next = (next + 1) & (QUERIES - 1);
+        return boxedGraph.pathLength(edgeList.vertex(from[q]), edgeList.vertex(to[q]));
+    }
+}
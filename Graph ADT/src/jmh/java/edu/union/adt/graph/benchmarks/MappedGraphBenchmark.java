@@ -0,0 +1,98 @@
+package edu.union.adt.graph.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import edu.union.adt.graph.*;
+
+
+/**
+ * Measures graphs served from a file by MappedGraph: opening the
+ * file, and the queries answered straight from the mapping.  The
+ * file is written once per trial from a compact graph.
+ * @author Neil Daterao
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class MappedGraphBenchmark {
+
+    private static final long SEED = 260L;
+    private static final int QUERIES = 1024;
+
+    @Param({"SPARSE", "DENSE", "POWER_LAW", "GRID"})
+    public Shape shape;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int edges;
+
+    private Path file;
+    private Graph<Integer> graph;
+    private Integer[] from;
+    private Integer[] to;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException
+    {
+        Random random = new Random(SEED);
+        EdgeList edgeList = shape.generate(edges, random);
+        file = Files.createTempFile("graph", ".bin");
+        MappedGraph.write(edgeList.toGraph(Implementation.COMPACT), file, VertexCodec.INTEGERS);
+        graph = MappedGraph.open(file, VertexCodec.INTEGERS);
+
+        from = new Integer[QUERIES];
+        to = new Integer[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            int e = random.nextInt(edgeList.size());
+            from[i] = edgeList.source(e);
+            to[i] = i % 2 == 0 ? edgeList.target(e) : edgeList.vertex(random.nextInt(edgeList.numVertices()));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException
+    {
+        graph = null;
+        Files.deleteIfExists(file);
+    }
+
+    private int nextQuery()
+    {
+        next = (next + 1) & (QUERIES - 1);
+        return next;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Graph<Integer> open() throws IOException
+    {
+        return MappedGraph.open(file, VertexCodec.INTEGERS);
+    }
+
+    @Benchmark
+    public boolean hasEdge()
+    {
+        int q = nextQuery();
+        return graph.hasEdge(from[q], to[q]);
+    }
+
+    @Benchmark
+    public void adjacentTo(Blackhole bh)
+    {
+        for (Integer v : graph.adjacentTo(from[nextQuery()])) { bh.consume(v); }
+    }
+
+    @Benchmark
+    public int degree()
+    {
+        return graph.degree(from[nextQuery()]);
+    }
+}
@@ -0,0 +1,88 @@
+package edu.union.adt.graph.benchmarks;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import edu.union.adt.graph.*;
+
+
+/**
+ * Compares answering hasPath from a ReachabilityIndex with searching
+ * the graph, and measures building the index and, on its own, the
+ * strongly connected components it starts from.
+ * @author Neil Daterao
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ReachabilityBenchmark {
+
+    private static final long SEED = 260L;
+    private static final int QUERIES = 1024;
+
+    @Param({"SPARSE", "DENSE", "POWER_LAW", "GRID"})
+    public Shape shape;
+
+    @Param({"1000", "100000", "1000000"})
+    public int edges;
+
+    private Graph<Integer> graph;
+    private ReachabilityIndex<Integer> index;
+    private Integer[] from;
+    private Integer[] to;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        Random random = new Random(SEED);
+        EdgeList edgeList = shape.generate(edges, random);
+        graph = edgeList.toGraph(Implementation.DEFAULT);
+        index = new ReachabilityIndex<>(graph);
+
+        from = new Integer[QUERIES];
+        to = new Integer[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            from[i] = edgeList.vertex(random.nextInt(edgeList.numVertices()));
+            to[i] = edgeList.vertex(random.nextInt(edgeList.numVertices()));
+        }
+    }
+
+    private int nextQuery()
+    {
+        next = (next + 1) & (QUERIES - 1);
+        return next;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ReachabilityIndex<Integer> build()
+    {
+        return new ReachabilityIndex<>(graph);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public StronglyConnectedComponents<Integer> components()
+    {
+        return new StronglyConnectedComponents<>(graph);
+    }
+
+    @Benchmark
+    public boolean hasPathIndexed()
+    {
+        int q = nextQuery();
+        return index.hasPath(from[q], to[q]);
+    }
+
+    @Benchmark
+    public boolean hasPathSearch()
+    {
+        int q = nextQuery();
+        return graph.hasPath(from[q], to[q]);
+    }
+}
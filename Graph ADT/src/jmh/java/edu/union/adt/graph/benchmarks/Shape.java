@@ -0,0 +1,151 @@
+package edu.union.adt.graph.benchmarks;
+
+import java.util.*;
+
+
+/**
+ * The synthetic graph shapes the benchmarks run against.  Each shape
+ * generates a list of distinct edges of the requested size from a
+ * seeded Random, so a given (shape, edges, seed) always yields the
+ * same graph.
+ * @author Neil Daterao
+ */
+public enum Shape {
+
+    /**
+     * Uniformly random edges, about four out-edges per vertex.
+     */
+    SPARSE {
+        @Override
+        EdgeList generate(int edges, Random random)
+        {
+            int numVertices = Math.max(8, edges / 4);
+            return banded(numVertices, edges, random);
+        }
+    },
+
+    /**
+     * About sqrt(edges) vertices with every vertex adjacent to most of
+     * the others.
+     */
+    DENSE {
+        @Override
+        EdgeList generate(int edges, Random random)
+        {
+            int numVertices = Math.max(2, (int) Math.ceil(Math.sqrt(edges)) + 1);
+            return banded(numVertices, edges, random);
+        }
+    },
+
+    /**
+     * Preferential attachment (Barabasi-Albert): each new vertex links
+     * to four earlier vertices picked in proportion to their degree, so
+     * a few hubs collect most of the edges.
+     */
+    POWER_LAW {
+        @Override
+        EdgeList generate(int edges, Random random)
+        {
+            final int m = 4;
+            int numVertices = edges / m + m + 1;
+            int[] sources = new int[edges];
+            int[] targets = new int[edges];
+
+            // Every edge endpoint goes in here once, so sampling it
+            // uniformly samples vertices in proportion to degree.
+            int[] endpoints = new int[2 * edges + m];
+            int numEndpoints = 0;
+            for (int v = 0; v < m; v++) { endpoints[numEndpoints++] = v; }
+
+            int[] picked = new int[m];
+            int count = 0;
+            for (int v = m; v < numVertices && count < edges; v++) {
+                int numPicked = 0;
+                while (numPicked < m && count + numPicked < edges) {
+                    int candidate = endpoints[random.nextInt(numEndpoints)];
+                    boolean duplicate = false;
+                    for (int i = 0; i < numPicked; i++) {
+                        if (picked[i] == candidate) { duplicate = true; }
+                    }
+                    if (!duplicate) { picked[numPicked++] = candidate; }
+                }
+                for (int i = 0; i < numPicked; i++) {
+                    sources[count] = v;
+                    targets[count] = picked[i];
+                    count++;
+                    endpoints[numEndpoints++] = v;
+                    endpoints[numEndpoints++] = picked[i];
+                }
+            }
+            return new EdgeList(numVertices, sources, targets);
+        }
+    },
+
+    /**
+     * A square lattice with edges to the right and downward neighbors,
+     * giving long shortest paths (diameter about 2 * sqrt(V)).
+     */
+    GRID {
+        @Override
+        EdgeList generate(int edges, Random random)
+        {
+            int side = Math.max(2, (int) Math.ceil(Math.sqrt(edges / 2.0)) + 1);
+            int[] sources = new int[edges];
+            int[] targets = new int[edges];
+            int count = 0;
+            for (int row = 0; row < side && count < edges; row++) {
+                for (int col = 0; col < side && count < edges; col++) {
+                    int v = row * side + col;
+                    if (col + 1 < side) {
+                        sources[count] = v;
+                        targets[count] = v + 1;
+                        count++;
+                    }
+                    if (row + 1 < side && count < edges) {
+                        sources[count] = v;
+                        targets[count] = v + side;
+                        count++;
+                    }
+                }
+            }
+            return new EdgeList(side * side, sources, targets);
+        }
+    };
+
+    /**
+     * Generates the edges of this shape.
+     *
+     * @param edges the number of edges to generate
+     * @param random the source of randomness
+     * @return the edges
+     */
+    abstract EdgeList generate(int edges, Random random);
+
+    /**
+     * Spreads edges evenly over the vertices.  A vertex with d
+     * out-edges splits the other vertices into d bands and picks one
+     * random target per band, which keeps its targets distinct without
+     * having to check for duplicates.
+     */
+    private static EdgeList banded(int numVertices, int edges, Random random)
+    {
+        int[] sources = new int[edges];
+        int[] targets = new int[edges];
+        int perVertex = edges / numVertices;
+        int extra = edges % numVertices;
+        int count = 0;
+
+        for (int u = 0; u < numVertices; u++) {
+            int degree = Math.min(numVertices - 1, perVertex + (u < extra ? 1 : 0));
+            if (degree == 0) { continue; }
+            int band = (numVertices - 1) / degree;
+            for (int k = 0; k < degree && count < edges; k++) {
+                int offset = 1 + k * band + random.nextInt(band);
+                sources[count] = u;
+                targets[count] = (u + offset) % numVertices;
+                count++;
+            }
+        }
+        return new EdgeList(numVertices, Arrays.copyOf(sources, count), Arrays.copyOf(targets, count));
+    }
+}
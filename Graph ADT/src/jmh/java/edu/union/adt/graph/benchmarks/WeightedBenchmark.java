@@ -0,0 +1,98 @@
+package edu.union.adt.graph.benchmarks;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleBiFunction;
+
+import org.openjdk.jmh.annotations.*;
+
+import edu.union.adt.graph.*;
+
+
+/**
+ * Measures cheapest-path queries on a square grid of vertices with
+ * edges both ways between neighbors, weighted 1 to 10: Dijkstra's
+ * algorithm, A* with the Manhattan distance as its heuristic, and,
+ * for scale, the unweighted breadth-first pathLength.
+ * @author Neil Daterao
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class WeightedBenchmark {
+
+    private static final long SEED = 260L;
+    private static final int QUERIES = 1024;
+
+    @Param({"100", "1000"})
+    public int side;
+
+    private WeightedGraph<Integer> graph;
+    private ToDoubleBiFunction<Integer, Integer> manhattan;
+    private Integer[] from;
+    private Integer[] to;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        Random random = new Random(SEED);
+        graph = GraphFactory.createWeightedGraph();
+        for (int row = 0; row < side; row++) {
+            for (int column = 0; column < side; column++) {
+                int v = row * side + column;
+                if (column + 1 < side) {
+                    graph.addEdge(v, v + 1, 1 + random.nextInt(10));
+                    graph.addEdge(v + 1, v, 1 + random.nextInt(10));
+                }
+                if (row + 1 < side) {
+                    graph.addEdge(v, v + side, 1 + random.nextInt(10));
+                    graph.addEdge(v + side, v, 1 + random.nextInt(10));
+                }
+            }
+        }
+        final int width = side;
+        manhattan = (a, b) -> Math.abs(a / width - b / width) + Math.abs(a % width - b % width);
+
+        from = new Integer[QUERIES];
+        to = new Integer[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            from[i] = random.nextInt(side * side);
+            to[i] = random.nextInt(side * side);
+        }
+    }
+
+    private int nextQuery()
+    {
+        next = (next + 1) & (QUERIES - 1);
+        return next;
+    }
+
+    @Benchmark
+    public double dijkstra()
+    {
+        int q = nextQuery();
+        return graph.pathCost(from[q], to[q]);
+    }
+
+    @Benchmark
+    public double aStar()
+    {
+        int q = nextQuery();
+        return graph.pathCost(from[q], to[q], manhattan);
+    }
+
+    @Benchmark
+    public Iterable<Integer> cheapestPath()
+    {
+        int q = nextQuery();
+        return graph.getCheapestPath(from[q], to[q]);
+    }
+
+    @Benchmark
+    public int pathLength()
+    {
+        int q = nextQuery();
+        return graph.pathLength(from[q], to[q]);
+    }
+}
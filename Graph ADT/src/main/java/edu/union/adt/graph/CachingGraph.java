@@ -0,0 +1,529 @@
+package edu.union.adt.graph;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+
+/**
+ *  Graph decorator that remembers the shortest paths it has found.
+ *  hasPath, pathLength and getPath between two vertices of the graph
+ *  search the wrapped graph once, and answer repeated queries for the
+ *  same pair from a cache until a change to the graph could have
+ *  changed the answer.  Every other method is passed straight to the
+ *  wrapped graph.
+ *
+ *  <p>The cache holds at most a fixed number of pairs and evicts the
+ *  least recently used.  Each pair keeps the shortest path found for
+ *  it (or that there is none), which answers all three queries.
+ *  Queries where either vertex is not in the graph are not cached.
+ *
+ *  <p>Invalidation:
+ *  <ul>
+ *  <li>addVertex changes no answer between vertices already in the
+ *  graph, so it keeps the cache.
+ *  <li>addEdge and addEdges, when they add an edge, can shorten or
+ *  create paths between any pair, so they advance a version stamp.
+ *  Pairs cached under an older version are dropped when next looked
+ *  up, so this is O(1).
+ *  <li>removeEdge and removeVertex can only lengthen or break paths
+ *  that went through what was removed, so they drop just the pairs
+ *  whose cached path uses the removed edge or vertex (and the pairs
+ *  of a removed vertex).  A pair with no path stays cached.  This
+ *  walks the cached paths, not the graph.
+ *  </ul>
+ *  Changes made to the wrapped graph directly, rather than through
+ *  this decorator, are not seen and leave stale answers in the cache.
+ *
+ *  <p>Modifying the graph is no more thread-safe than the wrapped
+ *  graph allows, but the cache itself is locked, so queries may run
+ *  from any number of threads if the wrapped graph allows that.
+ *
+ *  @author Neil Daterao
+ */
+public class CachingGraph<V> implements Graph<V>, Indexable {
+
+    private final Graph<V> graph;
+    private final Map<Pair, Cached<V>> cache; // in least recently used order
+    private long version;                     // advanced when an edge is added
+    private long changes;                     // advanced by every change; guards stores
+
+    /**
+     * A (from, to) query.
+     */
+    private static final class Pair {
+        final Object from;
+        final Object to;
+
+        Pair(Object from, Object to)
+        {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean equals(Object other)
+        {
+            if (!(other instanceof Pair)) { return false; }
+            Pair pair = (Pair) other;
+            return from.equals(pair.from) && to.equals(pair.to);
+        }
+
+        @Override
+        public int hashCode() { return 31 * from.hashCode() + to.hashCode(); }
+    }
+
+    /**
+     * The shortest path of a pair, empty if there is none, and the
+     * version it was found at.
+     */
+    private static final class Cached<V> {
+        final List<V> path;
+        final long version;
+
+        Cached(List<V> path, long version)
+        {
+            this.path = path;
+            this.version = version;
+        }
+    }
+
+    /**
+     * Wraps a graph in a cache of shortest paths.
+     *
+     * @param graph the graph to wrap.  It should only be changed
+     * through the new decorator from now on.
+     * @param maxEntries the most (from, to) pairs to keep
+     * @throws IllegalArgumentException if maxEntries is not positive
+     */
+    public CachingGraph(Graph<V> graph, final int maxEntries)
+    {
+        if (maxEntries <= 0) { throw new IllegalArgumentException("Cache size must be positive: " + maxEntries); }
+
+        this.graph = graph;
+        cache = new LinkedHashMap<Pair, Cached<V>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Pair, Cached<V>> eldest) { return size() > maxEntries; }
+        };
+    }
+
+    /**
+     * @return the graph this decorator wraps
+     */
+    public Graph<V> getGraph()
+    {
+        return graph;
+    }
+
+    /**
+     * @return the id-based view of the wrapped graph, which is copied
+     * if it is not a graph of this package
+     */
+    @Override
+    public IndexedGraph indexedView()
+    {
+        return IndexedCopy.viewOf(graph);
+    }
+
+    /**
+     * @return true iff the wrapped graph's hashCode is its fingerprint
+     */
+    @Override
+    public boolean hasFingerprint()
+    {
+        return graph instanceof Indexable && ((Indexable) graph).hasFingerprint();
+    }
+
+    /**
+     * Private helper that gets the shortest path between two vertices
+     * of the graph, from the cache or by searching.
+     *
+     * @return the path, or an empty list if there is none; null if
+     * either vertex is not in the graph
+     */
+    private List<V> path(V from, V to)
+    {
+        Pair pair = new Pair(from, to);
+        long searchedAt;
+        synchronized (cache) {
+            Cached<V> cached = cache.get(pair);
+            if (cached != null) {
+                if (cached.version == version) { return cached.path; }
+                cache.remove(pair);
+            }
+            searchedAt = changes;
+        }
+
+        if (!graph.contains(from) || !graph.contains(to)) { return null; }
+
+        List<V> path = new ArrayList<>();
+        for (V vertex : graph.getPath(from, to)) { path.add(vertex); }
+        path = Collections.unmodifiableList(path);
+        synchronized (cache) {
+            // A change during the search may have made the path stale.
+            if (changes == searchedAt) { cache.put(pair, new Cached<>(path, version)); }
+        }
+        return path;
+    }
+
+    /**
+     * Private helper that records a change that can shorten or create
+     * paths, which makes every cached pair stale.
+     */
+    private void pathsAdded()
+    {
+        synchronized (cache) {
+            version++;
+            changes++;
+        }
+    }
+
+    /**
+     * Private helper that records the removal of an edge (or, with to
+     * null, of a vertex and its edges) and drops the pairs it affects.
+     */
+    private void pathsRemoved(V from, V to)
+    {
+        synchronized (cache) {
+            changes++;
+            for (Iterator<Map.Entry<Pair, Cached<V>>> entries = cache.entrySet().iterator(); entries.hasNext(); ) {
+                Map.Entry<Pair, Cached<V>> entry = entries.next();
+                Pair pair = entry.getKey();
+                List<V> path = entry.getValue().path;
+                boolean stale;
+                if (entry.getValue().version != version) { stale = true; }
+                else if (to == null) { stale = pair.from.equals(from) || pair.to.equals(from) || path.contains(from); }
+                else { stale = usesEdge(path, from, to); }
+                if (stale) { entries.remove(); }
+            }
+        }
+    }
+
+    /**
+     * Private helper that tells whether a path follows a given edge.
+     */
+    private static boolean usesEdge(List<?> path, Object from, Object to)
+    {
+        for (int i = 0; i + 1 < path.size(); i++) {
+            if (path.get(i).equals(from) && path.get(i + 1).equals(to)) { return true; }
+        }
+        return false;
+    }
+
+    /**
+     * @return the number of vertices in the graph.
+     */
+    @Override
+    public int numVertices() { return graph.numVertices(); }
+
+    /**
+     * @return the number of edges in the graph.
+     */
+    @Override
+    public int numEdges() { return graph.numEdges(); }
+
+    /**
+     * Gets the out-degree of a vertex.
+     *
+     * @param vertex the vertex
+     * @return the number of edges from vertex, as the wrapped graph
+     * gives it
+     */
+    @Override
+    public int degree(V vertex) { return graph.degree(vertex); }
+
+    /**
+     * Gets the in-degree of a vertex.
+     *
+     * @param vertex the vertex
+     * @return the number of edges to vertex, as the wrapped graph
+     * gives it
+     */
+    @Override
+    public int inDegree(V vertex) { return graph.inDegree(vertex); }
+
+    /**
+     * Adds a directed edge between two vertices, adding the vertices
+     * if they are not in the graph.  If the edge is new, every cached
+     * pair becomes stale.
+     *
+     * @param from the source vertex for the added edge
+     * @param to the destination vertex for the added edge
+     */
+    @Override
+    public void addEdge(V from, V to)
+    {
+        int edges = graph.numEdges();
+        graph.addEdge(from, to);
+        if (graph.numEdges() != edges) { pathsAdded(); }
+    }
+
+    /**
+     * Adds a batch of directed edges, as addEdge does for each.  If any
+     * edge is new, every cached pair becomes stale.
+     *
+     * @param edges the edges to add, as (from, to) entries
+     */
+    @Override
+    public void addEdges(Iterable<? extends Map.Entry<? extends V, ? extends V>> edges)
+    {
+        int count = graph.numEdges();
+        graph.addEdges(edges);
+        if (graph.numEdges() != count) { pathsAdded(); }
+    }
+
+    /**
+     * Adds a vertex to the graph.  The cache is kept, since a vertex
+     * without edges changes no path.
+     *
+     * @param vertex the vertex to add
+     */
+    @Override
+    public void addVertex(V vertex) { graph.addVertex(vertex); }
+
+    /**
+     * @return an iterable collection for the set of vertices of the
+     * graph, as the wrapped graph gives it
+     */
+    @Override
+    public Collection<V> getVertices() { return graph.getVertices(); }
+
+    /**
+     * Gets the vertices adjacent to a given vertex.
+     *
+     * @param from the source vertex
+     * @return the successors of 'from', as the wrapped graph gives
+     * them
+     */
+    @Override
+    public Collection<V> adjacentTo(V from) { return graph.adjacentTo(from); }
+
+    @Override
+    public void forEachNeighbor(V from, Consumer<? super V> action) { graph.forEachNeighbor(from, action); }
+
+    /**
+     * Gets the vertices with an edge to a given vertex.
+     *
+     * @param to the destination vertex
+     * @return the predecessors of 'to', as the wrapped graph gives
+     * them
+     */
+    @Override
+    public Collection<V> adjacentFrom(V to) { return graph.adjacentFrom(to); }
+
+    /**
+     * Tells whether a vertex is in the graph.
+     *
+     * @param vertex a vertex
+     * @return true iff 'vertex' is in the graph
+     */
+    @Override
+    public boolean contains(V vertex) { return graph.contains(vertex); }
+
+    /**
+     * Tells whether an edge is in the graph.
+     *
+     * @param from the source vertex of the edge
+     * @param to the destination vertex of the edge
+     * @return true iff there is an edge from 'from' to 'to'
+     */
+    @Override
+    public boolean hasEdge(V from, V to) { return graph.hasEdge(from, to); }
+
+    /**
+     * @return the string representation of the wrapped graph
+     */
+    @Override
+    public String toString() { return graph.toString(); }
+
+    /**
+     * @param maxLength the most characters of the representation to
+     * give before cutting it off
+     * @return the string representation of the wrapped graph, cut off
+     * as it cuts it off
+     */
+    @Override
+    public String toString(int maxLength) { return graph.toString(maxLength); }
+
+    /**
+     * Writes the string representation of the wrapped graph.
+     *
+     * @param out where to write the representation
+     * @throws IOException if out does
+     */
+    @Override
+    public void writeTo(Appendable out) throws IOException { graph.writeTo(out); }
+
+    /**
+     * @return true iff the graph has no vertices
+     */
+    @Override
+    public boolean isEmpty() { return graph.isEmpty(); }
+
+    /**
+     * Removes a vertex and every edge to or from it, and drops the
+     * cached pairs of the vertex and those whose path goes through it.
+     *
+     * @param toRemove the vertex to remove
+     */
+    @Override
+    public void removeVertex(V toRemove)
+    {
+        if (!graph.contains(toRemove)) { return; }
+
+        graph.removeVertex(toRemove);
+        pathsRemoved(toRemove, null);
+    }
+
+    /**
+     * Removes an edge, and drops the cached pairs whose path follows
+     * it.
+     *
+     * @param from the source vertex of the edge
+     * @param to the destination vertex of the edge
+     */
+    @Override
+    public void removeEdge(V from, V to)
+    {
+        int edges = graph.numEdges();
+        graph.removeEdge(from, to);
+        if (graph.numEdges() != edges) { pathsRemoved(from, to); }
+    }
+
+    /**
+     * Tells whether there is a path connecting two given vertices, as
+     * the wrapped graph does, answering from the cache when it can.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return true iff there is a path from 'from' to 'to' in the graph.
+     */
+    @Override
+    public boolean hasPath(V from, V to)
+    {
+        List<V> path = path(from, to);
+        return path != null && !path.isEmpty();
+    }
+
+    /**
+     * Gets the length of the shortest path connecting two given
+     * vertices, as the wrapped graph does, answering from the cache
+     * when it can.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return the length of the shortest path from 'from' to 'to' in
+     * the graph.  If there is no path, returns Integer.MAX_VALUE
+     */
+    @Override
+    public int pathLength(V from, V to)
+    {
+        List<V> path = path(from, to);
+        if (path == null) { return graph.pathLength(from, to); } // not cached
+        return path.isEmpty() ? Integer.MAX_VALUE : path.size() - 1;
+    }
+
+    /**
+     * Gets the distances from a vertex, as the wrapped graph does.
+     * Not cached.
+     *
+     * @param source the source vertex
+     * @return a map from each vertex reachable from 'source' to the
+     * length of the shortest path to it
+     */
+    @Override
+    public Map<V, Integer> distancesFrom(V source) { return graph.distancesFrom(source); }
+
+    /**
+     * Gets the distances from a vertex on a pool, as the wrapped graph
+     * does.  Not cached.
+     *
+     * @param source the source vertex
+     * @param pool the pool to run the search on
+     * @return a map from each vertex reachable from 'source' to the
+     * length of the shortest path to it
+     */
+    @Override
+    public Map<V, Integer> distancesFrom(V source, ForkJoinPool pool) { return graph.distancesFrom(source, pool); }
+
+    /**
+     * Returns the vertices along the shortest path connecting two
+     * given vertices, as the wrapped graph does, answering from the
+     * cache when it can.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return an unmodifiable list of the vertices along the shortest
+     * path from 'from' to 'to', including both; empty if there is no
+     * path
+     */
+    @Override
+    public Iterable<V> getPath(V from, V to)
+    {
+        List<V> path = path(from, to);
+        return path == null ? Collections.<V>emptyList() : path;
+    }
+
+    /**
+     * Finds the shortest paths from a vertex, as the wrapped graph
+     * does.  Not cached: the tree itself answers repeated queries.
+     *
+     * @param source the source vertex
+     * @return the shortest paths from 'source'
+     */
+    @Override
+    public ShortestPathTree<V> shortestPathTree(V source) { return graph.shortestPathTree(source); }
+
+    /**
+     * @return a snapshot of the wrapped graph
+     */
+    @Override
+    public Graph<V> snapshot() { return graph.snapshot(); }
+
+    /**
+     * Checks if two caching graphs wrap equal graphs.
+     *
+     * @param otherObj object you are checking is equal
+     * @return true iff otherObj is a CachingGraph whose wrapped graph
+     * equals this one's
+     */
+    @Override
+    public boolean equals(Object otherObj)
+    {
+        if (this == otherObj) { return true; }
+        if (!(otherObj instanceof CachingGraph)) { return false; }
+        return graph.equals(((CachingGraph<?>) otherObj).graph);
+    }
+
+    /**
+     * @return the hash code of the wrapped graph
+     */
+    @Override
+    public int hashCode() { return graph.hashCode(); }
+
+    /**
+     * Compares vertex and edge sets with another graph, as the wrapped
+     * graph does.
+     *
+     * @param other the graph to compare with
+     * @return true iff the two graphs have the same set of vertices
+     * and the same set of edges
+     */
+    @Override
+    public boolean equalsIgnoringOrder(Graph<?> other) { return graph.equalsIgnoringOrder(other); }
+
+    /**
+     * Compares vertex and edge sets with another graph on a pool, as
+     * the wrapped graph does.
+     *
+     * @param other the graph to compare with
+     * @param pool the pool to compare on
+     * @return true iff the two graphs have the same set of vertices
+     * and the same set of edges
+     */
+    @Override
+    public boolean equalsIgnoringOrder(Graph<?> other, ForkJoinPool pool) { return graph.equalsIgnoringOrder(other, pool); }
+}
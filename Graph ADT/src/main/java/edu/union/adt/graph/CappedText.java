@@ -0,0 +1,94 @@
+package edu.union.adt.graph;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+
+/**
+ * The Appendable behind the toString methods of the graphs.  It
+ * collects what Graph.writeTo writes and, once a length limit is
+ * passed, stops the writing by throwing, so a capped toString of a
+ * huge graph only walks as much of the graph as it shows.
+ * @author Neil Daterao
+ */
+final class CappedText implements Appendable {
+
+    /**
+     * Thrown to stop writeTo once the limit is passed, and only ever
+     * caught below.  It is unchecked so that it can be built with
+     * neither a stack trace nor suppressed exceptions: with nothing
+     * to record, the one shared instance holds no state, so threads
+     * capping at once cannot see each other's traces or leak them.
+     */
+    private static final class Full extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        Full()
+        {
+            super(null, null, false, false);
+        }
+    }
+
+    private static final Full FULL = new Full();
+
+    private final StringBuilder text = new StringBuilder();
+    private final int maxLength;
+
+    private CappedText(int maxLength)
+    {
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Gives the string representation of a graph, cut off after
+     * maxLength characters.  A cut-off representation ends with
+     * "..." after the first maxLength characters.
+     *
+     * @param graph the graph
+     * @param maxLength the most characters of the representation to
+     * keep
+     * @return the representation
+     */
+    static String of(Graph<?> graph, int maxLength)
+    {
+        if (maxLength < 0) { throw new IllegalArgumentException("Negative length: " + maxLength); }
+
+        CappedText out = new CappedText(maxLength);
+        try {
+            graph.writeTo(out);
+        } catch (Full e) {
+            out.text.setLength(maxLength);
+            out.text.append("...");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // graphs only throw what the Appendable throws
+        }
+        return out.text.toString();
+    }
+
+    @Override
+    public Appendable append(CharSequence csq) throws IOException
+    {
+        text.append(csq);
+        return checked();
+    }
+
+    @Override
+    public Appendable append(CharSequence csq, int start, int end) throws IOException
+    {
+        text.append(csq, start, end);
+        return checked();
+    }
+
+    @Override
+    public Appendable append(char c) throws IOException
+    {
+        text.append(c);
+        return checked();
+    }
+
+    private Appendable checked()
+    {
+        if (text.length() > maxLength) { throw FULL; }
+        return this;
+    }
+}
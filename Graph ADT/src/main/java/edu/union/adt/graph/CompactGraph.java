@@ -0,0 +1,1211 @@
+package edu.union.adt.graph;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+
+/**
+ *  Graph implementation that stores adjacency in compressed sparse
+ *  row (CSR) form.  Every vertex is interned to a dense int id, and
+ *  the neighbors of vertex i are the ids targets[offsets[i]] through
+ *  targets[ends[i] - 1].  An edge therefore costs 4 bytes, and the
+ *  neighbors of a vertex sit next to each other in memory.
+ *
+ *  CSR rows cannot grow in place, so new edges first go to a pending
+ *  buffer, where the pending edges of each vertex are chained in the
+ *  order they were added.  Reads walk a vertex's row and then its
+ *  chain.  Only writes fold the buffer into the rows (compact): once
+ *  the buffer is as large as the rows, or once there are as many ids
+ *  of removed vertices as live ones.  compact() does it on demand.
+ *  The implementation is best suited to building a graph and then
+ *  querying it, since pending edges are slower to walk than rows.
+ *
+ *  Reads never change the graph's structure, so any number of threads
+ *  may read a CompactGraph at once as long as none writes.  The only
+ *  state a read fills in is a cache: the reverse rows below, and the
+ *  last snapshot.  Each is published as one immutable object, so
+ *  readers racing to build it at worst build it twice.
+ *
+ *  In-degrees are counted, so inDegree is O(1) and removeVertex stops
+ *  scanning rows once it has found every edge into the vertex.  The
+ *  reverse rows (the transpose) are only built when distancesFrom
+ *  needs them, and are dropped again when the edges change.  While
+ *  they exist, path searches also run from both ends.
+ *
+ *  Views returned by getVertices and adjacentTo are only valid until
+ *  the graph is next modified; using one after that throws a
+ *  ConcurrentModificationException.
+ *
+ *  @author Neil Daterao
+ */
+public class CompactGraph<V> implements Graph<V>, Indexable {
+
+    private static final int MIN_PENDING = 1024;
+    private static final int PENDING_CAPACITY = 16; // of the buffer when empty
+
+    private Map<V, Integer> ids;
+    private Object[] vertices;      // id -> vertex, null if removed
+    private int numIds;
+    private int numVertices;
+    private int numEdges;
+    private int fingerprint;        // see Fingerprint; kept current like numEdges
+
+    private int[] offsets;          // id -> start of row in targets
+    private int[] ends;             // id -> end of row in targets
+    private int[] degrees;          // id -> out-degree, pending included
+    private int[] inDegrees;        // id -> in-degree, pending included
+    private int[] targets;
+    private int numRows;            // ids with a row in targets
+
+    private Reverse reverse;        // the transpose, null unless built
+
+    private int[] pendingFrom;
+    private int[] pendingTo;        // -1 once the pending edge is removed
+    private int[] pendingNext;      // pending edge -> next one from the same source, -1 at the end
+    private int[] pendingHead;      // id -> its first pending edge, -1 if none
+    private int[] pendingTail;      // id -> its last pending edge, if it has one
+    private int numPending;
+    private LongHashSet pendingEdges;
+
+    private final IndexedGraph indexed = new Indexed();
+    private FrozenGraph<V> frozen; // the last snapshot, dropped on any change
+    private int modCount; // bumped on any change, so views can fail fast
+
+    /**
+     * Create an empty graph.
+     */
+    public CompactGraph()
+    {
+        this(0, 0);
+    }
+
+    /**
+     * Create an empty graph sized to hold a number of vertices without
+     * rehashing or growing its tables.
+     *
+     * @param expectedVertices the number of vertices expected
+     * @param expectedEdges the number of edges expected.  Unused: the
+     * rows are sized exactly at each compaction, and the pending
+     * buffer only has to hold the edges added since the last one.
+     */
+    public CompactGraph(int expectedVertices, int expectedEdges)
+    {
+        int capacity = Math.max(16, expectedVertices);
+        ids = new HashMap<>((int) Math.min(1 << 30, expectedVertices / 0.75 + 1));
+        vertices = new Object[capacity];
+        offsets = new int[capacity];
+        ends = new int[capacity];
+        degrees = new int[capacity];
+        inDegrees = new int[capacity];
+        targets = new int[0];
+        pendingHead = new int[capacity];
+        pendingTail = new int[capacity];
+        emptyPending();
+    }
+
+    /**
+     * The reverse rows, built together and published as one object so
+     * that concurrent readers never see half of them.
+     */
+    private static final class Reverse {
+        final int[] offsets; // id -> start of its predecessors in targets
+        final int[] targets;
+
+        Reverse(int[] offsets, int[] targets)
+        {
+            this.offsets = offsets;
+            this.targets = targets;
+        }
+    }
+
+    /**
+     * @return the number of vertices in the graph.
+     */
+    @Override
+    public int numVertices()
+    {
+        return numVertices;
+    }
+
+    /**
+     * @return the number of edges in the graph.
+     */
+    @Override
+    public int numEdges()
+    {
+        return numEdges;
+    }
+
+    /**
+     * Gets the number of vertices connected by edges from a given
+     * vertex.  If the given vertex is not in the graph, throws a
+     * RuntimeException.
+     *
+     * @param vertex the vertex whose degree we want.
+     * @return the degree of vertex 'vertex'
+     */
+    @Override
+    public int degree(V vertex)
+    {
+        Integer id = ids.get(vertex);
+        if (id == null) { throw new RuntimeException("Vertex Not In Graph"); }
+
+        return degrees[id];
+    }
+
+    /**
+     * Gets the number of vertices with an edge to a given vertex.  If
+     * the given vertex is not in the graph, throws a
+     * RuntimeException.
+     *
+     * @param vertex the vertex whose in-degree we want.
+     * @return the in-degree of vertex 'vertex'
+     */
+    @Override
+    public int inDegree(V vertex)
+    {
+        Integer id = ids.get(vertex);
+        if (id == null) { throw new RuntimeException("Vertex Not In Graph"); }
+
+        return inDegrees[id];
+    }
+
+    /**
+     * Adds a directed edge between two vertices.  If there is already an edge
+     * between the given vertices, does nothing.  If either (or both)
+     * of the given vertices does not exist, it is added to the
+     * graph before the edge is created between them.
+     *
+     * @param from the source vertex for the added edge
+     * @param to the destination vertex for the added edge
+     */
+    @Override
+    public void addEdge(V from, V to)
+    {
+        int fromId = intern(from);
+        int toId = intern(to);
+        if (hasEdge(fromId, toId)) { return; }
+
+        addPending(fromId, toId);
+
+        // Keep the buffer no bigger than the rows so each edge is
+        // copied a constant number of times on average.
+        if (numPending >= Math.max(MIN_PENDING, numEdges - numPending)) { compact(); }
+    }
+
+    /**
+     * Adds a directed edge for each (source, destination) pair, with
+     * the same result as calling addEdge on each pair in order.  All
+     * the edges go to the pending buffer, which is sized for them up
+     * front when their number is known, and are folded into the rows
+     * in a single compaction at the end, which also frees the buffer.
+     *
+     * @param edges the edges to add, as (source, destination) pairs
+     */
+    @Override
+    public void addEdges(Iterable<? extends Map.Entry<? extends V, ? extends V>> edges)
+    {
+        if (edges instanceof Collection) {
+            int capacity = numPending + ((Collection<?>) edges).size();
+            if (capacity > pendingFrom.length) {
+                pendingFrom = Arrays.copyOf(pendingFrom, capacity);
+                pendingTo = Arrays.copyOf(pendingTo, capacity);
+                pendingNext = Arrays.copyOf(pendingNext, capacity);
+            }
+            if (numPending == 0 && pendingEdges.size() == 0) { pendingEdges = new LongHashSet(capacity); }
+        }
+
+        for (Map.Entry<? extends V, ? extends V> edge : edges) {
+            int fromId = intern(edge.getKey());
+            int toId = intern(edge.getValue());
+            if (!hasEdge(fromId, toId)) { addPending(fromId, toId); }
+        }
+        compact();
+    }
+
+    /**
+     * Private helper that appends a new edge to the pending buffer and
+     * to the chain of its source.
+     */
+    private void addPending(int fromId, int toId)
+    {
+        if (numPending == pendingFrom.length) {
+            pendingFrom = Arrays.copyOf(pendingFrom, numPending * 2);
+            pendingTo = Arrays.copyOf(pendingTo, numPending * 2);
+            pendingNext = Arrays.copyOf(pendingNext, numPending * 2);
+        }
+        pendingFrom[numPending] = fromId;
+        pendingTo[numPending] = toId;
+        pendingNext[numPending] = -1;
+        if (pendingHead[fromId] < 0) { pendingHead[fromId] = numPending; }
+        else { pendingNext[pendingTail[fromId]] = numPending; }
+        pendingTail[fromId] = numPending;
+        numPending++;
+        pendingEdges.add(LongHashSet.edgeKey(fromId, toId));
+        dropReverse();
+        frozen = null;
+        modCount++;
+        degrees[fromId]++;
+        inDegrees[toId]++;
+        numEdges++;
+        fingerprint += Fingerprint.edge(Fingerprint.vertex(vertices[fromId]), Fingerprint.vertex(vertices[toId]));
+    }
+
+    /**
+     * Adds a vertex to the graph.  If the vertex already exists in
+     * the graph, does nothing.  If the vertex does not exist, it is
+     * added to the graph, with no edges connected to it.
+     *
+     * @param vertex the vertex to add
+     */
+    @Override
+    public void addVertex(V vertex)
+    {
+        intern(vertex);
+    }
+
+    /**
+     * @return the an iterable collection for the set of vertices of
+     * the graph.
+     */
+    @Override
+    public Collection<V> getVertices()
+    {
+        final int expected = modCount;
+        return new AbstractCollection<V>() {
+            @Override
+            public Iterator<V> iterator()
+            {
+                checkUnchanged(expected);
+                return new Iterator<V>() {
+                    private int next = skipRemoved(0);
+
+                    @Override
+                    public boolean hasNext()
+                    {
+                        return next < numIds;
+                    }
+
+                    @Override
+                    public V next()
+                    {
+                        checkUnchanged(expected);
+                        if (next >= numIds) { throw new NoSuchElementException(); }
+                        V vertex = vertexAt(next);
+                        next = skipRemoved(next + 1);
+                        return vertex;
+                    }
+                };
+            }
+
+            @Override
+            public int size()
+            {
+                checkUnchanged(expected);
+                return numVertices;
+            }
+        };
+    }
+
+    /**
+     * Gets the vertices adjacent to a given vertex.  A vertex y is
+     * "adjacent to" vertex x if there is an edge (x, y) in the graph.
+     * Because edges are directed, if (x, y) is an edge but (y, x) is
+     * not an edge, we would say that y is adjacent to x but that x is
+     * NOT adjacent to y.
+     *
+     * @param from the source vertex
+     * @return an iterable collection for the set of vertices that are
+     * the destinations of edges for which 'from' is the source
+     * vertex.  If 'from' is not a vertex in the graph, returns an
+     * empty iterator.
+     */
+    @Override
+    public Collection<V> adjacentTo(V from)
+    {
+        final Integer id = ids.get(from);
+        if (id == null) { return Collections.emptyList(); }
+
+        final int start = offsets[id];
+        final int end = ends[id];
+        final int expected = modCount;
+        return new AbstractList<V>() {
+            @Override
+            public V get(int index)
+            {
+                checkUnchanged(expected);
+                if (index < 0 || index >= degrees[id]) { throw new IndexOutOfBoundsException(); }
+                if (start + index < end) { return vertexAt(targets[start + index]); }
+
+                int p = pendingHead[id];
+                for (int k = start + index - end; k > 0; k--) { p = pendingNext[p]; }
+                return vertexAt(pendingTo[p]);
+            }
+
+            @Override
+            public int size()
+            {
+                checkUnchanged(expected);
+                return degrees[id];
+            }
+
+            @Override
+            public Iterator<V> iterator()
+            {
+                checkUnchanged(expected);
+                return new Iterator<V>() {
+                    private int next = start;
+                    private int pending = pendingHead[id];
+
+                    @Override
+                    public boolean hasNext()
+                    {
+                        return next < end || pending >= 0;
+                    }
+
+                    @Override
+                    public V next()
+                    {
+                        checkUnchanged(expected);
+                        if (next < end) { return vertexAt(targets[next++]); }
+                        if (pending < 0) { throw new NoSuchElementException(); }
+
+                        V vertex = vertexAt(pendingTo[pending]);
+                        pending = pendingNext[pending];
+                        return vertex;
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * Calls an action on each vertex adjacent to a given vertex, in
+     * adjacentTo order, without allocating an iterator.
+     *
+     * @param from the source vertex
+     * @param action the action to call on each destination of an edge
+     * from 'from'.  If 'from' is not a vertex in the graph, it is
+     * never called.
+     */
+    @Override
+    public void forEachNeighbor(V from, Consumer<? super V> action)
+    {
+        Integer id = ids.get(from);
+        if (id == null) { return; }
+
+        for (int i = offsets[id], end = ends[id]; i < end; i++) { action.accept(vertexAt(targets[i])); }
+        for (int p = pendingHead[id]; p >= 0; p = pendingNext[p]) { action.accept(vertexAt(pendingTo[p])); }
+    }
+
+    /**
+     * Gets the vertices a given vertex is adjacent to, i.e. the
+     * predecessors of the vertex.  Scans the rows and the pending
+     * buffer until every edge into the vertex has been found, and
+     * returns a read-only copy of what it found, which later changes
+     * to the graph do not affect.
+     *
+     * @param to the destination vertex
+     * @return an iterable collection for the set of vertices that are
+     * the sources of edges for which 'to' is the destination vertex.
+     * If 'to' is not a vertex in the graph, returns an empty
+     * iterator.
+     */
+    @Override
+    public Collection<V> adjacentFrom(V to)
+    {
+        Integer id = ids.get(to);
+        if (id == null) { return Collections.emptyList(); }
+
+        List<V> sources = new ArrayList<>(inDegrees[id]);
+        for (int u = 0; u < numIds && sources.size() < inDegrees[id]; u++) {
+            if (hasEdge(u, id)) { sources.add(vertexAt(u)); }
+        }
+        return Collections.unmodifiableList(sources);
+    }
+
+    /**
+     * Tells whether or not a vertex is in the graph.
+     *
+     * @param vertex a vertex
+     * @return true iff 'vertex' is a vertex in the graph.
+     */
+    @Override
+    public boolean contains(V vertex)
+    {
+        return ids.containsKey(vertex);
+    }
+
+    /**
+     * Tells whether an edge exists in the graph.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     *
+     * @return true iff there is an edge from the source vertex to the
+     * destination vertex in the graph.  If either of the given
+     * vertices are not vertices in the graph, then there is no edge
+     * between them.
+     */
+    @Override
+    public boolean hasEdge(V from, V to)
+    {
+        Integer fromId = ids.get(from);
+        Integer toId = ids.get(to);
+        if (fromId == null || toId == null) { return false; }
+
+        return hasEdge(fromId, toId);
+    }
+
+    /**
+     * Writes the string representation of the graph (see toString) to
+     * a destination one line at a time, without building a String of
+     * the whole graph.  Vertices are listed in the order
+     * they were added.
+     *
+     * @param out where to write the representation
+     * @throws IOException if out does
+     */
+    @Override
+    public void writeTo(Appendable out) throws IOException
+    {
+        for (int id = 0; id < numIds; id++) {
+            if (vertices[id] == null) { continue; }
+
+            out.append(vertices[id].toString()).append(':');
+            for (int i = offsets[id]; i < ends[id]; i++) {
+                out.append(' ').append(vertices[targets[i]].toString()).append(',');
+            }
+            for (int p = pendingHead[id]; p >= 0; p = pendingNext[p]) {
+                out.append(' ').append(vertices[pendingTo[p]].toString()).append(',');
+            }
+            out.append('\n');
+        }
+    }
+
+    /**
+     * Gives a string representation of the graph, in the format
+     * described by Graph.toString.  Vertices are listed in the order
+     * they were added.
+     *
+     * @return the string representation of the graph
+     */
+    @Override
+    public String toString()
+    {
+        return CappedText.of(this, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Gives the string representation of the graph, cut off after a
+     * given number of characters.  Only the part of the graph that is
+     * shown is visited, so this is safe to call on huge graphs.
+     *
+     * @param maxLength the most characters of the representation to
+     * give
+     * @return the first maxLength characters of toString(), followed
+     * by "..." if the representation is longer than that
+     */
+    @Override
+    public String toString(int maxLength)
+    {
+        return CappedText.of(this, maxLength);
+    }
+
+    /**
+     * Checks if two graph objects are equal. Checks if structure of graphs is identical.
+     * Graphs whose vertex counts, edge counts or fingerprints differ
+     * are told apart in O(1), without comparing rows.  Neither graph
+     * is changed.
+     *
+     * @param otherObj object you are checking is equal
+     * @return true iff graphs are equal. Checks if graphs habe the same vertices and edges.
+     */
+    @Override
+    public boolean equals(Object otherObj)
+    {
+        if (this == otherObj) { return true; }
+        if (otherObj == null || getClass() != otherObj.getClass()) { return false; }
+
+        CompactGraph<?> otherGraph = (CompactGraph<?>) otherObj;
+        if (numVertices != otherGraph.numVertices || numEdges != otherGraph.numEdges) { return false; }
+        if (fingerprint != otherGraph.fingerprint) { return false; }
+
+        int[] mine = new int[16];
+        int[] theirs = new int[16];
+        for (int id = 0; id < numIds; id++) {
+            if (vertices[id] == null) { continue; }
+
+            Integer otherId = otherGraph.ids.get(vertices[id]);
+            if (otherId == null) { return false; }
+            if (degrees[id] != otherGraph.degrees[otherId]) { return false; }
+
+            mine = successorIds(id, mine);
+            theirs = otherGraph.successorIds(otherId, theirs);
+            for (int i = 0; i < degrees[id]; i++) {
+                if (!vertices[mine[i]].equals(otherGraph.vertices[theirs[i]])) { return false; }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gives a hash code that depends only on the vertices and edges of
+     * the graph.  The fingerprint it returns is updated as vertices
+     * and edges are added and removed, so this is O(1) and does not
+     * look at the rows.
+     *
+     * @return the hash code of the graph
+     */
+    @Override
+    public int hashCode()
+    {
+        return fingerprint;
+    }
+
+    /**
+     * Tells whether another graph has the same vertices and edges as
+     * this one, whatever order the neighbors of each vertex are listed
+     * in and whatever the implementation of the other graph.  Runs in
+     * time linear in the size of the graphs (see UnorderedEquals), and
+     * rejects graphs with different counts or fingerprints in O(1).
+     *
+     * @param other the graph to compare with
+     * @return true iff the two graphs have the same set of vertices
+     * and the same set of edges
+     */
+    @Override
+    public boolean equalsIgnoringOrder(Graph<?> other)
+    {
+        return UnorderedEquals.equal(this, other);
+    }
+
+    /**
+     * Tells whether another graph has the same vertices and edges as
+     * this one, as equalsIgnoringOrder(other) does, comparing the
+     * edges of different vertices in parallel on a given pool.  Neither
+     * graph may be modified while they are compared.
+     *
+     * @param other the graph to compare with
+     * @param pool the pool to compare on
+     * @return true iff the two graphs have the same set of vertices
+     * and the same set of edges
+     */
+    @Override
+    public boolean equalsIgnoringOrder(Graph<?> other, ForkJoinPool pool)
+    {
+        return UnorderedEquals.equal(this, other, pool);
+    }
+
+    /**
+     * Tells whether the graph is empty.
+     *
+     * @return true iff the graph is empty. A graph is empty if it has
+     * no vertices and no edges.
+     */
+    @Override
+    public boolean isEmpty()
+    {
+        return numVertices == 0 && numEdges == 0;
+    }
+
+    /**
+     * Removes a vertex from the graph.  Also removes any edges
+     * connecting from the edge or to the edge.
+     *
+     * <p>Postconditions:
+     *
+     * <p>If toRemove was in the graph:
+     * <ul>
+     * <li>numVertices = numVertices' - 1
+     * <li>toRemove is no longer a vertex in the graph
+     * <li>for all vertices v: toRemove is not in adjacentTo(v)
+     * </ul>
+     *
+     * @param toRemove the vertex to remove.
+     */
+    @Override
+    public void removeVertex(V toRemove)
+    {
+        Integer boxed = ids.get(toRemove);
+        if (boxed == null) { return; }
+
+        int id = boxed;
+        dropReverse();
+        int hash = Fingerprint.vertex(toRemove);
+        numEdges -= degrees[id];
+        for (int i = offsets[id]; i < ends[id]; i++) {
+            inDegrees[targets[i]]--;
+            fingerprint -= Fingerprint.edge(hash, Fingerprint.vertex(vertices[targets[i]]));
+        }
+        for (int p = pendingHead[id]; p >= 0; p = pendingNext[p]) {
+            inDegrees[pendingTo[p]]--;
+            fingerprint -= Fingerprint.edge(hash, Fingerprint.vertex(vertices[pendingTo[p]]));
+            pendingEdges.remove(LongHashSet.edgeKey(id, pendingTo[p]));
+            pendingTo[p] = -1;
+        }
+        ends[id] = offsets[id];
+        pendingHead[id] = -1;
+        degrees[id] = 0;
+        for (int u = 0; u < numRows && inDegrees[id] > 0; u++) {
+            if (removeFromRow(u, id)) { numEdges--; }
+        }
+        for (int i = 0; i < numPending && inDegrees[id] > 0; i++) {
+            if (pendingTo[i] == id && removePending(pendingFrom[i], id)) { numEdges--; }
+        }
+
+        ids.remove(toRemove);
+        vertices[id] = null;
+        numVertices--;
+        fingerprint -= hash;
+        frozen = null;
+        modCount++;
+
+        // Drop the ids of removed vertices once they are as many as
+        // the live ones, so each id is copied a constant number of
+        // times on average.
+        if (numIds - numVertices >= Math.max(MIN_PENDING, numVertices)) { compact(); }
+    }
+
+    /**
+     * Removes an edge from the graph.
+     *
+     * <p>Postcondition: If from and to were in the graph and (from,
+     * to) was an edge in the graph, then:
+     * <ul>
+     * <li> numEdges = numEdges' - 1
+     * <li> to is no longer in adjacentTo(from)
+     * </ul>
+     *
+     * @param from the source vertex for the edge
+     * @param to the target vertex for the edge
+     */
+    @Override
+    public void removeEdge(V from, V to)
+    {
+        Integer fromId = ids.get(from);
+        Integer toId = ids.get(to);
+        if (fromId == null || toId == null) { return; }
+
+        if (removeFromRow(fromId, toId) || removePending(fromId, toId)) { numEdges--; }
+    }
+
+    /**
+     * Tells whether there is a path connecting two given vertices.  A
+     * path exists from vertex A to vertex B iff A and B are in the
+     * graph and there exists a sequence x_1, x_2, ..., x_n where:
+     *
+     * <ul>
+     * <li>x_1 = A
+     * <li>x_n = B
+     * <li>for all i from 1 to n-1, (x_i, x_{i+1}) is an edge in the graph.
+     * </ul>
+     *
+     * It therefore follows that if vertex A is in the graph, there
+     * is a path from A to A.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return true iff there is a path from 'from' to 'to' in the graph.
+     */
+    @Override
+    public boolean hasPath(V from, V to)
+    {
+        Integer fromId = ids.get(from);
+        Integer toId = ids.get(to);
+        if (fromId == null || toId == null) { return false; }
+
+        return PathSearch.get().hasPath(indexed, fromId, toId);
+    }
+
+    /**
+     * Gets the length of the shortest path connecting two given
+     * vertices.  The length of a path is the number of edges in the
+     * path.
+     *
+     * <ol>
+     * <li>If from = to, the shortest path has length 0
+     * <li>Otherwise, the shortest path length is the length of the shortest
+     * possible path connecting from to to.
+     * </ol>
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return the length of the shortest path from 'from' to 'to' in
+     * the graph.  If there is no path, returns Integer.MAX_VALUE
+     */
+    @Override
+    public int pathLength(V from, V to)
+    {
+        if (from.equals(to)) { return 0; }
+
+        Integer fromId = ids.get(from);
+        Integer toId = ids.get(to);
+        if (fromId == null || toId == null) { return Integer.MAX_VALUE; }
+
+        int length = PathSearch.get().pathLength(indexed, fromId, toId);
+        return length < 0 ? Integer.MAX_VALUE : length;
+    }
+
+    /**
+     * Gets the length of the shortest path from a given vertex to
+     * every vertex that can be reached from it.
+     *
+     * Runs a single direction-optimizing breadth-first search (see
+     * DirectionOptimizingBfs), building the reverse rows first if
+     * they are not already built.
+     *
+     * @param source the source vertex
+     * @return a map from each vertex reachable from 'source' to the
+     * length of the shortest path to it.  'source' itself maps to 0.
+     * If 'source' is not in the graph, returns an empty map.
+     */
+    @Override
+    public Map<V, Integer> distancesFrom(V source)
+    {
+        Integer sourceId = ids.get(source);
+        if (sourceId == null) { return Collections.emptyMap(); }
+
+        buildReverse();
+        return toMap(DirectionOptimizingBfs.distances(indexed, sourceId));
+    }
+
+    /**
+     * Gets the length of the shortest path from a given vertex to
+     * every vertex that can be reached from it, expanding each level
+     * of the search in parallel on a given pool (see ParallelBfs).
+     * The graph must not be modified while the search runs.
+     *
+     * @param source the source vertex
+     * @param pool the pool to run the search on
+     * @return a map from each vertex reachable from 'source' to the
+     * length of the shortest path to it.  'source' itself maps to 0.
+     * If 'source' is not in the graph, returns an empty map.
+     */
+    @Override
+    public Map<V, Integer> distancesFrom(V source, ForkJoinPool pool)
+    {
+        Integer sourceId = ids.get(source);
+        if (sourceId == null) { return Collections.emptyMap(); }
+
+        return toMap(ParallelBfs.distances(indexed, sourceId, pool));
+    }
+
+    /**
+     * Private helper that turns an array of distances indexed by id
+     * into a map from vertex to distance, leaving out unreached ids.
+     */
+    private Map<V, Integer> toMap(int[] distances)
+    {
+        Map<V, Integer> result = new HashMap<>();
+        for (int id = 0; id < distances.length; id++) {
+            if (distances[id] >= 0) { result.put(vertexAt(id), distances[id]); }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the vertices along the shortest path connecting two
+     * given vertices.  The vertices are given in the order x_1,
+     * x_2, x_3, ..., x_n, where:
+     *
+     * <ol>
+     * <li>x_1 = from
+     * <li>x_n = to
+     * <li>for all i from 1 to n-1: (x_i, x_{i+1}) is an edge in the graph.
+     * </ol>
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return an Iterable collection of vertices along the shortest
+     * path from 'from' to 'to'.  The Iterable includes the source and
+     * destination vertices. If there is no path from 'from' to 'to'
+     * in the graph (e.g. if the vertices are not in the graph),
+     * returns an empty Iterable collection of vertices.
+     */
+    @Override
+    public Iterable<V> getPath(V from, V to)
+    {
+        Integer fromId = ids.get(from);
+        Integer toId = ids.get(to);
+        if (fromId == null || toId == null) { return Collections.emptyList(); }
+
+        int[] pathIds = PathSearch.get().path(indexed, fromId, toId);
+        if (pathIds == null) { return Collections.emptyList(); }
+
+        List<V> path = new ArrayList<>(pathIds.length);
+        for (int id : pathIds) { path.add(vertexAt(id)); }
+        return path;
+    }
+
+    /**
+     * Finds the shortest paths from a vertex to every vertex it
+     * reaches, with one breadth-first search, for answering
+     * pathLength and getPath from that vertex to many targets.
+     *
+     * @param source the source vertex
+     * @return the shortest paths from 'source'.  If 'source' is not in
+     * the graph, the tree reaches no vertex.
+     */
+    @Override
+    public ShortestPathTree<V> shortestPathTree(V source)
+    {
+        return new ShortestPathTree<V>(indexedView(), source);
+    }
+
+    /**
+     * The id-based view of this graph used by the search engines.  The
+     * successors of an id are its row followed by its pending chain.
+     * Has predecessors while the reverse rows are built.
+     */
+    private class Indexed implements IndexedGraph {
+        @Override
+        public int idBound() { return numIds; }
+
+        @Override
+        public boolean isVertex(int id) { return vertices[id] != null; }
+
+        @Override
+        public int edgeCount() { return numEdges; }
+
+        @Override
+        public Object vertex(int id) { return vertices[id]; }
+
+        @Override
+        public int idOf(Object vertex)
+        {
+            Integer id = ids.get(vertex);
+            return id == null ? -1 : id;
+        }
+
+        @Override
+        public int successorCount(int id) { return degrees[id]; }
+
+        @Override
+        public void forEachSuccessor(int id, IntConsumer action)
+        {
+            for (int i = offsets[id]; i < ends[id]; i++) { action.accept(targets[i]); }
+            for (int p = pendingHead[id]; p >= 0; p = pendingNext[p]) { action.accept(pendingTo[p]); }
+        }
+
+        @Override
+        public boolean hasPredecessors() { return reverse != null; }
+
+        @Override
+        public int predecessorCount(int id) { return inDegrees[id]; }
+
+        @Override
+        public void forEachPredecessor(int id, IntConsumer action)
+        {
+            Reverse r = reverse;
+            if (id + 1 >= r.offsets.length) { return; }
+            for (int i = r.offsets[id]; i < r.offsets[id + 1]; i++) { action.accept(r.targets[i]); }
+        }
+
+        @Override
+        public boolean anyPredecessor(int id, IntPredicate test)
+        {
+            Reverse r = reverse;
+            if (id + 1 >= r.offsets.length) { return false; }
+            for (int i = r.offsets[id]; i < r.offsets[id + 1]; i++) {
+                if (test.test(r.targets[i])) { return true; }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Private helper that builds the reverse rows, the row of each
+     * vertex listing the vertices with an edge to it, unless they are
+     * already built.
+     */
+    private void buildReverse()
+    {
+        if (reverse != null) { return; }
+
+        int[] newOffsets = new int[numIds + 1];
+        for (int id = 0; id < numIds; id++) { newOffsets[id + 1] = newOffsets[id] + inDegrees[id]; }
+        int[] fill = Arrays.copyOf(newOffsets, numIds);
+        int[] newTargets = new int[numEdges];
+        for (int u = 0; u < numIds; u++) {
+            for (int i = offsets[u]; i < ends[u]; i++) { newTargets[fill[targets[i]]++] = u; }
+            for (int p = pendingHead[u]; p >= 0; p = pendingNext[p]) { newTargets[fill[pendingTo[p]]++] = u; }
+        }
+        reverse = new Reverse(newOffsets, newTargets);
+    }
+
+    /**
+     * Private helper that drops the reverse rows after a change to the
+     * edges.
+     */
+    private void dropReverse()
+    {
+        reverse = null;
+    }
+
+    /**
+     * Private helper that returns the id of a vertex, adding the
+     * vertex first if it is not in the graph.
+     */
+    private int intern(V vertex)
+    {
+        Integer id = ids.get(vertex);
+        if (id != null) { return id; }
+
+        if (numIds == vertices.length) {
+            int capacity = numIds * 2;
+            vertices = Arrays.copyOf(vertices, capacity);
+            offsets = Arrays.copyOf(offsets, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            degrees = Arrays.copyOf(degrees, capacity);
+            inDegrees = Arrays.copyOf(inDegrees, capacity);
+            pendingHead = Arrays.copyOf(pendingHead, capacity);
+            pendingTail = Arrays.copyOf(pendingTail, capacity);
+        }
+        int newId = numIds++;
+        vertices[newId] = vertex;
+        pendingHead[newId] = -1;
+        ids.put(vertex, newId);
+        numVertices++;
+        fingerprint += Fingerprint.vertex(vertex);
+        frozen = null;
+        modCount++;
+        return newId;
+    }
+
+    /**
+     * @return the id-based view of this graph
+     */
+    @Override
+    public IndexedGraph indexedView()
+    {
+        return indexed;
+    }
+
+    /**
+     * @return true: hashCode is the fingerprint of the graph
+     */
+    @Override
+    public boolean hasFingerprint()
+    {
+        return true;
+    }
+
+    /**
+     * Private helper that makes views fail fast: throws a
+     * ConcurrentModificationException if the graph has changed since
+     * a view was made.
+     */
+    private void checkUnchanged(int expected)
+    {
+        if (modCount != expected) { throw new ConcurrentModificationException("Graph changed while a view of it was in use"); }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V vertexAt(int id)
+    {
+        return (V) vertices[id];
+    }
+
+    private int skipRemoved(int id)
+    {
+        while (id < numIds && vertices[id] == null) { id++; }
+        return id;
+    }
+
+    /**
+     * Private helper that checks both the rows and the pending buffer
+     * for an edge between two ids.
+     */
+    private boolean hasEdge(int fromId, int toId)
+    {
+        if (fromId < numRows) {
+            for (int i = offsets[fromId]; i < ends[fromId]; i++) {
+                if (targets[i] == toId) { return true; }
+            }
+        }
+        return numPending > 0 && pendingEdges.contains(LongHashSet.edgeKey(fromId, toId));
+    }
+
+    /**
+     * Private helper that copies the successors of an id, its row
+     * followed by its pending chain, into a buffer.
+     *
+     * @return the buffer, or a larger one if it was too small
+     */
+    private int[] successorIds(int id, int[] buffer)
+    {
+        if (buffer.length < degrees[id]) { buffer = new int[Math.max(degrees[id], buffer.length * 2)]; }
+
+        int n = 0;
+        for (int i = offsets[id]; i < ends[id]; i++) { buffer[n++] = targets[i]; }
+        for (int p = pendingHead[id]; p >= 0; p = pendingNext[p]) { buffer[n++] = pendingTo[p]; }
+        return buffer;
+    }
+
+    /**
+     * Private helper that removes a pending edge from the chain of its
+     * source.  Its slot in the buffer stays, marked removed, until the
+     * next compaction.
+     *
+     * @return true iff the edge was pending.
+     */
+    private boolean removePending(int fromId, int toId)
+    {
+        int previous = -1;
+        int p = pendingHead[fromId];
+        while (p >= 0 && pendingTo[p] != toId) {
+            previous = p;
+            p = pendingNext[p];
+        }
+        if (p < 0) { return false; }
+
+        if (previous < 0) { pendingHead[fromId] = pendingNext[p]; }
+        else { pendingNext[previous] = pendingNext[p]; }
+        if (pendingTail[fromId] == p) { pendingTail[fromId] = previous; }
+        pendingTo[p] = -1;
+        pendingEdges.remove(LongHashSet.edgeKey(fromId, toId));
+        degrees[fromId]--;
+        inDegrees[toId]--;
+        fingerprint -= Fingerprint.edge(Fingerprint.vertex(vertices[fromId]), Fingerprint.vertex(vertices[toId]));
+        dropReverse();
+        frozen = null;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Private helper that removes 'toId' from the row of 'fromId',
+     * keeping the remaining neighbors in order.
+     *
+     * @return true iff the row contained 'toId'.
+     */
+    private boolean removeFromRow(int fromId, int toId)
+    {
+        if (fromId >= numRows) { return false; }
+
+        for (int i = offsets[fromId]; i < ends[fromId]; i++) {
+            if (targets[i] == toId) {
+                System.arraycopy(targets, i + 1, targets, i, ends[fromId] - i - 1);
+                ends[fromId]--;
+                degrees[fromId]--;
+                inDegrees[toId]--;
+                fingerprint -= Fingerprint.edge(Fingerprint.vertex(vertices[fromId]), Fingerprint.vertex(vertices[toId]));
+                dropReverse();
+                frozen = null;
+                modCount++;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Folds the pending buffer into the rows and drops the ids of
+     * removed vertices, renumbering the remaining vertices densely in
+     * their original order.  Each row keeps its existing neighbors
+     * followed by its pending ones in the order they were added.
+     *
+     * Writes compact on their own once the buffer or the removed ids
+     * grow large, so calling this is only needed to get the fastest
+     * reads, e.g. before a long read-only phase.  The graph's vertices
+     * and edges do not change, but views taken before it fail fast
+     * afterwards.
+     */
+    public void compact()
+    {
+        if (numPending == 0 && numVertices == numIds) {
+            if (pendingFrom.length > PENDING_CAPACITY) { emptyPending(); } // grown for a batch of duplicates
+            return;
+        }
+
+        int[] newIds = new int[numIds];
+        int live = 0;
+        for (int id = 0; id < numIds; id++) {
+            newIds[id] = vertices[id] == null ? -1 : live++;
+        }
+
+        int[] newOffsets = new int[live + 1];
+        for (int id = 0; id < numIds; id++) {
+            if (newIds[id] >= 0) { newOffsets[newIds[id] + 1] = degrees[id]; }
+        }
+        for (int i = 0; i < live; i++) { newOffsets[i + 1] += newOffsets[i]; }
+
+        int[] newTargets = new int[numEdges];
+        int[] fill = Arrays.copyOf(newOffsets, live);
+        for (int id = 0; id < numRows; id++) {
+            if (newIds[id] < 0) { continue; }
+            for (int i = offsets[id]; i < ends[id]; i++) {
+                newTargets[fill[newIds[id]]++] = newIds[targets[i]];
+            }
+        }
+        for (int i = 0; i < numPending; i++) {
+            if (pendingTo[i] >= 0) { newTargets[fill[newIds[pendingFrom[i]]]++] = newIds[pendingTo[i]]; }
+        }
+
+        Object[] newVertices = new Object[Math.max(16, live)];
+        int[] newDegrees = new int[newVertices.length];
+        int[] newInDegrees = new int[newVertices.length];
+        for (int id = 0; id < numIds; id++) {
+            if (newIds[id] < 0) { continue; }
+            newVertices[newIds[id]] = vertices[id];
+            newDegrees[newIds[id]] = degrees[id];
+            newInDegrees[newIds[id]] = inDegrees[id];
+            if (newIds[id] != id) { ids.put(vertexAt(id), newIds[id]); }
+        }
+
+        vertices = newVertices;
+        degrees = newDegrees;
+        inDegrees = newInDegrees;
+        offsets = new int[newVertices.length];
+        System.arraycopy(newOffsets, 0, offsets, 0, live);
+        ends = Arrays.copyOf(fill, newVertices.length);
+        targets = newTargets;
+        pendingHead = new int[newVertices.length];
+        Arrays.fill(pendingHead, -1);
+        pendingTail = new int[newVertices.length];
+        dropReverse();
+        numIds = live;
+        numRows = live;
+        emptyPending();
+        modCount++;
+    }
+
+    /**
+     * Private helper that replaces the pending buffer with an empty
+     * one of the default size.  The buffer may have grown to hold a
+     * large batch, and keeping it would cost more per edge than the
+     * rows themselves.
+     */
+    private void emptyPending()
+    {
+        pendingFrom = new int[PENDING_CAPACITY];
+        pendingTo = new int[PENDING_CAPACITY];
+        pendingNext = new int[PENDING_CAPACITY];
+        pendingEdges = new LongHashSet();
+        numPending = 0;
+    }
+
+    /**
+     * Gets a read-only copy of the graph as it is now.  Compacting
+     * renumbers the vertices, so a snapshot shares nothing with the
+     * previous one; but with no changes since the last snapshot, the
+     * same copy is returned again.
+     *
+     * @return an immutable copy of the graph
+     */
+    @Override
+    public Graph<V> snapshot()
+    {
+        FrozenGraph<V> copy = frozen;
+        if (copy == null) {
+            copy = FrozenGraph.freeze(indexed, Arrays.copyOf(vertices, numIds), numVertices, fingerprint, null, null);
+            frozen = copy;
+        }
+        return copy;
+    }
+}
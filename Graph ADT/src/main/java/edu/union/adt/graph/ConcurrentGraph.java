@@ -0,0 +1,1008 @@
+package edu.union.adt.graph;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.stream.Collectors;
+
+
+/**
+ *  Thread-safe graph implementation.  Any number of threads may read
+ *  and modify the graph at once without external locking.
+ *
+ *  <p>Vertices live in a ConcurrentHashMap.  Each vertex keeps its
+ *  successors and predecessors in copy-on-write arrays: a write
+ *  replaces the array, and a reader always sees one complete array.
+ *  Reads therefore never lock.  Writes lock a stripe chosen by the
+ *  vertex's hash code, so writes to different vertices usually run in
+ *  parallel.  An edge write locks the stripes of both of its ends, in
+ *  a fixed order.  Copy-on-write makes addEdge and removeEdge cost
+ *  O(degree), so this implementation suits graphs that are read much
+ *  more often than they are written.
+ *
+ *  <p>Consistency:
+ *  <ul>
+ *  <li>Single-vertex and single-edge operations (contains, hasEdge,
+ *  degree, inDegree, adjacentTo, adjacentFrom) are atomic.  They see
+ *  the graph as it was at some moment during the call.
+ *  adjacentTo and adjacentFrom return snapshots that later writes do
+ *  not change.
+ *  <li>numEdges and numVertices are exact when no write is in
+ *  progress.  While writes are running they may be off by the writes
+ *  in flight, but are never off by more than that.
+ *  <li>Traversals (hasPath, pathLength, getPath, distancesFrom),
+ *  snapshot, getVertices, toString and equals are weakly consistent.
+ *  They read each vertex's edges once, at some moment during the
+ *  call.  Edges added or removed while they run may or may not be
+ *  seen.  A path returned by getPath existed edge by edge while it
+ *  was being found, but possibly not all at the same moment.
+ *  </ul>
+ *
+ *  Searches use hash sets of vertices for their state, because ids
+ *  cannot safely be reused while other threads are reading.
+ *
+ *  @author Neil Daterao
+ */
+public class ConcurrentGraph<V> implements Graph<V>, Indexable {
+
+    private static final Object[] NONE = new Object[0];
+
+    private final ConcurrentHashMap<V, Node<V>> graph;
+    private final Object[] stripes;
+    private final LongAdder edgeCount;
+    private final LongAdder fingerprint; // see Fingerprint; summed modulo 2^32
+    private final LongAdder writes;      // writes completed, counted after they take effect
+    private volatile Snapshot<V> last;   // the last snapshot taken, if any
+
+    /**
+     * A snapshot and the number of writes completed before it was
+     * started.  While that number has not changed, no write has taken
+     * effect since, and the snapshot can be returned again.
+     */
+    private static final class Snapshot<V> {
+        final long writes;
+        final FrozenGraph<V> graph;
+
+        Snapshot(long writes, FrozenGraph<V> graph)
+        {
+            this.writes = writes;
+            this.graph = graph;
+        }
+    }
+
+    /**
+     * A vertex and its edges.  The arrays hold Nodes and are never
+     * modified after they are published; writers replace them while
+     * holding the stripe lock of this vertex.
+     */
+    private static class Node<V> {
+        final V vertex;
+        final int hash; // Fingerprint.vertex(vertex)
+        volatile Object[] successors = NONE;
+        volatile Object[] predecessors = NONE;
+        volatile boolean removed;
+
+        Node(V vertex)
+        {
+            this.vertex = vertex;
+            this.hash = Fingerprint.vertex(vertex);
+        }
+    }
+
+    /**
+     * Create an empty graph.
+     */
+    public ConcurrentGraph()
+    {
+        graph = new ConcurrentHashMap<>();
+        edgeCount = new LongAdder();
+        fingerprint = new LongAdder();
+        writes = new LongAdder();
+
+        int numStripes = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 8);
+        stripes = new Object[numStripes];
+        for (int i = 0; i < numStripes; i++) { stripes[i] = new Object(); }
+    }
+
+    /**
+     * @return the number of vertices in the graph.
+     */
+    @Override
+    public int numVertices()
+    {
+        return graph.size();
+    }
+
+    /**
+     * @return the number of edges in the graph.
+     */
+    @Override
+    public int numEdges()
+    {
+        return (int) edgeCount.sum();
+    }
+
+    /**
+     * Gets the number of vertices connected by edges from a given
+     * vertex.  If the given vertex is not in the graph, throws a
+     * RuntimeException.
+     *
+     * @param vertex the vertex whose degree we want.
+     * @return the degree of vertex 'vertex'
+     */
+    @Override
+    public int degree(V vertex)
+    {
+        Node<V> node = graph.get(vertex);
+        if (node == null) { throw new RuntimeException("Vertex Not In Graph"); }
+
+        return node.successors.length;
+    }
+
+    /**
+     * Gets the number of vertices with an edge to a given vertex.  If
+     * the given vertex is not in the graph, throws a
+     * RuntimeException.
+     *
+     * @param vertex the vertex whose in-degree we want.
+     * @return the in-degree of vertex 'vertex'
+     */
+    @Override
+    public int inDegree(V vertex)
+    {
+        Node<V> node = graph.get(vertex);
+        if (node == null) { throw new RuntimeException("Vertex Not In Graph"); }
+
+        return node.predecessors.length;
+    }
+
+    /**
+     * Adds a directed edge between two vertices.  If there is already an edge
+     * between the given vertices, does nothing.  If either (or both)
+     * of the given vertices does not exist, it is added to the
+     * graph before the edge is created between them.
+     *
+     * @param from the source vertex for the added edge
+     * @param to the destination vertex for the added edge
+     */
+    @Override
+    public void addEdge(V from, V to)
+    {
+        while (true) {
+            Node<V> fromNode = node(from);
+            Node<V> toNode = node(to);
+            Object first = stripeOf(fromNode, toNode, true);
+            Object second = stripeOf(fromNode, toNode, false);
+            synchronized (first) {
+                synchronized (second) {
+                    // A vertex removed since we looked it up must not
+                    // gain edges; look it up again.
+                    if (fromNode.removed || toNode.removed) { continue; }
+
+                    if (indexOf(fromNode.successors, toNode) < 0) {
+                        fromNode.successors = with(fromNode.successors, toNode);
+                        toNode.predecessors = with(toNode.predecessors, fromNode);
+                        edgeCount.increment();
+                        fingerprint.add(Fingerprint.edge(fromNode.hash, toNode.hash));
+                        writes.increment();
+                    }
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds a directed edge for each (source, destination) pair, with
+     * the same result as calling addEdge on each pair in order.  The
+     * edges are added one at a time, so other threads may see some
+     * of them before the call returns.
+     *
+     * @param edges the edges to add, as (source, destination) pairs
+     */
+    @Override
+    public void addEdges(Iterable<? extends Map.Entry<? extends V, ? extends V>> edges)
+    {
+        for (Map.Entry<? extends V, ? extends V> edge : edges) { addEdge(edge.getKey(), edge.getValue()); }
+    }
+
+    /**
+     * Adds a vertex to the graph.  If the vertex already exists in
+     * the graph, does nothing.  If the vertex does not exist, it is
+     * added to the graph, with no edges connected to it.
+     *
+     * @param vertex the vertex to add
+     */
+    @Override
+    public void addVertex(V vertex)
+    {
+        node(vertex);
+    }
+
+    /**
+     * @return the an iterable collection for the set of vertices of
+     * the graph.  The collection is read-only and its iterators are
+     * weakly consistent.
+     */
+    @Override
+    public Collection<V> getVertices()
+    {
+        return Collections.unmodifiableSet(graph.keySet());
+    }
+
+    /**
+     * Gets the vertices adjacent to a given vertex.  A vertex y is
+     * "adjacent to" vertex x if there is an edge (x, y) in the graph.
+     * Because edges are directed, if (x, y) is an edge but (y, x) is
+     * not an edge, we would say that y is adjacent to x but that x is
+     * NOT adjacent to y.
+     *
+     * @param from the source vertex
+     * @return a read-only snapshot of the vertices that are the
+     * destinations of edges for which 'from' is the source vertex.
+     * If 'from' is not a vertex in the graph, returns an empty
+     * iterator.
+     */
+    @Override
+    public Collection<V> adjacentTo(V from)
+    {
+        Node<V> node = graph.get(from);
+        if (node == null) { return Collections.emptyList(); }
+
+        return new VertexList<V>(node.successors);
+    }
+
+    /**
+     * Calls an action on each vertex adjacent to a given vertex, in
+     * adjacentTo order, without allocating an iterator.  The
+     * action sees the successors as they were when it was first
+     * called.
+     *
+     * @param from the source vertex
+     * @param action the action to call on each destination of an edge
+     * from 'from'.  If 'from' is not a vertex in the graph, it is
+     * never called.
+     */
+    @Override
+    public void forEachNeighbor(V from, Consumer<? super V> action)
+    {
+        Node<V> node = graph.get(from);
+        if (node == null) { return; }
+
+        for (Object successor : node.successors) { action.accept(ConcurrentGraph.<V>cast(successor).vertex); }
+    }
+
+    /**
+     * Gets the vertices a given vertex is adjacent to, i.e. the
+     * predecessors of the vertex.
+     *
+     * @param to the destination vertex
+     * @return a read-only snapshot of the vertices that are the
+     * sources of edges for which 'to' is the destination vertex.  If
+     * 'to' is not a vertex in the graph, returns an empty iterator.
+     */
+    @Override
+    public Collection<V> adjacentFrom(V to)
+    {
+        Node<V> node = graph.get(to);
+        if (node == null) { return Collections.emptyList(); }
+
+        return new VertexList<V>(node.predecessors);
+    }
+
+    /**
+     * A read-only list of the vertices of an array of Nodes.
+     */
+    private static class VertexList<V> extends AbstractList<V> {
+        private final Object[] nodes;
+
+        VertexList(Object[] nodes) { this.nodes = nodes; }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V get(int index) { return ((Node<V>) nodes[index]).vertex; }
+
+        @Override
+        public int size() { return nodes.length; }
+    }
+
+    /**
+     * Tells whether or not a vertex is in the graph.
+     *
+     * @param vertex a vertex
+     * @return true iff 'vertex' is a vertex in the graph.
+     */
+    @Override
+    public boolean contains(V vertex)
+    {
+        return graph.containsKey(vertex);
+    }
+
+    /**
+     * Tells whether an edge exists in the graph.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     *
+     * @return true iff there is an edge from the source vertex to the
+     * destination vertex in the graph.  If either of the given
+     * vertices are not vertices in the graph, then there is no edge
+     * between them.
+     */
+    @Override
+    public boolean hasEdge(V from, V to)
+    {
+        Node<V> fromNode = graph.get(from);
+        Node<V> toNode = graph.get(to);
+        if (fromNode == null || toNode == null) { return false; }
+
+        return indexOf(fromNode.successors, toNode) >= 0;
+    }
+
+    /**
+     * Writes the string representation of the graph (see toString) to
+     * a destination one line at a time, without building a String of
+     * the whole graph.  Weakly consistent.
+     *
+     * @param out where to write the representation
+     * @throws IOException if out does
+     */
+    @Override
+    public void writeTo(Appendable out) throws IOException
+    {
+        for (Node<V> node : graph.values()) {
+            out.append(node.vertex.toString()).append(':');
+            for (Object successor : node.successors) {
+                out.append(' ').append(vertexOf(successor).toString()).append(',');
+            }
+            out.append('\n');
+        }
+    }
+
+    /**
+     * Gives a string representation of the graph, in the format
+     * described by Graph.toString.  Weakly consistent.
+     *
+     * @return the string representation of the graph
+     */
+    @Override
+    public String toString()
+    {
+        return CappedText.of(this, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Gives the string representation of the graph, cut off after a
+     * given number of characters.  Only the part of the graph that is
+     * shown is visited, so this is safe to call on huge graphs.
+     *
+     * @param maxLength the most characters of the representation to
+     * give
+     * @return the first maxLength characters of toString(), followed
+     * by "..." if the representation is longer than that
+     */
+    @Override
+    public String toString(int maxLength)
+    {
+        return CappedText.of(this, maxLength);
+    }
+
+    /**
+     * Checks if two graph objects are equal. Checks if structure of graphs is identical.
+     * Weakly consistent if either graph is being modified.  Graphs
+     * whose fingerprints differ are told apart in O(1), without
+     * comparing their edges.
+     *
+     * @param otherObj object you are checking is equal
+     * @return true iff graphs are equal. Checks if graphs habe the same vertices and edges.
+     */
+    @Override
+    public boolean equals(Object otherObj)
+    {
+        if (this == otherObj) { return true; }
+        if (otherObj == null || getClass() != otherObj.getClass()) { return false; }
+
+        ConcurrentGraph<?> otherGraph = (ConcurrentGraph<?>) otherObj;
+        if (hashCode() != otherGraph.hashCode()) { return false; }
+        if (!graph.keySet().equals(otherGraph.graph.keySet())) { return false; }
+
+        for (Node<V> node : graph.values()) {
+            Node<?> otherNode = otherGraph.graph.get(node.vertex);
+            if (otherNode == null) { return false; }
+
+            Object[] successors = node.successors;
+            Object[] otherSuccessors = otherNode.successors;
+            if (successors.length != otherSuccessors.length) { return false; }
+            for (int i = 0; i < successors.length; i++) {
+                if (!vertexOf(successors[i]).equals(vertexOf(otherSuccessors[i]))) { return false; }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gives a hash code that depends only on the vertices and edges of
+     * the graph.  The fingerprint it returns is updated by every
+     * write, so this is O(1).  Like numEdges, it is exact when no
+     * write is in progress.
+     *
+     * @return the hash code of the graph
+     */
+    @Override
+    public int hashCode()
+    {
+        return (int) fingerprint.sum();
+    }
+
+    /**
+     * Tells whether another graph has the same vertices and edges as
+     * this one, whatever order the neighbors of each vertex are listed
+     * in and whatever the implementation of the other graph.  Runs in
+     * time linear in the size of the graphs (see UnorderedEquals), and
+     * rejects graphs with different counts or fingerprints in O(1).  Weakly
+     * consistent if either graph is being modified.
+     *
+     * @param other the graph to compare with
+     * @return true iff the two graphs have the same set of vertices
+     * and the same set of edges
+     */
+    @Override
+    public boolean equalsIgnoringOrder(Graph<?> other)
+    {
+        return UnorderedEquals.equal(this, other);
+    }
+
+    /**
+     * Tells whether another graph has the same vertices and edges as
+     * this one, as equalsIgnoringOrder(other) does, comparing the
+     * edges of different vertices in parallel on a given pool.  Weakly
+     * consistent if either graph is being modified.
+     *
+     * @param other the graph to compare with
+     * @param pool the pool to compare on
+     * @return true iff the two graphs have the same set of vertices
+     * and the same set of edges
+     */
+    @Override
+    public boolean equalsIgnoringOrder(Graph<?> other, ForkJoinPool pool)
+    {
+        return UnorderedEquals.equal(this, other, pool);
+    }
+
+    /**
+     * Tells whether the graph is empty.
+     *
+     * @return true iff the graph is empty. A graph is empty if it has
+     * no vertices and no edges.
+     */
+    @Override
+    public boolean isEmpty()
+    {
+        return graph.isEmpty() && edgeCount.sum() == 0;
+    }
+
+    /**
+     * Removes a vertex from the graph.  Also removes any edges
+     * connecting from the edge or to the edge.
+     *
+     * <p>Postconditions:
+     *
+     * <p>If toRemove was in the graph:
+     * <ul>
+     * <li>numVertices = numVertices' - 1
+     * <li>toRemove is no longer a vertex in the graph
+     * <li>for all vertices v: toRemove is not in adjacentTo(v)
+     * </ul>
+     *
+     * @param toRemove the vertex to remove.
+     */
+    @Override
+    public void removeVertex(V toRemove)
+    {
+        Node<V> removed = graph.get(toRemove);
+        if (removed == null) { return; }
+
+        // Once marked, the vertex's own arrays stop changing: edge
+        // writes check the mark under this same lock.
+        synchronized (stripeOf(removed)) {
+            if (removed.removed) { return; }
+            removed.removed = true;
+            graph.remove(toRemove, removed);
+        }
+
+        Object[] successors = removed.successors;
+        edgeCount.add(-successors.length);
+        fingerprint.add(-removed.hash);
+        for (Object successor : successors) {
+            Node<V> node = cast(successor);
+            fingerprint.add(-Fingerprint.edge(removed.hash, node.hash));
+            if (node == removed) { continue; }
+            synchronized (stripeOf(node)) {
+                node.predecessors = without(node.predecessors, removed);
+            }
+        }
+        for (Object predecessor : removed.predecessors) {
+            Node<V> node = cast(predecessor);
+            if (node == removed) { continue; }
+            synchronized (stripeOf(node)) {
+                // A predecessor being removed too counts this edge
+                // with its own successors.
+                if (node.removed) { continue; }
+
+                Object[] nodeSuccessors = node.successors;
+                if (indexOf(nodeSuccessors, removed) >= 0) {
+                    node.successors = without(nodeSuccessors, removed);
+                    edgeCount.decrement();
+                    fingerprint.add(-Fingerprint.edge(node.hash, removed.hash));
+                }
+            }
+        }
+        writes.increment();
+    }
+
+    /**
+     * Removes an edge from the graph.
+     *
+     * <p>Postcondition: If from and to were in the graph and (from,
+     * to) was an edge in the graph, then:
+     * <ul>
+     * <li> numEdges = numEdges' - 1
+     * <li> to is no longer in adjacentTo(from)
+     * </ul>
+     *
+     * @param from the source vertex for the edge
+     * @param to the target vertex for the edge
+     */
+    @Override
+    public void removeEdge(V from, V to)
+    {
+        Node<V> fromNode = graph.get(from);
+        Node<V> toNode = graph.get(to);
+        if (fromNode == null || toNode == null) { return; }
+
+        Object first = stripeOf(fromNode, toNode, true);
+        Object second = stripeOf(fromNode, toNode, false);
+        synchronized (first) {
+            synchronized (second) {
+                // removeVertex takes care of the edges of removed vertices.
+                if (fromNode.removed || toNode.removed) { return; }
+
+                if (indexOf(fromNode.successors, toNode) >= 0) {
+                    fromNode.successors = without(fromNode.successors, toNode);
+                    toNode.predecessors = without(toNode.predecessors, fromNode);
+                    edgeCount.decrement();
+                    fingerprint.add(-Fingerprint.edge(fromNode.hash, toNode.hash));
+                    writes.increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * Tells whether there is a path connecting two given vertices.  A
+     * path exists from vertex A to vertex B iff A and B are in the
+     * graph and there exists a sequence x_1, x_2, ..., x_n where:
+     *
+     * <ul>
+     * <li>x_1 = A
+     * <li>x_n = B
+     * <li>for all i from 1 to n-1, (x_i, x_{i+1}) is an edge in the graph.
+     * </ul>
+     *
+     * It therefore follows that if vertex A is in the graph, there
+     * is a path from A to A.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return true iff there is a path from 'from' to 'to' in the graph.
+     */
+    @Override
+    public boolean hasPath(V from, V to)
+    {
+        Node<V> fromNode = graph.get(from);
+        Node<V> toNode = graph.get(to);
+        if (fromNode == null || toNode == null) { return false; }
+
+        return search(fromNode, toNode) != null;
+    }
+
+    /**
+     * Gets the length of the shortest path connecting two given
+     * vertices.  The length of a path is the number of edges in the
+     * path.
+     *
+     * <ol>
+     * <li>If from = to, the shortest path has length 0
+     * <li>Otherwise, the shortest path length is the length of the shortest
+     * possible path connecting from to to.
+     * </ol>
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return the length of the shortest path from 'from' to 'to' in
+     * the graph.  If there is no path, returns Integer.MAX_VALUE
+     */
+    @Override
+    public int pathLength(V from, V to)
+    {
+        if (from.equals(to)) { return 0; }
+
+        Node<V> fromNode = graph.get(from);
+        Node<V> toNode = graph.get(to);
+        if (fromNode == null || toNode == null) { return Integer.MAX_VALUE; }
+
+        Map<Node<V>, Node<V>> parents = search(fromNode, toNode);
+        if (parents == null) { return Integer.MAX_VALUE; }
+
+        int length = 0;
+        for (Node<V> node = toNode; node != fromNode; node = parents.get(node)) { length++; }
+        return length;
+    }
+
+    /**
+     * Gets the length of the shortest path from a given vertex to
+     * every vertex that can be reached from it.
+     *
+     * @param source the source vertex
+     * @return a map from each vertex reachable from 'source' to the
+     * length of the shortest path to it.  'source' itself maps to 0.
+     * If 'source' is not in the graph, returns an empty map.
+     */
+    @Override
+    public Map<V, Integer> distancesFrom(V source)
+    {
+        Node<V> sourceNode = graph.get(source);
+        if (sourceNode == null) { return Collections.emptyMap(); }
+
+        Map<V, Integer> distances = new HashMap<>();
+        distances.put(source, 0);
+        ArrayDeque<Node<V>> queue = new ArrayDeque<>();
+        queue.add(sourceNode);
+        while (!queue.isEmpty()) {
+            Node<V> current = queue.poll();
+            int distance = distances.get(current.vertex) + 1;
+            for (Object successor : current.successors) {
+                Node<V> node = cast(successor);
+                if (!distances.containsKey(node.vertex)) {
+                    distances.put(node.vertex, distance);
+                    queue.add(node);
+                }
+            }
+        }
+        return distances;
+    }
+
+    /**
+     * Gets the length of the shortest path from a given vertex to
+     * every vertex that can be reached from it, expanding each level
+     * of the search in parallel on a given pool.  Weakly consistent,
+     * like the other searches.
+     *
+     * @param source the source vertex
+     * @param pool the pool to run the search on
+     * @return a map from each vertex reachable from 'source' to the
+     * length of the shortest path to it.  'source' itself maps to 0.
+     * If 'source' is not in the graph, returns an empty map.
+     */
+    @Override
+    public Map<V, Integer> distancesFrom(V source, ForkJoinPool pool)
+    {
+        Node<V> sourceNode = graph.get(source);
+        if (sourceNode == null) { return Collections.emptyMap(); }
+
+        final ConcurrentHashMap<V, Integer> distances = new ConcurrentHashMap<>();
+        distances.put(source, 0);
+        List<Node<V>> frontier = Collections.singletonList(sourceNode);
+        for (int level = 1; !frontier.isEmpty(); level++) {
+            final List<Node<V>> current = frontier;
+            final Integer distance = level;
+            // Streams started inside the pool run their parallel
+            // work in that pool.
+            frontier = pool.submit(() -> current.parallelStream()
+                                   .flatMap(node -> Arrays.stream(node.successors))
+                                   .map(ConcurrentGraph::<V>cast)
+                                   .filter(node -> distances.putIfAbsent(node.vertex, distance) == null)
+                                   .collect(Collectors.toList()))
+                .join();
+        }
+        return distances;
+    }
+
+    /**
+     * Returns the vertices along the shortest path connecting two
+     * given vertices.  The vertices are given in the order x_1,
+     * x_2, x_3, ..., x_n, where:
+     *
+     * <ol>
+     * <li>x_1 = from
+     * <li>x_n = to
+     * <li>for all i from 1 to n-1: (x_i, x_{i+1}) is an edge in the graph.
+     * </ol>
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return an Iterable collection of vertices along the shortest
+     * path from 'from' to 'to'.  The Iterable includes the source and
+     * destination vertices. If there is no path from 'from' to 'to'
+     * in the graph (e.g. if the vertices are not in the graph),
+     * returns an empty Iterable collection of vertices.
+     */
+    @Override
+    public Iterable<V> getPath(V from, V to)
+    {
+        Node<V> fromNode = graph.get(from);
+        Node<V> toNode = graph.get(to);
+        if (fromNode == null || toNode == null) { return Collections.emptyList(); }
+
+        Map<Node<V>, Node<V>> parents = search(fromNode, toNode);
+        if (parents == null) { return Collections.emptyList(); }
+
+        LinkedList<V> path = new LinkedList<>();
+        for (Node<V> node = toNode; node != fromNode; node = parents.get(node)) { path.addFirst(node.vertex); }
+        path.addFirst(fromNode.vertex);
+        return path;
+    }
+
+    /**
+     * Finds the shortest paths from a vertex to every vertex it
+     * reaches, with one breadth-first search, for answering
+     * pathLength and getPath from that vertex to many targets.
+     *
+     * The search runs on a snapshot of the graph (see snapshot), so
+     * it sees the graph as it was at one moment.  Taking the snapshot
+     * costs O(V + E) unless the graph has not changed since the last
+     * one.
+     *
+     * @param source the source vertex
+     * @return the shortest paths from 'source'.  If 'source' is not in
+     * the graph, the tree reaches no vertex.
+     */
+    @Override
+    public ShortestPathTree<V> shortestPathTree(V source)
+    {
+        return new ShortestPathTree<V>(indexedView(), source);
+    }
+
+    /**
+     * Private helper that runs a breadth-first search from 'from'
+     * until it reaches 'to'.
+     *
+     * @return the BFS parent of every node reached, or null if 'to'
+     * cannot be reached
+     */
+    private Map<Node<V>, Node<V>> search(Node<V> from, Node<V> to)
+    {
+        Map<Node<V>, Node<V>> parents = new HashMap<>();
+        parents.put(from, from);
+        if (from == to) { return parents; }
+
+        ArrayDeque<Node<V>> queue = new ArrayDeque<>();
+        queue.add(from);
+        while (!queue.isEmpty()) {
+            Node<V> current = queue.poll();
+            for (Object successor : current.successors) {
+                Node<V> node = cast(successor);
+                if (!parents.containsKey(node)) {
+                    parents.put(node, current);
+                    if (node == to) { return parents; }
+                    queue.add(node);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Private helper that returns the Node of a vertex, adding the
+     * vertex first if it is not in the graph.
+     */
+    private Node<V> node(V vertex)
+    {
+        Node<V> node = graph.get(vertex);
+        if (node != null) { return node; }
+
+        Node<V> created = new Node<V>(vertex);
+        node = graph.putIfAbsent(vertex, created);
+        if (node != null) { return node; }
+
+        fingerprint.add(created.hash);
+        writes.increment();
+        return created;
+    }
+
+    private Object stripeOf(Node<V> node)
+    {
+        return stripes[stripeIndex(node)];
+    }
+
+    /**
+     * Private helper that returns the lock to take first (or second)
+     * for an edge, so every thread takes the two stripes in the same
+     * order.
+     */
+    private Object stripeOf(Node<V> from, Node<V> to, boolean first)
+    {
+        int a = stripeIndex(from);
+        int b = stripeIndex(to);
+        return stripes[first ? Math.min(a, b) : Math.max(a, b)];
+    }
+
+    private int stripeIndex(Node<V> node)
+    {
+        int h = node.vertex.hashCode();
+        h ^= h >>> 16;
+        return h & (stripes.length - 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> Node<V> cast(Object node)
+    {
+        return (Node<V>) node;
+    }
+
+    private static Object vertexOf(Object node)
+    {
+        return ((Node<?>) node).vertex;
+    }
+
+    private static int indexOf(Object[] nodes, Object node)
+    {
+        for (int i = 0; i < nodes.length; i++) {
+            if (nodes[i] == node) { return i; }
+        }
+        return -1;
+    }
+
+    private static Object[] with(Object[] nodes, Object node)
+    {
+        Object[] copy = Arrays.copyOf(nodes, nodes.length + 1);
+        copy[nodes.length] = node;
+        return copy;
+    }
+
+    private static Object[] without(Object[] nodes, Object node)
+    {
+        int index = indexOf(nodes, node);
+        if (index < 0) { return nodes; }
+        if (nodes.length == 1) { return NONE; }
+
+        Object[] copy = new Object[nodes.length - 1];
+        System.arraycopy(nodes, 0, copy, 0, index);
+        System.arraycopy(nodes, index + 1, copy, index, nodes.length - index - 1);
+        return copy;
+    }
+
+    /**
+     * @return the id-based view of a snapshot of this graph, which
+     * unlike the graph does not change while it is read.  Costs
+     * O(V + E) unless the graph has not changed since the last
+     * snapshot.
+     */
+    @Override
+    public IndexedGraph indexedView()
+    {
+        return freeze().indexedView();
+    }
+
+    /**
+     * @return true: hashCode is the fingerprint of the graph
+     */
+    @Override
+    public boolean hasFingerprint()
+    {
+        return true;
+    }
+
+    /**
+     * Gets a read-only copy of the graph.  Like the traversals, the
+     * copy is weakly consistent: it holds each vertex's edges as they
+     * were when that vertex was copied, leaving out edges to vertices
+     * added or removed while the copy was being made.  Reads of the
+     * copy are then fully consistent.
+     *
+     * Making the copy costs O(V + E).  If no write has taken effect
+     * since the last copy was started, that copy is returned again.
+     *
+     * @return an immutable copy of the graph
+     */
+    @Override
+    public Graph<V> snapshot()
+    {
+        return freeze();
+    }
+
+    /**
+     * Private helper that makes the copy returned by snapshot, or
+     * reuses the last one.
+     */
+    private FrozenGraph<V> freeze()
+    {
+        long before = writes.sum();
+        Snapshot<V> previous = last;
+        if (previous != null && previous.writes == before) { return previous.graph; }
+
+        List<Node<V>> nodes = new ArrayList<>(graph.values());
+        Map<Node<V>, Integer> ids = new IdentityHashMap<>(nodes.size());
+        final Object[] vertices = new Object[nodes.size()];
+        for (int id = 0; id < vertices.length; id++) {
+            ids.put(nodes.get(id), id);
+            vertices[id] = nodes.get(id).vertex;
+        }
+
+        final int[][] rows = new int[vertices.length][];
+        int edges = 0;
+        int hash = 0; // the fingerprint of the copy, which the live one may not match
+        for (int id = 0; id < vertices.length; id++) {
+            Object[] successors = nodes.get(id).successors;
+            int[] row = new int[successors.length];
+            int length = 0;
+            for (Object successor : successors) {
+                Integer target = ids.get(successor);
+                if (target != null) {
+                    row[length++] = target;
+                    hash += Fingerprint.edge(nodes.get(id).hash, nodes.get(target).hash);
+                }
+            }
+            rows[id] = length == row.length ? row : Arrays.copyOf(row, length);
+            edges += length;
+            hash += nodes.get(id).hash;
+        }
+
+        final int numEdges = edges;
+        IndexedGraph copy = new IndexedGraph() {
+            private Map<Object, Integer> idsByVertex; // built when idOf is first called
+
+            @Override
+            public int idBound() { return vertices.length; }
+
+            @Override
+            public boolean isVertex(int id) { return true; }
+
+            @Override
+            public int edgeCount() { return numEdges; }
+
+            @Override
+            public Object vertex(int id) { return vertices[id]; }
+
+            @Override
+            public int idOf(Object vertex)
+            {
+                if (idsByVertex == null) {
+                    idsByVertex = new HashMap<>(vertices.length * 2);
+                    for (int id = 0; id < vertices.length; id++) { idsByVertex.put(vertices[id], id); }
+                }
+                Integer id = idsByVertex.get(vertex);
+                return id == null ? -1 : id;
+            }
+
+            @Override
+            public int successorCount(int id) { return rows[id].length; }
+
+            @Override
+            public void forEachSuccessor(int id, IntConsumer action)
+            {
+                for (int target : rows[id]) { action.accept(target); }
+            }
+
+            @Override
+            public boolean hasPredecessors() { return false; }
+
+            @Override
+            public int predecessorCount(int id) { throw new UnsupportedOperationException(); }
+
+            @Override
+            public void forEachPredecessor(int id, IntConsumer action) { throw new UnsupportedOperationException(); }
+
+            @Override
+            public boolean anyPredecessor(int id, IntPredicate test) { throw new UnsupportedOperationException(); }
+        };
+        FrozenGraph<V> frozen = FrozenGraph.freeze(copy, vertices, vertices.length, hash, null, null);
+        last = new Snapshot<V>(before, frozen);
+        return frozen;
+    }
+}
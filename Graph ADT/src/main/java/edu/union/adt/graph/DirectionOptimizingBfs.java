@@ -0,0 +1,151 @@
+package edu.union.adt.graph;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+
+/**
+ * Single-source breadth-first search that switches between two ways
+ * of growing a level, after Beamer, Asanovic and Patterson,
+ * "Direction-Optimizing Breadth-First Search" (SC 2012):
+ *
+ * <ul>
+ * <li>top-down: follow the out-edges of every frontier vertex, as
+ * an ordinary BFS does;
+ * <li>bottom-up: for every vertex not yet reached, look through its
+ * in-edges for one from the frontier, stopping at the first.
+ * </ul>
+ *
+ * On low-diameter graphs the middle levels hold most of the graph,
+ * and top-down spends almost all of its time on edges into vertices
+ * that were already reached.  Bottom-up skips those.  The search goes
+ * bottom-up once the frontier has more than 1/ALPHA of the edges left
+ * to check, and back to top-down once the frontier shrinks below
+ * 1/BETA of the vertices.  Graphs without predecessors are always
+ * searched top-down.
+ * @author Neil Daterao
+ */
+final class DirectionOptimizingBfs {
+
+    private static final int ALPHA = 14;
+    private static final int BETA = 24;
+
+    private final IndexedGraph graph;
+    private final int[] distances;
+    private int[] frontier;
+    private int[] next;
+    private int frontierSize;
+    private int nextSize;
+    private long[] frontierBits;
+    private int level;
+
+    private final IntConsumer visit = new IntConsumer() {
+        @Override
+        public void accept(int id)
+        {
+            if (distances[id] < 0) {
+                distances[id] = level + 1;
+                next[nextSize++] = id;
+            }
+        }
+    };
+
+    private final IntPredicate inFrontier = new IntPredicate() {
+        @Override
+        public boolean test(int id)
+        {
+            return (frontierBits[id >>> 6] & (1L << id)) != 0;
+        }
+    };
+
+    private DirectionOptimizingBfs(IndexedGraph graph)
+    {
+        this.graph = graph;
+        int n = graph.idBound();
+        distances = new int[n];
+        Arrays.fill(distances, -1);
+        frontier = new int[n];
+        next = new int[n];
+    }
+
+    /**
+     * Gets the distance from a vertex to every vertex of a graph.
+     *
+     * @param graph the graph to search
+     * @param source the id of the vertex to search from
+     * @return an array indexed by id holding the number of edges on
+     * the shortest path from 'source', or -1 for ids that cannot be
+     * reached or are not vertices
+     */
+    static int[] distances(IndexedGraph graph, int source)
+    {
+        DirectionOptimizingBfs search = new DirectionOptimizingBfs(graph);
+        search.run(source);
+        return search.distances;
+    }
+
+    private void run(int source)
+    {
+        distances[source] = 0;
+        frontier[frontierSize++] = source;
+        int numVertices = 0;
+        for (int id = 0; id < graph.idBound(); id++) {
+            if (graph.isVertex(id)) { numVertices++; }
+        }
+
+        boolean bottomUp = false;
+        long unexploredEdges = graph.edgeCount();
+        if (graph.hasPredecessors()) { unexploredEdges -= graph.predecessorCount(source); }
+
+        while (frontierSize > 0) {
+            if (graph.hasPredecessors()) {
+                if (!bottomUp) {
+                    long frontierEdges = 0;
+                    for (int i = 0; i < frontierSize; i++) { frontierEdges += graph.successorCount(frontier[i]); }
+                    bottomUp = frontierEdges > unexploredEdges / ALPHA;
+                }
+                else {
+                    bottomUp = frontierSize >= numVertices / BETA;
+                }
+            }
+
+            nextSize = 0;
+            if (bottomUp) { stepBottomUp(); }
+            else { stepTopDown(); }
+
+            if (graph.hasPredecessors()) {
+                for (int i = 0; i < nextSize; i++) { unexploredEdges -= graph.predecessorCount(next[i]); }
+            }
+            int[] swap = frontier;
+            frontier = next;
+            next = swap;
+            frontierSize = nextSize;
+            level++;
+        }
+    }
+
+    private void stepTopDown()
+    {
+        for (int i = 0; i < frontierSize; i++) {
+            graph.forEachSuccessor(frontier[i], visit);
+        }
+    }
+
+    private void stepBottomUp()
+    {
+        int words = (graph.idBound() + 63) >>> 6;
+        if (frontierBits == null) { frontierBits = new long[words]; }
+        else { Arrays.fill(frontierBits, 0L); }
+        for (int i = 0; i < frontierSize; i++) {
+            frontierBits[frontier[i] >>> 6] |= 1L << frontier[i];
+        }
+
+        for (int id = 0; id < distances.length; id++) {
+            if (distances[id] < 0 && graph.isVertex(id) && graph.anyPredecessor(id, inFrontier)) {
+                distances[id] = level + 1;
+                next[nextSize++] = id;
+            }
+        }
+    }
+}
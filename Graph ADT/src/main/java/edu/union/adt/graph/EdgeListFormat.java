@@ -0,0 +1,362 @@
+package edu.union.adt.graph;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+
+/**
+ * Text formats for reading and writing graphs one line at a time.
+ * Reading calls Graph.addEdge (or addVertex) for each line as it is
+ * read, and writing emits each vertex's line as it goes, so files of
+ * any size are handled in a fixed amount of memory beyond the graph
+ * itself.
+ *
+ * Files are UTF-8.  Vertices are written with toString() and read
+ * back with a parser given by the caller, for example Integer::valueOf.
+ * Blank lines are skipped.  Vertices whose text contains a line break,
+ * or a character the format uses as a separator, cannot be written
+ * and are rejected with an IllegalArgumentException.
+ *
+ * @author Neil Daterao
+ */
+public enum EdgeListFormat {
+
+    /**
+     * One edge per line, "source TAB target".  A line holding a
+     * single vertex adds that vertex; isolated vertices are written
+     * that way.
+     */
+    TSV {
+        @Override
+        <V> void readLine(String line, Function<String, V> parser, Graph<V> graph) throws IOException
+        {
+            addFields(split(line, '\t'), parser, graph);
+        }
+
+        @Override
+        <V> void writeVertex(V vertex, Iterable<V> successors, Writer out) throws IOException
+        {
+            String source = text(vertex, "\t");
+            boolean isolated = true;
+            for (V successor : successors) {
+                out.write(source);
+                out.write('\t');
+                out.write(text(successor, "\t"));
+                out.write('\n');
+                isolated = false;
+            }
+            if (isolated) {
+                out.write(source);
+                out.write('\n');
+            }
+        }
+    },
+
+    /**
+     * One edge per line, "source,target", with RFC 4180 quoting: a
+     * field holding a comma or a double quote is written in double
+     * quotes, with its quotes doubled.  A line holding a single vertex
+     * adds that vertex.
+     */
+    CSV {
+        @Override
+        <V> void readLine(String line, Function<String, V> parser, Graph<V> graph) throws IOException
+        {
+            List<String> fields = new ArrayList<>(2);
+            int i = 0;
+            while (true) {
+                StringBuilder field = new StringBuilder();
+                if (i < line.length() && line.charAt(i) == '"') {
+                    for (i++; ; i++) {
+                        if (i == line.length()) { throw new IOException("Unterminated quoted field"); }
+                        char c = line.charAt(i);
+                        if (c == '"') {
+                            if (i + 1 < line.length() && line.charAt(i + 1) == '"') { i++; }
+                            else { i++; break; }
+                        }
+                        field.append(c);
+                    }
+                    if (i < line.length() && line.charAt(i) != ',') { throw new IOException("Text after quoted field"); }
+                }
+                else {
+                    int end = line.indexOf(',', i);
+                    if (end < 0) { end = line.length(); }
+                    field.append(line, i, end);
+                    i = end;
+                }
+                fields.add(field.toString());
+                if (i == line.length()) { break; }
+                i++; // the comma
+            }
+            addFields(fields, parser, graph);
+        }
+
+        @Override
+        <V> void writeVertex(V vertex, Iterable<V> successors, Writer out) throws IOException
+        {
+            String source = quote(text(vertex, ""));
+            boolean isolated = true;
+            for (V successor : successors) {
+                out.write(source);
+                out.write(',');
+                out.write(quote(text(successor, "")));
+                out.write('\n');
+                isolated = false;
+            }
+            if (isolated) {
+                out.write(source);
+                out.write('\n');
+            }
+        }
+
+        private String quote(String field)
+        {
+            if (field.indexOf(',') < 0 && field.indexOf('"') < 0) { return field; }
+            return '"' + field.replace("\"", "\"\"") + '"';
+        }
+    },
+
+    /**
+     * The edge lists of the Stanford Network Analysis Project: lines
+     * starting with '#' are comments, and each other line is an edge,
+     * "source target", separated by any run of spaces or tabs.
+     * Writing emits a comment header with the vertex and edge counts
+     * and tab-separated edges.  Isolated vertices are not written.
+     */
+    SNAP {
+        @Override
+        <V> void readLine(String line, Function<String, V> parser, Graph<V> graph) throws IOException
+        {
+            if (line.charAt(0) == '#') { return; }
+
+            List<String> fields = new ArrayList<>(2);
+            int i = 0;
+            while (i < line.length()) {
+                while (i < line.length() && isBlank(line.charAt(i))) { i++; }
+                int start = i;
+                while (i < line.length() && !isBlank(line.charAt(i))) { i++; }
+                if (i > start) { fields.add(line.substring(start, i)); }
+            }
+            addFields(fields, parser, graph);
+        }
+
+        private boolean isBlank(char c)
+        {
+            return c == ' ' || c == '\t';
+        }
+
+        @Override
+        void writeHeader(Graph<?> graph, Writer out) throws IOException
+        {
+            out.write("# Directed graph\n");
+            out.write("# Nodes: " + graph.numVertices() + " Edges: " + graph.numEdges() + "\n");
+            out.write("# FromNodeId\tToNodeId\n");
+        }
+
+        @Override
+        <V> void writeVertex(V vertex, Iterable<V> successors, Writer out) throws IOException
+        {
+            String source = text(vertex, " \t");
+            if (source.startsWith("#")) { throw new IllegalArgumentException("Vertex " + source + " cannot be written as SNAP"); }
+
+            for (V successor : successors) {
+                out.write(source);
+                out.write('\t');
+                out.write(text(successor, " \t"));
+                out.write('\n');
+            }
+        }
+    },
+
+    /**
+     * The format of Graph.toString(): one line per vertex, the vertex
+     * followed by ":" and then " w," for each vertex w adjacent to
+     * it, for example "A: B, C,".  Vertices may not contain ':' or
+     * ','.
+     */
+    ADJACENCY {
+        @Override
+        <V> void readLine(String line, Function<String, V> parser, Graph<V> graph) throws IOException
+        {
+            int colon = line.indexOf(':');
+            if (colon < 0) { throw new IOException("Missing ':'"); }
+
+            V source = parser.apply(line.substring(0, colon));
+            graph.addVertex(source);
+            int i = colon + 1;
+            while (i < line.length()) {
+                if (line.charAt(i) != ' ') { throw new IOException("Expected ' ' at column " + (i + 1)); }
+                int comma = line.indexOf(',', i);
+                if (comma < 0) { throw new IOException("Expected ',' after column " + (i + 1)); }
+                graph.addEdge(source, parser.apply(line.substring(i + 1, comma)));
+                i = comma + 1;
+            }
+        }
+
+        @Override
+        <V> void writeVertex(V vertex, Iterable<V> successors, Writer out) throws IOException
+        {
+            out.write(text(vertex, ":,"));
+            out.write(':');
+            for (V successor : successors) {
+                out.write(' ');
+                out.write(text(successor, ":,"));
+                out.write(',');
+            }
+            out.write('\n');
+        }
+    };
+
+    /**
+     * Adds the vertices and edges on one line, which is not blank, to
+     * a graph.
+     *
+     * @throws IOException if the line is malformed
+     */
+    abstract <V> void readLine(String line, Function<String, V> parser, Graph<V> graph) throws IOException;
+
+    /**
+     * Writes anything that goes before the first vertex.
+     */
+    void writeHeader(Graph<?> graph, Writer out) throws IOException
+    {
+    }
+
+    /**
+     * Writes the lines for one vertex and the edges from it.
+     */
+    abstract <V> void writeVertex(V vertex, Iterable<V> successors, Writer out) throws IOException;
+
+    /**
+     * Reads a file in this format into a graph.
+     *
+     * @param path the file to read
+     * @param parser turns the text of a vertex into a vertex
+     * @param graph the graph to add the vertices and edges to
+     * @throws IOException if the file cannot be read, or a line is
+     * malformed; the lines before it have been added to the graph
+     */
+    public <V> void read(Path path, Function<String, V> parser, Graph<V> graph) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+             Reader in = Channels.newReader(channel, StandardCharsets.UTF_8.newDecoder(), -1)) {
+            read(in, parser, graph);
+        }
+    }
+
+    /**
+     * Reads text in this format into a graph.  Does not close the
+     * reader.
+     *
+     * @param in the text to read
+     * @param parser turns the text of a vertex into a vertex
+     * @param graph the graph to add the vertices and edges to
+     * @throws IOException if the text cannot be read, or a line is
+     * malformed; the lines before it have been added to the graph
+     */
+    public <V> void read(Reader in, Function<String, V> parser, Graph<V> graph) throws IOException
+    {
+        BufferedReader lines = new BufferedReader(in, 1 << 16);
+        int lineNumber = 0;
+        for (String line = lines.readLine(); line != null; line = lines.readLine()) {
+            lineNumber++;
+            if (line.trim().isEmpty()) { continue; }
+
+            try {
+                readLine(line, parser, graph);
+            } catch (IOException e) {
+                throw new IOException("Line " + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Writes a graph to a file in this format.  The graph must not be
+     * modified while it is written.
+     *
+     * @param graph the graph to write
+     * @param path the file to write, replaced if it exists
+     * @throws IOException if the file cannot be written
+     */
+    public <V> void write(Graph<V> graph, Path path) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             Writer out = Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), -1)) {
+            write(graph, out);
+        }
+    }
+
+    /**
+     * Writes a graph in this format.  Flushes, but does not close, the
+     * writer.  The graph must not be modified while it is written.
+     *
+     * @param graph the graph to write
+     * @param out where to write it
+     * @throws IOException if the text cannot be written
+     */
+    public <V> void write(Graph<V> graph, Writer out) throws IOException
+    {
+        BufferedWriter lines = new BufferedWriter(out, 1 << 16);
+        writeHeader(graph, lines);
+        for (V vertex : graph.getVertices()) { writeVertex(vertex, graph.adjacentTo(vertex), lines); }
+        lines.flush();
+    }
+
+    /**
+     * Private helper that adds the one or two vertices on a line, and
+     * the edge between them if there are two.
+     */
+    private static <V> void addFields(List<String> fields, Function<String, V> parser, Graph<V> graph)
+        throws IOException
+    {
+        if (fields.size() == 1) { graph.addVertex(parser.apply(fields.get(0))); }
+        else if (fields.size() == 2) { graph.addEdge(parser.apply(fields.get(0)), parser.apply(fields.get(1))); }
+        else { throw new IOException("Expected 1 or 2 fields, found " + fields.size()); }
+    }
+
+    /**
+     * Private helper that splits a line at every separator.
+     */
+    private static List<String> split(String line, char separator)
+    {
+        List<String> fields = new ArrayList<>(2);
+        int start = 0;
+        for (int end = line.indexOf(separator); end >= 0; end = line.indexOf(separator, start)) {
+            fields.add(line.substring(start, end));
+            start = end + 1;
+        }
+        fields.add(line.substring(start));
+        return fields;
+    }
+
+    /**
+     * Private helper that returns the text of a vertex, rejecting text
+     * the format could not read back.
+     *
+     * @param reserved the separators of the format
+     */
+    private static String text(Object vertex, String reserved)
+    {
+        String text = vertex.toString();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\n' || c == '\r' || reserved.indexOf(c) >= 0) {
+                throw new IllegalArgumentException("Vertex " + text + " cannot be written in this format");
+            }
+        }
+        if (text.trim().isEmpty()) { throw new IllegalArgumentException("Blank vertex cannot be written"); }
+        return text;
+    }
+}
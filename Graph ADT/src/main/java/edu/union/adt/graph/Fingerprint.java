@@ -0,0 +1,54 @@
+package edu.union.adt.graph;
+
+
+/**
+ * The structural fingerprint behind hashCode and the quick rejections
+ * in equals of the graphs: the sum, wrapping around, of a mixed hash
+ * of every vertex and every edge.  A sum does not depend on the order
+ * of the vertices and edges, and can be kept current by adding and
+ * subtracting terms as the graph changes, so the graphs keep it in a
+ * field next to their edge count.
+ *
+ * The fingerprint relies on vertices not changing their hashCode
+ * while in a graph, which the hash tables of the graphs require
+ * anyway.
+ * @author Neil Daterao
+ */
+final class Fingerprint {
+
+    private Fingerprint()
+    {
+    }
+
+    /**
+     * @return the term a vertex adds to the fingerprint
+     */
+    static int vertex(Object vertex)
+    {
+        return mix(vertex.hashCode());
+    }
+
+    /**
+     * @param from the vertex term of the source
+     * @param to the vertex term of the destination
+     * @return the term an edge adds to the fingerprint.  The terms of
+     * (x, y) and (y, x) differ.
+     */
+    static int edge(int from, int to)
+    {
+        return mix(from * 0x9E3779B9 + Integer.rotateLeft(to, 16) + 0x632BE5AB);
+    }
+
+    /**
+     * The finalizer of MurmurHash3, so that similar hash codes, such
+     * as those of consecutive Integers, give unrelated terms.
+     */
+    private static int mix(int h)
+    {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        return h ^ (h >>> 16);
+    }
+}
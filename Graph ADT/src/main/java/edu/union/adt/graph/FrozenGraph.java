@@ -0,0 +1,871 @@
+package edu.union.adt.graph;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+
+/**
+ *  Read-only graph returned by Graph.snapshot().  It never changes
+ *  after it is made, so any number of threads can read it without
+ *  locking while the graph it was taken from keeps changing.
+ *
+ *  Vertices keep the ids they had in the source graph.  Edges are
+ *  kept in compressed sparse row form, split into chunks of
+ *  CHUNK_SIZE ids: a chunk has one int array of row offsets and one
+ *  of targets.  A new snapshot of the same graph reuses every chunk
+ *  whose rows have not changed, and the vertex table too if no vertex
+ *  was added or removed, so taking a snapshot after a few changes
+ *  copies only the chunks those changes touched.
+ *
+ *  Vertices are looked up in an open-addressing table of ids rather
+ *  than a HashMap, so a snapshot holds a few large arrays and no
+ *  per-vertex or per-edge objects.  The reverse rows (for inDegree,
+ *  adjacentFrom and two-way searches) are built on first use.
+ *
+ *  @author Neil Daterao
+ */
+public final class FrozenGraph<V> implements Graph<V>, Indexable {
+
+    static final int CHUNK_SHIFT = 10;
+    static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final Object[] vertices; // id -> vertex, null if the id is free
+    private final int[] table; // open addressing: slot -> id, -1 if empty
+    private final int numVertices;
+    private final int numEdges;
+    private final int fingerprint; // see Fingerprint
+    private final int[][] rowOffsets; // per chunk, CHUNK_SIZE + 1 offsets into rowTargets
+    private final int[][] rowTargets;
+    private volatile Reverse reverse; // built when first needed
+    private final IndexedGraph indexed = new Indexed();
+
+    /**
+     * The transpose of the edges, in one array pair.  Published as a
+     * single object so readers never see half of it.
+     */
+    private static final class Reverse {
+        final int[] offsets;
+        final int[] targets;
+
+        Reverse(int[] offsets, int[] targets) { this.offsets = offsets; this.targets = targets; }
+    }
+
+    private FrozenGraph(Object[] vertices, int[] table, int numVertices, int numEdges, int fingerprint,
+                        int[][] rowOffsets, int[][] rowTargets)
+    {
+        this.vertices = vertices;
+        this.table = table;
+        this.numVertices = numVertices;
+        this.numEdges = numEdges;
+        this.fingerprint = fingerprint;
+        this.rowOffsets = rowOffsets;
+        this.rowTargets = rowTargets;
+    }
+
+    /**
+     * Takes a snapshot of a graph.
+     *
+     * @param graph the graph, seen by id
+     * @param vertices the vertex of every id below graph.idBound(), or
+     * null if the vertices are the same as in 'previous'
+     * @param numVertices the number of vertices in the graph
+     * @param fingerprint the fingerprint (see Fingerprint) of the
+     * graph
+     * @param previous the last snapshot taken of the same graph, or
+     * null.  Ids must mean the same vertices in both.
+     * @param dirtyChunks the chunks whose rows changed since
+     * 'previous' was taken
+     */
+    static <V> FrozenGraph<V> freeze(IndexedGraph graph, Object[] vertices, int numVertices, int fingerprint,
+                                     FrozenGraph<V> previous, BitSet dirtyChunks)
+    {
+        int[] table;
+        if (vertices == null) {
+            vertices = previous.vertices;
+            table = previous.table;
+        }
+        else { table = buildTable(vertices, numVertices); }
+
+        int numChunks = (graph.idBound() + CHUNK_MASK) >>> CHUNK_SHIFT;
+        int[][] offsets = new int[numChunks][];
+        int[][] targets = new int[numChunks][];
+        for (int chunk = 0; chunk < numChunks; chunk++) {
+            if (previous != null && chunk < previous.rowOffsets.length && !dirtyChunks.get(chunk)) {
+                offsets[chunk] = previous.rowOffsets[chunk];
+                targets[chunk] = previous.rowTargets[chunk];
+            }
+            else { buildChunk(graph, chunk, offsets, targets); }
+        }
+
+        return new FrozenGraph<V>(vertices, table, numVertices, graph.edgeCount(), fingerprint, offsets, targets);
+    }
+
+    /**
+     * Private helper that copies the rows of one chunk of ids.
+     */
+    private static void buildChunk(IndexedGraph graph, int chunk, int[][] offsets, int[][] targets)
+    {
+        int first = chunk << CHUNK_SHIFT;
+        int end = Math.min(first + CHUNK_SIZE, graph.idBound());
+        final int[] chunkOffsets = new int[CHUNK_SIZE + 1];
+        for (int id = first; id < end; id++) {
+            int degree = graph.isVertex(id) ? graph.successorCount(id) : 0;
+            chunkOffsets[id - first + 1] = chunkOffsets[id - first] + degree;
+        }
+        for (int i = end - first; i < CHUNK_SIZE; i++) { chunkOffsets[i + 1] = chunkOffsets[i]; }
+
+        final int[] chunkTargets = new int[chunkOffsets[CHUNK_SIZE]];
+        IntConsumer fill = new IntConsumer() {
+            int next;
+
+            @Override
+            public void accept(int target) { chunkTargets[next++] = target; }
+        };
+        for (int id = first; id < end; id++) {
+            if (graph.isVertex(id)) { graph.forEachSuccessor(id, fill); }
+        }
+        offsets[chunk] = chunkOffsets;
+        targets[chunk] = chunkTargets;
+    }
+
+    /**
+     * Private helper that builds the id lookup table for the vertices.
+     */
+    private static int[] buildTable(Object[] vertices, int numVertices)
+    {
+        int capacity = Integer.highestOneBit(Math.max(2, numVertices) * 2 - 1) << 1;
+        int[] table = new int[capacity];
+        Arrays.fill(table, -1);
+        for (int id = 0; id < vertices.length; id++) {
+            if (vertices[id] == null) { continue; }
+            int slot = spread(vertices[id].hashCode()) & (capacity - 1);
+            while (table[slot] >= 0) { slot = (slot + 1) & (capacity - 1); }
+            table[slot] = id;
+        }
+        return table;
+    }
+
+    private static int spread(int h)
+    {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Private helper that returns the id of a vertex, or -1 if it is
+     * not in the graph.
+     */
+    private int idOf(Object vertex)
+    {
+        int mask = table.length - 1;
+        for (int slot = spread(vertex.hashCode()) & mask; table[slot] >= 0; slot = (slot + 1) & mask) {
+            if (vertices[table[slot]].equals(vertex)) { return table[slot]; }
+        }
+        return -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V vertexAt(int id)
+    {
+        return (V) vertices[id];
+    }
+
+    /**
+     * @return the id-based view of this graph
+     */
+    @Override
+    public IndexedGraph indexedView()
+    {
+        return indexed;
+    }
+
+    /**
+     * @return true: hashCode is the fingerprint of the graph
+     */
+    @Override
+    public boolean hasFingerprint()
+    {
+        return true;
+    }
+
+    private int rowStart(int id) { return rowOffsets[id >>> CHUNK_SHIFT][id & CHUNK_MASK]; }
+
+    private int rowEnd(int id) { return rowOffsets[id >>> CHUNK_SHIFT][(id & CHUNK_MASK) + 1]; }
+
+    private int[] row(int id) { return rowTargets[id >>> CHUNK_SHIFT]; }
+
+    /**
+     * Private helper that builds the reverse rows if they are not
+     * built yet.  Two readers may both build them; either result is
+     * correct.
+     */
+    private Reverse reverse()
+    {
+        Reverse built = reverse;
+        if (built != null) { return built; }
+
+        int idBound = vertices.length;
+        int[] offsets = new int[idBound + 1];
+        for (int u = 0; u < idBound; u++) {
+            int[] targets = row(u);
+            for (int i = rowStart(u); i < rowEnd(u); i++) { offsets[targets[i] + 1]++; }
+        }
+        for (int id = 0; id < idBound; id++) { offsets[id + 1] += offsets[id]; }
+        int[] fill = Arrays.copyOf(offsets, idBound);
+        int[] sources = new int[numEdges];
+        for (int u = 0; u < idBound; u++) {
+            int[] targets = row(u);
+            for (int i = rowStart(u); i < rowEnd(u); i++) { sources[fill[targets[i]]++] = u; }
+        }
+        built = new Reverse(offsets, sources);
+        reverse = built;
+        return built;
+    }
+
+    /**
+     * The id-based view of this graph used by the search engines.
+     * Reverse rows are offered once some reader has built them.
+     */
+    private class Indexed implements IndexedGraph {
+        @Override
+        public int idBound() { return vertices.length; }
+
+        @Override
+        public boolean isVertex(int id) { return vertices[id] != null; }
+
+        @Override
+        public int edgeCount() { return numEdges; }
+
+        @Override
+        public Object vertex(int id) { return vertices[id]; }
+
+        @Override
+        public int idOf(Object vertex) { return FrozenGraph.this.idOf(vertex); }
+
+        @Override
+        public int successorCount(int id) { return rowEnd(id) - rowStart(id); }
+
+        @Override
+        public void forEachSuccessor(int id, IntConsumer action)
+        {
+            int[] targets = row(id);
+            for (int i = rowStart(id), end = rowEnd(id); i < end; i++) { action.accept(targets[i]); }
+        }
+
+        @Override
+        public boolean hasPredecessors() { return reverse != null; }
+
+        @Override
+        public int predecessorCount(int id)
+        {
+            Reverse r = reverse;
+            return r.offsets[id + 1] - r.offsets[id];
+        }
+
+        @Override
+        public void forEachPredecessor(int id, IntConsumer action)
+        {
+            Reverse r = reverse;
+            for (int i = r.offsets[id]; i < r.offsets[id + 1]; i++) { action.accept(r.targets[i]); }
+        }
+
+        @Override
+        public boolean anyPredecessor(int id, IntPredicate test)
+        {
+            Reverse r = reverse;
+            for (int i = r.offsets[id]; i < r.offsets[id + 1]; i++) {
+                if (test.test(r.targets[i])) { return true; }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * A read-only list of the vertices whose ids are in part of an
+     * int array.
+     */
+    private class VertexList extends AbstractList<V> {
+        private final int[] ids;
+        private final int start;
+        private final int end;
+
+        VertexList(int[] ids, int start, int end) { this.ids = ids; this.start = start; this.end = end; }
+
+        @Override
+        public V get(int index)
+        {
+            if (index < 0 || index >= end - start) { throw new IndexOutOfBoundsException("Index: " + index); }
+            return vertexAt(ids[start + index]);
+        }
+
+        @Override
+        public int size() { return end - start; }
+    }
+
+    /**
+     * @return the number of vertices in the graph.
+     */
+    @Override
+    public int numVertices()
+    {
+        return numVertices;
+    }
+
+    /**
+     * @return the number of edges in the graph.
+     */
+    @Override
+    public int numEdges()
+    {
+        return numEdges;
+    }
+
+    /**
+     * Gets the number of vertices connected by edges from a given
+     * vertex.  If the given vertex is not in the graph, throws a
+     * RuntimeException.
+     *
+     * @param vertex the vertex whose degree we want.
+     * @return the degree of vertex 'vertex'
+     */
+    @Override
+    public int degree(V vertex)
+    {
+        int id = idOf(vertex);
+        if (id < 0) { throw new RuntimeException("Vertex Not In Graph"); }
+
+        return rowEnd(id) - rowStart(id);
+    }
+
+    /**
+     * Gets the number of vertices with an edge to a given vertex.  If
+     * the given vertex is not in the graph, throws a
+     * RuntimeException.
+     *
+     * @param vertex the vertex whose in-degree we want.
+     * @return the in-degree of vertex 'vertex'
+     */
+    @Override
+    public int inDegree(V vertex)
+    {
+        int id = idOf(vertex);
+        if (id < 0) { throw new RuntimeException("Vertex Not In Graph"); }
+
+        Reverse r = reverse();
+        return r.offsets[id + 1] - r.offsets[id];
+    }
+
+    /**
+     * Not supported: a snapshot cannot be changed.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void addEdge(V from, V to)
+    {
+        throw new UnsupportedOperationException("Graph snapshot is read-only");
+    }
+
+    /**
+     * Not supported: a snapshot cannot be changed.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void addEdges(Iterable<? extends Map.Entry<? extends V, ? extends V>> edges)
+    {
+        throw new UnsupportedOperationException("Graph snapshot is read-only");
+    }
+
+    /**
+     * Not supported: a snapshot cannot be changed.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void addVertex(V vertex)
+    {
+        throw new UnsupportedOperationException("Graph snapshot is read-only");
+    }
+
+    /**
+     * @return the an iterable collection for the set of vertices of
+     * the graph, in id order.
+     */
+    @Override
+    public Collection<V> getVertices()
+    {
+        return new AbstractCollection<V>() {
+            @Override
+            public int size() { return numVertices; }
+
+            @Override
+            public Iterator<V> iterator()
+            {
+                return new Iterator<V>() {
+                    int id = skipFree(0);
+
+                    private int skipFree(int from)
+                    {
+                        while (from < vertices.length && vertices[from] == null) { from++; }
+                        return from;
+                    }
+
+                    @Override
+                    public boolean hasNext() { return id < vertices.length; }
+
+                    @Override
+                    public V next()
+                    {
+                        if (!hasNext()) { throw new NoSuchElementException(); }
+                        V vertex = vertexAt(id);
+                        id = skipFree(id + 1);
+                        return vertex;
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * Gets the vertices adjacent to a given vertex.  A vertex y is
+     * "adjacent to" vertex x if there is an edge (x, y) in the graph.
+     * Because edges are directed, if (x, y) is an edge but (y, x) is
+     * not an edge, we would say that y is adjacent to x but that x is
+     * NOT adjacent to y.
+     *
+     * @param from the source vertex
+     * @return an iterable collection for the set of vertices that are
+     * the destinations of edges for which 'from' is the source
+     * vertex.  If 'from' is not a vertex in the graph, returns an
+     * empty iterator.
+     */
+    @Override
+    public Collection<V> adjacentTo(V from)
+    {
+        int id = idOf(from);
+        if (id < 0) { return Collections.emptyList(); }
+
+        return new VertexList(row(id), rowStart(id), rowEnd(id));
+    }
+
+    /**
+     * Calls an action on each vertex adjacent to a given vertex, in
+     * adjacentTo order, without allocating an iterator.
+     *
+     * @param from the source vertex
+     * @param action the action to call on each destination of an edge
+     * from 'from'.  If 'from' is not a vertex in the graph, it is
+     * never called.
+     */
+    @Override
+    public void forEachNeighbor(V from, Consumer<? super V> action)
+    {
+        int id = idOf(from);
+        if (id < 0) { return; }
+
+        int[] row = row(id);
+        for (int i = rowStart(id), end = rowEnd(id); i < end; i++) { action.accept(vertexAt(row[i])); }
+    }
+
+    /**
+     * Gets the vertices a given vertex is adjacent to, i.e. the
+     * predecessors of the vertex.
+     *
+     * @param to the destination vertex
+     * @return an iterable collection for the set of vertices that are
+     * the sources of edges for which 'to' is the destination vertex.
+     * If 'to' is not a vertex in the graph, returns an empty
+     * iterator.
+     */
+    @Override
+    public Collection<V> adjacentFrom(V to)
+    {
+        int id = idOf(to);
+        if (id < 0) { return Collections.emptyList(); }
+
+        Reverse r = reverse();
+        return new VertexList(r.targets, r.offsets[id], r.offsets[id + 1]);
+    }
+
+    /**
+     * Tells whether or not a vertex is in the graph.
+     *
+     * @param vertex a vertex
+     * @return true iff 'vertex' is a vertex in the graph.
+     */
+    @Override
+    public boolean contains(V vertex)
+    {
+        return idOf(vertex) >= 0;
+    }
+
+    /**
+     * Tells whether an edge exists in the graph.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     *
+     * @return true iff there is an edge from the source vertex to the
+     * destination vertex in the graph.  If either of the given
+     * vertices are not vertices in the graph, then there is no edge
+     * between them.
+     */
+    @Override
+    public boolean hasEdge(V from, V to)
+    {
+        int fromId = idOf(from);
+        int toId = idOf(to);
+        if (fromId < 0 || toId < 0) { return false; }
+
+        int[] targets = row(fromId);
+        for (int i = rowStart(fromId), end = rowEnd(fromId); i < end; i++) {
+            if (targets[i] == toId) { return true; }
+        }
+        return false;
+    }
+
+    /**
+     * Writes the string representation of the graph (see toString) to
+     * a destination one line at a time, without building a String of
+     * the whole graph.  Vertices are listed in id order.
+     *
+     * @param out where to write the representation
+     * @throws IOException if out does
+     */
+    @Override
+    public void writeTo(Appendable out) throws IOException
+    {
+        for (int id = 0; id < vertices.length; id++) {
+            if (vertices[id] == null) { continue; }
+
+            out.append(vertices[id].toString()).append(':');
+            int[] targets = row(id);
+            for (int i = rowStart(id), end = rowEnd(id); i < end; i++) {
+                out.append(' ').append(vertices[targets[i]].toString()).append(',');
+            }
+            out.append('\n');
+        }
+    }
+
+    /**
+     * Gives a string representation of the graph, in the format
+     * described by Graph.toString, with the vertices in id order.
+     *
+     * @return the string representation of the graph
+     */
+    @Override
+    public String toString()
+    {
+        return CappedText.of(this, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Gives the string representation of the graph, cut off after a
+     * given number of characters.  Only the part of the graph that is
+     * shown is visited, so this is safe to call on huge graphs.
+     *
+     * @param maxLength the most characters of the representation to
+     * give
+     * @return the first maxLength characters of toString(), followed
+     * by "..." if the representation is longer than that
+     */
+    @Override
+    public String toString(int maxLength)
+    {
+        return CappedText.of(this, maxLength);
+    }
+
+    /**
+     * Checks if two graph objects are equal. Checks if structure of graphs is identical.
+     * Graphs whose vertex counts, edge counts or fingerprints differ
+     * are told apart in O(1).
+     *
+     * @param otherObj object you are checking is equal
+     * @return true iff graphs are equal. Checks if graphs habe the same vertices and edges.
+     */
+    @Override
+    public boolean equals(Object otherObj)
+    {
+        if (this == otherObj) { return true; }
+        if (otherObj == null || getClass() != otherObj.getClass()) { return false; }
+
+        FrozenGraph<?> otherGraph = (FrozenGraph<?>) otherObj;
+        if (numVertices != otherGraph.numVertices || numEdges != otherGraph.numEdges) { return false; }
+        if (fingerprint != otherGraph.fingerprint) { return false; }
+
+        for (int id = 0; id < vertices.length; id++) {
+            if (vertices[id] == null) { continue; }
+
+            int otherId = otherGraph.idOf(vertices[id]);
+            if (otherId < 0) { return false; }
+
+            int length = rowEnd(id) - rowStart(id);
+            if (length != otherGraph.rowEnd(otherId) - otherGraph.rowStart(otherId)) { return false; }
+
+            int[] targets = row(id);
+            int[] otherTargets = otherGraph.row(otherId);
+            for (int i = 0; i < length; i++) {
+                Object neighbor = vertices[targets[rowStart(id) + i]];
+                Object otherNeighbor = otherGraph.vertices[otherTargets[otherGraph.rowStart(otherId) + i]];
+                if (!neighbor.equals(otherNeighbor)) { return false; }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gives a hash code that depends only on the vertices and edges of
+     * the graph.  The fingerprint it returns comes from the graph the
+     * snapshot was taken of, so this is O(1).
+     *
+     * @return the hash code of the graph
+     */
+    @Override
+    public int hashCode()
+    {
+        return fingerprint;
+    }
+
+    /**
+     * Tells whether another graph has the same vertices and edges as
+     * this one, whatever order the neighbors of each vertex are listed
+     * in and whatever the implementation of the other graph.  Runs in
+     * time linear in the size of the graphs (see UnorderedEquals), and
+     * rejects graphs with different counts or fingerprints in O(1).
+     *
+     * @param other the graph to compare with
+     * @return true iff the two graphs have the same set of vertices
+     * and the same set of edges
+     */
+    @Override
+    public boolean equalsIgnoringOrder(Graph<?> other)
+    {
+        return UnorderedEquals.equal(this, other);
+    }
+
+    /**
+     * Tells whether another graph has the same vertices and edges as
+     * this one, as equalsIgnoringOrder(other) does, comparing the
+     * edges of different vertices in parallel on a given pool.  The
+     * other graph may not be modified while they are compared.
+     *
+     * @param other the graph to compare with
+     * @param pool the pool to compare on
+     * @return true iff the two graphs have the same set of vertices
+     * and the same set of edges
+     */
+    @Override
+    public boolean equalsIgnoringOrder(Graph<?> other, ForkJoinPool pool)
+    {
+        return UnorderedEquals.equal(this, other, pool);
+    }
+
+    /**
+     * Tells whether the graph is empty.
+     *
+     * @return true iff the graph is empty. A graph is empty if it has
+     * no vertices and no edges.
+     */
+    @Override
+    public boolean isEmpty()
+    {
+        return numVertices == 0 && numEdges == 0;
+    }
+
+    /**
+     * Not supported: a snapshot cannot be changed.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void removeVertex(V toRemove)
+    {
+        throw new UnsupportedOperationException("Graph snapshot is read-only");
+    }
+
+    /**
+     * Not supported: a snapshot cannot be changed.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void removeEdge(V from, V to)
+    {
+        throw new UnsupportedOperationException("Graph snapshot is read-only");
+    }
+
+    /**
+     * Tells whether there is a path connecting two given vertices.  A
+     * path exists from vertex A to vertex B iff A and B are in the
+     * graph and there exists a sequence x_1, x_2, ..., x_n where:
+     *
+     * <ul>
+     * <li>x_1 = A
+     * <li>x_n = B
+     * <li>for all i from 1 to n-1, (x_i, x_{i+1}) is an edge in the graph.
+     * </ul>
+     *
+     * It therefore follows that if vertex A is in the graph, there
+     * is a path from A to A.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return true iff there is a path from 'from' to 'to' in the graph.
+     */
+    @Override
+    public boolean hasPath(V from, V to)
+    {
+        int fromId = idOf(from);
+        int toId = idOf(to);
+        if (fromId < 0 || toId < 0) { return false; }
+
+        if (reverse != null) { return PathSearch.get().hasPathBidirectional(indexed, fromId, toId); }
+        else { return PathSearch.get().hasPath(indexed, fromId, toId); }
+    }
+
+    /**
+     * Gets the length of the shortest path connecting two given
+     * vertices.  The length of a path is the number of edges in the
+     * path.
+     *
+     * <ol>
+     * <li>If from = to, the shortest path has length 0
+     * <li>Otherwise, the shortest path length is the length of the shortest
+     * possible path connecting from to to.
+     * </ol>
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return the length of the shortest path from 'from' to 'to' in
+     * the graph.  If there is no path, returns Integer.MAX_VALUE
+     */
+    @Override
+    public int pathLength(V from, V to)
+    {
+        if (from.equals(to)) { return 0; }
+
+        int fromId = idOf(from);
+        int toId = idOf(to);
+        if (fromId < 0 || toId < 0) { return Integer.MAX_VALUE; }
+
+        int length = PathSearch.get().pathLength(indexed, fromId, toId);
+        if (length < 0) { return Integer.MAX_VALUE; }
+        else { return length; }
+    }
+
+    /**
+     * Gets the length of the shortest path from a given vertex to
+     * every vertex that can be reached from it.
+     *
+     * @param source the source vertex
+     * @return a map from each vertex reachable from 'source' to the
+     * length of the shortest path to it.  'source' itself maps to 0.
+     * If 'source' is not in the graph, returns an empty map.
+     */
+    @Override
+    public Map<V, Integer> distancesFrom(V source)
+    {
+        int sourceId = idOf(source);
+        if (sourceId < 0) { return Collections.emptyMap(); }
+
+        reverse();
+        return toMap(DirectionOptimizingBfs.distances(indexed, sourceId));
+    }
+
+    /**
+     * Gets the length of the shortest path from a given vertex to
+     * every vertex that can be reached from it, expanding each level
+     * of the search in parallel on a given pool (see ParallelBfs).
+     *
+     * @param source the source vertex
+     * @param pool the pool to run the search on
+     * @return a map from each vertex reachable from 'source' to the
+     * length of the shortest path to it.  'source' itself maps to 0.
+     * If 'source' is not in the graph, returns an empty map.
+     */
+    @Override
+    public Map<V, Integer> distancesFrom(V source, ForkJoinPool pool)
+    {
+        int sourceId = idOf(source);
+        if (sourceId < 0) { return Collections.emptyMap(); }
+
+        return toMap(ParallelBfs.distances(indexed, sourceId, pool));
+    }
+
+    /**
+     * Private helper that turns an array of distances indexed by id
+     * into a map from vertex to distance, leaving out unreached ids.
+     */
+    private Map<V, Integer> toMap(int[] distances)
+    {
+        Map<V, Integer> result = new HashMap<>();
+        for (int id = 0; id < distances.length; id++) {
+            if (distances[id] >= 0) { result.put(vertexAt(id), distances[id]); }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the vertices along the shortest path connecting two
+     * given vertices.  The vertices are given in the order x_1,
+     * x_2, x_3, ..., x_n, where:
+     *
+     * <ol>
+     * <li>x_1 = from
+     * <li>x_n = to
+     * <li>for all i from 1 to n-1: (x_i, x_{i+1}) is an edge in the graph.
+     * </ol>
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return an Iterable collection of vertices along the shortest
+     * path from 'from' to 'to'.  The Iterable includes the source and
+     * destination vertices. If there is no path from 'from' to 'to'
+     * in the graph (e.g. if the vertices are not in the graph),
+     * returns an empty Iterable collection of vertices.
+     */
+    @Override
+    public Iterable<V> getPath(V from, V to)
+    {
+        int fromId = idOf(from);
+        int toId = idOf(to);
+        if (fromId < 0 || toId < 0) { return Collections.emptyList(); }
+
+        int[] ids = PathSearch.get().path(indexed, fromId, toId);
+        if (ids == null) { return Collections.emptyList(); }
+
+        List<V> path = new ArrayList<>(ids.length);
+        for (int id : ids) { path.add(vertexAt(id)); }
+        return path;
+    }
+
+    /**
+     * Finds the shortest paths from a vertex to every vertex it
+     * reaches, with one breadth-first search, for answering
+     * pathLength and getPath from that vertex to many targets.
+     *
+     * @param source the source vertex
+     * @return the shortest paths from 'source'.  If 'source' is not in
+     * the graph, the tree reaches no vertex.
+     */
+    @Override
+    public ShortestPathTree<V> shortestPathTree(V source)
+    {
+        return new ShortestPathTree<V>(indexed, source);
+    }
+
+    /**
+     * @return this graph, which is already read-only.
+     */
+    @Override
+    public Graph<V> snapshot()
+    {
+        return this;
+    }
+}
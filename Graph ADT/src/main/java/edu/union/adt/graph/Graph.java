@@ -1,5 +1,11 @@
 package edu.union.adt.graph;
 
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
 /**
  * A graph that establishes connections (edges) between objects of
  * (parameterized) type V (vertices).  The edges are directed.  An
@@ -38,6 +44,16 @@ public interface Graph<V>
      */
     public int degree(V vertex);
 
+    /**
+     * Gets the number of vertices with an edge to a given vertex.  If
+     * the given vertex is not in the graph, throws a
+     * RuntimeException.
+     *
+     * @param vertex the vertex whose in-degree we want.
+     * @return the in-degree of vertex 'vertex'
+     */
+    public int inDegree(V vertex);
+
     /**
      * Adds a directed edge between two vertices.  If there is already an edge
      * between the given vertices, does nothing.  If either (or both)
@@ -49,6 +65,16 @@ public interface Graph<V>
      */
     public void addEdge(V from, V to);
 
+    /**
+     * Adds a directed edge for each (source, destination) pair, with
+     * the same result as calling addEdge on each pair in order.
+     * Loading many edges this way is faster than calling addEdge for
+     * each one.
+     *
+     * @param edges the edges to add, as (source, destination) pairs
+     */
+    public void addEdges(Iterable<? extends Map.Entry<? extends V, ? extends V>> edges);
+
     /**
      * Adds a vertex to the graph.  If the vertex already exists in
      * the graph, does nothing.  If the vertex does not exist, it is
@@ -59,10 +85,17 @@ public interface Graph<V>
     public void addVertex(V vertex);
 
     /**
+     * Gets the vertices of the graph, as a read-only view rather than
+     * a copy: size() is O(1), and changes through the view throw an
+     * UnsupportedOperationException.  If the graph changes while the
+     * view is in use, the view either fails fast with a
+     * ConcurrentModificationException or, for implementations that
+     * say so, shows the graph as it was when the view was made.
+     *
      * @return the an iterable collection for the set of vertices of
      * the graph.
      */
-    public Iterable<V> getVertices();
+    public Collection<V> getVertices();
 
     /**
      * Gets the vertices adjacent to a given vertex.  A vertex y is
@@ -75,9 +108,39 @@ public interface Graph<V>
      * @return an iterable collection for the set of vertices that are
      * the destinations of edges for which 'from' is the source
      * vertex.  If 'from' is not a vertex in the graph, returns an
-     * empty iterator.
+     * empty iterator.  Like getVertices, this is a read-only view
+     * with an O(1) size(), so degree(from) never needs a copy.
+     */
+    public Collection<V> adjacentTo(V from);
+
+    /**
+     * Calls an action on each vertex adjacent to a given vertex, in
+     * the order adjacentTo gives them.  Unlike a loop over adjacentTo,
+     * this allocates no iterator and lets the JIT inline the action,
+     * so it is the cheaper way to visit neighbors in a tight loop.
+     * The action must not change the graph.
+     *
+     * @param from the source vertex
+     * @param action the action to call on each destination of an edge
+     * from 'from'.  If 'from' is not a vertex in the graph, it is
+     * never called.
+     */
+    public void forEachNeighbor(V from, Consumer<? super V> action);
+
+    /**
+     * Gets the vertices a given vertex is adjacent to, i.e. the
+     * predecessors of the vertex.  A vertex x is in adjacentFrom(y)
+     * iff y is in adjacentTo(x).
+     *
+     * @param to the destination vertex
+     * @return an iterable collection for the set of vertices that are
+     * the sources of edges for which 'to' is the destination vertex.
+     * If 'to' is not a vertex in the graph, returns an empty
+     * iterator.  Read-only, like adjacentTo, but unlike adjacentTo it
+     * may be a copy: a graph that does not index predecessors has to
+     * scan its edges to find them, and returns what it found.
      */
-    public Iterable<V> adjacentTo(V from);
+    public Collection<V> adjacentFrom(V to);
 
     /**
      * Tells whether or not a vertex is in the graph.
@@ -132,6 +195,29 @@ public interface Graph<V>
      */
     public String toString();
 
+    /**
+     * Gives the string representation of the graph, cut off after a
+     * given number of characters.  Only the part of the graph that is
+     * shown is visited, so this is safe to call on huge graphs.
+     *
+     * @param maxLength the most characters of the representation to
+     * give
+     * @return the first maxLength characters of toString(), followed
+     * by "..." if the representation is longer than that
+     */
+    public String toString(int maxLength);
+
+    /**
+     * Writes the string representation of the graph (see toString) to
+     * a destination one line at a time, without building a String of
+     * the whole graph.
+     *
+     * @param out where to write the representation, for example a
+     * Writer
+     * @throws IOException if out does
+     */
+    public void writeTo(Appendable out) throws IOException;
+
     /**
      * Tells whether the graph is empty.
      *
@@ -210,6 +296,32 @@ public interface Graph<V>
      */
     public int pathLength(V from, V to);
 
+    /**
+     * Gets the length of the shortest path from a given vertex to
+     * every vertex that can be reached from it.
+     *
+     * @param source the source vertex
+     * @return a map from each vertex reachable from 'source' to the
+     * length of the shortest path to it.  'source' itself maps to 0.
+     * If 'source' is not in the graph, returns an empty map.
+     */
+    public Map<V, Integer> distancesFrom(V source);
+
+    /**
+     * Gets the length of the shortest path from a given vertex to
+     * every vertex that can be reached from it, expanding each level
+     * of the search in parallel on a given pool.  The graph must not
+     * be modified while the search runs.
+     *
+     * @param source the source vertex
+     * @param pool the pool to run the search on, for example
+     * ForkJoinPool.commonPool()
+     * @return a map from each vertex reachable from 'source' to the
+     * length of the shortest path to it.  'source' itself maps to 0.
+     * If 'source' is not in the graph, returns an empty map.
+     */
+    public Map<V, Integer> distancesFrom(V source, ForkJoinPool pool);
+
     /**
      * Returns the vertices along the shortest path connecting two
      * given vertices.  The vertices are given in the order x_1,
@@ -231,6 +343,35 @@ public interface Graph<V>
      */
     public Iterable<V> getPath(V from, V to);
 
+    /**
+     * Finds the shortest paths from a vertex to every vertex it
+     * reaches, with one breadth-first search.  The returned tree then
+     * answers pathLength and getPath for any target without searching
+     * again, which is much faster than calling pathLength(source, to)
+     * or getPath(source, to) for many targets.  It answers for the
+     * graph as it is now.
+     *
+     * @param source the source vertex
+     * @return the shortest paths from 'source'.  If 'source' is not in
+     * the graph, the tree reaches no vertex.
+     */
+    public ShortestPathTree<V> shortestPathTree(V source);
+
+    /**
+     * Gets a read-only copy of the graph as it is now.  Changes made
+     * to the graph afterwards do not show in the copy, and any number
+     * of threads can read the copy without locking.  The copy's
+     * methods that would change it throw
+     * UnsupportedOperationException.
+     *
+     * Taking another snapshot of a graph that has not changed returns
+     * the same copy, and a snapshot after a few changes shares the
+     * unchanged parts of the previous one (see FrozenGraph).
+     *
+     * @return an immutable copy of the graph
+     */
+    public Graph<V> snapshot();
+
 
     /**
      * Checks if two graph objects are equal. Checks if structure of graphs is identical. 
@@ -240,6 +381,45 @@ public interface Graph<V>
      */
     public boolean equals(Object otherObj);
 
+    /**
+     * Gives a hash code that depends only on the vertices and edges of
+     * the graph, not on the order they were added in, so equal graphs
+     * have equal hash codes.  Implementations keep it up to date as
+     * the graph changes, so this is O(1), and equals uses it (with the
+     * vertex and edge counts) to reject most unequal graphs without
+     * comparing their edges.
+     *
+     * @return the hash code of the graph
+     */
+    public int hashCode();
+
+    /**
+     * Tells whether another graph has the same vertices and edges as
+     * this one, whatever order the neighbors of each vertex are listed
+     * in and whatever the implementation of either graph.  Unlike
+     * equals, graphs that were built by adding the same edges in a
+     * different order are equal under this method.
+     *
+     * @param other the graph to compare with
+     * @return true iff the two graphs have the same set of vertices
+     * and the same set of edges
+     */
+    public boolean equalsIgnoringOrder(Graph<?> other);
+
+    /**
+     * Tells whether another graph has the same vertices and edges as
+     * this one, as equalsIgnoringOrder(other) does, comparing the
+     * edges of different vertices in parallel on a given pool.
+     * Neither graph may be modified while they are compared.
+     *
+     * @param other the graph to compare with
+     * @param pool the pool to compare on, for example
+     * ForkJoinPool.commonPool()
+     * @return true iff the two graphs have the same set of vertices
+     * and the same set of edges
+     */
+    public boolean equalsIgnoringOrder(Graph<?> other, ForkJoinPool pool);
+
 }
 
 
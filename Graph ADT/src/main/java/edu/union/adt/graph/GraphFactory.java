@@ -9,4 +9,71 @@ public class GraphFactory {
     public static <V> Graph<V> createGraph() { 
         return new GraphImpl<V>(); 
     }
+
+    /**
+     * Creates a graph with the given storage options.
+     */
+    public static <V> Graph<V> createGraph(GraphOption... options) {
+        return new GraphImpl<V>(options);
+    }
+
+    /**
+     * Creates a graph with the given storage options, sized to hold a
+     * number of vertices and edges without rehashing.  Use with
+     * Graph.addEdges to load a large graph.
+     */
+    public static <V> Graph<V> createGraph(int expectedVertices, int expectedEdges, GraphOption... options) {
+        return new GraphImpl<V>(expectedVertices, expectedEdges, options);
+    }
+
+    /**
+     * Creates a graph that keeps its edges in compressed sparse row
+     * form.  Best for large graphs that are built once and then
+     * mostly queried.
+     */
+    public static <V> Graph<V> createCompactGraph() {
+        return new CompactGraph<V>();
+    }
+
+    /**
+     * Creates a compact graph sized to hold a number of vertices and
+     * edges without growing its tables.
+     */
+    public static <V> Graph<V> createCompactGraph(int expectedVertices, int expectedEdges) {
+        return new CompactGraph<V>(expectedVertices, expectedEdges);
+    }
+
+    /**
+     * Creates a graph that any number of threads may read and modify
+     * at once.  See ConcurrentGraph for what concurrent readers see.
+     */
+    public static <V> Graph<V> createConcurrentGraph() {
+        return new ConcurrentGraph<V>();
+    }
+
+    /**
+     * Creates a graph of int vertices that never boxes them, for
+     * graphs whose vertices are already integer ids.  See IntGraph.
+     */
+    public static IntGraph createIntGraph() {
+        return new IntGraphImpl();
+    }
+
+    /**
+     * Creates a graph whose edges have weights, with cheapest-path
+     * searches (Dijkstra's algorithm and A*).  See WeightedGraph.
+     */
+    public static <V> WeightedGraph<V> createWeightedGraph() {
+        return new WeightedGraphImpl<V>();
+    }
+
+    /**
+     * Wraps a graph in a decorator that caches the results of
+     * hasPath, pathLength and getPath for up to maxEntries pairs of
+     * vertices.  Change the graph only through the returned decorator,
+     * which keeps the cache correct.  See CachingGraph.
+     */
+    public static <V> Graph<V> createCachingGraph(Graph<V> graph, int maxEntries) {
+        return new CachingGraph<V>(graph, maxEntries);
+    }
 }
@@ -1,26 +1,254 @@
 package edu.union.adt.graph;
 
+import java.io.IOException;
 import java.util.*; 
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
 
 
 /**
  *  Graph implementation 
+ *
+ *  Created with GraphOption.REVERSE_INDEX, the graph also keeps the
+ *  predecessors of each vertex, so that removing a vertex only
+ *  touches the lists of its neighbors.
+ *
+ *  Adjacency is kept in LinkedLists by default, or in LinkedHashSets
+ *  with GraphOption.HASHED_ADJACENCY.  Both keep neighbors in the
+ *  order their edges were added.
+ *
+ *  Each vertex is stored in a Node that also holds a small int id,
+ *  and adjacency collections hold Nodes, so searches can follow edges
+ *  and mark vertices visited without hashing the vertices.
+ *
  *  @author Neil Daterao
  */
 
 
-public class GraphImpl<V> implements Graph<V> {
+public class GraphImpl<V> implements Graph<V>, Indexable {
    
-    private Map<V, LinkedList<V>> graph;  
+    private Map<V, Node<V>> graph;  
+    private Collection<V> vertexView; // read-only view of graph.keySet(), created by getVertices
+    private Object[] nodes; // id -> Node, null if the id is free
+    private int[] freeIds; 
+    private int numFreeIds;
+    private int idBound; // every id in use is less than this
+    private boolean reverseIndex; // Nodes keep their predecessors
+    private boolean hashed; // adjacency in LinkedHashSets rather than LinkedLists
+    private int edgeCount; // kept current by every method that adds or removes edges
+    private int fingerprint; // see Fingerprint; kept current like edgeCount
+    private final IndexedGraph indexed = new Indexed();
+    private FrozenGraph<V> frozen; // the last snapshot taken, if any
+    private final BitSet dirtyChunks = new BitSet(); // snapshot chunks changed since then
+    private boolean verticesChanged; // a vertex was added or removed since then
+    private final int expectedEdges; // sizes the buffers of addEdges
+    private final int adjacencyCapacity; // initial capacity of hashed adjacency
+
+    /**
+     * A vertex, its id and its edges.  Nodes are compared by
+     * identity, which is what the adjacency collections rely on.
+     */
+    private static class Node<V> { 
+        final V vertex; 
+        final int id; 
+        final int hash; // Fingerprint.vertex(vertex)
+        final Collection<Node<V>> successors; 
+        final Collection<Node<V>> predecessors; // null unless REVERSE_INDEX is set
+        Collection<V> successorView; // created by adjacentTo when first needed
+
+        Node(V vertex, int id, Collection<Node<V>> successors, Collection<Node<V>> predecessors) 
+        { 
+            this.vertex = vertex;
+            this.id = id;
+            this.hash = Fingerprint.vertex(vertex);
+            this.successors = successors;
+            this.predecessors = predecessors;
+        }
+    }
     
     /**
      * Create an empty graph.
+     *
+     * @param options how the graph should store its edges
      */
    
-    public GraphImpl() 
+    public GraphImpl(GraphOption... options) 
+    {
+        this(0, 0, options);
+    }
+
+    /**
+     * Create an empty graph sized to hold a number of vertices and
+     * edges without rehashing or growing its tables.
+     *
+     * @param expectedVertices the number of vertices expected
+     * @param expectedEdges the number of edges expected
+     * @param options how the graph should store its edges
+     */
+    public GraphImpl(int expectedVertices, int expectedEdges, GraphOption... options) 
     {
-        graph = new HashMap<>(); 
+        graph = new HashMap<>((int) Math.min(1 << 30, expectedVertices / 0.75 + 1)); 
+        nodes = new Object[Math.max(16, expectedVertices)];
+        freeIds = new int[16];
+        this.expectedEdges = expectedEdges;
+        if (expectedVertices > 0 && expectedEdges > 0) { 
+            adjacencyCapacity = (int) Math.min(1 << 30, (long) expectedEdges / expectedVertices / 0.75 + 1);
+        }
+        else { adjacencyCapacity = 16; }
 
+        for (GraphOption option : options) { 
+            if (option == GraphOption.REVERSE_INDEX) { reverseIndex = true; }
+            if (option == GraphOption.HASHED_ADJACENCY) { hashed = true; }
+        }
+    }
+
+    /**
+     * Private helper that creates an empty adjacency collection of the
+     * kind this graph was configured with.
+     */
+    private Collection<Node<V>> newAdjacency()
+    {
+        if (hashed) { return new LinkedHashSet<Node<V>>(adjacencyCapacity); }
+        else { return new LinkedList<Node<V>>(); }
+    }
+
+    /**
+     * Private helper that returns the Node of a vertex, adding the
+     * vertex first if it is not in the graph.
+     */
+    private Node<V> node(V vertex)
+    {
+        Node<V> node = graph.get(vertex);
+        if (node != null) { return node; }
+
+        int id;
+        if (numFreeIds > 0) { id = freeIds[--numFreeIds]; }
+        else { 
+            if (idBound == nodes.length) { nodes = Arrays.copyOf(nodes, idBound * 2); }
+            id = idBound++;
+        }
+        node = new Node<V>(vertex, id, newAdjacency(), reverseIndex ? newAdjacency() : null);
+        nodes[id] = node;
+        graph.put(vertex, node);
+        fingerprint += node.hash;
+        verticesChanged = true;
+        changed(node);
+        return node;
+    }
+
+    /**
+     * Private helper that records that the successors of a node
+     * changed, so the next snapshot copies its chunk again.
+     */
+    private void changed(Node<V> node)
+    {
+        if (frozen != null) { dirtyChunks.set(node.id >>> FrozenGraph.CHUNK_SHIFT); }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Node<V> nodeAt(int id)
+    {
+        return (Node<V>) nodes[id];
+    }
+
+    /**
+     * The id-based view of this graph used by the search engines.
+     */
+    private class Indexed implements IndexedGraph { 
+        @Override
+        public int idBound() { return idBound; }
+
+        @Override
+        public boolean isVertex(int id) { return nodes[id] != null; }
+
+        @Override
+        public int edgeCount() { return edgeCount; }
+
+        @Override
+        public Object vertex(int id) { return nodeAt(id).vertex; }
+
+        @Override
+        public int idOf(Object vertex) 
+        { 
+            Node<V> node = graph.get(vertex);
+            return node == null ? -1 : node.id;
+        }
+
+        @Override
+        public int successorCount(int id) { return nodeAt(id).successors.size(); }
+
+        @Override
+        public void forEachSuccessor(int id, IntConsumer action) 
+        { 
+            for (Node<V> successor : nodeAt(id).successors) { action.accept(successor.id); }
+        }
+
+        @Override
+        public boolean hasPredecessors() { return reverseIndex; }
+
+        @Override
+        public int predecessorCount(int id) { return nodeAt(id).predecessors.size(); }
+
+        @Override
+        public void forEachPredecessor(int id, IntConsumer action) 
+        { 
+            for (Node<V> predecessor : nodeAt(id).predecessors) { action.accept(predecessor.id); }
+        }
+
+        @Override
+        public boolean anyPredecessor(int id, IntPredicate test) 
+        { 
+            for (Node<V> predecessor : nodeAt(id).predecessors) { 
+                if (test.test(predecessor.id)) { return true; }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * @return the id-based view of this graph
+     */
+    @Override
+    public IndexedGraph indexedView()
+    {
+        return indexed;
+    }
+
+    /**
+     * @return true: hashCode is the fingerprint of the graph
+     */
+    @Override
+    public boolean hasFingerprint()
+    {
+        return true;
+    }
+
+    /**
+     * A read-only view of a collection of Nodes as the collection of
+     * their vertices.
+     */
+    private static class VertexView<V> extends AbstractCollection<V> { 
+        private final Collection<Node<V>> nodes;
+
+        VertexView(Collection<Node<V>> nodes) { this.nodes = nodes; }
+
+        @Override
+        public int size() { return nodes.size(); }
+
+        @Override
+        public Iterator<V> iterator() 
+        { 
+            final Iterator<Node<V>> iterator = nodes.iterator();
+            return new Iterator<V>() { 
+                @Override
+                public boolean hasNext() { return iterator.hasNext(); }
+
+                @Override
+                public V next() { return iterator.next().vertex; }
+            };
+        }
     }
 
     /**
@@ -29,7 +257,7 @@ public class GraphImpl<V> implements Graph<V> {
     @Override
      public int numVertices()
     {
-        return graph.keySet().size();
+        return graph.size();
     }
 
     /**
@@ -38,11 +266,7 @@ public class GraphImpl<V> implements Graph<V> {
     @Override
      public int numEdges()
     {
-        int edgesCount = 0;
-        for (V vertex : graph.keySet()) { 
-            edgesCount += graph.get(vertex).size();
-        }
-        return edgesCount; 
+        return edgeCount; 
     }
 
     /**
@@ -58,7 +282,31 @@ public class GraphImpl<V> implements Graph<V> {
     {
         if (!contains(vertex)) { throw new RuntimeException("Vertex Not In Graph"); }
         
-        return graph.get(vertex).size();
+        return graph.get(vertex).successors.size();
+    }
+
+    /**
+     * Gets the number of vertices with an edge to a given vertex.  If
+     * the given vertex is not in the graph, throws a
+     * RuntimeException.  Without a reverse index this scans every
+     * adjacency list.
+     *
+     * @param vertex the vertex whose in-degree we want.
+     * @return the in-degree of vertex 'vertex'
+     */
+    @Override
+    public int inDegree(V vertex)
+    {
+        Node<V> node = graph.get(vertex);
+        if (node == null) { throw new RuntimeException("Vertex Not In Graph"); }
+
+        if (reverseIndex) { return node.predecessors.size(); }
+
+        int count = 0;
+        for (Node<V> other : graph.values()) { 
+            if (other.successors.contains(node)) { count++; }
+        }
+        return count;
     }
 
     /**
@@ -73,13 +321,87 @@ public class GraphImpl<V> implements Graph<V> {
     @Override
     public void addEdge(V from, V to)
     {
-        if (!graph.containsKey(from)) { addVertex(from); }
-        if (!graph.containsKey(to)) { addVertex(to); }
-        if (!graph.get(from).contains(to)) { graph.get(from).add(to); }
+        Node<V> fromNode = node(from);
+        Node<V> toNode = node(to);
+        if (!fromNode.successors.contains(toNode)) { 
+            fromNode.successors.add(toNode); 
+            if (reverseIndex) { toNode.predecessors.add(fromNode); }
+            edgeCount++;
+            fingerprint += Fingerprint.edge(fromNode.hash, toNode.hash);
+            changed(fromNode);
+        }
 
        
     }
 
+    /**
+     * Adds a directed edge for each (source, destination) pair, with
+     * the same result as calling addEdge on each pair in order.
+     *
+     * The edges are first read into arrays of ids and grouped by
+     * source, keeping each source's edges in the order given.  Each
+     * source's adjacency is then extended in one pass, with duplicates
+     * found through an array of marks instead of by searching the
+     * adjacency.  Small batches just call addEdge.
+     *
+     * @param edges the edges to add, as (source, destination) pairs
+     */
+    @Override
+    public void addEdges(Iterable<? extends Map.Entry<? extends V, ? extends V>> edges)
+    {
+        // Without a size, start small: 'expectedEdges' sizes the whole
+        // graph, not this batch.
+        int capacity = edges instanceof Collection ? ((Collection<?>) edges).size() : Math.min(expectedEdges, 1024);
+        int[] sources = new int[Math.max(16, capacity)];
+        int[] targets = new int[sources.length];
+        int count = 0;
+        for (Map.Entry<? extends V, ? extends V> edge : edges) { 
+            if (count == sources.length) { 
+                sources = Arrays.copyOf(sources, count * 2);
+                targets = Arrays.copyOf(targets, count * 2);
+            }
+            sources[count] = node(edge.getKey()).id;
+            targets[count] = node(edge.getValue()).id;
+            count++;
+        }
+
+        // The arrays below are as long as the id range; not worth it
+        // for a handful of edges into a big graph.
+        if (count < idBound / 4) { 
+            for (int i = 0; i < count; i++) { addEdge(nodeAt(sources[i]).vertex, nodeAt(targets[i]).vertex); }
+            return;
+        }
+
+        int[] starts = new int[idBound + 1];
+        for (int i = 0; i < count; i++) { starts[sources[i] + 1]++; }
+        for (int id = 0; id < idBound; id++) { starts[id + 1] += starts[id]; }
+        int[] fill = Arrays.copyOf(starts, idBound);
+        int[] grouped = new int[count];
+        for (int i = 0; i < count; i++) { grouped[fill[sources[i]]++] = targets[i]; }
+
+        // While the edges of 'source' are added, mark[t] == source + 1
+        // iff t is already one of its successors.
+        int[] mark = new int[idBound];
+        for (int source = 0; source < idBound; source++) { 
+            if (starts[source] == starts[source + 1]) { continue; }
+
+            Node<V> fromNode = nodeAt(source);
+            for (Node<V> successor : fromNode.successors) { mark[successor.id] = source + 1; }
+            for (int i = starts[source]; i < starts[source + 1]; i++) { 
+                int target = grouped[i];
+                if (mark[target] == source + 1) { continue; }
+
+                mark[target] = source + 1;
+                Node<V> toNode = nodeAt(target);
+                fromNode.successors.add(toNode);
+                if (reverseIndex) { toNode.predecessors.add(fromNode); }
+                edgeCount++;
+                fingerprint += Fingerprint.edge(fromNode.hash, toNode.hash);
+            }
+            changed(fromNode);
+        }
+    }
+
     /**
      * Adds a vertex to the graph.  If the vertex already exists in
      * the graph, does nothing.  If the vertex does not exist, it is
@@ -90,8 +412,8 @@ public class GraphImpl<V> implements Graph<V> {
     @Override
     public void addVertex(V vertex)
     {
-        if (!graph.containsKey(vertex)) { graph.put(vertex, new LinkedList<V>()); } 
-        
+        node(vertex);
+
     }
 
 
@@ -100,9 +422,10 @@ public class GraphImpl<V> implements Graph<V> {
      * the graph.
      */
     @Override
-    public Iterable<V> getVertices()
+    public Collection<V> getVertices()
     {
-        return graph.keySet(); 
+        if (vertexView == null) { vertexView = Collections.unmodifiableSet(graph.keySet()); }
+        return vertexView; 
     }
 
     /**
@@ -119,11 +442,61 @@ public class GraphImpl<V> implements Graph<V> {
      * empty iterator.
      */
     @Override
-    public Iterable<V> adjacentTo(V from)
+    public Collection<V> adjacentTo(V from)
+    {
+        Node<V> node = graph.get(from);
+        if (node == null) { return Collections.emptyList();  }
+
+        if (node.successorView == null) { node.successorView = new VertexView<V>(node.successors); }
+        return node.successorView; 
+    }
+
+    /**
+     * Calls an action on each vertex adjacent to a given vertex, in
+     * adjacentTo order, without allocating an iterator.  The
+     * adjacency list's own iterator does not escape this method, so
+     * the JIT can usually remove it.
+     *
+     * @param from the source vertex
+     * @param action the action to call on each destination of an edge
+     * from 'from'.  If 'from' is not a vertex in the graph, it is
+     * never called.
+     */
+    @Override
+    public void forEachNeighbor(V from, Consumer<? super V> action)
+    {
+        Node<V> node = graph.get(from);
+        if (node == null) { return; }
+
+        for (Node<V> successor : node.successors) { action.accept(successor.vertex); }
+    }
+
+    /**
+     * Gets the vertices a given vertex is adjacent to, i.e. the
+     * predecessors of the vertex.  With a reverse index this is a
+     * live view, like adjacentTo.  Without one it scans every
+     * adjacency list and returns a copy of what it found, which later
+     * changes to the graph do not affect.
+     *
+     * @param to the destination vertex
+     * @return an iterable collection for the set of vertices that are
+     * the sources of edges for which 'to' is the destination vertex.
+     * If 'to' is not a vertex in the graph, returns an empty
+     * iterator.
+     */
+    @Override
+    public Collection<V> adjacentFrom(V to)
     {
-        if (!graph.containsKey(from)) { return Collections.emptyList();  }
+        Node<V> node = graph.get(to);
+        if (node == null) { return Collections.emptyList(); }
 
-        return graph.get(from); 
+        if (reverseIndex) { return new VertexView<V>(node.predecessors); }
+
+        List<V> sources = new LinkedList<>();
+        for (Node<V> other : graph.values()) { 
+            if (other.successors.contains(node)) { sources.add(other.vertex); }
+        }
+        return Collections.unmodifiableList(sources);
     }
 
     /**
@@ -152,8 +525,31 @@ public class GraphImpl<V> implements Graph<V> {
     @Override
     public boolean hasEdge(V from, V to)
     {
-        if (contains(from)) { return graph.get(from).contains(to); } 
-        else { return false; } 
+        Node<V> fromNode = graph.get(from);
+        Node<V> toNode = graph.get(to);
+        if (fromNode == null || toNode == null) { return false; }
+
+        return fromNode.successors.contains(toNode); 
+    }
+
+    /**
+     * Writes the string representation of the graph (see toString) to
+     * a destination one line at a time, without building a String of
+     * the whole graph.
+     *
+     * @param out where to write the representation
+     * @throws IOException if out does
+     */
+    @Override
+    public void writeTo(Appendable out) throws IOException
+    {
+        for (Node<V> node : graph.values()) { 
+            out.append(node.vertex.toString()).append(':');
+            for (Node<V> edge : node.successors) { 
+                out.append(' ').append(edge.vertex.toString()).append(',');
+            }
+            out.append('\n');
+        }
     }
 
     /**
@@ -189,23 +585,29 @@ public class GraphImpl<V> implements Graph<V> {
     @Override
     public String toString()
     {
-        StringBuilder stringRepresentation = new StringBuilder(); 
-        for (V vertex : graph.keySet()) { 
-            
-            stringRepresentation.append(vertex.toString() + ":");
-            
-            for (V edge : graph.get(vertex)) { 
-                stringRepresentation.append(" " + edge.toString() + ",");
-            }
-            stringRepresentation.append("\n");
-        }
-        
+        return CappedText.of(this, Integer.MAX_VALUE);
+    }
 
-        return stringRepresentation.toString(); 
+    /**
+     * Gives the string representation of the graph, cut off after a
+     * given number of characters.  Only the part of the graph that is
+     * shown is visited, so this is safe to call on huge graphs.
+     *
+     * @param maxLength the most characters of the representation to
+     * give
+     * @return the first maxLength characters of toString(), followed
+     * by "..." if the representation is longer than that
+     */
+    @Override
+    public String toString(int maxLength)
+    {
+        return CappedText.of(this, maxLength);
     }
 
     /**
      * Checks if two graph objects are equal. Checks if structure of graphs is identical. 
+     * Graphs whose vertex counts, edge counts or fingerprints differ
+     * are told apart in O(1), without comparing their edges.
      * 
      * @param otherObj object you are checking is equal
      * @return true iff graphs are equal. Checks if graphs habe the same vertices and edges. 
@@ -215,11 +617,13 @@ public class GraphImpl<V> implements Graph<V> {
         if (this == otherObj) { return true; } 
         if (otherObj == null || getClass() != otherObj.getClass()) { return false; }
 
-        Graph otherGraph = (Graph) otherObj; 
+        GraphImpl<?> otherGraph = (GraphImpl<?>) otherObj; 
+        if (fingerprint != otherGraph.fingerprint || edgeCount != otherGraph.edgeCount 
+            || graph.size() != otherGraph.graph.size()) { return false; }
         
-        if (this.getVertices().equals(otherGraph.getVertices())) { 
-            for (V vertex: this.getVertices()) { 
-                if (!this.adjacentTo(vertex).equals(otherGraph.adjacentTo(vertex))) { return false; }
+        if (this.graph.keySet().equals(otherGraph.graph.keySet())) { 
+            for (Node<V> node : this.graph.values()) { 
+                if (!sameOrder(node.successors, otherGraph.graph.get(node.vertex).successors)) { return false; }
             }
             return true; 
         }
@@ -230,6 +634,71 @@ public class GraphImpl<V> implements Graph<V> {
    
     }
 
+    /**
+     * Gives a hash code that depends only on the vertices and edges of
+     * the graph.  The fingerprint it returns is updated by every
+     * method that adds or removes a vertex or an edge, so this is
+     * O(1).
+     *
+     * @return the hash code of the graph
+     */
+    @Override
+    public int hashCode()
+    {
+        return fingerprint;
+    }
+
+    /**
+     * Tells whether another graph has the same vertices and edges as
+     * this one, whatever order the neighbors of each vertex are listed
+     * in and whatever the implementation of the other graph.  Runs in
+     * time linear in the size of the graphs (see UnorderedEquals), and
+     * rejects graphs with different counts or fingerprints in O(1).
+     *
+     * @param other the graph to compare with
+     * @return true iff the two graphs have the same set of vertices
+     * and the same set of edges
+     */
+    @Override
+    public boolean equalsIgnoringOrder(Graph<?> other)
+    {
+        return UnorderedEquals.equal(this, other);
+    }
+
+    /**
+     * Tells whether another graph has the same vertices and edges as
+     * this one, as equalsIgnoringOrder(other) does, comparing the
+     * edges of different vertices in parallel on a given pool.  Neither
+     * graph may be modified while they are compared.
+     *
+     * @param other the graph to compare with
+     * @param pool the pool to compare on
+     * @return true iff the two graphs have the same set of vertices
+     * and the same set of edges
+     */
+    @Override
+    public boolean equalsIgnoringOrder(Graph<?> other, ForkJoinPool pool)
+    {
+        return UnorderedEquals.equal(this, other, pool);
+    }
+
+    /**
+     * Private helper that compares the vertices of two adjacency
+     * collections element by element, so that a LinkedList and a
+     * LinkedHashSet holding the same neighbors in the same order are
+     * equal.
+     */
+    private static boolean sameOrder(Collection<? extends Node<?>> first, Collection<? extends Node<?>> second)
+    {
+        if (first.size() != second.size()) { return false; }
+
+        Iterator<? extends Node<?>> others = second.iterator();
+        for (Node<?> neighbor : first) { 
+            if (!neighbor.vertex.equals(others.next().vertex)) { return false; }
+        }
+        return true;
+    }
+
     /**
      * Tells whether the graph is empty.
      *
@@ -239,7 +708,7 @@ public class GraphImpl<V> implements Graph<V> {
     @Override
     public boolean isEmpty() 
     {
-        return (this.numVertices() == 0 && this.numEdges() == 0);
+        return (graph.isEmpty() && edgeCount == 0);
     }
     
 
@@ -261,14 +730,41 @@ public class GraphImpl<V> implements Graph<V> {
     @Override
     public void removeVertex(V toRemove)
     {
-        graph.remove(toRemove); 
-
-        for (V vertex : getVertices()) { 
-           Iterable<V> adjacencyList = adjacentTo(vertex); 
-           for (V adjVertex : adjacencyList) { 
-               if (adjVertex.equals(toRemove)) { graph.get(vertex).remove(toRemove); }
-           }
+        Node<V> removed = graph.remove(toRemove); 
+        if (removed == null) { return; }
+        edgeCount -= removed.successors.size();
+        fingerprint -= removed.hash;
+        for (Node<V> successor : removed.successors) { fingerprint -= Fingerprint.edge(removed.hash, successor.hash); }
+
+        if (reverseIndex) { 
+            // Only the vertex's own neighbors refer to it.
+            for (Node<V> successor : removed.successors) { 
+                if (successor != removed) { successor.predecessors.remove(removed); }
+            }
+            for (Node<V> predecessor : removed.predecessors) { 
+                if (predecessor != removed) { 
+                    predecessor.successors.remove(removed); 
+                    edgeCount--;
+                    fingerprint -= Fingerprint.edge(predecessor.hash, removed.hash);
+                    changed(predecessor);
+                }
+            }
         }
+        else { 
+            for (Node<V> node : graph.values()) { 
+                if (node.successors.remove(removed)) { 
+                    edgeCount--; 
+                    fingerprint -= Fingerprint.edge(node.hash, removed.hash);
+                    changed(node);
+                }
+            }
+        }
+
+        nodes[removed.id] = null;
+        verticesChanged = true;
+        changed(removed);
+        if (numFreeIds == freeIds.length) { freeIds = Arrays.copyOf(freeIds, numFreeIds * 2); }
+        freeIds[numFreeIds++] = removed.id;
     }
 
     /**
@@ -287,7 +783,16 @@ public class GraphImpl<V> implements Graph<V> {
     @Override
     public void removeEdge(V from, V to)
     {
-        if (hasEdge(from, to)) { graph.get(from).remove(to); }
+        Node<V> fromNode = graph.get(from);
+        Node<V> toNode = graph.get(to);
+        if (fromNode == null || toNode == null) { return; }
+
+        if (fromNode.successors.remove(toNode)) { 
+            if (reverseIndex) { toNode.predecessors.remove(fromNode); }
+            edgeCount--; 
+            fingerprint -= Fingerprint.edge(fromNode.hash, toNode.hash);
+            changed(fromNode);
+        }
         
     }
 
@@ -305,6 +810,10 @@ public class GraphImpl<V> implements Graph<V> {
      * It therefore follows that if vertex A is in the graph, there
      * is a path from A to A.
      *
+     * The search is iterative and reuses its buffers between calls.
+     * With a reverse index it searches from both ends at once and
+     * stops as soon as the two searches meet.
+     *
      * @param from the source vertex
      * @param to the destination vertex
      * @return true iff there is a path from 'from' to 'to' in the graph.
@@ -312,29 +821,12 @@ public class GraphImpl<V> implements Graph<V> {
     @Override
     public boolean hasPath(V from, V to)
     {   
-        Set<V> visited = new HashSet<>(); 
-        return hasPathDFS(from, to, visited); 
-    }
-
-
-    /**
-     * Private helper method that uses DFS to search graph structure
-     */
-    private boolean hasPathDFS(V current, V to, Set<V> visited) {
-        if (current.equals(to)) { return true; }
-        
-        visited.add(current);
-
-        for (V neighbor : adjacentTo(current)) { 
-            if (!visited.contains(neighbor)) { 
-                if (hasPathDFS(neighbor, to, visited)) { 
-                    return true; 
-                }
-            }
-        }
-
-        return false; 
+        Node<V> fromNode = graph.get(from);
+        Node<V> toNode = graph.get(to);
+        if (fromNode == null || toNode == null) { return false; }
 
+        if (reverseIndex) { return PathSearch.get().hasPathBidirectional(indexed, fromNode.id, toNode.id); }
+        else { return PathSearch.get().hasPath(indexed, fromNode.id, toNode.id); }
     }
 
     /**
@@ -348,6 +840,9 @@ public class GraphImpl<V> implements Graph<V> {
      * possible path connecting from to to.  
      * </ol>
      *
+     * The search is breadth-first.  With a reverse index it runs from
+     * both ends at once, always expanding the smaller frontier.
+     *
      * @param from the source vertex
      * @param to the destination vertex
      * @return the length of the shortest path from 'from' to 'to' in
@@ -358,37 +853,70 @@ public class GraphImpl<V> implements Graph<V> {
     {
         if (from.equals(to)) { return 0; } //from = to
 
-        // Map to store visited vertices and their distances from the source
-        Map<V, Integer> distances = new HashMap<>();
-        Queue<V> queue = new LinkedList<>();
- 
-        // Initialize distances and queue
-        for (V vertex : getVertices()) {
-             distances.put(vertex, Integer.MAX_VALUE);
-        }
-         
-        distances.put(from, 0);
-        queue.add(from);
- 
-        // Perform BFS
-        while (!queue.isEmpty()) {
-            V current = queue.poll();
-            if (current.equals(to)) {
-                return distances.get(current); // Return the distance if 'to' is reached
-            }
- 
-            // Explore neighbors
-            for (V neighbor : adjacentTo(current)) {
-                if (distances.get(neighbor) == Integer.MAX_VALUE) {
-                    distances.put(neighbor, distances.get(current) + 1);
-                    queue.add(neighbor);
-                }
-            }
+        Node<V> fromNode = graph.get(from);
+        Node<V> toNode = graph.get(to);
+        if (fromNode == null || toNode == null) { return Integer.MAX_VALUE; }
+
+        int length = PathSearch.get().pathLength(indexed, fromNode.id, toNode.id);
+        if (length < 0) { return Integer.MAX_VALUE; } // 'to' is not reachable from 'from'
+        else { return length; }
+    }
+
+    /**
+     * Gets the length of the shortest path from a given vertex to
+     * every vertex that can be reached from it.
+     *
+     * Runs a single breadth-first search.  With a reverse index, the
+     * search switches to checking the in-edges of unreached vertices
+     * on levels where the frontier is large (see
+     * DirectionOptimizingBfs).
+     *
+     * @param source the source vertex
+     * @return a map from each vertex reachable from 'source' to the
+     * length of the shortest path to it.  'source' itself maps to 0.
+     * If 'source' is not in the graph, returns an empty map.
+     */
+    @Override
+    public Map<V, Integer> distancesFrom(V source)
+    {
+        Node<V> sourceNode = graph.get(source);
+        if (sourceNode == null) { return Collections.emptyMap(); }
+
+        return toMap(DirectionOptimizingBfs.distances(indexed, sourceNode.id));
+    }
+
+    /**
+     * Gets the length of the shortest path from a given vertex to
+     * every vertex that can be reached from it, expanding each level
+     * of the search in parallel on a given pool (see ParallelBfs).
+     * The graph must not be modified while the search runs.
+     *
+     * @param source the source vertex
+     * @param pool the pool to run the search on
+     * @return a map from each vertex reachable from 'source' to the
+     * length of the shortest path to it.  'source' itself maps to 0.
+     * If 'source' is not in the graph, returns an empty map.
+     */
+    @Override
+    public Map<V, Integer> distancesFrom(V source, ForkJoinPool pool)
+    {
+        Node<V> sourceNode = graph.get(source);
+        if (sourceNode == null) { return Collections.emptyMap(); }
+
+        return toMap(ParallelBfs.distances(indexed, sourceNode.id, pool));
+    }
+
+    /**
+     * Private helper that turns an array of distances indexed by id
+     * into a map from vertex to distance, leaving out unreached ids.
+     */
+    private Map<V, Integer> toMap(int[] distances)
+    {
+        Map<V, Integer> result = new HashMap<>();
+        for (int id = 0; id < distances.length; id++) { 
+            if (distances[id] >= 0) { result.put(nodeAt(id).vertex, distances[id]); }
         }
- 
-        // 'to' vertex is not reachable from 'from'
-        return Integer.MAX_VALUE;
-    
+        return result;
     }
 
     /**
@@ -413,41 +941,61 @@ public class GraphImpl<V> implements Graph<V> {
     @Override
     public Iterable<V> getPath(V from, V to)
     {
-        Map<V, V> previous = new HashMap<>();
-        Queue<V> queue = new LinkedList<>();
-        List<V> path = new LinkedList<>();
+        Node<V> fromNode = graph.get(from);
+        Node<V> toNode = graph.get(to);
+        if (fromNode == null || toNode == null) { return Collections.emptyList(); }
 
-        // BFS to find the shortest path
-        queue.add(from);
-        while (!queue.isEmpty()) {
-            V current = queue.poll();
-            if (current.equals(to)) {
-                break; // Found the shortest path
-            }
+        int[] ids = PathSearch.get().path(indexed, fromNode.id, toNode.id);
+        if (ids == null) { return Collections.emptyList(); } //in the event there's an invalid path. 
 
-            for (V neighbor : adjacentTo(current)) {
-                if (!previous.containsKey(neighbor)) {
-                    previous.put(neighbor, current);
-                    queue.add(neighbor);
-                }
-            }
-        }
+        List<V> path = new ArrayList<>(ids.length);
+        for (int id : ids) { path.add(nodeAt(id).vertex); }
+        return path; 
+    }
 
-        // Reconstruct the path
-        V current = to;
-        while (current != null && !current.equals(from)) {
-            path.add(0, current);
-            current = previous.get(current);
-        }
-        if (current != null) {
-            path.add(0, from);
-        }
-        
-        //in the event there's an invalid path. 
-        if (path.size() == 1 && from != to) { return Collections.emptyList(); }
-        else { return path; } 
+    /**
+     * Finds the shortest paths from a vertex to every vertex it
+     * reaches, with one breadth-first search, for answering
+     * pathLength and getPath from that vertex to many targets.
+     *
+     * The search runs on the graph itself, which must not be modified
+     * while it runs.
+     *
+     * @param source the source vertex
+     * @return the shortest paths from 'source'.  If 'source' is not in
+     * the graph, the tree reaches no vertex.
+     */
+    @Override
+    public ShortestPathTree<V> shortestPathTree(V source)
+    {
+        return new ShortestPathTree<V>(indexed, source);
     }
 
+    /**
+     * Gets a read-only copy of the graph as it is now.  The copy
+     * shares every chunk of rows (see FrozenGraph) that has not
+     * changed since the last snapshot, so a snapshot after a few
+     * changes costs little more than the chunks they touched.  With
+     * no changes at all, returns the last snapshot again.
+     *
+     * @return an immutable copy of the graph
+     */
+    @Override
+    public Graph<V> snapshot()
+    {
+        if (frozen != null && !verticesChanged && dirtyChunks.isEmpty()) { return frozen; }
 
+        Object[] vertices = null; // unchanged since the last snapshot
+        if (frozen == null || verticesChanged) { 
+            vertices = new Object[idBound];
+            for (int id = 0; id < idBound; id++) { 
+                if (nodes[id] != null) { vertices[id] = nodeAt(id).vertex; }
+            }
+        }
 
+        frozen = FrozenGraph.freeze(indexed, vertices, graph.size(), fingerprint, frozen, dirtyChunks);
+        dirtyChunks.clear();
+        verticesChanged = false;
+        return frozen;
+    }
 }
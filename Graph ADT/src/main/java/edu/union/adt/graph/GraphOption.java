@@ -0,0 +1,27 @@
+package edu.union.adt.graph;
+
+
+/**
+ * Options that can be passed to GraphFactory.createGraph to change
+ * how the graph stores its edges.
+ * @author Neil Daterao
+ */
+public enum GraphOption {
+
+    /**
+     * Also keep, for every vertex, the list of vertices with an edge
+     * to it.  Costs a second entry per edge, but makes removeVertex
+     * touch only the vertex's own edges, and inDegree and
+     * adjacentFrom run without scanning the whole graph.
+     */
+    REVERSE_INDEX,
+
+    /**
+     * Keep each vertex's neighbors in a LinkedHashSet instead of a
+     * LinkedList.  Neighbors stay in the order their edges were added,
+     * but addEdge, hasEdge and removeEdge take expected O(1) time
+     * instead of time linear in the vertex's degree, at the cost of a
+     * larger entry per edge.
+     */
+    HASHED_ADJACENCY
+}
@@ -0,0 +1,24 @@
+package edu.union.adt.graph;
+
+
+/**
+ * A graph of this package that the package's algorithms can read
+ * through its own id-based view instead of copying it, and whose hash
+ * code can be compared with that of other implementations.
+ * @author Neil Daterao
+ */
+interface Indexable {
+
+    /**
+     * @return the id-based view of this graph.  The view is live, so
+     * it changes with the graph, unless the graph says otherwise.
+     */
+    IndexedGraph indexedView();
+
+    /**
+     * @return true iff hashCode is the graph's fingerprint (see
+     * Fingerprint), so that it equals the hash code of any other
+     * graph with the same vertices and edges.
+     */
+    boolean hasFingerprint();
+}
@@ -0,0 +1,109 @@
+package edu.union.adt.graph;
+
+import java.util.*;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+
+/**
+ * An id-based copy of a graph from outside this package, so that the
+ * algorithms written against IndexedGraph can run on any Graph.  Ids
+ * are given to the vertices in getVertices order, and the rows are
+ * copied into int arrays.  Predecessors are not offered.
+ * @author Neil Daterao
+ */
+final class IndexedCopy implements IndexedGraph {
+
+    private final List<Object> vertices = new ArrayList<>();
+    private final Map<Object, Integer> ids;
+    private final int[] offsets;
+    private int[] targets;
+
+    private IndexedCopy(Graph<?> graph)
+    {
+        ids = new HashMap<>((int) Math.min(1 << 30, graph.numVertices() / 0.75 + 1));
+        for (Object vertex : graph.getVertices()) {
+            ids.put(vertex, vertices.size());
+            vertices.add(vertex);
+        }
+
+        offsets = new int[vertices.size() + 1];
+        targets = new int[Math.max(16, graph.numEdges())];
+        int count = 0;
+        for (int id = 0; id < vertices.size(); id++) {
+            for (Object successor : successors(graph, vertices.get(id))) {
+                Integer target = ids.get(successor);
+                if (target == null) { throw new ConcurrentModificationException("Graph changed while being copied"); }
+                if (count == targets.length) { targets = Arrays.copyOf(targets, count * 2); }
+                targets[count++] = target;
+            }
+            offsets[id + 1] = count;
+        }
+    }
+
+    /**
+     * Gets an id-based view of a graph.  The graphs of this package
+     * are Indexable and give their own view, which is live: it changes
+     * with the graph.  A ConcurrentGraph gives the view of a snapshot,
+     * so it is seen as it was at one moment, and a CachingGraph gives
+     * the view of the graph it wraps.  Any other graph is copied.
+     *
+     * @param graph the graph
+     * @return an id-based view of the graph
+     */
+    static IndexedGraph viewOf(Graph<?> graph)
+    {
+        if (graph instanceof Indexable) { return ((Indexable) graph).indexedView(); }
+        return new IndexedCopy(graph);
+    }
+
+    /**
+     * Private helper that gets the successors of a vertex known to be
+     * a vertex of the graph.
+     */
+    @SuppressWarnings("unchecked")
+    private static <V> Iterable<V> successors(Graph<V> graph, Object vertex)
+    {
+        return graph.adjacentTo((V) vertex);
+    }
+
+    @Override
+    public int idBound() { return vertices.size(); }
+
+    @Override
+    public boolean isVertex(int id) { return true; }
+
+    @Override
+    public int edgeCount() { return offsets[vertices.size()]; }
+
+    @Override
+    public Object vertex(int id) { return vertices.get(id); }
+
+    @Override
+    public int idOf(Object vertex)
+    {
+        Integer id = ids.get(vertex);
+        return id == null ? -1 : id;
+    }
+
+    @Override
+    public int successorCount(int id) { return offsets[id + 1] - offsets[id]; }
+
+    @Override
+    public void forEachSuccessor(int id, IntConsumer action)
+    {
+        for (int i = offsets[id]; i < offsets[id + 1]; i++) { action.accept(targets[i]); }
+    }
+
+    @Override
+    public boolean hasPredecessors() { return false; }
+
+    @Override
+    public int predecessorCount(int id) { throw new UnsupportedOperationException(); }
+
+    @Override
+    public void forEachPredecessor(int id, IntConsumer action) { throw new UnsupportedOperationException(); }
+
+    @Override
+    public boolean anyPredecessor(int id, IntPredicate test) { throw new UnsupportedOperationException(); }
+}
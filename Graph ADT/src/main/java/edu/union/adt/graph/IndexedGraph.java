@@ -0,0 +1,75 @@
+package edu.union.adt.graph;
+
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+
+/**
+ * The view of a graph that the search engines work on.  Every vertex
+ * has an int id in [0, idBound()), so a search can keep its state in
+ * int arrays and bitmaps instead of hash maps.  Ids of removed
+ * vertices may be left unused or given to new vertices.
+ * @author Neil Daterao
+ */
+interface IndexedGraph {
+
+    /**
+     * @return a number greater than the id of every vertex.
+     */
+    int idBound();
+
+    /**
+     * @return true iff id is the id of a vertex in the graph.
+     */
+    boolean isVertex(int id);
+
+    /**
+     * @return the number of edges in the graph.
+     */
+    int edgeCount();
+
+    /**
+     * @return the vertex whose id is id, which must be a vertex.
+     */
+    Object vertex(int id);
+
+    /**
+     * @return the id of a vertex, or -1 if it is not a vertex of the
+     * graph.
+     */
+    int idOf(Object vertex);
+
+    /**
+     * @return the number of vertices adjacent to vertex id.
+     */
+    int successorCount(int id);
+
+    /**
+     * Calls action with the id of every vertex adjacent to vertex id.
+     */
+    void forEachSuccessor(int id, IntConsumer action);
+
+    /**
+     * @return true iff the predecessor methods can be called.
+     */
+    boolean hasPredecessors();
+
+    /**
+     * @return the number of vertices that vertex id is adjacent to.
+     * Only supported if hasPredecessors() is true.
+     */
+    int predecessorCount(int id);
+
+    /**
+     * Calls action with the id of every vertex that vertex id is
+     * adjacent to.  Only supported if hasPredecessors() is true.
+     */
+    void forEachPredecessor(int id, IntConsumer action);
+
+    /**
+     * Tells whether test holds for any vertex that vertex id is
+     * adjacent to, stopping at the first one it holds for.  Only
+     * supported if hasPredecessors() is true.
+     */
+    boolean anyPredecessor(int id, IntPredicate test);
+}
@@ -0,0 +1,168 @@
+package edu.union.adt.graph;
+
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+/**
+ * A graph whose vertices are ints, with the main operations of Graph
+ * taking and giving primitive ints, so that no vertex is ever boxed.
+ * The edges are directed.  Any int can be a vertex.
+ *
+ * Methods behave as their Graph counterparts do; where those return
+ * collections of vertices, these return primitive iterators or int
+ * arrays.  snapshot gives a Graph of Integer for code that needs one.
+ *
+ * @author Neil Daterao
+ */
+public interface IntGraph
+{
+    /**
+     * @return the number of vertices in the graph.
+     */
+    public int numVertices();
+
+    /**
+     * @return the number of edges in the graph.
+     */
+    public int numEdges();
+
+    /**
+     * Gets the number of vertices connected by edges from a given
+     * vertex.  If the given vertex is not in the graph, throws a
+     * RuntimeException.
+     *
+     * @param vertex the vertex whose degree we want.
+     * @return the degree of vertex 'vertex'
+     */
+    public int degree(int vertex);
+
+    /**
+     * Adds a directed edge between two vertices.  If there is already
+     * an edge between the given vertices, does nothing.  If either (or
+     * both) of the given vertices does not exist, it is added to the
+     * graph before the edge is created between them.
+     *
+     * @param from the source vertex for the added edge
+     * @param to the destination vertex for the added edge
+     */
+    public void addEdge(int from, int to);
+
+    /**
+     * Adds a vertex to the graph.  If the vertex already exists in
+     * the graph, does nothing.
+     *
+     * @param vertex the vertex to add
+     */
+    public void addVertex(int vertex);
+
+    /**
+     * @return an iterator over the vertices of the graph.  The graph
+     * must not be changed while it is in use.
+     */
+    public PrimitiveIterator.OfInt getVertices();
+
+    /**
+     * Gets the vertices adjacent to a given vertex, in the order their
+     * edges were added.
+     *
+     * @param from the source vertex
+     * @return an iterator over the destinations of the edges from
+     * 'from'; empty if 'from' is not a vertex in the graph.  The graph
+     * must not be changed while it is in use.
+     */
+    public PrimitiveIterator.OfInt adjacentTo(int from);
+
+    /**
+     * Calls an action on each vertex adjacent to a given vertex, in
+     * adjacentTo order, without allocating an iterator or boxing.  The
+     * action must not change the graph.
+     *
+     * @param from the source vertex
+     * @param action the action to call on each destination of an edge
+     * from 'from'.  If 'from' is not a vertex in the graph, it is
+     * never called.
+     */
+    public void forEachNeighbor(int from, IntConsumer action);
+
+    /**
+     * Tells whether or not a vertex is in the graph.
+     *
+     * @param vertex a vertex
+     * @return true iff 'vertex' is a vertex in the graph.
+     */
+    public boolean contains(int vertex);
+
+    /**
+     * Tells whether an edge exists in the graph.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return true iff there is an edge from the source vertex to the
+     * destination vertex in the graph.
+     */
+    public boolean hasEdge(int from, int to);
+
+    /**
+     * @return true iff the graph has no vertices.
+     */
+    public boolean isEmpty();
+
+    /**
+     * Removes a vertex from the graph, with every edge to or from it.
+     * If it is not in the graph, does nothing.
+     *
+     * @param toRemove the vertex to remove.
+     */
+    public void removeVertex(int toRemove);
+
+    /**
+     * Removes an edge from the graph.  If it is not in the graph, does
+     * nothing.
+     *
+     * @param from the source vertex for the edge
+     * @param to the target vertex for the edge
+     */
+    public void removeEdge(int from, int to);
+
+    /**
+     * Tells whether there is a path connecting two given vertices.  If
+     * vertex A is in the graph, there is a path from A to A.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return true iff there is a path from 'from' to 'to' in the graph.
+     */
+    public boolean hasPath(int from, int to);
+
+    /**
+     * Gets the length of the shortest path connecting two given
+     * vertices.  The length of a path is the number of edges in the
+     * path; it is 0 if from = to.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return the length of the shortest path from 'from' to 'to' in
+     * the graph.  If there is no path, returns Integer.MAX_VALUE
+     */
+    public int pathLength(int from, int to);
+
+    /**
+     * Returns the vertices along the shortest path connecting two
+     * given vertices.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return the vertices along the shortest path from 'from' to
+     * 'to', including both.  If there is no path, returns an empty
+     * array.
+     */
+    public int[] getPath(int from, int to);
+
+    /**
+     * Gets a read-only copy of the graph as it is now, as a Graph of
+     * Integer (see Graph.snapshot).  This boxes every vertex once.
+     *
+     * @return an immutable copy of the graph
+     */
+    public Graph<Integer> snapshot();
+}
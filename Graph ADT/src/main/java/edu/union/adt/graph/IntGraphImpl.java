@@ -0,0 +1,502 @@
+package edu.union.adt.graph;
+
+import java.util.*;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+
+/**
+ *  IntGraph implementation.
+ *
+ *  Each vertex gets a small int id from an IntIntHashMap, and its
+ *  edges are kept as a row: an int array of the ids they go to, in
+ *  the order the edges were added.  An edge therefore costs one int
+ *  (plus the spare room of its row), against a LinkedList node and a
+ *  boxed Integer in GraphImpl of Integer, and the graph is a few
+ *  arrays the garbage collector hardly has to trace.  Searches run on
+ *  the same engine as GraphImpl (see PathSearch).
+ *
+ *  Looking an edge up, adding one (which checks for it first) and
+ *  removing one take time linear in the degree of its source.  There
+ *  is no reverse index: removeVertex scans every row.
+ *
+ *  @author Neil Daterao
+ */
+public class IntGraphImpl implements IntGraph {
+
+    private static final int[] NO_TARGETS = new int[0];
+
+    private final IntIntHashMap ids = new IntIntHashMap(); // vertex -> id
+    private int[] vertices = new int[16];      // id -> vertex
+    private boolean[] used = new boolean[16];  // id -> whether it is a vertex's id
+    private int[][] targets = new int[16][];   // id -> ids its edges go to
+    private int[] degrees = new int[16];       // id -> number of edges in its row
+    private int[] freeIds = new int[16];
+    private int numFreeIds;
+    private int idBound; // every id in use is less than this
+    private int edgeCount;
+    private final IndexedGraph indexed = new Indexed();
+    private FrozenGraph<Integer> frozen; // the last snapshot taken, if nothing changed since
+    private int modCount; // bumped by every change, so iterators can fail fast
+
+    /**
+     * Create an empty graph.
+     */
+    public IntGraphImpl()
+    {
+    }
+
+    /**
+     * Private helper that returns the id of a vertex, adding the
+     * vertex first if it is not in the graph.
+     */
+    private int id(int vertex)
+    {
+        int known = ids.get(vertex);
+        if (known >= 0) { return known; }
+
+        int id;
+        if (numFreeIds > 0) { id = freeIds[--numFreeIds]; }
+        else {
+            if (idBound == vertices.length) {
+                int capacity = idBound * 2;
+                vertices = Arrays.copyOf(vertices, capacity);
+                used = Arrays.copyOf(used, capacity);
+                targets = Arrays.copyOf(targets, capacity);
+                degrees = Arrays.copyOf(degrees, capacity);
+            }
+            id = idBound++;
+        }
+        vertices[id] = vertex;
+        used[id] = true;
+        targets[id] = NO_TARGETS;
+        degrees[id] = 0;
+        ids.put(vertex, id);
+        frozen = null;
+        modCount++;
+        return id;
+    }
+
+    /**
+     * Private helper that returns the index of an edge in the row of
+     * its source, or -1 if there is no such edge.
+     */
+    private int indexOf(int from, int to)
+    {
+        int[] row = targets[from];
+        for (int i = 0, degree = degrees[from]; i < degree; i++) {
+            if (row[i] == to) { return i; }
+        }
+        return -1;
+    }
+
+    /**
+     * Private helper that removes an edge from the row of its source,
+     * keeping the order of the others.
+     */
+    private void removeAt(int from, int index)
+    {
+        int[] row = targets[from];
+        System.arraycopy(row, index + 1, row, index, degrees[from] - index - 1);
+        degrees[from]--;
+        edgeCount--;
+        frozen = null;
+        modCount++;
+    }
+
+    /**
+     * Private helper that makes iterators fail fast: throws a
+     * ConcurrentModificationException if the graph has changed since
+     * an iterator was made.
+     */
+    private void checkUnchanged(int expected)
+    {
+        if (modCount != expected) { throw new ConcurrentModificationException("Graph changed while an iterator over it was in use"); }
+    }
+
+    /**
+     * The id-based view of this graph used by the search engines.
+     */
+    private class Indexed implements IndexedGraph {
+        @Override
+        public int idBound() { return idBound; }
+
+        @Override
+        public boolean isVertex(int id) { return used[id]; }
+
+        @Override
+        public int edgeCount() { return edgeCount; }
+
+        @Override
+        public Object vertex(int id) { return vertices[id]; }
+
+        @Override
+        public int idOf(Object vertex) { return vertex instanceof Integer ? ids.get((Integer) vertex) : -1; }
+
+        @Override
+        public int successorCount(int id) { return degrees[id]; }
+
+        @Override
+        public void forEachSuccessor(int id, IntConsumer action)
+        {
+            int[] row = targets[id];
+            for (int i = 0, degree = degrees[id]; i < degree; i++) { action.accept(row[i]); }
+        }
+
+        @Override
+        public boolean hasPredecessors() { return false; }
+
+        @Override
+        public int predecessorCount(int id) { throw new UnsupportedOperationException(); }
+
+        @Override
+        public void forEachPredecessor(int id, IntConsumer action) { throw new UnsupportedOperationException(); }
+
+        @Override
+        public boolean anyPredecessor(int id, IntPredicate test) { throw new UnsupportedOperationException(); }
+    }
+
+    /**
+     * @return the number of vertices in the graph.
+     */
+    @Override
+    public int numVertices()
+    {
+        return ids.size();
+    }
+
+    /**
+     * @return the number of edges in the graph.
+     */
+    @Override
+    public int numEdges()
+    {
+        return edgeCount;
+    }
+
+    /**
+     * Gets the number of vertices connected by edges from a given
+     * vertex.  If the given vertex is not in the graph, throws a
+     * RuntimeException.
+     *
+     * @param vertex the vertex whose degree we want.
+     * @return the degree of vertex 'vertex'
+     */
+    @Override
+    public int degree(int vertex)
+    {
+        int id = ids.get(vertex);
+        if (id < 0) { throw new RuntimeException("Vertex Not In Graph"); }
+
+        return degrees[id];
+    }
+
+    /**
+     * Adds a directed edge between two vertices.  If there is already
+     * an edge between the given vertices, does nothing.  If either (or
+     * both) of the given vertices does not exist, it is added to the
+     * graph before the edge is created between them.
+     *
+     * @param from the source vertex for the added edge
+     * @param to the destination vertex for the added edge
+     */
+    @Override
+    public void addEdge(int from, int to)
+    {
+        int fromId = id(from);
+        int toId = id(to);
+        if (indexOf(fromId, toId) >= 0) { return; }
+
+        int degree = degrees[fromId];
+        if (degree == targets[fromId].length) { targets[fromId] = Arrays.copyOf(targets[fromId], Math.max(4, degree * 2)); }
+        targets[fromId][degree] = toId;
+        degrees[fromId] = degree + 1;
+        edgeCount++;
+        frozen = null;
+        modCount++;
+    }
+
+    /**
+     * Adds a vertex to the graph.  If the vertex already exists in
+     * the graph, does nothing.
+     *
+     * @param vertex the vertex to add
+     */
+    @Override
+    public void addVertex(int vertex)
+    {
+        id(vertex);
+    }
+
+    /**
+     * @return an iterator over the vertices of the graph, in id
+     * order.  If the graph changes while it is in use, it throws a
+     * ConcurrentModificationException.
+     */
+    @Override
+    public PrimitiveIterator.OfInt getVertices()
+    {
+        final int expected = modCount;
+        return new PrimitiveIterator.OfInt() {
+            private int next = advance(0);
+
+            private int advance(int id)
+            {
+                while (id < idBound && !used[id]) { id++; }
+                return id;
+            }
+
+            @Override
+            public boolean hasNext() { return next < idBound; }
+
+            @Override
+            public int nextInt()
+            {
+                checkUnchanged(expected);
+                if (next >= idBound) { throw new NoSuchElementException(); }
+                int vertex = vertices[next];
+                next = advance(next + 1);
+                return vertex;
+            }
+        };
+    }
+
+    /**
+     * Gets the vertices adjacent to a given vertex, in the order their
+     * edges were added.
+     *
+     * @param from the source vertex
+     * @return an iterator over the destinations of the edges from
+     * 'from'; empty if 'from' is not a vertex in the graph.  If the
+     * graph changes while it is in use, it throws a
+     * ConcurrentModificationException.
+     */
+    @Override
+    public PrimitiveIterator.OfInt adjacentTo(int from)
+    {
+        int id = ids.get(from);
+        final int[] row = id < 0 ? NO_TARGETS : targets[id];
+        final int degree = id < 0 ? 0 : degrees[id];
+        final int expected = modCount;
+        return new PrimitiveIterator.OfInt() {
+            private int next;
+
+            @Override
+            public boolean hasNext() { return next < degree; }
+
+            @Override
+            public int nextInt()
+            {
+                checkUnchanged(expected);
+                if (next >= degree) { throw new NoSuchElementException(); }
+                return vertices[row[next++]];
+            }
+        };
+    }
+
+    /**
+     * Calls an action on each vertex adjacent to a given vertex, in
+     * adjacentTo order, without allocating an iterator or boxing.
+     *
+     * @param from the source vertex
+     * @param action the action to call on each destination of an edge
+     * from 'from'.  If 'from' is not a vertex in the graph, it is
+     * never called.
+     */
+    @Override
+    public void forEachNeighbor(int from, IntConsumer action)
+    {
+        int id = ids.get(from);
+        if (id < 0) { return; }
+
+        int[] row = targets[id];
+        for (int i = 0, degree = degrees[id]; i < degree; i++) { action.accept(vertices[row[i]]); }
+    }
+
+    /**
+     * Tells whether or not a vertex is in the graph.
+     *
+     * @param vertex a vertex
+     * @return true iff 'vertex' is a vertex in the graph.
+     */
+    @Override
+    public boolean contains(int vertex)
+    {
+        return ids.get(vertex) >= 0;
+    }
+
+    /**
+     * Tells whether an edge exists in the graph.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return true iff there is an edge from the source vertex to the
+     * destination vertex in the graph.
+     */
+    @Override
+    public boolean hasEdge(int from, int to)
+    {
+        int fromId = ids.get(from);
+        int toId = ids.get(to);
+        return fromId >= 0 && toId >= 0 && indexOf(fromId, toId) >= 0;
+    }
+
+    /**
+     * @return true iff the graph has no vertices.
+     */
+    @Override
+    public boolean isEmpty()
+    {
+        return ids.size() == 0;
+    }
+
+    /**
+     * Removes a vertex from the graph, with every edge to or from it.
+     * This scans every row for edges to the vertex.
+     *
+     * @param toRemove the vertex to remove.
+     */
+    @Override
+    public void removeVertex(int toRemove)
+    {
+        int id = ids.remove(toRemove);
+        if (id < 0) { return; }
+
+        edgeCount -= degrees[id];
+        degrees[id] = 0;
+        for (int other = 0; other < idBound; other++) {
+            if (!used[other] || other == id) { continue; }
+
+            int index = indexOf(other, id);
+            if (index >= 0) { removeAt(other, index); }
+        }
+
+        used[id] = false;
+        targets[id] = NO_TARGETS;
+        frozen = null;
+        modCount++;
+        if (numFreeIds == freeIds.length) { freeIds = Arrays.copyOf(freeIds, numFreeIds * 2); }
+        freeIds[numFreeIds++] = id;
+    }
+
+    /**
+     * Removes an edge from the graph.
+     *
+     * @param from the source vertex for the edge
+     * @param to the target vertex for the edge
+     */
+    @Override
+    public void removeEdge(int from, int to)
+    {
+        int fromId = ids.get(from);
+        int toId = ids.get(to);
+        if (fromId < 0 || toId < 0) { return; }
+
+        int index = indexOf(fromId, toId);
+        if (index >= 0) { removeAt(fromId, index); }
+    }
+
+    /**
+     * Tells whether there is a path connecting two given vertices.  If
+     * vertex A is in the graph, there is a path from A to A.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return true iff there is a path from 'from' to 'to' in the graph.
+     */
+    @Override
+    public boolean hasPath(int from, int to)
+    {
+        int fromId = ids.get(from);
+        int toId = ids.get(to);
+        if (fromId < 0 || toId < 0) { return false; }
+
+        return PathSearch.get().hasPath(indexed, fromId, toId);
+    }
+
+    /**
+     * Gets the length of the shortest path connecting two given
+     * vertices, with a breadth-first search.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return the length of the shortest path from 'from' to 'to' in
+     * the graph.  If there is no path, returns Integer.MAX_VALUE
+     */
+    @Override
+    public int pathLength(int from, int to)
+    {
+        if (from == to) { return 0; } //from = to
+
+        int fromId = ids.get(from);
+        int toId = ids.get(to);
+        if (fromId < 0 || toId < 0) { return Integer.MAX_VALUE; }
+
+        int length = PathSearch.get().pathLength(indexed, fromId, toId);
+        return length < 0 ? Integer.MAX_VALUE : length;
+    }
+
+    /**
+     * Returns the vertices along the shortest path connecting two
+     * given vertices.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return the vertices along the shortest path from 'from' to
+     * 'to', including both.  If there is no path, returns an empty
+     * array.
+     */
+    @Override
+    public int[] getPath(int from, int to)
+    {
+        int fromId = ids.get(from);
+        int toId = ids.get(to);
+        if (fromId < 0 || toId < 0) { return NO_TARGETS; }
+
+        int[] path = PathSearch.get().path(indexed, fromId, toId);
+        if (path == null) { return NO_TARGETS; }
+
+        for (int i = 0; i < path.length; i++) { path[i] = vertices[path[i]]; }
+        return path;
+    }
+
+    /**
+     * Gets a read-only copy of the graph as it is now, as a Graph of
+     * Integer.  This boxes every vertex once.  With no changes since
+     * the last snapshot, returns that snapshot again.
+     *
+     * @return an immutable copy of the graph
+     */
+    @Override
+    public Graph<Integer> snapshot()
+    {
+        if (frozen == null) {
+            Object[] boxed = new Object[idBound];
+            int fingerprint = 0;
+            for (int id = 0; id < idBound; id++) {
+                if (!used[id]) { continue; }
+
+                boxed[id] = vertices[id];
+                int hash = Fingerprint.vertex(boxed[id]);
+                fingerprint += hash;
+                for (int i = 0; i < degrees[id]; i++) {
+                    fingerprint += Fingerprint.edge(hash, Fingerprint.vertex(vertices[targets[id][i]]));
+                }
+            }
+            frozen = FrozenGraph.freeze(indexed, boxed, ids.size(), fingerprint, null, null);
+        }
+        return frozen;
+    }
+
+    /**
+     * Gives the string representation of the graph, in the form
+     * GraphImpl.toString uses.
+     *
+     * @return the string representation of the graph
+     */
+    @Override
+    public String toString()
+    {
+        return snapshot().toString();
+    }
+}
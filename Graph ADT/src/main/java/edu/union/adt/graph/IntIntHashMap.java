@@ -0,0 +1,127 @@
+package edu.union.adt.graph;
+
+import java.util.Arrays;
+
+
+/**
+ * A map from ints to non-negative ints using open addressing with
+ * linear probing, so that entries are stored in two flat int[]s with
+ * no boxing.  Used to map int vertices to their ids.  Any int can be
+ * a key; a value of -1 marks an empty slot, so values cannot be
+ * negative.
+ * @author Neil Daterao
+ */
+class IntIntHashMap {
+
+    private static final int EMPTY = -1;
+
+    private int[] keys;
+    private int[] values; // EMPTY where the slot is free
+    private int size;
+
+    /**
+     * Create an empty map.
+     */
+    IntIntHashMap()
+    {
+        keys = new int[16];
+        values = new int[16];
+        Arrays.fill(values, EMPTY);
+    }
+
+    /**
+     * @return the number of keys in the map.
+     */
+    int size()
+    {
+        return size;
+    }
+
+    /**
+     * @return the value of key, or -1 if key is not in the map.
+     */
+    int get(int key)
+    {
+        int mask = keys.length - 1;
+        for (int i = index(key, mask); values[i] != EMPTY; i = (i + 1) & mask) {
+            if (keys[i] == key) { return values[i]; }
+        }
+        return EMPTY;
+    }
+
+    /**
+     * Maps a key to a value, replacing any value it had.
+     *
+     * @param value the value, which must not be negative
+     */
+    void put(int key, int value)
+    {
+        int mask = keys.length - 1;
+        int i = index(key, mask);
+        while (values[i] != EMPTY) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        size++;
+        if (size * 2 > keys.length) { rehash(keys.length * 2); }
+    }
+
+    /**
+     * Removes a key from the map.
+     *
+     * @return the value it had, or -1 if it was not in the map.
+     */
+    int remove(int key)
+    {
+        int mask = keys.length - 1;
+        int i = index(key, mask);
+        while (values[i] != EMPTY && keys[i] != key) { i = (i + 1) & mask; }
+        if (values[i] == EMPTY) { return EMPTY; }
+
+        int removed = values[i];
+        values[i] = EMPTY;
+        size--;
+
+        // Shift later entries of the probe run back so lookups never
+        // stop early at the hole just made.
+        for (int j = (i + 1) & mask; values[j] != EMPTY; j = (j + 1) & mask) {
+            int home = index(keys[j], mask);
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                keys[i] = keys[j];
+                values[i] = values[j];
+                values[j] = EMPTY;
+                i = j;
+            }
+        }
+        return removed;
+    }
+
+    private void rehash(int capacity)
+    {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, EMPTY);
+        int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldValues[j] != EMPTY) {
+                int i = index(oldKeys[j], mask);
+                while (values[i] != EMPTY) { i = (i + 1) & mask; }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    private static int index(int key, int mask)
+    {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,150 @@
+package edu.union.adt.graph;
+
+import java.util.Arrays;
+
+
+/**
+ * A set of longs using open addressing with linear probing, so that
+ * members are stored in a flat long[] with no boxing.  Used to track
+ * edges as (from, to) pairs of vertex ids packed into one long.
+ * Negative values cannot be stored.
+ * @author Neil Daterao
+ */
+class LongHashSet {
+
+    private static final long EMPTY = -1L;
+
+    private long[] slots;
+    private int size;
+
+    /**
+     * Create an empty set.
+     */
+    LongHashSet()
+    {
+        this(16);
+    }
+
+    /**
+     * Create an empty set sized to hold a number of members without
+     * growing.
+     *
+     * @param expected the number of members expected
+     */
+    LongHashSet(int expected)
+    {
+        int capacity = 16;
+        while (capacity < expected * 2) { capacity <<= 1; }
+        slots = new long[capacity];
+        Arrays.fill(slots, EMPTY);
+    }
+
+    /**
+     * Packs an edge between two vertex ids into a single key.
+     */
+    static long edgeKey(int from, int to)
+    {
+        return ((long) from << 32) | (to & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @return the number of members in the set.
+     */
+    int size()
+    {
+        return size;
+    }
+
+    /**
+     * @return true iff key is in the set.
+     */
+    boolean contains(long key)
+    {
+        int mask = slots.length - 1;
+        for (int i = index(key, mask); ; i = (i + 1) & mask) {
+            long slot = slots[i];
+            if (slot == key) { return true; }
+            if (slot == EMPTY) { return false; }
+        }
+    }
+
+    /**
+     * Adds a key to the set.
+     *
+     * @return true iff the key was not already in the set.
+     */
+    boolean add(long key)
+    {
+        int mask = slots.length - 1;
+        int i = index(key, mask);
+        while (slots[i] != EMPTY) {
+            if (slots[i] == key) { return false; }
+            i = (i + 1) & mask;
+        }
+        slots[i] = key;
+        size++;
+        if (size * 2 > slots.length) { rehash(slots.length * 2); }
+        return true;
+    }
+
+    /**
+     * Removes a key from the set.
+     *
+     * @return true iff the key was in the set.
+     */
+    boolean remove(long key)
+    {
+        int mask = slots.length - 1;
+        int i = index(key, mask);
+        while (slots[i] != key) {
+            if (slots[i] == EMPTY) { return false; }
+            i = (i + 1) & mask;
+        }
+        slots[i] = EMPTY;
+        size--;
+
+        // Shift later members of the probe run back so lookups
+        // never stop early at the hole just made.
+        for (int j = (i + 1) & mask; slots[j] != EMPTY; j = (j + 1) & mask) {
+            int home = index(slots[j], mask);
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                slots[i] = slots[j];
+                slots[j] = EMPTY;
+                i = j;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes every member, keeping the current capacity.
+     */
+    void clear()
+    {
+        if (size > 0) {
+            Arrays.fill(slots, EMPTY);
+            size = 0;
+        }
+    }
+
+    private void rehash(int capacity)
+    {
+        long[] old = slots;
+        slots = new long[capacity];
+        Arrays.fill(slots, EMPTY);
+        int mask = capacity - 1;
+        for (long key : old) {
+            if (key != EMPTY) {
+                int i = index(key, mask);
+                while (slots[i] != EMPTY) { i = (i + 1) & mask; }
+                slots[i] = key;
+            }
+        }
+    }
+
+    private static int index(long key, int mask)
+    {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,981 @@
+package edu.union.adt.graph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+
+/**
+ *  Read-only graph served straight from a memory-mapped file.
+ *  Opening a graph maps the file and reads its header, and nothing
+ *  else: the operating system pages in the parts that queries touch,
+ *  and vertices are only decoded when a method returns them.  Any
+ *  number of threads can read a mapped graph at once.
+ *
+ *  <p>The file is written by write() and holds, after a 64-byte
+ *  header, these sections, each starting on an 8-byte boundary and
+ *  all big-endian:
+ *  <ul>
+ *  <li>vertex bytes: the encoding (see VertexCodec) of every vertex,
+ *  in id order
+ *  <li>vertex offsets: numVertices + 1 longs, the file position of
+ *  each vertex's bytes, then the end of the last
+ *  <li>vertex table: a power-of-two number of ints, an open-addressing
+ *  hash table of ids (-1 for empty slots) keyed by a hash of the
+ *  vertex bytes, so lookups need no deserialization
+ *  <li>edge offsets: numVertices + 1 ints, where each vertex's row
+ *  starts in the targets, then the number of edges
+ *  <li>targets: numEdges ints, the id of the destination of every
+ *  edge, row by row in adjacentTo order
+ *  </ul>
+ *
+ *  The header also holds the fingerprint of the graph (see
+ *  Fingerprint), so hashCode is O(1) and equals rejects most unequal
+ *  graphs without reading their edges.
+ *
+ *  A MappedByteBuffer holds at most 2 GB, so the file is mapped in
+ *  chunks of 1 GB.  Ints and longs never cross a chunk boundary
+ *  because of the section alignment.
+ *
+ *  Only the forward edges are stored, so inDegree and adjacentFrom
+ *  scan every edge.
+ *
+ *  @author Neil Daterao
+ */
+public final class MappedGraph<V> implements Graph<V>, Indexable {
+
+    private static final int MAGIC = 0x47524150; // "GRAP"
+    private static final int VERSION = 2; // 2 added the fingerprint
+    private static final int HEADER_SIZE = 64;
+    private static final int CHUNK_SHIFT = 30;
+
+    private final MappedByteBuffer[] chunks;
+    private final int chunkShift;
+    private final long chunkMask;
+    private final VertexCodec<V> codec;
+
+    private final int numVertices;
+    private final int numEdges;
+    private final int tableSize;
+    private final int fingerprint;
+    private final long vertexOffsetsPos;
+    private final long tablePos;
+    private final long edgeOffsetsPos;
+    private final long targetsPos;
+    private final IndexedGraph indexed = new Indexed();
+
+    private MappedGraph(MappedByteBuffer[] chunks, int chunkShift, long size, VertexCodec<V> codec) throws IOException
+    {
+        this.chunks = chunks;
+        this.chunkShift = chunkShift;
+        this.chunkMask = (1L << chunkShift) - 1;
+        this.codec = codec;
+
+        if (size < HEADER_SIZE || intAt(0) != MAGIC) { throw new IOException("Not a graph file"); }
+        if (intAt(4) != VERSION) { throw new IOException("Unsupported graph file version " + intAt(4)); }
+
+        numVertices = intAt(8);
+        numEdges = intAt(12);
+        tableSize = intAt(16);
+        fingerprint = intAt(20);
+        vertexOffsetsPos = longAt(32);
+        tablePos = longAt(40);
+        edgeOffsetsPos = longAt(48);
+        targetsPos = longAt(56);
+        if (targetsPos + 4L * numEdges > size) { throw new IOException("Truncated graph file"); }
+    }
+
+    /**
+     * Writes a graph to a file that open() can map.  The graph must
+     * not be modified while it is written; take a snapshot first if
+     * other threads may change it.
+     *
+     * @param graph the graph to write
+     * @param path the file to write, replaced if it exists
+     * @param codec how to encode the vertices
+     * @throws IOException if the file cannot be written
+     */
+    public static <V> void write(Graph<V> graph, Path path, VertexCodec<V> codec) throws IOException
+    {
+        int n = graph.numVertices();
+        Object[] vertices = new Object[n];
+        Map<V, Integer> ids = new HashMap<>((int) Math.min(1 << 30, n / 0.75 + 1));
+        long[] vertexOffsets = new long[n + 1];
+        int[] hashes = new int[n];
+        int[] terms = new int[n]; // Fingerprint.vertex of each id
+        int fingerprint = 0;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            Output out = new Output(channel);
+            for (int i = 0; i < HEADER_SIZE; i += 8) { out.putLong(0); }
+
+            long vertexBytesPos = out.position;
+            int id = 0;
+            for (V vertex : graph.getVertices()) {
+                if (id == n) { throw new ConcurrentModificationException("Graph changed while being written"); }
+                byte[] bytes = codec.encode(vertex);
+                vertices[id] = vertex;
+                ids.put(vertex, id);
+                hashes[id] = hash(bytes);
+                terms[id] = Fingerprint.vertex(vertex);
+                fingerprint += terms[id];
+                vertexOffsets[id] = out.position;
+                out.put(bytes);
+                id++;
+            }
+            if (id != n) { throw new ConcurrentModificationException("Graph changed while being written"); }
+            vertexOffsets[n] = out.position;
+
+            out.align();
+            long offsetsPos = out.position;
+            for (long offset : vertexOffsets) { out.putLong(offset); }
+
+            int size = Integer.highestOneBit(Math.max(2, n) * 2 - 1) << 1;
+            int[] table = new int[size];
+            Arrays.fill(table, -1);
+            for (int v = 0; v < n; v++) {
+                int slot = hashes[v] & (size - 1);
+                while (table[slot] >= 0) { slot = (slot + 1) & (size - 1); }
+                table[slot] = v;
+            }
+            long tableStart = out.position;
+            for (int slot : table) { out.putInt(slot); }
+
+            out.align();
+            long edgesPos = out.position;
+            int edges = 0;
+            out.putInt(0);
+            for (int v = 0; v < n; v++) {
+                @SuppressWarnings("unchecked")
+                V vertex = (V) vertices[v];
+                edges += graph.degree(vertex);
+                out.putInt(edges);
+            }
+
+            out.align();
+            long targetsStart = out.position;
+            for (int v = 0; v < n; v++) {
+                @SuppressWarnings("unchecked")
+                V vertex = (V) vertices[v];
+                for (V target : graph.adjacentTo(vertex)) {
+                    int targetId = ids.get(target);
+                    out.putInt(targetId);
+                    fingerprint += Fingerprint.edge(terms[v], terms[targetId]);
+                }
+            }
+            if (out.position != targetsStart + 4L * edges) {
+                throw new ConcurrentModificationException("Graph changed while being written");
+            }
+            out.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putInt(n).putInt(edges).putInt(size).putInt(fingerprint);
+            header.putLong(vertexBytesPos).putLong(offsetsPos).putLong(tableStart).putLong(edgesPos).putLong(targetsStart);
+            header.flip();
+            long position = 0;
+            while (header.hasRemaining()) { position += channel.write(header, position); }
+        }
+    }
+
+    /**
+     * Maps a file written by write().
+     *
+     * @param path the file
+     * @param codec how the vertices were encoded
+     * @return the graph in the file
+     * @throws IOException if the file cannot be read or is not a
+     * graph file
+     */
+    public static <V> MappedGraph<V> open(Path path, VertexCodec<V> codec) throws IOException
+    {
+        return open(path, codec, CHUNK_SHIFT);
+    }
+
+    /**
+     * Maps a file in chunks of 2^chunkShift bytes.  chunkShift must be
+     * at least 3; small chunks are only useful for testing.
+     */
+    static <V> MappedGraph<V> open(Path path, VertexCodec<V> codec, int chunkShift) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long chunkSize = 1L << chunkShift;
+            MappedByteBuffer[] chunks = new MappedByteBuffer[(int) ((size + chunkSize - 1) >>> chunkShift)];
+            for (int i = 0; i < chunks.length; i++) {
+                long start = (long) i << chunkShift;
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(chunkSize, size - start));
+            }
+            // The mapping stays valid after the channel is closed.
+            return new MappedGraph<V>(chunks, chunkShift, size, codec);
+        }
+    }
+
+    /**
+     * Buffers the writes of write() and counts the file position.
+     */
+    private static final class Output {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+        long position;
+
+        Output(FileChannel channel) { this.channel = channel; }
+
+        void putInt(int value) throws IOException
+        {
+            if (buffer.remaining() < 4) { flush(); }
+            buffer.putInt(value);
+            position += 4;
+        }
+
+        void putLong(long value) throws IOException
+        {
+            if (buffer.remaining() < 8) { flush(); }
+            buffer.putLong(value);
+            position += 8;
+        }
+
+        void put(byte[] bytes) throws IOException
+        {
+            for (int done = 0; done < bytes.length; ) {
+                if (!buffer.hasRemaining()) { flush(); }
+                int count = Math.min(buffer.remaining(), bytes.length - done);
+                buffer.put(bytes, done, count);
+                done += count;
+            }
+            position += bytes.length;
+        }
+
+        /**
+         * Pads with zeros to the next 8-byte boundary.
+         */
+        void align() throws IOException
+        {
+            while ((position & 7) != 0) {
+                if (!buffer.hasRemaining()) { flush(); }
+                buffer.put((byte) 0);
+                position++;
+            }
+        }
+
+        void flush() throws IOException
+        {
+            buffer.flip();
+            while (buffer.hasRemaining()) { channel.write(buffer); }
+            buffer.clear();
+        }
+    }
+
+    private static int hash(byte[] bytes)
+    {
+        int h = Arrays.hashCode(bytes) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private int intAt(long position)
+    {
+        return chunks[(int) (position >>> chunkShift)].getInt((int) (position & chunkMask));
+    }
+
+    private long longAt(long position)
+    {
+        return chunks[(int) (position >>> chunkShift)].getLong((int) (position & chunkMask));
+    }
+
+    private byte byteAt(long position)
+    {
+        return chunks[(int) (position >>> chunkShift)].get((int) (position & chunkMask));
+    }
+
+    /**
+     * Private helper that copies bytes out of the mapping, which may
+     * span chunks.
+     */
+    private byte[] bytesAt(long position, int length)
+    {
+        byte[] bytes = new byte[length];
+        for (int done = 0; done < length; ) {
+            long at = position + done;
+            ByteBuffer chunk = chunks[(int) (at >>> chunkShift)].duplicate();
+            chunk.position((int) (at & chunkMask));
+            int count = Math.min(chunk.remaining(), length - done);
+            chunk.get(bytes, done, count);
+            done += count;
+        }
+        return bytes;
+    }
+
+    /**
+     * @return the id-based view of this graph
+     */
+    @Override
+    public IndexedGraph indexedView()
+    {
+        return indexed;
+    }
+
+    /**
+     * @return true: hashCode is the fingerprint of the graph
+     */
+    @Override
+    public boolean hasFingerprint()
+    {
+        return true;
+    }
+
+    private long vertexStart(int id) { return longAt(vertexOffsetsPos + 8L * id); }
+
+    private int rowStart(int id) { return intAt(edgeOffsetsPos + 4L * id); }
+
+    private int target(int edge) { return intAt(targetsPos + 4L * edge); }
+
+    private V vertexAt(int id)
+    {
+        long start = vertexStart(id);
+        return codec.decode(bytesAt(start, (int) (vertexStart(id + 1) - start)));
+    }
+
+    /**
+     * Private helper that returns the id of a vertex, or -1 if it is
+     * not in the graph.  Compares encodings, so no stored vertex is
+     * decoded.
+     */
+    private int idOf(V vertex)
+    {
+        byte[] bytes = codec.encode(vertex);
+        int mask = tableSize - 1;
+        for (int slot = hash(bytes) & mask; ; slot = (slot + 1) & mask) {
+            int id = intAt(tablePos + 4L * slot);
+            if (id < 0) { return -1; }
+            if (storedAs(id, bytes)) { return id; }
+        }
+    }
+
+    private boolean storedAs(int id, byte[] bytes)
+    {
+        long start = vertexStart(id);
+        if (vertexStart(id + 1) - start != bytes.length) { return false; }
+
+        for (int i = 0; i < bytes.length; i++) {
+            if (byteAt(start + i) != bytes[i]) { return false; }
+        }
+        return true;
+    }
+
+    /**
+     * The id-based view of this graph used by the search engines.
+     */
+    private class Indexed implements IndexedGraph {
+        @Override
+        public int idBound() { return numVertices; }
+
+        @Override
+        public boolean isVertex(int id) { return true; }
+
+        @Override
+        public int edgeCount() { return numEdges; }
+
+        @Override
+        public Object vertex(int id) { return vertexAt(id); }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public int idOf(Object vertex)
+        {
+            try {
+                return MappedGraph.this.idOf((V) vertex);
+            } catch (ClassCastException e) {
+                return -1; // not of the type the codec encodes
+            }
+        }
+
+        @Override
+        public int successorCount(int id) { return rowStart(id + 1) - rowStart(id); }
+
+        @Override
+        public void forEachSuccessor(int id, IntConsumer action)
+        {
+            for (int i = rowStart(id), end = rowStart(id + 1); i < end; i++) { action.accept(target(i)); }
+        }
+
+        @Override
+        public boolean hasPredecessors() { return false; }
+
+        @Override
+        public int predecessorCount(int id) { throw new UnsupportedOperationException(); }
+
+        @Override
+        public void forEachPredecessor(int id, IntConsumer action) { throw new UnsupportedOperationException(); }
+
+        @Override
+        public boolean anyPredecessor(int id, IntPredicate test) { throw new UnsupportedOperationException(); }
+    }
+
+    /**
+     * @return the number of vertices in the graph.
+     */
+    @Override
+    public int numVertices()
+    {
+        return numVertices;
+    }
+
+    /**
+     * @return the number of edges in the graph.
+     */
+    @Override
+    public int numEdges()
+    {
+        return numEdges;
+    }
+
+    /**
+     * Gets the number of vertices connected by edges from a given
+     * vertex.  If the given vertex is not in the graph, throws a
+     * RuntimeException.
+     *
+     * @param vertex the vertex whose degree we want.
+     * @return the degree of vertex 'vertex'
+     */
+    @Override
+    public int degree(V vertex)
+    {
+        int id = idOf(vertex);
+        if (id < 0) { throw new RuntimeException("Vertex Not In Graph"); }
+
+        return rowStart(id + 1) - rowStart(id);
+    }
+
+    /**
+     * Gets the number of vertices with an edge to a given vertex.  If
+     * the given vertex is not in the graph, throws a
+     * RuntimeException.  Scans every edge.
+     *
+     * @param vertex the vertex whose in-degree we want.
+     * @return the in-degree of vertex 'vertex'
+     */
+    @Override
+    public int inDegree(V vertex)
+    {
+        int id = idOf(vertex);
+        if (id < 0) { throw new RuntimeException("Vertex Not In Graph"); }
+
+        int count = 0;
+        for (int i = 0; i < numEdges; i++) {
+            if (target(i) == id) { count++; }
+        }
+        return count;
+    }
+
+    /**
+     * Not supported: a mapped graph cannot be changed.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void addEdge(V from, V to)
+    {
+        throw new UnsupportedOperationException("Mapped graph is read-only");
+    }
+
+    /**
+     * Not supported: a mapped graph cannot be changed.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void addEdges(Iterable<? extends Map.Entry<? extends V, ? extends V>> edges)
+    {
+        throw new UnsupportedOperationException("Mapped graph is read-only");
+    }
+
+    /**
+     * Not supported: a mapped graph cannot be changed.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void addVertex(V vertex)
+    {
+        throw new UnsupportedOperationException("Mapped graph is read-only");
+    }
+
+    /**
+     * @return the an iterable collection for the set of vertices of
+     * the graph, in the order they were written.  Each vertex is
+     * decoded as it is reached.
+     */
+    @Override
+    public Collection<V> getVertices()
+    {
+        return new AbstractList<V>() {
+            @Override
+            public V get(int index)
+            {
+                if (index < 0 || index >= numVertices) { throw new IndexOutOfBoundsException("Index: " + index); }
+                return vertexAt(index);
+            }
+
+            @Override
+            public int size() { return numVertices; }
+        };
+    }
+
+    /**
+     * Gets the vertices adjacent to a given vertex.  A vertex y is
+     * "adjacent to" vertex x if there is an edge (x, y) in the graph.
+     * Because edges are directed, if (x, y) is an edge but (y, x) is
+     * not an edge, we would say that y is adjacent to x but that x is
+     * NOT adjacent to y.
+     *
+     * @param from the source vertex
+     * @return an iterable collection for the set of vertices that are
+     * the destinations of edges for which 'from' is the source
+     * vertex.  If 'from' is not a vertex in the graph, returns an
+     * empty iterator.  Each vertex is decoded as it is reached.
+     */
+    @Override
+    public Collection<V> adjacentTo(V from)
+    {
+        final int id = idOf(from);
+        if (id < 0) { return Collections.emptyList(); }
+
+        final int start = rowStart(id);
+        final int end = rowStart(id + 1);
+        return new AbstractList<V>() {
+            @Override
+            public V get(int index)
+            {
+                if (index < 0 || index >= end - start) { throw new IndexOutOfBoundsException("Index: " + index); }
+                return vertexAt(target(start + index));
+            }
+
+            @Override
+            public int size() { return end - start; }
+        };
+    }
+
+    /**
+     * Calls an action on each vertex adjacent to a given vertex, in
+     * adjacentTo order, without allocating an iterator.  Each vertex is decoded as it is
+     * reached.
+     *
+     * @param from the source vertex
+     * @param action the action to call on each destination of an edge
+     * from 'from'.  If 'from' is not a vertex in the graph, it is
+     * never called.
+     */
+    @Override
+    public void forEachNeighbor(V from, Consumer<? super V> action)
+    {
+        int id = idOf(from);
+        if (id < 0) { return; }
+
+        for (int i = rowStart(id), end = rowStart(id + 1); i < end; i++) { action.accept(vertexAt(target(i))); }
+    }
+
+    /**
+     * Gets the vertices a given vertex is adjacent to, i.e. the
+     * predecessors of the vertex.  Scans every edge and returns a
+     * read-only copy of what it found.
+     *
+     * @param to the destination vertex
+     * @return an iterable collection for the set of vertices that are
+     * the sources of edges for which 'to' is the destination vertex.
+     * If 'to' is not a vertex in the graph, returns an empty
+     * iterator.
+     */
+    @Override
+    public Collection<V> adjacentFrom(V to)
+    {
+        int id = idOf(to);
+        if (id < 0) { return Collections.emptyList(); }
+
+        List<V> sources = new ArrayList<>();
+        for (int u = 0; u < numVertices; u++) {
+            for (int i = rowStart(u), end = rowStart(u + 1); i < end; i++) {
+                if (target(i) == id) { sources.add(vertexAt(u)); }
+            }
+        }
+        return Collections.unmodifiableList(sources);
+    }
+
+    /**
+     * Tells whether or not a vertex is in the graph.
+     *
+     * @param vertex a vertex
+     * @return true iff 'vertex' is a vertex in the graph.
+     */
+    @Override
+    public boolean contains(V vertex)
+    {
+        return idOf(vertex) >= 0;
+    }
+
+    /**
+     * Tells whether an edge exists in the graph.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     *
+     * @return true iff there is an edge from the source vertex to the
+     * destination vertex in the graph.  If either of the given
+     * vertices are not vertices in the graph, then there is no edge
+     * between them.
+     */
+    @Override
+    public boolean hasEdge(V from, V to)
+    {
+        int fromId = idOf(from);
+        int toId = idOf(to);
+        if (fromId < 0 || toId < 0) { return false; }
+
+        for (int i = rowStart(fromId), end = rowStart(fromId + 1); i < end; i++) {
+            if (target(i) == toId) { return true; }
+        }
+        return false;
+    }
+
+    /**
+     * Writes the string representation of the graph (see toString) to
+     * a destination one line at a time, without building a String of
+     * the whole graph.  Vertices are listed in the order
+     * they were written.
+     *
+     * @param out where to write the representation
+     * @throws IOException if out does
+     */
+    @Override
+    public void writeTo(Appendable out) throws IOException
+    {
+        for (int id = 0; id < numVertices; id++) {
+            out.append(vertexAt(id).toString()).append(':');
+            for (int i = rowStart(id), end = rowStart(id + 1); i < end; i++) {
+                out.append(' ').append(vertexAt(target(i)).toString()).append(',');
+            }
+            out.append('\n');
+        }
+    }
+
+    /**
+     * Gives a string representation of the graph, in the format
+     * described by Graph.toString, with the vertices in the order they
+     * were written.
+     *
+     * @return the string representation of the graph
+     */
+    @Override
+    public String toString()
+    {
+        return CappedText.of(this, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Gives the string representation of the graph, cut off after a
+     * given number of characters.  Only the part of the graph that is
+     * shown is visited, so this is safe to call on huge graphs.
+     *
+     * @param maxLength the most characters of the representation to
+     * give
+     * @return the first maxLength characters of toString(), followed
+     * by "..." if the representation is longer than that
+     */
+    @Override
+    public String toString(int maxLength)
+    {
+        return CappedText.of(this, maxLength);
+    }
+
+    /**
+     * Checks if two graph objects are equal. Checks if structure of graphs is identical.
+     * Graphs whose vertex counts, edge counts or fingerprints differ
+     * are told apart in O(1), from the headers alone.
+     *
+     * @param otherObj object you are checking is equal
+     * @return true iff graphs are equal. Checks if graphs habe the same vertices and edges.
+     */
+    @Override
+    public boolean equals(Object otherObj)
+    {
+        if (this == otherObj) { return true; }
+        if (otherObj == null || getClass() != otherObj.getClass()) { return false; }
+
+        @SuppressWarnings("unchecked")
+        MappedGraph<V> otherGraph = (MappedGraph<V>) otherObj;
+        if (numVertices != otherGraph.numVertices || numEdges != otherGraph.numEdges) { return false; }
+        if (fingerprint != otherGraph.fingerprint) { return false; }
+
+        for (int id = 0; id < numVertices; id++) {
+            V vertex = vertexAt(id);
+            int otherId = otherGraph.idOf(vertex);
+            if (otherId < 0) { return false; }
+
+            int start = rowStart(id);
+            int length = rowStart(id + 1) - start;
+            int otherStart = otherGraph.rowStart(otherId);
+            if (length != otherGraph.rowStart(otherId + 1) - otherStart) { return false; }
+            for (int i = 0; i < length; i++) {
+                if (!vertexAt(target(start + i)).equals(otherGraph.vertexAt(otherGraph.target(otherStart + i)))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gives a hash code that depends only on the vertices and edges of
+     * the graph.  The fingerprint it returns was computed by write()
+     * and is read from the header, so this is O(1).
+     *
+     * @return the hash code of the graph
+     */
+    @Override
+    public int hashCode()
+    {
+        return fingerprint;
+    }
+
+    /**
+     * Tells whether another graph has the same vertices and edges as
+     * this one, whatever order the neighbors of each vertex are listed
+     * in and whatever the implementation of the other graph.  Runs in
+     * time linear in the size of the graphs (see UnorderedEquals), and
+     * rejects graphs with different counts or fingerprints in O(1).
+     *
+     * @param other the graph to compare with
+     * @return true iff the two graphs have the same set of vertices
+     * and the same set of edges
+     */
+    @Override
+    public boolean equalsIgnoringOrder(Graph<?> other)
+    {
+        return UnorderedEquals.equal(this, other);
+    }
+
+    /**
+     * Tells whether another graph has the same vertices and edges as
+     * this one, as equalsIgnoringOrder(other) does, comparing the
+     * edges of different vertices in parallel on a given pool.  The
+     * other graph may not be modified while they are compared.
+     *
+     * @param other the graph to compare with
+     * @param pool the pool to compare on
+     * @return true iff the two graphs have the same set of vertices
+     * and the same set of edges
+     */
+    @Override
+    public boolean equalsIgnoringOrder(Graph<?> other, ForkJoinPool pool)
+    {
+        return UnorderedEquals.equal(this, other, pool);
+    }
+
+    /**
+     * Tells whether the graph is empty.
+     *
+     * @return true iff the graph is empty. A graph is empty if it has
+     * no vertices and no edges.
+     */
+    @Override
+    public boolean isEmpty()
+    {
+        return numVertices == 0 && numEdges == 0;
+    }
+
+    /**
+     * Not supported: a mapped graph cannot be changed.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void removeVertex(V toRemove)
+    {
+        throw new UnsupportedOperationException("Mapped graph is read-only");
+    }
+
+    /**
+     * Not supported: a mapped graph cannot be changed.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void removeEdge(V from, V to)
+    {
+        throw new UnsupportedOperationException("Mapped graph is read-only");
+    }
+
+    /**
+     * Tells whether there is a path connecting two given vertices.  A
+     * path exists from vertex A to vertex B iff A and B are in the
+     * graph and there exists a sequence x_1, x_2, ..., x_n where:
+     *
+     * <ul>
+     * <li>x_1 = A
+     * <li>x_n = B
+     * <li>for all i from 1 to n-1, (x_i, x_{i+1}) is an edge in the graph.
+     * </ul>
+     *
+     * It therefore follows that if vertex A is in the graph, there
+     * is a path from A to A.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return true iff there is a path from 'from' to 'to' in the graph.
+     */
+    @Override
+    public boolean hasPath(V from, V to)
+    {
+        int fromId = idOf(from);
+        int toId = idOf(to);
+        if (fromId < 0 || toId < 0) { return false; }
+
+        return PathSearch.get().hasPath(indexed, fromId, toId);
+    }
+
+    /**
+     * Gets the length of the shortest path connecting two given
+     * vertices.  The length of a path is the number of edges in the
+     * path.
+     *
+     * <ol>
+     * <li>If from = to, the shortest path has length 0
+     * <li>Otherwise, the shortest path length is the length of the shortest
+     * possible path connecting from to to.
+     * </ol>
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return the length of the shortest path from 'from' to 'to' in
+     * the graph.  If there is no path, returns Integer.MAX_VALUE
+     */
+    @Override
+    public int pathLength(V from, V to)
+    {
+        if (from.equals(to)) { return 0; }
+
+        int fromId = idOf(from);
+        int toId = idOf(to);
+        if (fromId < 0 || toId < 0) { return Integer.MAX_VALUE; }
+
+        int length = PathSearch.get().pathLength(indexed, fromId, toId);
+        if (length < 0) { return Integer.MAX_VALUE; }
+        else { return length; }
+    }
+
+    /**
+     * Gets the length of the shortest path from a given vertex to
+     * every vertex that can be reached from it.
+     *
+     * @param source the source vertex
+     * @return a map from each vertex reachable from 'source' to the
+     * length of the shortest path to it.  'source' itself maps to 0.
+     * If 'source' is not in the graph, returns an empty map.
+     */
+    @Override
+    public Map<V, Integer> distancesFrom(V source)
+    {
+        int sourceId = idOf(source);
+        if (sourceId < 0) { return Collections.emptyMap(); }
+
+        return toMap(DirectionOptimizingBfs.distances(indexed, sourceId));
+    }
+
+    /**
+     * Gets the length of the shortest path from a given vertex to
+     * every vertex that can be reached from it, expanding each level
+     * of the search in parallel on a given pool (see ParallelBfs).
+     *
+     * @param source the source vertex
+     * @param pool the pool to run the search on
+     * @return a map from each vertex reachable from 'source' to the
+     * length of the shortest path to it.  'source' itself maps to 0.
+     * If 'source' is not in the graph, returns an empty map.
+     */
+    @Override
+    public Map<V, Integer> distancesFrom(V source, ForkJoinPool pool)
+    {
+        int sourceId = idOf(source);
+        if (sourceId < 0) { return Collections.emptyMap(); }
+
+        return toMap(ParallelBfs.distances(indexed, sourceId, pool));
+    }
+
+    /**
+     * Private helper that turns an array of distances indexed by id
+     * into a map from vertex to distance, leaving out unreached ids.
+     */
+    private Map<V, Integer> toMap(int[] distances)
+    {
+        Map<V, Integer> result = new HashMap<>();
+        for (int id = 0; id < distances.length; id++) {
+            if (distances[id] >= 0) { result.put(vertexAt(id), distances[id]); }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the vertices along the shortest path connecting two
+     * given vertices.  The vertices are given in the order x_1,
+     * x_2, x_3, ..., x_n, where:
+     *
+     * <ol>
+     * <li>x_1 = from
+     * <li>x_n = to
+     * <li>for all i from 1 to n-1: (x_i, x_{i+1}) is an edge in the graph.
+     * </ol>
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return an Iterable collection of vertices along the shortest
+     * path from 'from' to 'to'.  The Iterable includes the source and
+     * destination vertices. If there is no path from 'from' to 'to'
+     * in the graph (e.g. if the vertices are not in the graph),
+     * returns an empty Iterable collection of vertices.
+     */
+    @Override
+    public Iterable<V> getPath(V from, V to)
+    {
+        int fromId = idOf(from);
+        int toId = idOf(to);
+        if (fromId < 0 || toId < 0) { return Collections.emptyList(); }
+
+        int[] ids = PathSearch.get().path(indexed, fromId, toId);
+        if (ids == null) { return Collections.emptyList(); }
+
+        List<V> path = new ArrayList<>(ids.length);
+        for (int id : ids) { path.add(vertexAt(id)); }
+        return path;
+    }
+
+    /**
+     * Finds the shortest paths from a vertex to every vertex it
+     * reaches, with one breadth-first search, for answering
+     * pathLength and getPath from that vertex to many targets.
+     *
+     * @param source the source vertex
+     * @return the shortest paths from 'source'.  If 'source' is not in
+     * the graph, the tree reaches no vertex.
+     */
+    @Override
+    public ShortestPathTree<V> shortestPathTree(V source)
+    {
+        return new ShortestPathTree<V>(indexedView(), source);
+    }
+
+    /**
+     * @return this graph, which is already read-only.
+     */
+    @Override
+    public Graph<V> snapshot()
+    {
+        return this;
+    }
+}
@@ -0,0 +1,144 @@
+package edu.union.adt.graph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntConsumer;
+
+
+/**
+ * Single-source breadth-first search that expands each level in
+ * parallel on a ForkJoinPool.  The frontier is split into chunks that
+ * run as fork/join tasks.  A task claims a vertex by setting its bit
+ * in a shared visited bitmap with compare-and-set, so every vertex
+ * joins the next frontier exactly once.  Each task gathers the
+ * vertices it claims locally and copies them into the next frontier
+ * with a single atomic reservation.
+ *
+ * The graph must not change during the search; concurrent reads of
+ * it are fine.
+ * @author Neil Daterao
+ */
+final class ParallelBfs {
+
+    // Frontiers smaller than this are expanded without forking.
+    private static final int CHUNK = 512;
+
+    private final IndexedGraph graph;
+    private final int[] distances;
+    private final AtomicLongArray visited;
+    private int[] frontier;
+    private int[] next;
+    private final AtomicInteger nextSize = new AtomicInteger();
+    private int level;
+
+    private ParallelBfs(IndexedGraph graph)
+    {
+        this.graph = graph;
+        int n = graph.idBound();
+        distances = new int[n];
+        Arrays.fill(distances, -1);
+        visited = new AtomicLongArray((n + 63) >>> 6);
+        frontier = new int[n];
+        next = new int[n];
+    }
+
+    /**
+     * Gets the distance from a vertex to every vertex of a graph.
+     *
+     * @param graph the graph to search
+     * @param source the id of the vertex to search from
+     * @param pool the pool to run the search on
+     * @return an array indexed by id holding the number of edges on
+     * the shortest path from 'source', or -1 for ids that cannot be
+     * reached or are not vertices
+     */
+    static int[] distances(IndexedGraph graph, int source, ForkJoinPool pool)
+    {
+        ParallelBfs search = new ParallelBfs(graph);
+        search.run(source, pool);
+        return search.distances;
+    }
+
+    private void run(int source, ForkJoinPool pool)
+    {
+        claim(source);
+        distances[source] = 0;
+        frontier[0] = source;
+        int frontierSize = 1;
+
+        while (frontierSize > 0) {
+            nextSize.set(0);
+            pool.invoke(new Expand(0, frontierSize));
+
+            int[] swap = frontier;
+            frontier = next;
+            next = swap;
+            frontierSize = nextSize.get();
+            level++;
+        }
+    }
+
+    /**
+     * Sets the visited bit of id.
+     *
+     * @return true iff this call set it, false if it was already set.
+     */
+    private boolean claim(int id)
+    {
+        int word = id >>> 6;
+        long bit = 1L << id;
+        while (true) {
+            long bits = visited.get(word);
+            if ((bits & bit) != 0) { return false; }
+            if (visited.compareAndSet(word, bits, bits | bit)) { return true; }
+        }
+    }
+
+    /**
+     * Expands frontier[start, end) into the next frontier, splitting
+     * in half until the range is small enough to do directly.
+     */
+    private class Expand extends RecursiveAction implements IntConsumer {
+        private static final long serialVersionUID = 1L;
+
+        private final int start;
+        private final int end;
+        private int[] claimed;
+        private int numClaimed;
+
+        Expand(int start, int end)
+        {
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (end - start > CHUNK) {
+                int middle = (start + end) >>> 1;
+                invokeAll(new Expand(start, middle), new Expand(middle, end));
+                return;
+            }
+
+            claimed = new int[16];
+            for (int i = start; i < end; i++) { graph.forEachSuccessor(frontier[i], this); }
+
+            int offset = nextSize.getAndAdd(numClaimed);
+            System.arraycopy(claimed, 0, next, offset, numClaimed);
+        }
+
+        @Override
+        public void accept(int id)
+        {
+            if (!claim(id)) { return; }
+
+            distances[id] = level + 1;
+            if (numClaimed == claimed.length) { claimed = Arrays.copyOf(claimed, numClaimed * 2); }
+            claimed[numClaimed++] = id;
+        }
+    }
+}
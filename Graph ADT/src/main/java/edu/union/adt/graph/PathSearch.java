@@ -0,0 +1,351 @@
+package edu.union.adt.graph;
+
+import java.lang.ref.SoftReference;
+import java.util.function.IntConsumer;
+
+
+/**
+ * Reachability and shortest-path searches over an IndexedGraph.  The
+ * searches are iterative, so long paths cannot overflow the call
+ * stack, and keep their state in int arrays and bitmaps that are
+ * reused from one search to the next: after warming up, a search
+ * allocates nothing but its result.  Only the entries of vertices a
+ * search reaches are ever written, so nothing is initialized per
+ * vertex of the graph.
+ *
+ * Each array grows only when a search that uses it needs more room:
+ * hasPath touches just 'forward', 'stack' and one bitmap, while the
+ * breadth-first searches use the rest.  Arrays sized for a large
+ * graph would otherwise stay with a thread for as long as it lives,
+ * so each thread's instance is held through a SoftReference, which
+ * lets the collector reclaim it when memory runs short; the next
+ * search then starts again from small arrays.
+ *
+ * Each thread gets its own instance through get(), so graphs can be
+ * searched from several threads at once as long as none of them
+ * modifies the graph.
+ * @author Neil Daterao
+ */
+final class PathSearch {
+
+    private static final ThreadLocal<SoftReference<PathSearch>> INSTANCES = new ThreadLocal<>();
+
+    // Ids seen from each end of the search, as bitmaps.
+    private long[] forwardSeen = new long[0];
+    private long[] backwardSeen = new long[0];
+
+    // Ids seen from each end, in the order they were seen.  For
+    // breadth-first searches these are the queues; for depth-first
+    // search 'forward' records every marked id so its bit can be
+    // cleared afterwards, and 'stack' holds the ids still to expand.
+    private int[] forward = new int[0];
+    private int[] backward = new int[0];
+    private int[] stack = new int[0];
+    private int forwardCount;
+    private int backwardCount;
+    private int top;
+
+    // For every id seen from an end: its distance from that end and
+    // the id it was reached from.  Only valid where the id's bit is
+    // set in the matching bitmap.
+    private int[] forwardDistance = new int[0];
+    private int[] backwardDistance = new int[0];
+    private int[] forwardParent = new int[0];
+    private int[] backwardParent = new int[0];
+
+    private int target;
+    private boolean found;
+
+    // State of the breadth-first search in progress.
+    private int expanding;
+    private int best;
+    private int meeting;
+
+    private final IntConsumer pushForward = new IntConsumer() {
+        @Override
+        public void accept(int id)
+        {
+            if (id == target) { found = true; }
+            if (!isSet(forwardSeen, id)) {
+                set(forwardSeen, id);
+                forward[forwardCount++] = id;
+                stack[top++] = id;
+            }
+        }
+    };
+
+    private final IntConsumer visitForward = new IntConsumer() {
+        @Override
+        public void accept(int id)
+        {
+            if (isSet(forwardSeen, id)) { return; }
+
+            set(forwardSeen, id);
+            forward[forwardCount++] = id;
+            forwardDistance[id] = forwardDistance[expanding] + 1;
+            forwardParent[id] = expanding;
+            if (isSet(backwardSeen, id)) { meet(id); }
+        }
+    };
+
+    private final IntConsumer visitBackward = new IntConsumer() {
+        @Override
+        public void accept(int id)
+        {
+            if (isSet(backwardSeen, id)) { return; }
+
+            set(backwardSeen, id);
+            backward[backwardCount++] = id;
+            backwardDistance[id] = backwardDistance[expanding] + 1;
+            backwardParent[id] = expanding;
+            if (isSet(forwardSeen, id)) { meet(id); }
+        }
+    };
+
+    private PathSearch()
+    {
+    }
+
+    /**
+     * @return the search state for the calling thread.
+     */
+    static PathSearch get()
+    {
+        SoftReference<PathSearch> held = INSTANCES.get();
+        PathSearch search = held == null ? null : held.get();
+        if (search == null) {
+            search = new PathSearch();
+            INSTANCES.set(new SoftReference<>(search));
+        }
+        return search;
+    }
+
+    /**
+     * Tells whether there is a path between two vertices, by an
+     * iterative depth-first search from 'from'.
+     *
+     * @param graph the graph to search
+     * @param from the id of the source vertex
+     * @param to the id of the destination vertex
+     * @return true iff 'to' can be reached from 'from'
+     */
+    boolean hasPath(IndexedGraph graph, int from, int to)
+    {
+        if (from == to) { return true; }
+
+        int idBound = graph.idBound();
+        forward = fit(forward, idBound);
+        stack = fit(stack, idBound);
+        forwardSeen = fit(forwardSeen, idBound);
+        target = to;
+        found = false;
+        try {
+            set(forwardSeen, from);
+            forward[forwardCount++] = from;
+            stack[top++] = from;
+            while (top > 0 && !found) {
+                graph.forEachSuccessor(stack[--top], pushForward);
+            }
+            return found;
+        }
+        finally {
+            reset();
+        }
+    }
+
+    /**
+     * Tells whether there is a path between two vertices, by growing
+     * breadth-first frontiers from both ends and stopping as soon as
+     * they touch.  The graph must support forEachPredecessor.
+     *
+     * @param graph the graph to search
+     * @param from the id of the source vertex
+     * @param to the id of the destination vertex
+     * @return true iff 'to' can be reached from 'from'
+     */
+    boolean hasPathBidirectional(IndexedGraph graph, int from, int to)
+    {
+        try {
+            return breadthFirst(graph, from, to, true) >= 0;
+        }
+        finally {
+            reset();
+        }
+    }
+
+    /**
+     * Gets the length of the shortest path between two vertices.
+     * Searches from both ends if the graph supports
+     * forEachPredecessor, and from 'from' only otherwise.
+     *
+     * @param graph the graph to search
+     * @param from the id of the source vertex
+     * @param to the id of the destination vertex
+     * @return the number of edges on the shortest path, or -1 if
+     * there is no path
+     */
+    int pathLength(IndexedGraph graph, int from, int to)
+    {
+        try {
+            return breadthFirst(graph, from, to, false);
+        }
+        finally {
+            reset();
+        }
+    }
+
+    /**
+     * Finds a shortest path between two vertices, searching the same
+     * way as pathLength.
+     *
+     * @param graph the graph to search
+     * @param from the id of the source vertex
+     * @param to the id of the destination vertex
+     * @return the ids of the vertices along the path, starting with
+     * 'from' and ending with 'to', or null if there is no path
+     */
+    int[] path(IndexedGraph graph, int from, int to)
+    {
+        try {
+            int length = breadthFirst(graph, from, to, false);
+            if (length < 0) { return null; }
+
+            int[] path = new int[length + 1];
+            int position = forwardDistance[meeting];
+            for (int id = meeting, i = position; i >= 0; i--, id = forwardParent[id]) { path[i] = id; }
+            for (int id = meeting, i = position; i <= length; i++, id = backwardParent[id]) { path[i] = id; }
+            return path;
+        }
+        finally {
+            reset();
+        }
+    }
+
+    /**
+     * Private helper that runs a level-by-level breadth-first search
+     * from 'from' and, if the graph has predecessors, a second one
+     * backward from 'to', always expanding the side with the smaller
+     * frontier.  When the two sides first meet, it finishes the level
+     * it is on, which is enough to find the shortest of the paths
+     * through the meeting points.  A one-sided search stops as soon
+     * as it reaches 'to'.
+     *
+     * Leaves the meeting vertex in 'meeting' and the parent and
+     * distance entries in place until reset().
+     *
+     * @param firstMeeting stop at the first meeting even if it is not
+     * on a shortest path
+     * @return the length of the shortest path, or -1 if there is none
+     */
+    private int breadthFirst(IndexedGraph graph, int from, int to, boolean firstMeeting)
+    {
+        int idBound = graph.idBound();
+        forward = fit(forward, idBound);
+        backward = fit(backward, idBound);
+        forwardDistance = fit(forwardDistance, idBound);
+        backwardDistance = fit(backwardDistance, idBound);
+        forwardParent = fit(forwardParent, idBound);
+        backwardParent = fit(backwardParent, idBound);
+        forwardSeen = fit(forwardSeen, idBound);
+        backwardSeen = fit(backwardSeen, idBound);
+        boolean bidirectional = graph.hasPredecessors();
+        best = -1;
+        meeting = -1;
+
+        set(forwardSeen, from);
+        forward[forwardCount++] = from;
+        forwardDistance[from] = 0;
+        forwardParent[from] = from;
+        set(backwardSeen, to);
+        backward[backwardCount++] = to;
+        backwardDistance[to] = 0;
+        backwardParent[to] = to;
+        if (from == to) { meet(from); }
+
+        // [start, count) is the current frontier on each side.
+        int forwardStart = 0;
+        int backwardStart = 0;
+        boolean stopEarly = firstMeeting || !bidirectional;
+        while (best < 0 && forwardStart < forwardCount && (!bidirectional || backwardStart < backwardCount)) {
+            if (!bidirectional || forwardCount - forwardStart <= backwardCount - backwardStart) {
+                int end = forwardCount;
+                for (int i = forwardStart; i < end && !(stopEarly && best >= 0); i++) {
+                    expanding = forward[i];
+                    graph.forEachSuccessor(expanding, visitForward);
+                }
+                forwardStart = end;
+            }
+            else {
+                int end = backwardCount;
+                for (int i = backwardStart; i < end && !(stopEarly && best >= 0); i++) {
+                    expanding = backward[i];
+                    graph.forEachPredecessor(expanding, visitBackward);
+                }
+                backwardStart = end;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Records that both sides have reached 'id', keeping it if it
+     * lies on the shortest path found so far.
+     */
+    private void meet(int id)
+    {
+        int length = forwardDistance[id] + backwardDistance[id];
+        if (best < 0 || length < best) {
+            best = length;
+            meeting = id;
+        }
+    }
+
+    /**
+     * Clears the bits of every id seen, so the bitmaps are all zero
+     * again without touching the words of unseen ids.
+     */
+    private void reset()
+    {
+        for (int i = 0; i < forwardCount; i++) { clear(forwardSeen, forward[i]); }
+        for (int i = 0; i < backwardCount; i++) { clear(backwardSeen, backward[i]); }
+        forwardCount = 0;
+        backwardCount = 0;
+        top = 0;
+    }
+
+    /**
+     * Private helper that returns 'array' if it has room for every id
+     * below 'idBound', and a larger one otherwise.  Nothing is copied:
+     * between searches no entry of an int array is valid.
+     */
+    private static int[] fit(int[] array, int idBound)
+    {
+        return array.length >= idBound ? array : new int[Math.max(idBound, array.length * 2)];
+    }
+
+    /**
+     * Private helper that returns 'bits' if it has a bit for every id
+     * below 'idBound', and a larger bitmap otherwise.  Between searches
+     * every bit is clear, so nothing is copied.
+     */
+    private static long[] fit(long[] bits, int idBound)
+    {
+        int words = (idBound + 63) >>> 6;
+        return bits.length >= words ? bits : new long[Math.max(words, bits.length * 2)];
+    }
+
+    private static boolean isSet(long[] bits, int id)
+    {
+        return (bits[id >>> 6] & (1L << id)) != 0;
+    }
+
+    private static void set(long[] bits, int id)
+    {
+        bits[id >>> 6] |= 1L << id;
+    }
+
+    private static void clear(long[] bits, int id)
+    {
+        bits[id >>> 6] &= ~(1L << id);
+    }
+}
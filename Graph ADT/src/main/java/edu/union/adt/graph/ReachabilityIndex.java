@@ -0,0 +1,410 @@
+package edu.union.adt.graph;
+
+import java.lang.ref.SoftReference;
+import java.util.Arrays;
+import java.util.Random;
+
+
+/**
+ *  Answers hasPath queries on a graph, usually without searching it.
+ *  This is not a transitive closure: only the queries its labels
+ *  settle take O(1), and the rest fall back to a pruned search.  The
+ *  index is built once from a snapshot of the graph, so it
+ *  answers for the graph as it was when the index was built; build a
+ *  new index after the graph changes.  Any number of threads can
+ *  query an index at once.
+ *
+ *  <p>Building condenses the graph to its strongly connected
+ *  components (see StrongComponents), a DAG.  Vertices in the same
+ *  component reach each other.  Between components, three kinds of
+ *  labels answer most queries in O(1):
+ *  <ul>
+ *  <li>A topological order: a component never reaches one later in
+ *  it.
+ *  <li>Interval labels from LABELINGS depth-first searches of the
+ *  condensation, as in GRAIL (Yildirim et al., 2010).  Numbering the
+ *  components in the post-order of a search, a component reaches
+ *  every component in the interval of its subtree, and nothing
+ *  outside the interval from the lowest number it reaches to its own.
+ *  The first search is the one that found the components; the others
+ *  visit children in other orders, so their intervals cut different
+ *  false candidates.
+ *  <li>The exact set of components a component reaches, as a sorted
+ *  list of intervals of component numbers, for components where that
+ *  list is at most MAX_INTERVALS long.  Most components in sparse
+ *  graphs, and those near the sinks of any graph, have one.
+ *  </ul>
+ *  Every other query runs a depth-first search of the condensation
+ *  that skips every component the labels rule out and stops at the
+ *  first component whose labels settle the query.  That search is
+ *  O(V + E) in the worst case: for large, dense DAGs where few
+ *  components keep an exact list, many queries between unrelated
+ *  components can take it.  An O(1) answer for every pair would need
+ *  the full transitive closure, O(V^2) bits, which the index does not
+ *  keep.
+ *
+ *  <p>Building takes O(LABELINGS * (V + E)) time and the index holds
+ *  O(V + E) ints, whatever the shape of the graph.
+ *
+ *  @author Neil Daterao
+ */
+public final class ReachabilityIndex<V> {
+
+    private static final int LABELINGS = 3;
+    private static final int MAX_INTERVALS = 8;
+    private static final long SEED = 0x5EEDL; // searches are reproducible
+
+    private final Graph<V> graph;        // the snapshot the index answers for
+    private final IndexedGraph indexed;  // of 'graph'
+    private final int[] component;       // id -> component, -1 if not a vertex
+    private final int numComponents;
+
+    private final int[] dagStarts;       // the condensation, without duplicate edges
+    private final int[] dagTargets;
+
+    private final int[][] rank;          // labeling -> component -> post-order number
+    private final int[][] subtree;       // labeling -> component -> lowest number in its subtree
+    private final int[][] lowest;        // labeling -> component -> lowest number it reaches
+
+    private final int[] listStarts;      // component -> start of its list, empty if not kept
+    private final int[] intervals;       // sorted disjoint [first, last] pairs of components
+
+    // The search state of each thread, shared by every index.  It
+    // holds nothing of any index, so a thread that has queried an
+    // index does not keep it from being collected.
+    private static final ThreadLocal<SoftReference<Search>> SEARCHES = new ThreadLocal<>();
+
+    /**
+     * Builds the index of a graph.
+     *
+     * @param graph the graph to index.  The index is built from
+     * graph.snapshot(), so the graph may be changed afterwards (or, if
+     * it is thread-safe, meanwhile) without affecting the index.
+     */
+    public ReachabilityIndex(Graph<V> graph)
+    {
+        this.graph = graph.snapshot();
+        indexed = IndexedCopy.viewOf(this.graph);
+        int n = indexed.idBound();
+        StrongComponents components = new StrongComponents(indexed);
+        numComponents = components.count();
+
+        component = new int[n];
+        for (int id = 0; id < n; id++) { component[id] = components.componentOf(id); }
+
+        dagStarts = components.dagStarts();
+        dagTargets = components.dagTargets();
+
+        rank = new int[LABELINGS][];
+        subtree = new int[LABELINGS][];
+        lowest = new int[LABELINGS][];
+        rank[0] = new int[numComponents];
+        subtree[0] = new int[numComponents];
+        for (int c = 0; c < numComponents; c++) {
+            rank[0][c] = c;
+            subtree[0][c] = components.firstBelow(c);
+        }
+        Random random = new Random(SEED);
+        for (int labeling = 1; labeling < LABELINGS; labeling++) { label(labeling, random); }
+        for (int labeling = 0; labeling < LABELINGS; labeling++) {
+            // Edges go to lower components, so those are done first.
+            int[] low = new int[numComponents];
+            for (int c = 0; c < numComponents; c++) {
+                low[c] = subtree[labeling][c];
+                for (int e = dagStarts[c]; e < dagStarts[c + 1]; e++) { low[c] = Math.min(low[c], low[dagTargets[e]]); }
+            }
+            lowest[labeling] = low;
+        }
+
+        listStarts = new int[numComponents + 1];
+        intervals = buildLists(components);
+    }
+
+    /**
+     * Private helper that numbers the components in the post-order of
+     * a depth-first search of the condensation that starts from the
+     * roots, and visits the children of each component, in random
+     * orders.
+     */
+    private void label(int labeling, Random random)
+    {
+        int[] ranks = new int[numComponents];
+        int[] below = new int[numComponents];
+        Arrays.fill(ranks, -1);
+
+        int[] roots = new int[numComponents];
+        for (int c = 0; c < numComponents; c++) { roots[c] = c; }
+        for (int i = numComponents - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = roots[i];
+            roots[i] = roots[j];
+            roots[j] = swap;
+        }
+
+        int[] calls = new int[numComponents];
+        int[] first = new int[numComponents]; // component -> the child it starts at
+        int[] done = new int[numComponents];  // component -> children looked at
+        int numbered = 0;
+        for (int root : roots) {
+            if (ranks[root] >= 0) { continue; }
+
+            int depth = 0;
+            calls[depth++] = root;
+            ranks[root] = -2; // on the stack
+            below[root] = numbered;
+            first[root] = random.nextInt(dagStarts[root + 1] - dagStarts[root] + 1);
+            done[root] = 0;
+            while (depth > 0) {
+                int c = calls[depth - 1];
+                int degree = dagStarts[c + 1] - dagStarts[c];
+                if (done[c] < degree) {
+                    int d = dagTargets[dagStarts[c] + (first[c] + done[c]++) % degree];
+                    if (ranks[d] != -1) { continue; }
+
+                    calls[depth++] = d;
+                    ranks[d] = -2;
+                    below[d] = numbered;
+                    first[d] = random.nextInt(dagStarts[d + 1] - dagStarts[d] + 1);
+                    done[d] = 0;
+                    continue;
+                }
+                depth--;
+                ranks[c] = numbered++;
+            }
+        }
+        rank[labeling] = ranks;
+        subtree[labeling] = below;
+    }
+
+    /**
+     * Private helper that builds the exact lists of the components
+     * that get one.  A component gets one if every component it has an
+     * edge to has one, and merging them gives at most MAX_INTERVALS
+     * intervals.
+     *
+     * @return the intervals of all the lists; listStarts is filled in
+     */
+    private int[] buildLists(StrongComponents components)
+    {
+        int[] lists = new int[Math.max(16, 2 * numComponents)];
+        int length = 0;
+        long[] gathered = new long[1 + MAX_INTERVALS * 4]; // [first, last] pairs packed as first << 32 | last
+        for (int c = 0; c < numComponents; c++) {
+            listStarts[c] = length;
+            listStarts[c + 1] = length;
+            int firstBelow = components.firstBelow(c);
+            int numGathered = 0;
+            gathered[numGathered++] = (long) firstBelow << 32 | c;
+            boolean kept = true;
+            for (int e = dagStarts[c]; e < dagStarts[c + 1] && kept; e++) {
+                int d = dagTargets[e];
+                int pairs = (listStarts[d + 1] - listStarts[d]) / 2;
+                if (pairs == 0) { kept = false; }
+                else if (pairs == 1 && lists[listStarts[d]] >= firstBelow) { continue; } // inside c's subtree
+                else {
+                    if (numGathered + pairs > gathered.length) {
+                        numGathered = merge(gathered, numGathered);
+                        if (numGathered + pairs > gathered.length) { kept = false; continue; }
+                    }
+                    for (int i = listStarts[d]; i < listStarts[d + 1]; i += 2) {
+                        gathered[numGathered++] = (long) lists[i] << 32 | lists[i + 1];
+                    }
+                }
+            }
+            if (!kept) { continue; }
+
+            numGathered = merge(gathered, numGathered);
+            if (numGathered > MAX_INTERVALS) { continue; }
+
+            if (length + 2 * numGathered > lists.length) { lists = Arrays.copyOf(lists, lists.length * 2 + 2 * numGathered); }
+            for (int i = 0; i < numGathered; i++) {
+                lists[length++] = (int) (gathered[i] >>> 32);
+                lists[length++] = (int) gathered[i];
+            }
+            listStarts[c + 1] = length;
+        }
+        return Arrays.copyOf(lists, length);
+    }
+
+    /**
+     * Private helper that sorts packed intervals and merges the ones
+     * that overlap or touch.
+     *
+     * @return the number of intervals left at the front of the array
+     */
+    private static int merge(long[] gathered, int count)
+    {
+        Arrays.sort(gathered, 0, count);
+        int merged = 0;
+        for (int i = 0; i < count; i++) {
+            int first = (int) (gathered[i] >>> 32);
+            int last = (int) gathered[i];
+            if (merged > 0 && first <= (int) gathered[merged - 1] + 1) {
+                int previousFirst = (int) (gathered[merged - 1] >>> 32);
+                int previousLast = (int) gathered[merged - 1];
+                gathered[merged - 1] = (long) previousFirst << 32 | Math.max(previousLast, last);
+            }
+            else { gathered[merged++] = gathered[i]; }
+        }
+        return merged;
+    }
+
+    /**
+     * Tells whether there is a path connecting two given vertices, as
+     * Graph.hasPath does, in the graph as it was when the index was
+     * built.  If vertex A is in the graph, there is a path from A to
+     * A.
+     *
+     * Takes O(1) when the topological order, the interval labels or
+     * the exact list of 'from's component settle the query, and
+     * otherwise runs the pruned search described above.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return true iff there is a path from 'from' to 'to' in the
+     * graph
+     */
+    public boolean hasPath(V from, V to)
+    {
+        int fromId = indexed.idOf(from);
+        int toId = indexed.idOf(to);
+        if (fromId < 0 || toId < 0) { return false; }
+
+        int c = component[fromId];
+        int d = component[toId];
+        if (c == d) { return true; }
+
+        int settled = settle(c, d);
+        if (settled != UNKNOWN) { return settled == REACHES; }
+        return reaches(c, d);
+    }
+
+    private static final int REACHES = 1;
+    private static final int DOES_NOT_REACH = 0;
+    private static final int UNKNOWN = -1;
+
+    /**
+     * Private helper that tries to tell from the labels alone whether
+     * component c reaches component d, which is not c.
+     *
+     * @return REACHES, DOES_NOT_REACH or UNKNOWN
+     */
+    private int settle(int c, int d)
+    {
+        if (d > c) { return DOES_NOT_REACH; }
+
+        int start = listStarts[c];
+        int end = listStarts[c + 1];
+        if (start < end) {
+            // The last interval starting at or before d.
+            int low = start / 2;
+            int high = end / 2 - 1;
+            while (low < high) {
+                int middle = (low + high + 1) >>> 1;
+                if (intervals[2 * middle] <= d) { low = middle; }
+                else { high = middle - 1; }
+            }
+            return intervals[2 * low] <= d && d <= intervals[2 * low + 1] ? REACHES : DOES_NOT_REACH;
+        }
+
+        for (int labeling = 0; labeling < LABELINGS; labeling++) {
+            int r = rank[labeling][d];
+            if (r > rank[labeling][c] || r < lowest[labeling][c]) { return DOES_NOT_REACH; }
+            if (r >= subtree[labeling][c]) { return REACHES; }
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * Private helper that runs the depth-first search of the
+     * condensation for a query the labels did not settle, skipping
+     * the components they rule out.
+     *
+     * @return true iff component c reaches component d
+     */
+    private boolean reaches(int c, int d)
+    {
+        Search search = Search.get(numComponents);
+        int[] visited = search.visited;
+        int[] stack = search.stack;
+        int stamp = search.next();
+        try {
+            int size = 0;
+            stack[size++] = c;
+            visited[c] = stamp;
+            while (size > 0) {
+                int u = stack[--size];
+                for (int e = dagStarts[u]; e < dagStarts[u + 1]; e++) {
+                    int w = dagTargets[e];
+                    if (w == d) { return true; }
+                    if (visited[w] == stamp) { continue; }
+                    visited[w] = stamp;
+
+                    int settled = settle(w, d);
+                    if (settled == REACHES) { return true; }
+                    if (settled == DOES_NOT_REACH) { continue; }
+
+                    if (size == stack.length) { stack = Arrays.copyOf(stack, size * 2); }
+                    stack[size++] = w;
+                }
+            }
+            return false;
+        }
+        finally {
+            search.stack = stack;
+        }
+    }
+
+    /**
+     * The arrays of one thread's searches, reused across queries and
+     * across indexes, and held through a SoftReference like those of
+     * PathSearch.  A component is visited in the current search iff
+     * its entry in 'visited' is the current stamp.  Stamps only grow,
+     * so entries left by earlier searches, of this index or another,
+     * never match.
+     */
+    private static final class Search {
+        int[] visited = new int[0];
+        int[] stack = new int[16];
+        private int stamp;
+
+        /**
+         * @return the calling thread's arrays, with room for
+         * 'numComponents' components
+         */
+        static Search get(int numComponents)
+        {
+            SoftReference<Search> held = SEARCHES.get();
+            Search search = held == null ? null : held.get();
+            if (search == null) {
+                search = new Search();
+                SEARCHES.set(new SoftReference<>(search));
+            }
+            if (search.visited.length < numComponents) {
+                search.visited = new int[Math.max(numComponents, search.visited.length * 2)];
+            }
+            return search;
+        }
+
+        /**
+         * @return the stamp of a new search
+         */
+        int next()
+        {
+            if (++stamp == 0) {
+                Arrays.fill(visited, 0);
+                stamp = 1;
+            }
+            return stamp;
+        }
+    }
+
+    /**
+     * @return the graph the index answers for: a snapshot of the graph
+     * it was built from
+     */
+    public Graph<V> getGraph()
+    {
+        return graph;
+    }
+}
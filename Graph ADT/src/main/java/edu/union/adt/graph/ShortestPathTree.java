@@ -0,0 +1,172 @@
+package edu.union.adt.graph;
+
+import java.util.*;
+import java.util.function.IntConsumer;
+
+
+/**
+ *  The shortest paths from one vertex to every vertex it reaches,
+ *  found by one breadth-first search and returned by
+ *  Graph.shortestPathTree.  Each reached vertex keeps its parent in
+ *  the search and its distance from the source, so pathLength is O(1)
+ *  and getPath is O(length of the path), for as many targets as
+ *  needed.
+ *
+ *  <p>The tree holds its own copy of what the search found, in a few
+ *  arrays in the order the search reached the vertices, and looks
+ *  vertices up in an open-addressing table of positions.  It answers
+ *  for the graph as it was when the tree was made; changes to the
+ *  graph afterwards do not show.  Any number of threads can query a
+ *  tree at once.
+ *
+ *  @author Neil Daterao
+ */
+public final class ShortestPathTree<V> {
+
+    private final V source;
+    private final Object[] reached; // position -> vertex, in the order the search reached them
+    private final int[] parent;     // position -> position of its parent, -1 for the source
+    private final int[] distance;   // position -> length of the shortest path to it
+    private final int[] table;      // open addressing: slot -> position, -1 if empty
+
+    /**
+     * Runs a breadth-first search of a graph from a vertex.
+     *
+     * @param graph the graph, seen by id; it must not change meanwhile
+     * @param source the vertex to search from
+     */
+    ShortestPathTree(IndexedGraph graph, V source)
+    {
+        this.source = source;
+        int sourceId = graph.idOf(source);
+        if (sourceId < 0) {
+            reached = new Object[0];
+            parent = distance = new int[0];
+            table = new int[] { -1 };
+            return;
+        }
+
+        // position[id] is the position of id in 'queue', -1 if not reached.
+        final int[] position = new int[graph.idBound()];
+        Arrays.fill(position, -1);
+        final int[] queue = new int[graph.idBound()];
+        final int[] parents = new int[graph.idBound()];
+        final int[] tail = new int[] { 1 };
+        final int[] head = new int[1];
+        queue[0] = sourceId;
+        position[sourceId] = 0;
+        parents[0] = -1;
+        IntConsumer visit = target -> {
+            if (position[target] >= 0) { return; }
+            position[target] = tail[0];
+            parents[tail[0]] = head[0];
+            queue[tail[0]++] = target;
+        };
+        for (; head[0] < tail[0]; head[0]++) { graph.forEachSuccessor(queue[head[0]], visit); }
+
+        int count = tail[0];
+        reached = new Object[count];
+        parent = Arrays.copyOf(parents, count);
+        distance = new int[count];
+        for (int i = 0; i < count; i++) {
+            reached[i] = graph.vertex(queue[i]);
+            if (i > 0) { distance[i] = distance[parent[i]] + 1; } // parents come first
+        }
+
+        table = new int[Integer.highestOneBit(Math.max(1, count) * 2) * 2];
+        Arrays.fill(table, -1);
+        int mask = table.length - 1;
+        for (int i = 0; i < count; i++) {
+            int slot = spread(reached[i].hashCode()) & mask;
+            while (table[slot] >= 0) { slot = (slot + 1) & mask; }
+            table[slot] = i;
+        }
+    }
+
+    private static int spread(int h)
+    {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Private helper that returns the position of a vertex, or -1 if
+     * the search did not reach it.
+     */
+    private int positionOf(Object vertex)
+    {
+        int mask = table.length - 1;
+        for (int slot = spread(vertex.hashCode()) & mask; table[slot] >= 0; slot = (slot + 1) & mask) {
+            if (reached[table[slot]].equals(vertex)) { return table[slot]; }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the vertex the paths start from
+     */
+    public V getSource()
+    {
+        return source;
+    }
+
+    /**
+     * @return the number of vertices reached from the source,
+     * including the source itself; 0 if the source was not in the
+     * graph
+     */
+    public int numReached()
+    {
+        return reached.length;
+    }
+
+    /**
+     * Tells whether there is a path from the source to a vertex.
+     *
+     * @param to the destination vertex
+     * @return true iff there is a path from the source to 'to'
+     */
+    public boolean hasPath(V to)
+    {
+        return positionOf(to) >= 0;
+    }
+
+    /**
+     * Gets the length of the shortest path from the source to a
+     * vertex, in O(1).  The length of a path is the number of edges in
+     * the path.
+     *
+     * @param to the destination vertex
+     * @return the length of the shortest path from the source to
+     * 'to'.  If there is no path (e.g. if either vertex is not in the
+     * graph), returns Integer.MAX_VALUE
+     */
+    public int pathLength(V to)
+    {
+        int position = positionOf(to);
+        return position < 0 ? Integer.MAX_VALUE : distance[position];
+    }
+
+    /**
+     * Returns the vertices along the shortest path from the source to
+     * a vertex, in O(length of the path).  When several paths are
+     * equally short, it may not be the one Graph.getPath finds.
+     *
+     * @param to the destination vertex
+     * @return a list of the vertices along the path, including the
+     * source and 'to'.  If there is no path, returns an empty list.
+     */
+    @SuppressWarnings("unchecked")
+    public List<V> getPath(V to)
+    {
+        int position = positionOf(to);
+        if (position < 0) { return new ArrayList<>(); }
+
+        V[] path = (V[]) new Object[distance[position] + 1];
+        for (int i = path.length - 1; i >= 0; i--) {
+            path[i] = (V) reached[position];
+            position = parent[position];
+        }
+        return new ArrayList<>(Arrays.asList(path));
+    }
+}
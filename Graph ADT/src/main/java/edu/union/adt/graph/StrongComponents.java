@@ -0,0 +1,212 @@
+package edu.union.adt.graph;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+
+/**
+ * The strongly connected components of a graph, found with Tarjan's
+ * algorithm.  The search keeps its own stack instead of recursing, so
+ * long paths cannot overflow the thread's stack.
+ *
+ * Components are numbered in the order Tarjan's algorithm completes
+ * them, which is a reverse topological order of the condensation: an
+ * edge between two components always goes from the higher number to
+ * the lower.  The numbering also follows the depth-first search: the
+ * components whose roots were visited below the root of component c
+ * are exactly those numbered from firstBelow(c) up to c - 1.
+ *
+ * Alongside the numbering, the ids of each component's vertices are
+ * grouped together, and the condensation (the DAG with an edge c -> d
+ * for every pair of distinct components joined by an edge of the
+ * graph) is built in compressed sparse row form, without duplicate
+ * edges.
+ * @author Neil Daterao
+ */
+final class StrongComponents {
+
+    private final int[] component; // id -> component, -1 if not a vertex
+    private int[] firstBelow;      // component -> first component below it
+    private int count;
+    private final int[] memberStarts; // component -> start of its ids in 'members'
+    private final int[] members;      // ids, grouped by component
+    private final int[] dagStarts;    // component -> start of its edges in 'dagTargets'
+    private final int[] dagTargets;   // the condensation, without duplicate edges
+
+    /**
+     * Finds the strongly connected components of a graph.
+     *
+     * @param graph the graph, seen by id; it must not change meanwhile
+     */
+    StrongComponents(IndexedGraph graph)
+    {
+        int n = graph.idBound();
+
+        // The search walks rows by position, so copy them first.
+        final int[] offsets = new int[n + 1];
+        for (int id = 0; id < n; id++) {
+            offsets[id + 1] = offsets[id] + (graph.isVertex(id) ? graph.successorCount(id) : 0);
+        }
+        final int[] targets = new int[offsets[n]];
+        IntConsumer fill = new IntConsumer() {
+            int next;
+
+            @Override
+            public void accept(int target) { targets[next++] = target; }
+        };
+        for (int id = 0; id < n; id++) {
+            if (graph.isVertex(id)) { graph.forEachSuccessor(id, fill); }
+        }
+
+        component = new int[n];
+        Arrays.fill(component, -1);
+        firstBelow = new int[16];
+        int[] order = new int[n];         // id -> visit order + 1, 0 if not visited
+        int[] low = new int[n];           // lowest visit order + 1 reachable through the stack
+        int[] entered = new int[n];       // id -> components completed when it was visited
+        int[] next = new int[n];          // id -> next edge to follow
+        int[] stack = new int[n];         // Tarjan's stack of open vertices
+        int[] calls = new int[n];         // the vertices being searched, in call order
+        int stackSize = 0;
+        int visited = 0;
+
+        for (int root = 0; root < n; root++) {
+            if (!graph.isVertex(root) || order[root] != 0) { continue; }
+
+            int depth = 0;
+            calls[depth++] = root;
+            order[root] = low[root] = ++visited;
+            entered[root] = count;
+            next[root] = offsets[root];
+            stack[stackSize++] = root;
+            while (depth > 0) {
+                int v = calls[depth - 1];
+                if (next[v] < offsets[v + 1]) {
+                    int w = targets[next[v]++];
+                    if (order[w] == 0) {
+                        calls[depth++] = w;
+                        order[w] = low[w] = ++visited;
+                        entered[w] = count;
+                        next[w] = offsets[w];
+                        stack[stackSize++] = w;
+                    }
+                    else if (component[w] < 0) { low[v] = Math.min(low[v], order[w]); } // w is on the stack
+                    continue;
+                }
+
+                depth--;
+                if (low[v] == order[v]) {
+                    int member;
+                    do {
+                        member = stack[--stackSize];
+                        component[member] = count;
+                    } while (member != v);
+                    if (count == firstBelow.length) { firstBelow = Arrays.copyOf(firstBelow, count * 2); }
+                    firstBelow[count++] = entered[v];
+                }
+                if (depth > 0) {
+                    int caller = calls[depth - 1];
+                    low[caller] = Math.min(low[caller], low[v]);
+                }
+            }
+        }
+
+        // Group the ids by component, then gather the distinct
+        // components each component has edges to.
+        memberStarts = new int[count + 1];
+        for (int id = 0; id < n; id++) {
+            if (component[id] >= 0) { memberStarts[component[id] + 1]++; }
+        }
+        for (int c = 0; c < count; c++) { memberStarts[c + 1] += memberStarts[c]; }
+        members = new int[memberStarts[count]];
+        int[] position = Arrays.copyOf(memberStarts, count);
+        for (int id = 0; id < n; id++) {
+            if (component[id] >= 0) { members[position[component[id]]++] = id; }
+        }
+
+        dagStarts = new int[count + 1];
+        int[] dag = new int[Math.max(16, targets.length / 4)];
+        int size = 0;
+        int[] mark = new int[count]; // mark[d] == c + 1 iff c -> d is already gathered
+        for (int c = 0; c < count; c++) {
+            mark[c] = c + 1;
+            for (int m = memberStarts[c]; m < memberStarts[c + 1]; m++) {
+                int id = members[m];
+                for (int e = offsets[id]; e < offsets[id + 1]; e++) {
+                    int d = component[targets[e]];
+                    if (mark[d] == c + 1) { continue; }
+
+                    mark[d] = c + 1;
+                    if (size == dag.length) { dag = Arrays.copyOf(dag, size * 2); }
+                    dag[size++] = d;
+                }
+            }
+            dagStarts[c + 1] = size;
+        }
+        dagTargets = Arrays.copyOf(dag, size);
+    }
+
+    /**
+     * @return the number of components
+     */
+    int count()
+    {
+        return count;
+    }
+
+    /**
+     * @return the component of vertex id, or -1 if id is not a vertex
+     */
+    int componentOf(int id)
+    {
+        return component[id];
+    }
+
+    /**
+     * @return the lowest-numbered component whose root was visited
+     * below the root of component c, or c if there is none.  Every
+     * component from firstBelow(c) to c is reachable from c.
+     */
+    int firstBelow(int c)
+    {
+        return firstBelow[c];
+    }
+
+    /**
+     * @return component -> start of its ids in members(); the ids of
+     * component c are members()[memberStarts()[c]] up to, but not
+     * including, members()[memberStarts()[c + 1]].  Shared, not
+     * copied: callers must not change it.
+     */
+    int[] memberStarts()
+    {
+        return memberStarts;
+    }
+
+    /**
+     * @return the ids of the vertices, grouped by component (see
+     * memberStarts).  Shared, not copied.
+     */
+    int[] members()
+    {
+        return members;
+    }
+
+    /**
+     * @return component -> start of its edges in dagTargets(), in the
+     * same form as memberStarts.  Shared, not copied.
+     */
+    int[] dagStarts()
+    {
+        return dagStarts;
+    }
+
+    /**
+     * @return the components each component has an edge to, grouped
+     * by component (see dagStarts).  Shared, not copied.
+     */
+    int[] dagTargets()
+    {
+        return dagTargets;
+    }
+}
@@ -0,0 +1,212 @@
+package edu.union.adt.graph;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+
+/**
+ *  The strongly connected components of a graph: the largest sets of
+ *  vertices that all reach each other.  They are found in O(V + E)
+ *  time by Tarjan's algorithm (see StrongComponents), which keeps its
+ *  own stack, so long paths cannot overflow the thread's stack.
+ *
+ *  <p>Like ReachabilityIndex, the components are found in a snapshot
+ *  of the graph, so they describe the graph as it was when they were
+ *  found.  The graphs of this package are read through their own
+ *  id-based view; any other Graph is read through getVertices and
+ *  adjacentTo.  Any number of threads can query the result at once.
+ *
+ *  <p>Components are numbered from 0 to count() - 1 in reverse
+ *  topological order of the condensation: every edge between two
+ *  components goes from the higher number to the lower, so component
+ *  0 has no edges out and component count() - 1 has no edges in.
+ *
+ *  @author Neil Daterao
+ */
+public final class StronglyConnectedComponents<V> {
+
+    private final Graph<V> graph;        // the snapshot the components are of
+    private final IndexedGraph indexed;  // of 'graph'
+    private final StrongComponents components;
+    private Graph<Integer> condensation; // created by condensation when first needed
+
+    /**
+     * Finds the strongly connected components of a graph.
+     *
+     * @param graph the graph.  The components are found in
+     * graph.snapshot(), so the graph may be changed afterwards (or, if
+     * it is thread-safe, meanwhile) without affecting them.
+     */
+    public StronglyConnectedComponents(Graph<V> graph)
+    {
+        this.graph = graph.snapshot();
+        indexed = IndexedCopy.viewOf(this.graph);
+        components = new StrongComponents(indexed);
+    }
+
+    /**
+     * @return the number of components.  Every vertex is in exactly
+     * one, so this is at most the number of vertices.
+     */
+    public int count()
+    {
+        return components.count();
+    }
+
+    /**
+     * Gets the component a vertex is in.
+     *
+     * @param vertex a vertex
+     * @return the number of the component 'vertex' is in, or -1 if
+     * 'vertex' is not a vertex in the graph
+     */
+    public int componentOf(V vertex)
+    {
+        int id = indexed.idOf(vertex);
+        return id < 0 ? -1 : components.componentOf(id);
+    }
+
+    /**
+     * Tells whether two vertices reach each other.  Equivalent to
+     * hasPath(a, b) && hasPath(b, a), in O(1).
+     *
+     * @param a a vertex
+     * @param b a vertex
+     * @return true iff 'a' and 'b' are both in the graph and in the
+     * same component
+     */
+    public boolean stronglyConnected(V a, V b)
+    {
+        int c = componentOf(a);
+        return c >= 0 && c == componentOf(b);
+    }
+
+    /**
+     * Gets the vertices of a component.
+     *
+     * @param c the number of a component
+     * @return a read-only view of the vertices in component 'c', in
+     * no particular order
+     * @throws IndexOutOfBoundsException if there is no component 'c'
+     */
+    public List<V> members(int c)
+    {
+        if (c < 0 || c >= count()) { throw new IndexOutOfBoundsException("Component: " + c); }
+
+        final int[] members = components.members();
+        final int start = components.memberStarts()[c];
+        final int end = components.memberStarts()[c + 1];
+        return new AbstractList<V>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public V get(int index)
+            {
+                if (index < 0 || index >= end - start) { throw new IndexOutOfBoundsException("Index: " + index); }
+                return (V) indexed.vertex(members[start + index]);
+            }
+
+            @Override
+            public int size() { return end - start; }
+        };
+    }
+
+    /**
+     * Gets the condensation of the graph: the DAG whose vertices are
+     * the numbers of the components, with an edge c -> d iff the
+     * graph has an edge from a vertex in c to a vertex in d, and c is
+     * not d.  Built the first time it is asked for.
+     *
+     * @return the condensation, as an immutable graph
+     */
+    public synchronized Graph<Integer> condensation()
+    {
+        if (condensation == null) {
+            int n = count();
+            int[] starts = components.dagStarts();
+            int[] targets = components.dagTargets();
+            Object[] vertices = new Object[n];
+            int[] hashes = new int[n];
+            int fingerprint = 0;
+            for (int c = 0; c < n; c++) {
+                vertices[c] = c;
+                hashes[c] = Fingerprint.vertex(vertices[c]);
+                fingerprint += hashes[c];
+            }
+            for (int c = 0; c < n; c++) {
+                for (int e = starts[c]; e < starts[c + 1]; e++) { fingerprint += Fingerprint.edge(hashes[c], hashes[targets[e]]); }
+            }
+            condensation = FrozenGraph.freeze(new Dag(n, starts, targets), vertices, n, fingerprint, null, null);
+        }
+        return condensation;
+    }
+
+    /**
+     * @return the graph the components are of: a snapshot of the graph
+     * they were found in
+     */
+    public Graph<V> getGraph()
+    {
+        return graph;
+    }
+
+    /**
+     * The condensation seen by id, which is the component number, for
+     * FrozenGraph.freeze.
+     */
+    private static final class Dag implements IndexedGraph {
+        private final int n;
+        private final int[] starts;
+        private final int[] targets;
+
+        Dag(int n, int[] starts, int[] targets)
+        {
+            this.n = n;
+            this.starts = starts;
+            this.targets = targets;
+        }
+
+        @Override
+        public int idBound() { return n; }
+
+        @Override
+        public boolean isVertex(int id) { return true; }
+
+        @Override
+        public int edgeCount() { return targets.length; }
+
+        @Override
+        public Object vertex(int id) { return id; }
+
+        @Override
+        public int idOf(Object vertex)
+        {
+            if (!(vertex instanceof Integer)) { return -1; }
+
+            int c = (Integer) vertex;
+            return c >= 0 && c < n ? c : -1;
+        }
+
+        @Override
+        public int successorCount(int id) { return starts[id + 1] - starts[id]; }
+
+        @Override
+        public void forEachSuccessor(int id, IntConsumer action)
+        {
+            for (int e = starts[id]; e < starts[id + 1]; e++) { action.accept(targets[e]); }
+        }
+
+        @Override
+        public boolean hasPredecessors() { return false; }
+
+        @Override
+        public int predecessorCount(int id) { throw new UnsupportedOperationException(); }
+
+        @Override
+        public void forEachPredecessor(int id, IntConsumer action) { throw new UnsupportedOperationException(); }
+
+        @Override
+        public boolean anyPredecessor(int id, IntPredicate test) { throw new UnsupportedOperationException(); }
+    }
+}
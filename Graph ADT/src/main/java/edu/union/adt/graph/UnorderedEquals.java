@@ -0,0 +1,227 @@
+package edu.union.adt.graph;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+
+/**
+ * Compares the vertex and edge sets of two graphs, of any
+ * implementations, ignoring the order in which neighbors are listed.
+ * Backs Graph.equalsIgnoringOrder.
+ *
+ * Unequal vertex or edge counts are rejected first, and so are
+ * unequal fingerprints (see Fingerprint) when both graphs keep one.
+ * Then every vertex of the first graph is translated once to its id
+ * in the second, and the successors of each vertex are compared as
+ * sets of ids: sequentially by marking the successors in the second
+ * graph in an array and checking the translated successors in the
+ * first against the marks, and in parallel by sorting both rows of
+ * ids and comparing them.  Either way no adjacency list is searched,
+ * so a comparison takes time linear in the size of the graphs (up to
+ * the sorts).
+ *
+ * The graphs are compared through their IndexedGraph views (see
+ * IndexedCopy.viewOf), with one hash lookup per vertex.  Graphs from
+ * outside this package are first copied into id-based rows, which
+ * costs a hash lookup per edge.
+ * @author Neil Daterao
+ */
+final class UnorderedEquals {
+
+    // Ranges of ids smaller than this are compared without forking.
+    private static final int CHUNK = 512;
+
+    private final IndexedGraph first;
+    private final IndexedGraph second;
+    private final int[] toSecond; // id in first -> id in second
+    private volatile boolean differ; // lets parallel tasks stop early
+
+    private UnorderedEquals(IndexedGraph first, IndexedGraph second, int[] toSecond)
+    {
+        this.first = first;
+        this.second = second;
+        this.toSecond = toSecond;
+    }
+
+    /**
+     * Tells whether two graphs have the same vertices and the same
+     * edges.
+     *
+     * @param first a graph
+     * @param second another graph, possibly of another implementation
+     * @return true iff the graphs have equal vertex sets and equal
+     * edge sets
+     */
+    static boolean equal(Graph<?> first, Graph<?> second)
+    {
+        if (first == second) { return true; }
+        if (second == null || quickReject(first, second)) { return false; }
+
+        UnorderedEquals comparison = prepare(first, second);
+        return comparison != null && comparison.compareMarking();
+    }
+
+    /**
+     * Tells whether two graphs have the same vertices and the same
+     * edges, comparing the successors of different vertices in
+     * parallel on a pool.
+     *
+     * @param first a graph
+     * @param second another graph, possibly of another implementation
+     * @param pool the pool to compare on
+     * @return true iff the graphs have equal vertex sets and equal
+     * edge sets
+     */
+    static boolean equal(Graph<?> first, Graph<?> second, ForkJoinPool pool)
+    {
+        if (first == second) { return true; }
+        if (second == null || quickReject(first, second)) { return false; }
+
+        UnorderedEquals comparison = prepare(first, second);
+        if (comparison == null) { return false; }
+
+        pool.invoke(comparison.new Compare(0, comparison.first.idBound()));
+        return !comparison.differ;
+    }
+
+    /**
+     * Private helper that tells apart, in O(1), graphs that differ in
+     * their counts or fingerprints.
+     */
+    private static boolean quickReject(Graph<?> first, Graph<?> second)
+    {
+        if (first.numVertices() != second.numVertices() || first.numEdges() != second.numEdges()) { return true; }
+        return hasFingerprint(first) && hasFingerprint(second) && first.hashCode() != second.hashCode();
+    }
+
+    /**
+     * Private helper that tells whether the hashCode of a graph is its
+     * fingerprint, so that hash codes of different implementations can
+     * be compared.
+     */
+    private static boolean hasFingerprint(Graph<?> graph)
+    {
+        return graph instanceof Indexable && ((Indexable) graph).hasFingerprint();
+    }
+
+    /**
+     * Private helper that gets the id-based views of both graphs and
+     * translates the ids of the first to the second.
+     *
+     * @return the comparison, or null if a vertex of the first graph
+     * is not in the second
+     */
+    private static UnorderedEquals prepare(Graph<?> first, Graph<?> second)
+    {
+        IndexedGraph firstView = IndexedCopy.viewOf(first);
+        IndexedGraph secondView = IndexedCopy.viewOf(second);
+        if (firstView.edgeCount() != secondView.edgeCount()) { return null; } // a ConcurrentGraph changed
+
+        int[] toSecond = new int[firstView.idBound()];
+        int vertices = 0;
+        for (int id = 0; id < toSecond.length; id++) {
+            if (!firstView.isVertex(id)) { continue; }
+
+            toSecond[id] = secondView.idOf(firstView.vertex(id));
+            if (toSecond[id] < 0) { return null; }
+            vertices++;
+        }
+        for (int id = 0; id < secondView.idBound(); id++) {
+            if (secondView.isVertex(id)) { vertices--; }
+        }
+        if (vertices != 0) { return null; }
+
+        return new UnorderedEquals(firstView, secondView, toSecond);
+    }
+
+    /**
+     * Compares the rows of every vertex by marking.
+     */
+    private boolean compareMarking()
+    {
+        // mark[w] == id + 1 iff w is a successor, in 'second', of the
+        // vertex id being compared.
+        final int[] mark = new int[second.idBound()];
+        final int[] stamp = new int[1];
+        IntConsumer marker = target -> mark[target] = stamp[0];
+        IntConsumer checker = target -> {
+            if (mark[toSecond[target]] != stamp[0]) { differ = true; }
+        };
+
+        for (int id = 0; id < toSecond.length && !differ; id++) {
+            if (!first.isVertex(id)) { continue; }
+
+            int other = toSecond[id];
+            if (first.successorCount(id) != second.successorCount(other)) { return false; }
+
+            stamp[0] = id + 1;
+            second.forEachSuccessor(other, marker);
+            first.forEachSuccessor(id, checker);
+        }
+        return !differ;
+    }
+
+    /**
+     * Compares the rows of ids [start, end), splitting in half until
+     * the range is small enough to do directly.  Rows are compared by
+     * sorting, since tasks cannot share an array of marks.
+     */
+    private class Compare extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int start;
+        private final int end;
+        private int[] expected = new int[16];
+        private int[] actual = new int[16];
+        private int numExpected;
+        private int numActual;
+
+        Compare(int start, int end)
+        {
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (end - start > CHUNK) {
+                int middle = (start + end) >>> 1;
+                invokeAll(new Compare(start, middle), new Compare(middle, end));
+                return;
+            }
+
+            IntConsumer expect = target -> expected[numExpected++] = target;
+            IntConsumer translate = target -> actual[numActual++] = toSecond[target];
+            for (int id = start; id < end && !differ; id++) {
+                if (!first.isVertex(id)) { continue; }
+
+                int other = toSecond[id];
+                int degree = first.successorCount(id);
+                if (degree != second.successorCount(other)) {
+                    differ = true;
+                    return;
+                }
+                if (degree > expected.length) {
+                    expected = new int[degree];
+                    actual = new int[degree];
+                }
+
+                numExpected = 0;
+                numActual = 0;
+                second.forEachSuccessor(other, expect);
+                first.forEachSuccessor(id, translate);
+                Arrays.sort(expected, 0, degree);
+                Arrays.sort(actual, 0, degree);
+                for (int i = 0; i < degree; i++) {
+                    if (expected[i] != actual[i]) {
+                        differ = true;
+                        return;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package edu.union.adt.graph;
+
+import java.nio.charset.StandardCharsets;
+
+
+/**
+ * Turns vertices into bytes and back, for graph files (see
+ * MappedGraph).  Two vertices must have equal encodings iff they are
+ * equal, because a mapped graph finds a vertex by comparing its
+ * encoding with the stored ones.
+ * @author Neil Daterao
+ */
+public interface VertexCodec<V> {
+
+    /**
+     * Encodes String vertices as UTF-8.
+     */
+    VertexCodec<String> STRINGS = new VertexCodec<String>() {
+        @Override
+        public byte[] encode(String vertex) { return vertex.getBytes(StandardCharsets.UTF_8); }
+
+        @Override
+        public String decode(byte[] bytes) { return new String(bytes, StandardCharsets.UTF_8); }
+    };
+
+    /**
+     * Encodes Integer vertices as four bytes, most significant first.
+     */
+    VertexCodec<Integer> INTEGERS = new VertexCodec<Integer>() {
+        @Override
+        public byte[] encode(Integer vertex)
+        {
+            int v = vertex;
+            return new byte[] { (byte) (v >>> 24), (byte) (v >>> 16), (byte) (v >>> 8), (byte) v };
+        }
+
+        @Override
+        public Integer decode(byte[] bytes)
+        {
+            return ((bytes[0] & 0xFF) << 24) | ((bytes[1] & 0xFF) << 16) | ((bytes[2] & 0xFF) << 8) | (bytes[3] & 0xFF);
+        }
+    };
+
+    /**
+     * @return the bytes of a vertex.
+     */
+    byte[] encode(V vertex);
+
+    /**
+     * @return the vertex whose bytes these are.
+     */
+    V decode(byte[] bytes);
+}
@@ -0,0 +1,106 @@
+package edu.union.adt.graph;
+
+import java.util.function.ToDoubleBiFunction;
+
+/**
+ * A graph whose edges have weights.  The weight of an edge is a
+ * finite, non-negative double; the cost of a path is the sum of the
+ * weights of its edges.
+ *
+ * Everything Graph offers still counts edges: pathLength is the
+ * number of edges on a path with the fewest, and getPath gives such a
+ * path.  pathCost and getCheapestPath are their weighted
+ * counterparts.  Edges added without a weight (by addEdge(from, to)
+ * or addEdges) weigh DEFAULT_WEIGHT.
+ *
+ * @author Neil Daterao
+ */
+public interface WeightedGraph<V> extends Graph<V>
+{
+    /**
+     * The weight of an edge added without one.
+     */
+    public static final double DEFAULT_WEIGHT = 1.0;
+
+    /**
+     * Adds a directed edge with a weight between two vertices.  If
+     * there is already an edge between the given vertices, its weight
+     * is replaced.  If either (or both) of the given vertices does not
+     * exist, it is added to the graph before the edge is created
+     * between them.
+     *
+     * @param from the source vertex for the added edge
+     * @param to the destination vertex for the added edge
+     * @param weight the weight of the edge
+     * @throws IllegalArgumentException if weight is negative, infinite
+     * or NaN
+     */
+    public void addEdge(V from, V to, double weight);
+
+    /**
+     * Gets the weight of an edge.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return the weight of the edge from 'from' to 'to'.  If there is
+     * no such edge, returns Double.POSITIVE_INFINITY
+     */
+    public double weight(V from, V to);
+
+    /**
+     * Gets the cost of the cheapest path connecting two given
+     * vertices, with Dijkstra's algorithm.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return the cost of the cheapest path from 'from' to 'to': 0 if
+     * from = to and it is in the graph.  If there is no path, returns
+     * Double.POSITIVE_INFINITY
+     */
+    public double pathCost(V from, V to);
+
+    /**
+     * Gets the cost of the cheapest path connecting two given
+     * vertices, with A* search guided by a heuristic.  The heuristic
+     * estimates the cost of the cheapest path from a vertex to the
+     * destination.  If it never overestimates, the result is the same
+     * as pathCost(from, to), usually found after visiting far fewer
+     * vertices.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @param heuristic gives, for a vertex and the destination, a
+     * lower bound on the cost of getting from one to the other
+     * @return the cost of the cheapest path from 'from' to 'to'.  If
+     * there is no path, returns Double.POSITIVE_INFINITY
+     */
+    public double pathCost(V from, V to, ToDoubleBiFunction<? super V, ? super V> heuristic);
+
+    /**
+     * Returns the vertices along the cheapest path connecting two
+     * given vertices, found with Dijkstra's algorithm, in the same
+     * form as getPath.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return an Iterable collection of vertices along the cheapest
+     * path from 'from' to 'to', including both.  If there is no path,
+     * returns an empty Iterable collection of vertices.
+     */
+    public Iterable<V> getCheapestPath(V from, V to);
+
+    /**
+     * Returns the vertices along the cheapest path connecting two
+     * given vertices, found with A* search guided by a heuristic (see
+     * pathCost(from, to, heuristic)), in the same form as getPath.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @param heuristic gives, for a vertex and the destination, a
+     * lower bound on the cost of getting from one to the other
+     * @return an Iterable collection of vertices along the cheapest
+     * path from 'from' to 'to', including both.  If there is no path,
+     * returns an empty Iterable collection of vertices.
+     */
+    public Iterable<V> getCheapestPath(V from, V to, ToDoubleBiFunction<? super V, ? super V> heuristic);
+}
@@ -0,0 +1,946 @@
+package edu.union.adt.graph;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.ToDoubleBiFunction;
+
+
+/**
+ *  Weighted graph implementation.
+ *
+ *  Each vertex has an int id, and its edges are kept as a row: an int
+ *  array of the ids they go to and a double array of their weights,
+ *  side by side, in the order the edges were added.  Searches follow
+ *  edges by reading these arrays, with no objects per edge.
+ *  Cheapest paths come from WeightedSearch; everything that counts
+ *  edges uses the same engines as GraphImpl.
+ *
+ *  Looking an edge up, adding one (which checks for it first) and
+ *  removing one take time linear in the degree of its source.  There
+ *  is no reverse index: inDegree, adjacentFrom and removeVertex scan
+ *  every row.
+ *
+ *  @author Neil Daterao
+ */
+public class WeightedGraphImpl<V> implements WeightedGraph<V>, Indexable {
+
+    private final Map<V, Integer> graph = new HashMap<>(); // vertex -> id
+    private Object[] vertices = new Object[16];    // id -> vertex, null if the id is free
+    private int[][] targets = new int[16][];       // id -> ids its edges go to
+    private double[][] weights = new double[16][]; // id -> weights of those edges
+    private int[] degrees = new int[16];           // id -> number of edges in its row
+    private int[] hashes = new int[16];            // id -> Fingerprint.vertex of its vertex
+    private int[] freeIds = new int[16];
+    private int numFreeIds;
+    private int idBound; // every id in use is less than this
+    private int edgeCount;
+    private int fingerprint; // see Fingerprint; kept current like edgeCount
+    private final IndexedGraph indexed = new Indexed();
+    private FrozenGraph<V> frozen; // the last snapshot taken, if nothing changed since
+    private int modCount; // bumped by every change to the vertices or edges
+    private final Collection<V> vertexView = Collections.unmodifiableSet(graph.keySet());
+
+    private static final int[] NO_TARGETS = new int[0];
+    private static final double[] NO_WEIGHTS = new double[0];
+
+    /**
+     * Create an empty weighted graph.
+     */
+    public WeightedGraphImpl()
+    {
+    }
+
+    /**
+     * Private helper that returns the id of a vertex, adding the
+     * vertex first if it is not in the graph.
+     */
+    private int id(V vertex)
+    {
+        Integer known = graph.get(vertex);
+        if (known != null) { return known; }
+
+        int id;
+        if (numFreeIds > 0) { id = freeIds[--numFreeIds]; }
+        else {
+            if (idBound == vertices.length) {
+                int capacity = idBound * 2;
+                vertices = Arrays.copyOf(vertices, capacity);
+                targets = Arrays.copyOf(targets, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+                degrees = Arrays.copyOf(degrees, capacity);
+                hashes = Arrays.copyOf(hashes, capacity);
+            }
+            id = idBound++;
+        }
+        vertices[id] = vertex;
+        targets[id] = NO_TARGETS;
+        weights[id] = NO_WEIGHTS;
+        degrees[id] = 0;
+        hashes[id] = Fingerprint.vertex(vertex);
+        graph.put(vertex, id);
+        fingerprint += hashes[id];
+        frozen = null;
+        modCount++;
+        return id;
+    }
+
+    /**
+     * Private helper that returns the id of a vertex, or -1 if it is
+     * not in the graph.
+     */
+    private int idOf(Object vertex)
+    {
+        Integer id = graph.get(vertex);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Private helper that returns the index of an edge in the row of
+     * its source, or -1 if there is no such edge.
+     */
+    private int indexOf(int from, int to)
+    {
+        int[] row = targets[from];
+        for (int i = 0, degree = degrees[from]; i < degree; i++) {
+            if (row[i] == to) { return i; }
+        }
+        return -1;
+    }
+
+    /**
+     * Private helper that removes an edge from the row of its source,
+     * keeping the order of the others.
+     */
+    private void removeAt(int from, int index)
+    {
+        int[] row = targets[from];
+        int to = row[index];
+        int moved = degrees[from] - index - 1;
+        System.arraycopy(row, index + 1, row, index, moved);
+        System.arraycopy(weights[from], index + 1, weights[from], index, moved);
+        degrees[from]--;
+        edgeCount--;
+        fingerprint -= Fingerprint.edge(hashes[from], hashes[to]);
+        frozen = null;
+        modCount++;
+    }
+
+    /**
+     * Private helper that makes views fail fast: throws a
+     * ConcurrentModificationException if the graph has changed since
+     * a view was made.
+     */
+    private void checkUnchanged(int expected)
+    {
+        if (modCount != expected) { throw new ConcurrentModificationException("Graph changed while a view of it was in use"); }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V vertexAt(int id)
+    {
+        return (V) vertices[id];
+    }
+
+    private static void checkWeight(double weight)
+    {
+        if (!(weight >= 0.0) || Double.isInfinite(weight)) {
+            throw new IllegalArgumentException("Edge weight must be finite and non-negative: " + weight);
+        }
+    }
+
+    /**
+     * The id-based view of this graph used by the search engines.
+     */
+    private class Indexed implements IndexedGraph {
+        @Override
+        public int idBound() { return idBound; }
+
+        @Override
+        public boolean isVertex(int id) { return vertices[id] != null; }
+
+        @Override
+        public int edgeCount() { return edgeCount; }
+
+        @Override
+        public Object vertex(int id) { return vertices[id]; }
+
+        @Override
+        public int idOf(Object vertex) { return WeightedGraphImpl.this.idOf(vertex); }
+
+        @Override
+        public int successorCount(int id) { return degrees[id]; }
+
+        @Override
+        public void forEachSuccessor(int id, IntConsumer action)
+        {
+            int[] row = targets[id];
+            for (int i = 0, degree = degrees[id]; i < degree; i++) { action.accept(row[i]); }
+        }
+
+        @Override
+        public boolean hasPredecessors() { return false; }
+
+        @Override
+        public int predecessorCount(int id) { throw new UnsupportedOperationException(); }
+
+        @Override
+        public void forEachPredecessor(int id, IntConsumer action) { throw new UnsupportedOperationException(); }
+
+        @Override
+        public boolean anyPredecessor(int id, IntPredicate test) { throw new UnsupportedOperationException(); }
+    }
+
+    /**
+     * @return the id-based view of this graph
+     */
+    @Override
+    public IndexedGraph indexedView()
+    {
+        return indexed;
+    }
+
+    /**
+     * @return true: hashCode is the fingerprint of the graph
+     */
+    @Override
+    public boolean hasFingerprint()
+    {
+        return true;
+    }
+
+    /**
+     * @return the number of vertices in the graph.
+     */
+    @Override
+    public int numVertices()
+    {
+        return graph.size();
+    }
+
+    /**
+     * @return the number of edges in the graph.
+     */
+    @Override
+    public int numEdges()
+    {
+        return edgeCount;
+    }
+
+    /**
+     * Gets the number of vertices connected by edges from a given
+     * vertex.  If the given vertex is not in the graph, throws a
+     * RuntimeException.
+     *
+     * @param vertex the vertex whose degree we want.
+     * @return the degree of vertex 'vertex'
+     */
+    @Override
+    public int degree(V vertex)
+    {
+        int id = idOf(vertex);
+        if (id < 0) { throw new RuntimeException("Vertex Not In Graph"); }
+
+        return degrees[id];
+    }
+
+    /**
+     * Gets the number of vertices with an edge to a given vertex.  If
+     * the given vertex is not in the graph, throws a
+     * RuntimeException.  This scans every row.
+     *
+     * @param vertex the vertex whose in-degree we want.
+     * @return the in-degree of vertex 'vertex'
+     */
+    @Override
+    public int inDegree(V vertex)
+    {
+        int id = idOf(vertex);
+        if (id < 0) { throw new RuntimeException("Vertex Not In Graph"); }
+
+        int count = 0;
+        for (int other = 0; other < idBound; other++) {
+            if (vertices[other] != null && indexOf(other, id) >= 0) { count++; }
+        }
+        return count;
+    }
+
+    /**
+     * Adds a directed edge between two vertices, of weight
+     * DEFAULT_WEIGHT.  If there is already an edge between the given
+     * vertices, does nothing (its weight is kept).  If either (or
+     * both) of the given vertices does not exist, it is added to the
+     * graph before the edge is created between them.
+     *
+     * @param from the source vertex for the added edge
+     * @param to the destination vertex for the added edge
+     */
+    @Override
+    public void addEdge(V from, V to)
+    {
+        int fromId = id(from);
+        int toId = id(to);
+        if (indexOf(fromId, toId) < 0) { append(fromId, toId, DEFAULT_WEIGHT); }
+    }
+
+    /**
+     * Adds a directed edge with a weight between two vertices.  If
+     * there is already an edge between the given vertices, its weight
+     * is replaced.  If either (or both) of the given vertices does not
+     * exist, it is added to the graph before the edge is created
+     * between them.
+     *
+     * @param from the source vertex for the added edge
+     * @param to the destination vertex for the added edge
+     * @param weight the weight of the edge
+     * @throws IllegalArgumentException if weight is negative, infinite
+     * or NaN
+     */
+    @Override
+    public void addEdge(V from, V to, double weight)
+    {
+        checkWeight(weight);
+        int fromId = id(from);
+        int toId = id(to);
+        int index = indexOf(fromId, toId);
+        if (index >= 0) { weights[fromId][index] = weight; }
+        else { append(fromId, toId, weight); }
+    }
+
+    /**
+     * Private helper that adds a new edge at the end of the row of its
+     * source.
+     */
+    private void append(int from, int to, double weight)
+    {
+        int degree = degrees[from];
+        if (degree == targets[from].length) {
+            int capacity = Math.max(4, degree * 2);
+            targets[from] = Arrays.copyOf(targets[from], capacity);
+            weights[from] = Arrays.copyOf(weights[from], capacity);
+        }
+        targets[from][degree] = to;
+        weights[from][degree] = weight;
+        degrees[from] = degree + 1;
+        edgeCount++;
+        fingerprint += Fingerprint.edge(hashes[from], hashes[to]);
+        frozen = null;
+        modCount++;
+    }
+
+    /**
+     * Adds a directed edge of weight DEFAULT_WEIGHT for each (source,
+     * destination) pair, with the same result as calling addEdge on
+     * each pair in order.
+     *
+     * @param edges the edges to add, as (source, destination) pairs
+     */
+    @Override
+    public void addEdges(Iterable<? extends Map.Entry<? extends V, ? extends V>> edges)
+    {
+        for (Map.Entry<? extends V, ? extends V> edge : edges) { addEdge(edge.getKey(), edge.getValue()); }
+    }
+
+    /**
+     * Adds a vertex to the graph.  If the vertex already exists in
+     * the graph, does nothing.  If the vertex does not exist, it is
+     * added to the graph, with no edges connected to it.
+     *
+     * @param vertex the vertex to add
+     */
+    @Override
+    public void addVertex(V vertex)
+    {
+        id(vertex);
+    }
+
+    /**
+     * @return the an iterable collection for the set of vertices of
+     * the graph.
+     */
+    @Override
+    public Collection<V> getVertices()
+    {
+        return vertexView;
+    }
+
+    /**
+     * Gets the vertices adjacent to a given vertex, in the order their
+     * edges were added.
+     *
+     * @param from the source vertex
+     * @return an iterable collection for the set of vertices that are
+     * the destinations of edges for which 'from' is the source
+     * vertex.  If 'from' is not a vertex in the graph, returns an
+     * empty iterator.
+     */
+    @Override
+    public Collection<V> adjacentTo(V from)
+    {
+        final int id = idOf(from);
+        if (id < 0) { return Collections.emptyList(); }
+
+        final int expected = modCount;
+        return new AbstractList<V>() {
+            @Override
+            public V get(int index)
+            {
+                checkUnchanged(expected);
+                if (index < 0 || index >= degrees[id]) { throw new IndexOutOfBoundsException("Index: " + index); }
+                return vertexAt(targets[id][index]);
+            }
+
+            @Override
+            public int size()
+            {
+                checkUnchanged(expected);
+                return degrees[id];
+            }
+        };
+    }
+
+    /**
+     * Calls an action on each vertex adjacent to a given vertex, in
+     * adjacentTo order, without allocating an iterator.
+     *
+     * @param from the source vertex
+     * @param action the action to call on each destination of an edge
+     * from 'from'.  If 'from' is not a vertex in the graph, it is
+     * never called.
+     */
+    @Override
+    public void forEachNeighbor(V from, Consumer<? super V> action)
+    {
+        int id = idOf(from);
+        if (id < 0) { return; }
+
+        int[] row = targets[id];
+        for (int i = 0, degree = degrees[id]; i < degree; i++) { action.accept(vertexAt(row[i])); }
+    }
+
+    /**
+     * Gets the vertices a given vertex is adjacent to, i.e. the
+     * predecessors of the vertex.  This scans every row and returns
+     * a read-only copy of what it found, which later changes to the
+     * graph do not affect.
+     *
+     * @param to the destination vertex
+     * @return an iterable collection for the set of vertices that are
+     * the sources of edges for which 'to' is the destination vertex.
+     * If 'to' is not a vertex in the graph, returns an empty
+     * iterator.
+     */
+    @Override
+    public Collection<V> adjacentFrom(V to)
+    {
+        int id = idOf(to);
+        if (id < 0) { return Collections.emptyList(); }
+
+        List<V> sources = new ArrayList<>();
+        for (int other = 0; other < idBound; other++) {
+            if (vertices[other] != null && indexOf(other, id) >= 0) { sources.add(vertexAt(other)); }
+        }
+        return Collections.unmodifiableList(sources);
+    }
+
+    /**
+     * Tells whether or not a vertex is in the graph.
+     *
+     * @param vertex a vertex
+     * @return true iff 'vertex' is a vertex in the graph.
+     */
+    @Override
+    public boolean contains(V vertex)
+    {
+        return graph.containsKey(vertex);
+    }
+
+    /**
+     * Tells whether an edge exists in the graph.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     *
+     * @return true iff there is an edge from the source vertex to the
+     * destination vertex in the graph.  If either of the given
+     * vertices are not vertices in the graph, then there is no edge
+     * between them.
+     */
+    @Override
+    public boolean hasEdge(V from, V to)
+    {
+        int fromId = idOf(from);
+        int toId = idOf(to);
+        return fromId >= 0 && toId >= 0 && indexOf(fromId, toId) >= 0;
+    }
+
+    /**
+     * Gets the weight of an edge.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return the weight of the edge from 'from' to 'to'.  If there is
+     * no such edge, returns Double.POSITIVE_INFINITY
+     */
+    @Override
+    public double weight(V from, V to)
+    {
+        int fromId = idOf(from);
+        int toId = idOf(to);
+        if (fromId < 0 || toId < 0) { return Double.POSITIVE_INFINITY; }
+
+        int index = indexOf(fromId, toId);
+        return index < 0 ? Double.POSITIVE_INFINITY : weights[fromId][index];
+    }
+
+    /**
+     * Writes the string representation of the graph (see toString) to
+     * a destination one line at a time, without building a String of
+     * the whole graph.  Weights are not shown.
+     *
+     * @param out where to write the representation
+     * @throws IOException if out does
+     */
+    @Override
+    public void writeTo(Appendable out) throws IOException
+    {
+        for (int id : graph.values()) {
+            out.append(vertices[id].toString()).append(':');
+            int[] row = targets[id];
+            for (int i = 0; i < degrees[id]; i++) {
+                out.append(' ').append(vertices[row[i]].toString()).append(',');
+            }
+            out.append('\n');
+        }
+    }
+
+    /**
+     * Gives a string representation of the graph: a series of lines,
+     * one for each vertex in the graph, each showing the vertex
+     * followed by ": " and then by the vertices adjacent to it,
+     * separated by ", ", as GraphImpl.toString does.  Weights are not
+     * shown.
+     *
+     * @return the string representation of the graph
+     */
+    @Override
+    public String toString()
+    {
+        return CappedText.of(this, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Gives the string representation of the graph, cut off after a
+     * given number of characters.  Only the part of the graph that is
+     * shown is visited, so this is safe to call on huge graphs.
+     *
+     * @param maxLength the most characters of the representation to
+     * give
+     * @return the first maxLength characters of toString(), followed
+     * by "..." if the representation is longer than that
+     */
+    @Override
+    public String toString(int maxLength)
+    {
+        return CappedText.of(this, maxLength);
+    }
+
+    /**
+     * Checks if two weighted graphs are equal: they have the same
+     * vertices, and each vertex has the same edges, in the same
+     * order, with the same weights.  Graphs whose vertex counts, edge
+     * counts or fingerprints differ are told apart in O(1), without
+     * comparing their edges.
+     *
+     * @param otherObj object you are checking is equal
+     * @return true iff graphs are equal
+     */
+    @Override
+    public boolean equals(Object otherObj)
+    {
+        if (this == otherObj) { return true; }
+        if (otherObj == null || getClass() != otherObj.getClass()) { return false; }
+
+        WeightedGraphImpl<?> other = (WeightedGraphImpl<?>) otherObj;
+        if (fingerprint != other.fingerprint || edgeCount != other.edgeCount
+            || graph.size() != other.graph.size()) { return false; }
+
+        for (Map.Entry<V, Integer> entry : graph.entrySet()) {
+            int id = entry.getValue();
+            int otherId = other.idOf(entry.getKey());
+            if (otherId < 0 || degrees[id] != other.degrees[otherId]) { return false; }
+
+            for (int i = 0; i < degrees[id]; i++) {
+                if (!vertices[targets[id][i]].equals(other.vertices[other.targets[otherId][i]])
+                    || Double.compare(weights[id][i], other.weights[otherId][i]) != 0) { return false; }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gives a hash code that depends only on the vertices and edges of
+     * the graph, not on the weights.  The fingerprint it returns is
+     * updated by every method that adds or removes a vertex or an
+     * edge, so this is O(1).
+     *
+     * @return the hash code of the graph
+     */
+    @Override
+    public int hashCode()
+    {
+        return fingerprint;
+    }
+
+    /**
+     * Tells whether another graph has the same vertices and edges as
+     * this one, whatever order the neighbors of each vertex are listed
+     * in and whatever the implementation of the other graph.  Weights
+     * are not compared.
+     *
+     * @param other the graph to compare with
+     * @return true iff the two graphs have the same set of vertices
+     * and the same set of edges
+     */
+    @Override
+    public boolean equalsIgnoringOrder(Graph<?> other)
+    {
+        return UnorderedEquals.equal(this, other);
+    }
+
+    /**
+     * Tells whether another graph has the same vertices and edges as
+     * this one, as equalsIgnoringOrder(other) does, comparing the
+     * edges of different vertices in parallel on a given pool.  Neither
+     * graph may be modified while they are compared.
+     *
+     * @param other the graph to compare with
+     * @param pool the pool to compare on
+     * @return true iff the two graphs have the same set of vertices
+     * and the same set of edges
+     */
+    @Override
+    public boolean equalsIgnoringOrder(Graph<?> other, ForkJoinPool pool)
+    {
+        return UnorderedEquals.equal(this, other, pool);
+    }
+
+    /**
+     * Tells whether the graph is empty.
+     *
+     * @return true iff the graph is empty. A graph is empty if it has
+     * no vertices and no edges.
+     */
+    @Override
+    public boolean isEmpty()
+    {
+        return graph.isEmpty() && edgeCount == 0;
+    }
+
+    /**
+     * Removes a vertex from the graph.  Also removes any edges
+     * connecting from the edge or to the edge.  This scans every row
+     * for edges to the vertex.
+     *
+     * @param toRemove the vertex to remove.
+     */
+    @Override
+    public void removeVertex(V toRemove)
+    {
+        Integer removed = graph.remove(toRemove);
+        if (removed == null) { return; }
+
+        int id = removed;
+        while (degrees[id] > 0) { removeAt(id, degrees[id] - 1); }
+        for (int other = 0; other < idBound; other++) {
+            if (vertices[other] == null || other == id) { continue; }
+
+            int index = indexOf(other, id);
+            if (index >= 0) { removeAt(other, index); }
+        }
+
+        fingerprint -= hashes[id];
+        vertices[id] = null;
+        targets[id] = NO_TARGETS;
+        weights[id] = NO_WEIGHTS;
+        frozen = null;
+        modCount++;
+        if (numFreeIds == freeIds.length) { freeIds = Arrays.copyOf(freeIds, numFreeIds * 2); }
+        freeIds[numFreeIds++] = id;
+    }
+
+    /**
+     * Removes an edge from the graph.
+     *
+     * @param from the source vertex for the edge
+     * @param to the target vertex for the edge
+     */
+    @Override
+    public void removeEdge(V from, V to)
+    {
+        int fromId = idOf(from);
+        int toId = idOf(to);
+        if (fromId < 0 || toId < 0) { return; }
+
+        int index = indexOf(fromId, toId);
+        if (index >= 0) { removeAt(fromId, index); }
+    }
+
+    /**
+     * Tells whether there is a path connecting two given vertices.  If
+     * vertex A is in the graph, there is a path from A to A.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return true iff there is a path from 'from' to 'to' in the graph.
+     */
+    @Override
+    public boolean hasPath(V from, V to)
+    {
+        int fromId = idOf(from);
+        int toId = idOf(to);
+        if (fromId < 0 || toId < 0) { return false; }
+
+        return PathSearch.get().hasPath(indexed, fromId, toId);
+    }
+
+    /**
+     * Gets the length of the shortest path connecting two given
+     * vertices, counting edges and ignoring their weights (see
+     * pathCost for that).
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return the length of the shortest path from 'from' to 'to' in
+     * the graph.  If there is no path, returns Integer.MAX_VALUE
+     */
+    @Override
+    public int pathLength(V from, V to)
+    {
+        if (from.equals(to)) { return 0; } //from = to
+
+        int fromId = idOf(from);
+        int toId = idOf(to);
+        if (fromId < 0 || toId < 0) { return Integer.MAX_VALUE; }
+
+        int length = PathSearch.get().pathLength(indexed, fromId, toId);
+        return length < 0 ? Integer.MAX_VALUE : length;
+    }
+
+    /**
+     * Gets the number of edges on the shortest path from a given
+     * vertex to every vertex that can be reached from it.
+     *
+     * @param source the source vertex
+     * @return a map from each vertex reachable from 'source' to the
+     * length of the shortest path to it.  'source' itself maps to 0.
+     * If 'source' is not in the graph, returns an empty map.
+     */
+    @Override
+    public Map<V, Integer> distancesFrom(V source)
+    {
+        int id = idOf(source);
+        if (id < 0) { return Collections.emptyMap(); }
+
+        return toMap(DirectionOptimizingBfs.distances(indexed, id));
+    }
+
+    /**
+     * Gets the number of edges on the shortest path from a given
+     * vertex to every vertex that can be reached from it, expanding
+     * each level of the search in parallel on a given pool.  The graph
+     * must not be modified while the search runs.
+     *
+     * @param source the source vertex
+     * @param pool the pool to run the search on
+     * @return a map from each vertex reachable from 'source' to the
+     * length of the shortest path to it.  'source' itself maps to 0.
+     * If 'source' is not in the graph, returns an empty map.
+     */
+    @Override
+    public Map<V, Integer> distancesFrom(V source, ForkJoinPool pool)
+    {
+        int id = idOf(source);
+        if (id < 0) { return Collections.emptyMap(); }
+
+        return toMap(ParallelBfs.distances(indexed, id, pool));
+    }
+
+    /**
+     * Private helper that turns an array of distances indexed by id
+     * into a map from vertex to distance, leaving out unreached ids.
+     */
+    private Map<V, Integer> toMap(int[] distances)
+    {
+        Map<V, Integer> result = new HashMap<>();
+        for (int id = 0; id < distances.length; id++) {
+            if (distances[id] >= 0) { result.put(vertexAt(id), distances[id]); }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the vertices along a path with the fewest edges
+     * connecting two given vertices, ignoring weights (see
+     * getCheapestPath for that).
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return an Iterable collection of vertices along the shortest
+     * path from 'from' to 'to', including both.  If there is no path,
+     * returns an empty Iterable collection of vertices.
+     */
+    @Override
+    public Iterable<V> getPath(V from, V to)
+    {
+        int fromId = idOf(from);
+        int toId = idOf(to);
+        if (fromId < 0 || toId < 0) { return Collections.emptyList(); }
+
+        return toVertices(PathSearch.get().path(indexed, fromId, toId));
+    }
+
+    /**
+     * Private helper that turns a path of ids into a list of vertices,
+     * empty if there is no path.
+     */
+    private List<V> toVertices(int[] ids)
+    {
+        if (ids == null) { return Collections.emptyList(); }
+
+        List<V> path = new ArrayList<>(ids.length);
+        for (int id : ids) { path.add(vertexAt(id)); }
+        return path;
+    }
+
+    /**
+     * Private helper that adapts a heuristic on vertices to one on
+     * ids, for a fixed destination.
+     */
+    private IntToDoubleFunction byId(final ToDoubleBiFunction<? super V, ? super V> heuristic, final V to)
+    {
+        return id -> heuristic.applyAsDouble(vertexAt(id), to);
+    }
+
+    /**
+     * Gets the cost of the cheapest path connecting two given
+     * vertices, with Dijkstra's algorithm (see WeightedSearch).
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return the cost of the cheapest path from 'from' to 'to': 0 if
+     * from = to and it is in the graph.  If there is no path, returns
+     * Double.POSITIVE_INFINITY
+     */
+    @Override
+    public double pathCost(V from, V to)
+    {
+        int fromId = idOf(from);
+        int toId = idOf(to);
+        if (fromId < 0 || toId < 0) { return Double.POSITIVE_INFINITY; }
+
+        return WeightedSearch.get().cost(targets, weights, degrees, idBound, fromId, toId, null);
+    }
+
+    /**
+     * Gets the cost of the cheapest path connecting two given
+     * vertices, with A* search guided by a heuristic.  If the
+     * heuristic never overestimates, the result is the same as
+     * pathCost(from, to).
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @param heuristic gives, for a vertex and the destination, a
+     * lower bound on the cost of getting from one to the other
+     * @return the cost of the cheapest path from 'from' to 'to'.  If
+     * there is no path, returns Double.POSITIVE_INFINITY
+     */
+    @Override
+    public double pathCost(V from, V to, ToDoubleBiFunction<? super V, ? super V> heuristic)
+    {
+        int fromId = idOf(from);
+        int toId = idOf(to);
+        if (fromId < 0 || toId < 0) { return Double.POSITIVE_INFINITY; }
+
+        return WeightedSearch.get().cost(targets, weights, degrees, idBound, fromId, toId, byId(heuristic, to));
+    }
+
+    /**
+     * Returns the vertices along the cheapest path connecting two
+     * given vertices, found with Dijkstra's algorithm.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return an Iterable collection of vertices along the cheapest
+     * path from 'from' to 'to', including both.  If there is no path,
+     * returns an empty Iterable collection of vertices.
+     */
+    @Override
+    public Iterable<V> getCheapestPath(V from, V to)
+    {
+        int fromId = idOf(from);
+        int toId = idOf(to);
+        if (fromId < 0 || toId < 0) { return Collections.emptyList(); }
+
+        return toVertices(WeightedSearch.get().path(targets, weights, degrees, idBound, fromId, toId, null));
+    }
+
+    /**
+     * Returns the vertices along the cheapest path connecting two
+     * given vertices, found with A* search guided by a heuristic.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @param heuristic gives, for a vertex and the destination, a
+     * lower bound on the cost of getting from one to the other
+     * @return an Iterable collection of vertices along the cheapest
+     * path from 'from' to 'to', including both.  If there is no path,
+     * returns an empty Iterable collection of vertices.
+     */
+    @Override
+    public Iterable<V> getCheapestPath(V from, V to, ToDoubleBiFunction<? super V, ? super V> heuristic)
+    {
+        int fromId = idOf(from);
+        int toId = idOf(to);
+        if (fromId < 0 || toId < 0) { return Collections.emptyList(); }
+
+        return toVertices(WeightedSearch.get().path(targets, weights, degrees, idBound, fromId, toId,
+                                                    byId(heuristic, to)));
+    }
+
+    /**
+     * Finds the shortest paths, counting edges, from a vertex to
+     * every vertex it reaches, with one breadth-first search.
+     *
+     * @param source the source vertex
+     * @return the shortest paths from 'source'.  If 'source' is not in
+     * the graph, the tree reaches no vertex.
+     */
+    @Override
+    public ShortestPathTree<V> shortestPathTree(V source)
+    {
+        return new ShortestPathTree<V>(indexed, source);
+    }
+
+    /**
+     * Gets a read-only copy of the graph as it is now, as a
+     * FrozenGraph: it has the vertices and edges of the graph but not
+     * the weights.  With no changes since the last snapshot, returns
+     * that snapshot again.
+     *
+     * @return an immutable copy of the graph
+     */
+    @Override
+    public Graph<V> snapshot()
+    {
+        if (frozen == null) {
+            frozen = FrozenGraph.freeze(indexed, Arrays.copyOf(vertices, idBound), graph.size(), fingerprint,
+                                        null, null);
+        }
+        return frozen;
+    }
+}
@@ -0,0 +1,230 @@
+package edu.union.adt.graph;
+
+import java.lang.ref.SoftReference;
+import java.util.Arrays;
+import java.util.function.IntToDoubleFunction;
+
+
+/**
+ * Cheapest-path searches over rows of weighted edges: Dijkstra's
+ * algorithm, and A* search when given a heuristic.  The frontier is
+ * an indexed 4-ary heap of ids, so lowering the cost of a vertex
+ * already in it moves it up in place instead of adding a second
+ * entry.  A 4-ary heap is shallower than a binary one and its
+ * children share a cache line, which makes it the faster choice for
+ * searches that lower costs often.
+ *
+ * Like PathSearch, the state lives in arrays reused from one search
+ * to the next, and only the entries of vertices a search reaches are
+ * written: an entry is valid only if its stamp is the current
+ * search's.  Each thread gets its own instance through get(), held
+ * through a SoftReference so that arrays sized for a large graph can
+ * be reclaimed when memory runs short.
+ * @author Neil Daterao
+ */
+final class WeightedSearch {
+
+    private static final ThreadLocal<SoftReference<WeightedSearch>> INSTANCES = new ThreadLocal<>();
+
+    private int[] stamp = new int[16];          // id -> search that last reached it
+    private double[] cost = new double[16];     // id -> cheapest cost found so far
+    private double[] estimate = new double[16]; // id -> heuristic estimate of the rest
+    private int[] parent = new int[16];         // id -> id it was reached from, -1 at the source
+    private int[] position = new int[16];       // id -> index in 'heap', -1 if not in it
+    private int[] heap = new int[16];           // ids, ordered by cost + estimate
+    private int heapSize;
+    private int current;
+
+    private WeightedSearch()
+    {
+    }
+
+    /**
+     * @return the search state for the calling thread.
+     */
+    static WeightedSearch get()
+    {
+        SoftReference<WeightedSearch> held = INSTANCES.get();
+        WeightedSearch search = held == null ? null : held.get();
+        if (search == null) {
+            search = new WeightedSearch();
+            INSTANCES.set(new SoftReference<>(search));
+        }
+        return search;
+    }
+
+    /**
+     * Finds the cost of the cheapest path between two vertices.
+     *
+     * @param targets id -> ids its edges go to; only the first
+     * degrees[id] are used
+     * @param weights id -> weights of its edges, matching targets
+     * @param degrees id -> number of edges from it
+     * @param idBound a number greater than every id
+     * @param from the id of the source vertex
+     * @param to the id of the destination vertex
+     * @param heuristic id -> lower bound on the cost from it to 'to',
+     * or null for Dijkstra's algorithm
+     * @return the cost, or Double.POSITIVE_INFINITY if 'to' cannot be
+     * reached from 'from'
+     */
+    double cost(int[][] targets, double[][] weights, int[] degrees, int idBound, int from, int to,
+                IntToDoubleFunction heuristic)
+    {
+        if (!search(targets, weights, degrees, idBound, from, to, heuristic)) { return Double.POSITIVE_INFINITY; }
+        return cost[to];
+    }
+
+    /**
+     * Finds the cheapest path between two vertices.  Takes the same
+     * arguments as cost.
+     *
+     * @return the ids along the path, from 'from' to 'to', or null if
+     * 'to' cannot be reached from 'from'
+     */
+    int[] path(int[][] targets, double[][] weights, int[] degrees, int idBound, int from, int to,
+               IntToDoubleFunction heuristic)
+    {
+        if (!search(targets, weights, degrees, idBound, from, to, heuristic)) { return null; }
+
+        int length = 1;
+        for (int id = to; id != from; id = parent[id]) { length++; }
+        int[] path = new int[length];
+        for (int id = to, i = length - 1; i >= 0; id = parent[id], i--) { path[i] = id; }
+        return path;
+    }
+
+    /**
+     * Private helper that runs the search until 'to' leaves the heap,
+     * when its cost is final.  Vertices are settled in order of cost
+     * plus estimate.  A vertex reached again at a lower cost after it
+     * left the heap is put back, so heuristics that never overestimate
+     * give cheapest paths even if they are not consistent.
+     *
+     * @return true iff 'to' was reached
+     */
+    private boolean search(int[][] targets, double[][] weights, int[] degrees, int idBound, int from, int to,
+                           IntToDoubleFunction heuristic)
+    {
+        ensureCapacity(idBound);
+        if (++current == 0) {
+            Arrays.fill(stamp, 0);
+            current = 1;
+        }
+        heapSize = 0;
+
+        reach(from, 0.0, -1, heuristic);
+        while (heapSize > 0) {
+            int id = pop();
+            if (id == to) { return true; }
+
+            int[] row = targets[id];
+            double[] rowWeights = weights[id];
+            double base = cost[id];
+            for (int i = 0, degree = degrees[id]; i < degree; i++) {
+                int target = row[i];
+                double through = base + rowWeights[i];
+                if (stamp[target] != current) { reach(target, through, id, heuristic); }
+                else if (through < cost[target]) {
+                    cost[target] = through;
+                    parent[target] = id;
+                    if (position[target] < 0) { push(target); }
+                    else { siftUp(position[target]); }
+                }
+            }
+        }
+        return false;
+    }
+
+    private void reach(int id, double through, int from, IntToDoubleFunction heuristic)
+    {
+        stamp[id] = current;
+        cost[id] = through;
+        parent[id] = from;
+        estimate[id] = heuristic == null ? 0.0 : heuristic.applyAsDouble(id);
+        push(id);
+    }
+
+    private double key(int id)
+    {
+        return cost[id] + estimate[id];
+    }
+
+    private void push(int id)
+    {
+        if (heapSize == heap.length) { heap = Arrays.copyOf(heap, heapSize * 2); }
+        heap[heapSize] = id;
+        position[id] = heapSize;
+        siftUp(heapSize++);
+    }
+
+    private int pop()
+    {
+        int top = heap[0];
+        position[top] = -1;
+        int last = heap[--heapSize];
+        if (heapSize > 0) {
+            heap[0] = last;
+            position[last] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    private void siftUp(int index)
+    {
+        int id = heap[index];
+        double key = key(id);
+        while (index > 0) {
+            int parentIndex = (index - 1) >>> 2;
+            int above = heap[parentIndex];
+            if (key(above) <= key) { break; }
+
+            heap[index] = above;
+            position[above] = index;
+            index = parentIndex;
+        }
+        heap[index] = id;
+        position[id] = index;
+    }
+
+    private void siftDown(int index)
+    {
+        int id = heap[index];
+        double key = key(id);
+        while (true) {
+            int first = 4 * index + 1;
+            if (first >= heapSize) { break; }
+
+            int smallest = first;
+            double smallestKey = key(heap[first]);
+            for (int child = first + 1, end = Math.min(first + 4, heapSize); child < end; child++) {
+                double childKey = key(heap[child]);
+                if (childKey < smallestKey) {
+                    smallest = child;
+                    smallestKey = childKey;
+                }
+            }
+            if (smallestKey >= key) { break; }
+
+            heap[index] = heap[smallest];
+            position[heap[index]] = index;
+            index = smallest;
+        }
+        heap[index] = id;
+        position[id] = index;
+    }
+
+    private void ensureCapacity(int idBound)
+    {
+        if (stamp.length < idBound) {
+            int capacity = Math.max(idBound, stamp.length * 2);
+            stamp = new int[capacity];
+            cost = new double[capacity];
+            estimate = new double[capacity];
+            parent = new int[capacity];
+            position = new int[capacity];
+            current = 0;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package edu.union.adt.graph.tests;
+
+import java.util.*;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.*;
+
+@RunWith(JUnit4.class)
+public class BulkLoadTests
+{
+    /**
+     * Pairs of graphs of each implementation: 'bulk' is loaded with
+     * addEdges, 'single' with addEdge.
+     */
+    private List<Pair> pairs()
+    {
+        List<Pair> pairs = new ArrayList<>();
+        pairs.add(pair(GraphFactory.<Integer>createGraph(1000, 5000), GraphFactory.<Integer>createGraph()));
+        pairs.add(pair(GraphFactory.<Integer>createGraph(GraphOption.REVERSE_INDEX),
+                       GraphFactory.<Integer>createGraph(GraphOption.REVERSE_INDEX)));
+        pairs.add(pair(GraphFactory.<Integer>createGraph(10, 10, GraphOption.HASHED_ADJACENCY),
+                       GraphFactory.<Integer>createGraph(GraphOption.HASHED_ADJACENCY)));
+        pairs.add(pair(GraphFactory.<Integer>createCompactGraph(1000, 5000), GraphFactory.<Integer>createCompactGraph()));
+        pairs.add(pair(GraphFactory.<Integer>createConcurrentGraph(), GraphFactory.<Integer>createConcurrentGraph()));
+        return pairs;
+    }
+
+    private static class Pair
+    {
+        final Graph<Integer> bulk;
+        final Graph<Integer> single;
+
+        Pair(Graph<Integer> bulk, Graph<Integer> single)
+        {
+            this.bulk = bulk;
+            this.single = single;
+        }
+    }
+
+    private Pair pair(Graph<Integer> bulk, Graph<Integer> single)
+    {
+        return new Pair(bulk, single);
+    }
+
+    private List<Map.Entry<Integer, Integer>> randomEdges(Random random, int count, int numVertices)
+    {
+        List<Map.Entry<Integer, Integer>> edges = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            edges.add(new AbstractMap.SimpleImmutableEntry<>(random.nextInt(numVertices), random.nextInt(numVertices)));
+        }
+        return edges;
+    }
+
+    private void addOneByOne(Graph<Integer> g, List<Map.Entry<Integer, Integer>> edges)
+    {
+        for (Map.Entry<Integer, Integer> edge : edges) { g.addEdge(edge.getKey(), edge.getValue()); }
+    }
+
+    private <T> List<T> toList(Iterable<T> container)
+    {
+        List<T> list = new ArrayList<>();
+        for (T x : container) { list.add(x); }
+        return list;
+    }
+
+    private void assertSameGraph(Graph<Integer> expected, Graph<Integer> actual)
+    {
+        assertEquals("Vertices", expected.numVertices(), actual.numVertices());
+        assertEquals("Edges", expected.numEdges(), actual.numEdges());
+        for (Integer v : expected.getVertices()) {
+            assertEquals("Successors of " + v, toList(expected.adjacentTo(v)), toList(actual.adjacentTo(v)));
+            assertEquals("In-degree of " + v, expected.inDegree(v), actual.inDegree(v));
+        }
+        assertEquals("Equal graphs", expected, actual);
+    }
+
+    @Test
+    public void sameAsAddEdge()
+    {
+        // Duplicates, self loops and both ends new or old.
+        Random random = new Random(12);
+        List<Map.Entry<Integer, Integer>> edges = randomEdges(random, 5000, 700);
+        for (Pair pair : pairs()) {
+            pair.bulk.addEdges(edges);
+            addOneByOne(pair.single, edges);
+            assertSameGraph(pair.single, pair.bulk);
+        }
+    }
+
+    @Test
+    public void intoExistingGraph()
+    {
+        Random random = new Random(13);
+        List<Map.Entry<Integer, Integer>> first = randomEdges(random, 3000, 500);
+        List<Map.Entry<Integer, Integer>> large = randomEdges(random, 3000, 600);
+        List<Map.Entry<Integer, Integer>> small = randomEdges(random, 10, 600);
+        for (Pair pair : pairs()) {
+            addOneByOne(pair.bulk, first);
+            addOneByOne(pair.single, first);
+            pair.bulk.addEdges(large);
+            addOneByOne(pair.single, large);
+            assertSameGraph(pair.single, pair.bulk);
+
+            pair.bulk.removeVertex(7);
+            pair.single.removeVertex(7);
+            pair.bulk.addEdges(small);
+            addOneByOne(pair.single, small);
+            assertSameGraph(pair.single, pair.bulk);
+        }
+    }
+
+    @Test
+    public void fromIterableOfUnknownSize()
+    {
+        final List<Map.Entry<Integer, Integer>> edges = randomEdges(new Random(14), 2000, 100);
+        Iterable<Map.Entry<Integer, Integer>> iterable = new Iterable<Map.Entry<Integer, Integer>>() {
+            public Iterator<Map.Entry<Integer, Integer>> iterator() { return edges.iterator(); }
+        };
+        for (Pair pair : pairs()) {
+            pair.bulk.addEdges(iterable);
+            addOneByOne(pair.single, edges);
+            assertSameGraph(pair.single, pair.bulk);
+        }
+    }
+}
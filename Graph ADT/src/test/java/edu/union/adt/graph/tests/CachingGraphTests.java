@@ -0,0 +1,165 @@
+package edu.union.adt.graph.tests;
+
+import java.util.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.*;
+
+@RunWith(JUnit4.class)
+public class CachingGraphTests
+{
+    /**
+     * Counts the searches the cache makes.
+     */
+    private static class CountingGraph extends GraphImpl<String>
+    {
+        int searches;
+
+        @Override
+        public Iterable<String> getPath(String from, String to)
+        {
+            searches++;
+            return super.getPath(from, to);
+        }
+    }
+
+    private void assertAgrees(Graph<Integer> expected, Graph<Integer> cached)
+    {
+        for (int from = 0; from < 30; from++) {
+            for (int to = 0; to < 30; to++) {
+                assertEquals(expected.hasPath(from, to), cached.hasPath(from, to));
+                assertEquals(expected.pathLength(from, to), cached.pathLength(from, to));
+                List<Integer> path = new ArrayList<>();
+                for (Integer vertex : cached.getPath(from, to)) { path.add(vertex); }
+                int size = 0;
+                for (Integer vertex : expected.getPath(from, to)) { size++; }
+                assertEquals(size, path.size());
+                for (int i = 0; i + 1 < path.size(); i++) { assertTrue(expected.hasEdge(path.get(i), path.get(i + 1))); }
+            }
+        }
+    }
+
+    @Test
+    public void repeatedQueriesSearchOnce()
+    {
+        CountingGraph g = new CountingGraph();
+        Graph<String> cached = GraphFactory.createCachingGraph(g, 10);
+        cached.addEdge("A", "B");
+        cached.addEdge("B", "C");
+
+        assertEquals(2, cached.pathLength("A", "C"));
+        assertTrue(cached.hasPath("A", "C"));
+        assertEquals(Arrays.asList("A", "B", "C"), cached.getPath("A", "C"));
+        assertFalse(cached.hasPath("C", "A"));
+        assertFalse(cached.hasPath("C", "A"));
+        assertEquals(2, g.searches);
+    }
+
+    @Test
+    public void addEdgeInvalidates()
+    {
+        CountingGraph g = new CountingGraph();
+        Graph<String> cached = GraphFactory.createCachingGraph(g, 10);
+        cached.addEdge("A", "B");
+        cached.addEdge("B", "C");
+        assertEquals(Integer.MAX_VALUE, cached.pathLength("C", "A"));
+        assertEquals(2, cached.pathLength("A", "C"));
+
+        cached.addEdge("A", "B"); // already there: the cache is kept
+        assertEquals(2, cached.pathLength("A", "C"));
+        assertEquals(2, g.searches);
+
+        cached.addEdge("A", "C");
+        cached.addEdge("C", "A");
+        assertEquals(1, cached.pathLength("A", "C"));
+        assertEquals(1, cached.pathLength("C", "A"));
+    }
+
+    @Test
+    public void removeEdgeDropsOnlyPathsThroughIt()
+    {
+        CountingGraph g = new CountingGraph();
+        Graph<String> cached = GraphFactory.createCachingGraph(g, 10);
+        cached.addEdge("A", "B");
+        cached.addEdge("B", "C");
+        cached.addEdge("X", "Y");
+        cached.addVertex("Z");
+        cached.hasPath("A", "C");
+        cached.hasPath("X", "Y");
+        cached.hasPath("Z", "A");
+        assertEquals(3, g.searches);
+
+        cached.removeEdge("B", "C");
+        assertTrue(cached.hasPath("X", "Y"));
+        assertFalse(cached.hasPath("Z", "A"));
+        assertEquals(3, g.searches);
+        assertFalse(cached.hasPath("A", "C"));
+        assertEquals(4, g.searches);
+
+        cached.removeVertex("Y");
+        assertFalse(cached.hasPath("X", "Y"));
+        assertEquals(Integer.MAX_VALUE, cached.pathLength("X", "Y"));
+        cached.addVertex("Y");
+        assertTrue(cached.hasPath("Y", "Y"));
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsed()
+    {
+        CountingGraph g = new CountingGraph();
+        Graph<String> cached = GraphFactory.createCachingGraph(g, 2);
+        cached.addEdge("A", "B");
+        cached.addEdge("B", "C");
+        cached.hasPath("A", "B");
+        cached.hasPath("A", "C");
+        cached.hasPath("A", "B");
+        cached.hasPath("B", "C"); // evicts (A, C)
+        assertEquals(3, g.searches);
+
+        cached.hasPath("A", "B");
+        assertEquals(3, g.searches);
+        cached.hasPath("A", "C");
+        assertEquals(4, g.searches);
+    }
+
+    @Test
+    public void agreesWithGraphUnderChanges()
+    {
+        Random random = new Random(3);
+        Graph<Integer> expected = GraphFactory.createGraph();
+        Graph<Integer> cached = GraphFactory.createCachingGraph(GraphFactory.<Integer>createGraph(), 200);
+        for (int round = 0; round < 40; round++) {
+            for (int i = 0; i < 5; i++) {
+                int from = random.nextInt(30);
+                int to = random.nextInt(30);
+                switch (random.nextInt(4)) {
+                    case 0:
+                    case 1:
+                        expected.addEdge(from, to);
+                        cached.addEdge(from, to);
+                        break;
+                    case 2:
+                        expected.removeEdge(from, to);
+                        cached.removeEdge(from, to);
+                        break;
+                    default:
+                        expected.removeVertex(from);
+                        cached.removeVertex(from);
+                }
+            }
+            assertAgrees(expected, cached);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsEmptyCache()
+    {
+        GraphFactory.createCachingGraph(GraphFactory.<String>createGraph(), 0);
+    }
+}
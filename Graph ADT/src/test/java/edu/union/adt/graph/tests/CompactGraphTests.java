@@ -0,0 +1,266 @@
+package edu.union.adt.graph.tests;
+
+import java.util.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.*;
+
+@RunWith(JUnit4.class)
+public class CompactGraphTests
+{
+    private Graph<String> g;
+
+    @Before
+    public void setUp()
+    {
+        g = GraphFactory.<String>createCompactGraph();
+    }
+
+    @After
+    public void tearDown()
+    {
+        g = null;
+    }
+
+    private <T> List<T> toList(Iterable<T> container)
+    {
+        List<T> list = new ArrayList<>();
+        for (T x : container) { list.add(x); }
+        return list;
+    }
+
+    @Test
+    public void addEdge()
+    {
+        g.addEdge("A", "B");
+        g.addEdge("A", "C");
+        g.addEdge("A", "B");
+
+        assertEquals("Adding edges adds their vertices", 3, g.numVertices());
+        assertEquals("Duplicate edges are not added", 2, g.numEdges());
+        assertEquals("Degree counts edges out of a vertex", 2, g.degree("A"));
+        assertTrue("Edge from A to B", g.hasEdge("A", "B"));
+        assertFalse("No edge from B to A", g.hasEdge("B", "A"));
+        assertEquals("Neighbors keep insertion order",
+                     Arrays.asList("B", "C"), toList(g.adjacentTo("A")));
+    }
+
+    @Test
+    public void addEdgeAfterTraversal()
+    {
+        g.addEdge("A", "B");
+        assertEquals("One neighbor before compaction",
+                     Arrays.asList("B"), toList(g.adjacentTo("A")));
+
+        g.addEdge("A", "C");
+        g.addEdge("B", "C");
+        assertEquals("New neighbors follow old ones",
+                     Arrays.asList("B", "C"), toList(g.adjacentTo("A")));
+        assertEquals("Path through B", 1, g.pathLength("A", "C"));
+    }
+
+    @Test
+    public void removeVertex()
+    {
+        g.addEdge("Foo", "Bar");
+        g.addEdge("Fizz", "Bar");
+        g.addEdge("Bar", "Fizz");
+        g.addEdge("Bar", "Bar");
+
+        g.removeVertex("Bar");
+
+        assertEquals("Two vertices left", 2, g.numVertices());
+        assertEquals("All edges touched Bar", 0, g.numEdges());
+        assertFalse("Bar is gone", g.contains("Bar"));
+        assertEquals("Remaining vertices keep their order",
+                     Arrays.asList("Foo", "Fizz"), toList(g.getVertices()));
+
+        g.addEdge("Foo", "Fizz");
+        assertTrue("Edges can be added after removal", g.hasEdge("Foo", "Fizz"));
+        assertEquals("Only the new edge", 1, g.numEdges());
+    }
+
+    @Test
+    public void removeEdge()
+    {
+        g.addEdge("A", "B");
+        g.addEdge("A", "C");
+        g.addEdge("A", "D");
+
+        g.removeEdge("A", "C");
+        g.removeEdge("C", "A");
+
+        assertEquals("One edge removed", 2, g.numEdges());
+        assertEquals("Order of other neighbors is kept",
+                     Arrays.asList("B", "D"), toList(g.adjacentTo("A")));
+    }
+
+    @Test
+    public void paths()
+    {
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        g.addEdge("C", "D");
+        g.addEdge("A", "C");
+        g.addVertex("E");
+
+        assertTrue("Path from A to D", g.hasPath("A", "D"));
+        assertFalse("No path from D to A", g.hasPath("D", "A"));
+        assertTrue("Path from a vertex to itself", g.hasPath("E", "E"));
+        assertEquals("Shortest path skips B", 2, g.pathLength("A", "D"));
+        assertEquals("No path", Integer.MAX_VALUE, g.pathLength("A", "E"));
+        assertEquals("Path from A to D", Arrays.asList("A", "C", "D"), toList(g.getPath("A", "D")));
+        assertEquals("Path from a vertex to itself", Arrays.asList("A"), toList(g.getPath("A", "A")));
+        assertTrue("No path is empty", toList(g.getPath("D", "A")).isEmpty());
+    }
+
+    @Test
+    public void sameAnswersAsGraphImpl()
+    {
+        Graph<Integer> compact = GraphFactory.<Integer>createCompactGraph();
+        Graph<Integer> reference = GraphFactory.<Integer>createGraph();
+        Random random = new Random(260);
+        for (int i = 0; i < 5000; i++) {
+            int u = random.nextInt(300);
+            int v = random.nextInt(300);
+            compact.addEdge(u, v);
+            reference.addEdge(u, v);
+            if (i % 50 == 0) {
+                compact.removeEdge(v, u);
+                reference.removeEdge(v, u);
+                compact.removeVertex(v / 2);
+                reference.removeVertex(v / 2);
+            }
+        }
+
+        assertEquals("Same number of vertices", reference.numVertices(), compact.numVertices());
+        assertEquals("Same number of edges", reference.numEdges(), compact.numEdges());
+        for (Integer u : reference.getVertices()) {
+            assertEquals("Same neighbors", toList(reference.adjacentTo(u)), toList(compact.adjacentTo(u)));
+            for (int v = 0; v < 300; v += 37) {
+                assertEquals("Same path lengths", reference.pathLength(u, v), compact.pathLength(u, v));
+            }
+        }
+    }
+
+    @Test
+    public void equalGraphs()
+    {
+        Graph<String> g2 = GraphFactory.<String>createCompactGraph();
+        g.addEdge("A", "B");
+        g.addVertex("C");
+        g2.addVertex("C");
+        g2.addEdge("A", "B");
+
+        assertEquals("Same vertices and edges", g, g2);
+
+        g2.addEdge("B", "A");
+        assertFalse("Different edges", g.equals(g2));
+    }
+
+    @Test
+    public void readsLeaveViewsValid()
+    {
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        Collection<String> neighbors = g.adjacentTo("A");
+        Iterator<String> vertices = g.getVertices().iterator();
+
+        assertTrue("Path through pending edges", g.hasPath("A", "C"));
+        assertEquals("Length through pending edges", 2, g.pathLength("A", "C"));
+        assertEquals("Pending predecessors", Arrays.asList("B"), toList(g.adjacentFrom("C")));
+        Graph<String> g2 = GraphFactory.<String>createCompactGraph();
+        g2.addEdge("A", "B");
+        g2.addEdge("B", "C");
+        assertEquals("Equal with pending edges", g2, g);
+        g.snapshot();
+        g.distancesFrom("C");
+
+        assertEquals("View still valid", Arrays.asList("B"), toList(neighbors));
+        assertEquals("Iterator still valid", "A", vertices.next());
+    }
+
+    @Test
+    public void interleavedReadsAndWrites()
+    {
+        Graph<Integer> compact = GraphFactory.<Integer>createCompactGraph();
+        Graph<Integer> reference = GraphFactory.<Integer>createGraph();
+        Random random = new Random(261);
+        for (int i = 0; i < 3000; i++) {
+            int u = random.nextInt(100);
+            int v = random.nextInt(100);
+            if (i % 7 == 0) {
+                compact.removeEdge(u, v);
+                reference.removeEdge(u, v);
+            }
+            else if (i % 97 == 0) {
+                compact.removeVertex(u);
+                reference.removeVertex(u);
+            }
+            else {
+                compact.addEdge(u, v);
+                reference.addEdge(u, v);
+            }
+
+            assertEquals("Same edges", reference.numEdges(), compact.numEdges());
+            assertEquals("Same neighbors", toList(reference.adjacentTo(u)), toList(compact.adjacentTo(u)));
+            assertEquals("Same predecessors", new HashSet<>(reference.adjacentFrom(v)), new HashSet<>(compact.adjacentFrom(v)));
+            assertEquals("Same path lengths", reference.pathLength(v, u), compact.pathLength(v, u));
+            assertEquals("Same hash code", reference.hashCode(), compact.hashCode());
+        }
+        assertEquals("Same vertices", new HashSet<>(reference.getVertices()), new HashSet<>(compact.getVertices()));
+        for (Integer u : reference.getVertices()) {
+            assertEquals("Same neighbors", toList(reference.adjacentTo(u)), toList(compact.adjacentTo(u)));
+        }
+    }
+
+    /**
+     * Private helper that gets the heap in use after collecting the
+     * garbage until that stops freeing any.
+     */
+    private long usedHeap()
+    {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 20; i++) {
+            System.gc();
+            long now = runtime.totalMemory() - runtime.freeMemory();
+            if (now >= used) { break; }
+            used = now;
+        }
+        return used;
+    }
+
+    @Test
+    public void compactionFreesPendingBuffer()
+    {
+        int numVertices = 50000;
+        int numEdges = 400000;
+        long before = usedHeap();
+        Graph<Integer> compact = GraphFactory.<Integer>createCompactGraph(numVertices, numEdges);
+        Random random = new Random(262);
+        List<Map.Entry<Integer, Integer>> batch = new ArrayList<>();
+        for (int i = 0; i < numEdges / 2; i++) {
+            compact.addEdge(random.nextInt(numVertices), random.nextInt(numVertices));
+            batch.add(new AbstractMap.SimpleImmutableEntry<>(random.nextInt(numVertices), random.nextInt(numVertices)));
+        }
+        compact.addEdges(batch);
+        batch = null;
+        ((CompactGraph<Integer>) compact).compact();
+        long retained = usedHeap() - before;
+
+        // The rows take 4 bytes an edge, and the vertices about 13
+        // bytes an edge more here.  A pending buffer kept at its
+        // largest would add 28 or more.
+        double perEdge = (double) retained / compact.numEdges();
+        assertTrue("Retained " + perEdge + " bytes per edge", perEdge < 24);
+    }
+}
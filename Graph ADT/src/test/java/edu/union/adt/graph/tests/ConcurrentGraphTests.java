@@ -0,0 +1,198 @@
+package edu.union.adt.graph.tests;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertNotSame;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.*;
+
+@RunWith(JUnit4.class)
+public class ConcurrentGraphTests
+{
+    private static final int THREADS = 8;
+
+    private Graph<Integer> g;
+
+    @Before
+    public void setUp()
+    {
+        g = GraphFactory.<Integer>createConcurrentGraph();
+    }
+
+    @After
+    public void tearDown()
+    {
+        g = null;
+    }
+
+    private <T> List<T> toList(Iterable<T> container)
+    {
+        List<T> list = new ArrayList<>();
+        for (T x : container) { list.add(x); }
+        return list;
+    }
+
+    @Test
+    public void basics()
+    {
+        g.addEdge(1, 2);
+        g.addEdge(1, 3);
+        g.addEdge(1, 2);
+        g.addEdge(3, 3);
+
+        assertEquals("Vertices", 3, g.numVertices());
+        assertEquals("Duplicate edges are ignored", 3, g.numEdges());
+        assertEquals("Successors in insertion order", Arrays.asList(2, 3), toList(g.adjacentTo(1)));
+        assertEquals("Predecessors", Arrays.asList(1, 3), toList(g.adjacentFrom(3)));
+        assertEquals("In-degree", 2, g.inDegree(3));
+
+        g.removeVertex(3);
+        assertEquals("Self loop removed with its vertex", 1, g.numEdges());
+        assertFalse("Removed vertex", g.contains(3));
+        assertEquals("Successors after removal", Arrays.asList(2), toList(g.adjacentTo(1)));
+
+        g.removeEdge(1, 2);
+        assertEquals("No edges left", 0, g.numEdges());
+        assertFalse("Not empty while vertices remain", g.isEmpty());
+    }
+
+    @Test
+    public void unchangedGraphReusesSnapshot()
+    {
+        g.addEdge(1, 2);
+        Graph<Integer> first = g.snapshot();
+        g.addEdge(1, 2);
+        g.removeEdge(2, 1);
+        assertSame("No change since the last snapshot", first, g.snapshot());
+
+        g.addVertex(3);
+        Graph<Integer> second = g.snapshot();
+        assertNotSame("Vertex added", first, second);
+        assertEquals("New vertex in the snapshot", 3, second.numVertices());
+
+        g.removeEdge(1, 2);
+        assertEquals("Edge removed from the snapshot", 0, g.snapshot().numEdges());
+        assertEquals("Older snapshot unchanged", 1, second.numEdges());
+    }
+
+    @Test
+    public void adjacentToIsASnapshot()
+    {
+        g.addEdge(1, 2);
+        Iterable<Integer> before = g.adjacentTo(1);
+        g.addEdge(1, 3);
+        g.removeEdge(1, 2);
+
+        assertEquals("Snapshot unchanged by later writes", Arrays.asList(2), toList(before));
+        assertEquals("Later view sees the writes", Arrays.asList(3), toList(g.adjacentTo(1)));
+    }
+
+    @Test
+    public void concurrentAddEdge() throws InterruptedException
+    {
+        // Every thread adds the same edges, so most adds race with
+        // another thread adding the same edge.
+        final int n = 300;
+        runInParallel(new Worker() {
+            public void run(int thread) {
+                for (int i = 0; i < n; i++) {
+                    for (int j = 0; j < 10; j++) {
+                        g.addEdge((i + thread * 37) % n, (i * 7 + j) % n);
+                    }
+                }
+            }
+        });
+
+        assertEquals("Vertices", n, g.numVertices());
+        assertEquals("Each distinct edge counted once", countEdges(), g.numEdges());
+        assertConsistent();
+    }
+
+    @Test
+    public void concurrentRemoveVertexAndAddEdge() throws InterruptedException
+    {
+        final int n = 200;
+        runInParallel(new Worker() {
+            public void run(int thread) {
+                Random random = new Random(thread);
+                for (int i = 0; i < 20000; i++) {
+                    int a = random.nextInt(n);
+                    int b = random.nextInt(n);
+                    switch (random.nextInt(4)) {
+                    case 0: g.removeVertex(a); break;
+                    case 1: g.removeEdge(a, b); break;
+                    default: g.addEdge(a, b); break;
+                    }
+                    if (i % 100 == 0) { g.hasPath(a, b); }
+                }
+            }
+        });
+
+        assertEquals("Edge count matches the edges", countEdges(), g.numEdges());
+        assertConsistent();
+    }
+
+    private interface Worker
+    {
+        void run(int thread);
+    }
+
+    private void runInParallel(final Worker worker) throws InterruptedException
+    {
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Throwable> failures = Collections.synchronizedList(new ArrayList<Throwable>());
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            final int thread = t;
+            threads.add(new Thread() {
+                public void run() {
+                    try {
+                        start.await();
+                        worker.run(thread);
+                    } catch (Throwable e) {
+                        failures.add(e);
+                    }
+                }
+            });
+        }
+        for (Thread thread : threads) { thread.start(); }
+        start.countDown();
+        for (Thread thread : threads) { thread.join(); }
+        assertTrue("Worker failures: " + failures, failures.isEmpty());
+    }
+
+    private int countEdges()
+    {
+        int edges = 0;
+        for (Integer v : g.getVertices()) { edges += g.degree(v); }
+        return edges;
+    }
+
+    /**
+     * Every successor is a vertex whose predecessors list the edge's
+     * source, and the other way around.
+     */
+    private void assertConsistent()
+    {
+        for (Integer v : g.getVertices()) {
+            for (Integer w : g.adjacentTo(v)) {
+                assertTrue("Successor is a vertex: " + v + " -> " + w, g.contains(w));
+                assertTrue("Predecessor recorded: " + v + " -> " + w, toList(g.adjacentFrom(w)).contains(v));
+            }
+            for (Integer u : g.adjacentFrom(v)) {
+                assertTrue("Predecessor is a vertex: " + u + " -> " + v, g.contains(u));
+                assertTrue("Successor recorded: " + u + " -> " + v, g.hasEdge(u, v));
+            }
+        }
+    }
+}
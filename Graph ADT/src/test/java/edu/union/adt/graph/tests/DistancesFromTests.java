@@ -0,0 +1,111 @@
+package edu.union.adt.graph.tests;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.*;
+
+@RunWith(JUnit4.class)
+public class DistancesFromTests
+{
+    private List<Graph<Integer>> graphs;
+
+    @Before
+    public void setUp()
+    {
+        graphs = new ArrayList<>();
+        graphs.add(GraphFactory.<Integer>createGraph());
+        graphs.add(GraphFactory.<Integer>createGraph(GraphOption.REVERSE_INDEX));
+        graphs.add(GraphFactory.<Integer>createCompactGraph());
+        graphs.add(GraphFactory.<Integer>createConcurrentGraph());
+    }
+
+    @After
+    public void tearDown()
+    {
+        graphs = null;
+    }
+
+    @Test
+    public void chain()
+    {
+        for (Graph<Integer> g : graphs) {
+            g.addEdge(1, 2);
+            g.addEdge(2, 3);
+            g.addEdge(3, 1);
+            g.addVertex(4);
+
+            Map<Integer, Integer> expected = new HashMap<>();
+            expected.put(2, 0);
+            expected.put(3, 1);
+            expected.put(1, 2);
+            assertEquals("Distances around the cycle", expected, g.distancesFrom(2));
+            assertTrue("Missing vertex", g.distancesFrom(5).isEmpty());
+            assertEquals("Isolated vertex", Collections.singletonMap(4, 0), g.distancesFrom(4));
+        }
+    }
+
+    @Test
+    public void agreesWithPathLength()
+    {
+        // Dense enough that the middle levels switch to bottom-up.
+        Random random = new Random(260);
+        for (int i = 0; i < 20000; i++) {
+            int u = random.nextInt(1000);
+            int v = random.nextInt(1000);
+            for (Graph<Integer> g : graphs) { g.addEdge(u, v); }
+        }
+        for (Graph<Integer> g : graphs) {
+            g.removeVertex(7);
+            g.addEdge(1001, 1002);
+        }
+
+        for (int source = 0; source < 1003; source += 97) {
+            for (Graph<Integer> g : graphs) {
+                Map<Integer, Integer> distances = g.distancesFrom(source);
+                for (Integer v : g.getVertices()) {
+                    int expected = g.pathLength(source, v);
+                    if (expected == Integer.MAX_VALUE) {
+                        assertTrue("Unreachable vertices are left out", !distances.containsKey(v));
+                    }
+                    else {
+                        assertEquals("Same distance as pathLength", Integer.valueOf(expected), distances.get(v));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void parallelAgreesWithSequential()
+    {
+        Random random = new Random(260);
+        for (int i = 0; i < 100000; i++) {
+            int u = random.nextInt(20000);
+            int v = random.nextInt(20000);
+            for (Graph<Integer> g : graphs) { g.addEdge(u, v); }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (Graph<Integer> g : graphs) {
+                for (int source = 0; source < 20000; source += 4999) {
+                    assertEquals("Parallel and sequential distances match",
+                                 g.distancesFrom(source), g.distancesFrom(source, pool));
+                }
+                assertTrue("Missing vertex", g.distancesFrom(-1, pool).isEmpty());
+            }
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+}
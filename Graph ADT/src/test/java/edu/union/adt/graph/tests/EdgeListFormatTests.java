@@ -0,0 +1,123 @@
+package edu.union.adt.graph.tests;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.Function;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.*;
+
+@RunWith(JUnit4.class)
+public class EdgeListFormatTests
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Graph<String> g;
+
+    @Before
+    public void setUp()
+    {
+        g = GraphFactory.<String>createGraph();
+        g.addEdge("A", "B");
+        g.addEdge("A", "C");
+        g.addEdge("C", "A");
+        g.addEdge("B", "B");
+        g.addVertex("D");
+    }
+
+    private Graph<String> read(EdgeListFormat format, String text) throws IOException
+    {
+        Graph<String> read = GraphFactory.<String>createGraph();
+        format.read(new StringReader(text), Function.<String>identity(), read);
+        return read;
+    }
+
+    private String write(EdgeListFormat format, Graph<String> graph) throws IOException
+    {
+        StringWriter out = new StringWriter();
+        format.write(graph, out);
+        return out.toString();
+    }
+
+    @Test
+    public void roundTrips() throws IOException
+    {
+        for (EdgeListFormat format : EdgeListFormat.values()) {
+            Graph<String> read = read(format, write(format, g));
+            if (format == EdgeListFormat.SNAP) { read.addVertex("D"); } // SNAP has no isolated vertices
+            assertEquals("Round trip through " + format, g, read);
+        }
+    }
+
+    @Test
+    public void readsToString() throws IOException
+    {
+        assertEquals("toString output", g, read(EdgeListFormat.ADJACENCY, g.toString()));
+    }
+
+    @Test
+    public void snapCommentsAndSpaces() throws IOException
+    {
+        Graph<Integer> read = GraphFactory.<Integer>createGraph();
+        String text = "# Directed graph\n# Nodes: 3 Edges: 2\n1\t2\n\n  2   3 \n";
+        EdgeListFormat.SNAP.read(new StringReader(text), Integer::valueOf, read);
+        assertEquals("Edges", 2, read.numEdges());
+        assertTrue("Edge with spaces", read.hasEdge(2, 3));
+    }
+
+    @Test
+    public void csvQuoting() throws IOException
+    {
+        Graph<String> quoted = GraphFactory.<String>createGraph();
+        quoted.addEdge("Smith, John", "say \"hi\"");
+        String text = write(EdgeListFormat.CSV, quoted);
+        assertTrue("Quoted fields: " + text, text.contains("\"Smith, John\",\"say \"\"hi\"\"\"\n"));
+        assertEquals("Round trip", quoted, read(EdgeListFormat.CSV, text));
+    }
+
+    @Test
+    public void malformedLine()
+    {
+        try {
+            read(EdgeListFormat.TSV, "A\tB\nA\tB\tC\n");
+            fail("Three fields");
+        } catch (IOException e) {
+            assertTrue("Names the line: " + e.getMessage(), e.getMessage().startsWith("Line 2:"));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unwritableVertex() throws IOException
+    {
+        Graph<String> bad = GraphFactory.<String>createGraph();
+        bad.addEdge("A", "B\tC");
+        write(EdgeListFormat.TSV, bad);
+    }
+
+    @Test
+    public void files() throws IOException
+    {
+        Random random = new Random(14);
+        Graph<Integer> big = GraphFactory.<Integer>createCompactGraph();
+        for (int i = 0; i < 50000; i++) { big.addEdge(random.nextInt(5000), random.nextInt(5000)); }
+
+        Path path = folder.newFile().toPath();
+        EdgeListFormat.TSV.write(big, path);
+        Graph<Integer> read = GraphFactory.<Integer>createCompactGraph();
+        EdgeListFormat.TSV.read(path, Integer::valueOf, read);
+        assertEquals("Round trip through a file", big, read);
+    }
+}
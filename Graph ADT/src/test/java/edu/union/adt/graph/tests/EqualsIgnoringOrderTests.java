@@ -0,0 +1,121 @@
+package edu.union.adt.graph.tests;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.*;
+
+@RunWith(JUnit4.class)
+public class EqualsIgnoringOrderTests
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private List<int[]> edges;
+    private List<int[]> shuffled;
+
+    @Before
+    public void setUp()
+    {
+        Random random = new Random(17);
+        edges = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) { edges.add(new int[] { random.nextInt(2000), random.nextInt(2000) }); }
+        shuffled = new ArrayList<>(edges);
+        Collections.shuffle(shuffled, random);
+    }
+
+    private Graph<Integer> build(Graph<Integer> g, List<int[]> edges)
+    {
+        for (int[] edge : edges) { g.addEdge(edge[0], edge[1]); }
+        return g;
+    }
+
+    private void assertSame(String message, Graph<Integer> g, Graph<Integer> h)
+    {
+        assertTrue(message, g.equalsIgnoringOrder(h));
+        assertTrue(message + " (parallel)", g.equalsIgnoringOrder(h, ForkJoinPool.commonPool()));
+    }
+
+    private void assertDifferent(String message, Graph<Integer> g, Graph<Integer> h)
+    {
+        assertFalse(message, g.equalsIgnoringOrder(h));
+        assertFalse(message + " (parallel)", g.equalsIgnoringOrder(h, ForkJoinPool.commonPool()));
+    }
+
+    @Test
+    public void insertionOrderIgnored()
+    {
+        Graph<Integer> g = build(GraphFactory.<Integer>createGraph(), edges);
+        Graph<Integer> h = build(GraphFactory.<Integer>createGraph(), shuffled);
+        assertFalse("equals still compares order", g.equals(h));
+        assertSame("Same edges in another order", g, h);
+        assertSame("Itself", g, g);
+    }
+
+    @Test
+    public void acrossImplementations() throws IOException
+    {
+        Graph<Integer> g = build(GraphFactory.<Integer>createGraph(), edges);
+        Path path = folder.newFile().toPath();
+        MappedGraph.write(g, path, VertexCodec.INTEGERS);
+
+        List<Graph<Integer>> others = new ArrayList<>();
+        others.add(build(GraphFactory.<Integer>createGraph(GraphOption.HASHED_ADJACENCY), shuffled));
+        others.add(build(GraphFactory.<Integer>createCompactGraph(), shuffled));
+        others.add(build(GraphFactory.<Integer>createConcurrentGraph(), shuffled));
+        others.add(build(GraphFactory.<Integer>createGraph(), shuffled).snapshot());
+        others.add(MappedGraph.open(path, VertexCodec.INTEGERS));
+        for (Graph<Integer> other : others) {
+            assertSame(other.getClass().getSimpleName(), g, other);
+            assertSame(other.getClass().getSimpleName() + " first", other, g);
+        }
+    }
+
+    @Test
+    public void differences()
+    {
+        Graph<Integer> g = build(GraphFactory.<Integer>createGraph(), edges);
+
+        Graph<Integer> reversed = build(GraphFactory.<Integer>createCompactGraph(), shuffled);
+        int[] edge = edges.get(0);
+        reversed.removeEdge(edge[0], edge[1]);
+        int target = 0;
+        while (g.hasEdge(target, edge[0])) { target++; }
+        reversed.addEdge(target, edge[0]);
+        assertDifferent("One edge moved", g, reversed);
+
+        Graph<Integer> extraVertex = build(GraphFactory.<Integer>createGraph(), shuffled);
+        extraVertex.addVertex(-1);
+        assertDifferent("Extra vertex", g, extraVertex);
+
+        Graph<String> strings = GraphFactory.<String>createGraph();
+        Graph<Integer> small = GraphFactory.<Integer>createGraph();
+        strings.addEdge("1", "2");
+        small.addEdge(1, 2);
+        assertFalse("Different vertex types", small.equalsIgnoringOrder(strings));
+        assertFalse("Null", g.equalsIgnoringOrder(null));
+    }
+
+    @Test
+    public void sameCountsDifferentEdges()
+    {
+        Graph<Integer> g = GraphFactory.<Integer>createGraph();
+        g.addEdge(1, 2);
+        g.addEdge(2, 3);
+        Graph<Integer> h = GraphFactory.<Integer>createGraph();
+        h.addEdge(1, 3);
+        h.addEdge(2, 3);
+        assertDifferent("Different edges", g, h);
+    }
+}
@@ -0,0 +1,98 @@
+package edu.union.adt.graph.tests;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.Supplier;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static edu.union.adt.graph.tests.TestGraphs.factories;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.*;
+
+@RunWith(JUnit4.class)
+public class ForEachNeighborTests
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Graph<Integer> build(Supplier<Graph<Integer>> factory)
+    {
+        Random random = new Random(23);
+        Graph<Integer> g = factory.get();
+        for (int i = 0; i < 500; i++) { g.addEdge(random.nextInt(50), random.nextInt(50)); }
+        for (int i = 0; i < 5; i++) { g.removeVertex(random.nextInt(50)); }
+        g.addEdge(3, 3);
+        return g;
+    }
+
+    /**
+     * Checks that forEachNeighbor visits what adjacentTo gives, in the
+     * same order, for every vertex and for a missing one.
+     */
+    private void assertMatchesAdjacentTo(Graph<Integer> g)
+    {
+        String name = g.getClass().getSimpleName();
+        for (Integer v : g.getVertices()) {
+            List<Integer> expected = new ArrayList<>();
+            for (Integer w : g.adjacentTo(v)) { expected.add(w); }
+            List<Integer> visited = new ArrayList<>();
+            g.forEachNeighbor(v, visited::add);
+            assertEquals(name + ", " + v, expected, visited);
+        }
+        List<Integer> visited = new ArrayList<>();
+        g.forEachNeighbor(-1, visited::add);
+        assertTrue(name, visited.isEmpty());
+    }
+
+    @Test
+    public void matchesAdjacentTo()
+    {
+        for (Supplier<Graph<Integer>> factory : factories()) {
+            Graph<Integer> g = build(factory);
+            assertMatchesAdjacentTo(g);
+            assertMatchesAdjacentTo(g.snapshot());
+        }
+    }
+
+    @Test
+    public void mappedGraph() throws IOException
+    {
+        Path path = folder.newFile().toPath();
+        MappedGraph.write(build(factories().get(0)), path, VertexCodec.INTEGERS);
+        assertMatchesAdjacentTo(MappedGraph.open(path, VertexCodec.INTEGERS));
+    }
+
+    @Test
+    public void compactGraphWithPendingEdges()
+    {
+        Graph<Integer> g = build(() -> GraphFactory.<Integer>createCompactGraph());
+        g.forEachNeighbor(0, w -> { });
+        g.addEdge(0, 49);
+        g.addEdge(49, 0);
+        assertMatchesAdjacentTo(g);
+    }
+
+    @Test
+    public void intGraph()
+    {
+        Random random = new Random(24);
+        IntGraph g = GraphFactory.createIntGraph();
+        for (int i = 0; i < 500; i++) { g.addEdge(random.nextInt(50) - 25, random.nextInt(50) - 25); }
+        for (PrimitiveIterator.OfInt vertices = g.getVertices(); vertices.hasNext(); ) {
+            int v = vertices.nextInt();
+            List<Integer> expected = new ArrayList<>();
+            g.adjacentTo(v).forEachRemaining((int w) -> expected.add(w));
+            List<Integer> visited = new ArrayList<>();
+            g.forEachNeighbor(v, visited::add);
+            assertEquals(expected, visited);
+        }
+        g.forEachNeighbor(1000, w -> { throw new AssertionError(); });
+    }
+}
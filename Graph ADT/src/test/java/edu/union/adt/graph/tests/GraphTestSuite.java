@@ -7,7 +7,28 @@ import org.junit.runners.Suite;
 @Suite.SuiteClasses
 ({
     SimpleGraphTests.class,
-    GraphTestsUsingEquals.class
+    GraphTestsUsingEquals.class,
+    CompactGraphTests.class,
+    ReverseIndexTests.class,
+    HashedAdjacencyTests.class,
+    PathSearchTests.class,
+    DistancesFromTests.class,
+    ConcurrentGraphTests.class,
+    SnapshotTests.class,
+    BulkLoadTests.class,
+    MappedGraphTests.class,
+    EdgeListFormatTests.class,
+    WriteToTests.class,
+    HashCodeTests.class,
+    EqualsIgnoringOrderTests.class,
+    ReachabilityIndexTests.class,
+    CachingGraphTests.class,
+    ShortestPathTreeTests.class,
+    WeightedGraphTests.class,
+    IntGraphTests.class,
+    ForEachNeighborTests.class,
+    ReadOnlyViewTests.class,
+    StronglyConnectedComponentsTests.class
     
 })
 public class GraphTestSuite
@@ -0,0 +1,122 @@
+package edu.union.adt.graph.tests;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.Supplier;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static edu.union.adt.graph.tests.TestGraphs.factories;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.*;
+
+@RunWith(JUnit4.class)
+public class HashCodeTests
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private List<int[]> randomEdges(long seed, int count)
+    {
+        Random random = new Random(seed);
+        List<int[]> edges = new ArrayList<>();
+        for (int i = 0; i < count; i++) { edges.add(new int[] { random.nextInt(60), random.nextInt(60) }); }
+        return edges;
+    }
+
+    private Graph<Integer> build(Supplier<Graph<Integer>> factory, List<int[]> edges)
+    {
+        Graph<Integer> g = factory.get();
+        for (int[] edge : edges) { g.addEdge(edge[0], edge[1]); }
+        return g;
+    }
+
+    @Test
+    public void independentOfOrderAndImplementation()
+    {
+        List<int[]> edges = randomEdges(16, 400);
+        List<int[]> shuffled = new ArrayList<>(edges);
+        Collections.shuffle(shuffled, new Random(61));
+
+        int expected = build(factories().get(0), edges).hashCode();
+        for (Supplier<Graph<Integer>> factory : factories()) {
+            Graph<Integer> g = build(factory, edges);
+            assertEquals("Same edges, " + g.getClass().getSimpleName(), expected, g.hashCode());
+            assertEquals("Shuffled, " + g.getClass().getSimpleName(), expected, build(factory, shuffled).hashCode());
+            assertEquals("Snapshot", expected, g.snapshot().hashCode());
+        }
+    }
+
+    @Test
+    public void keptCurrentByRemovals()
+    {
+        List<int[]> edges = randomEdges(17, 600);
+        for (Supplier<Graph<Integer>> factory : factories()) {
+            Graph<Integer> g = build(factory, edges);
+            g.addEdge(7, 7);
+            Random random = new Random(18);
+            for (int i = 0; i < 10; i++) { g.removeVertex(random.nextInt(60)); }
+            g.removeVertex(7);
+            for (int[] edge : edges.subList(0, 100)) { g.removeEdge(edge[0], edge[1]); }
+
+            Graph<Integer> rebuilt = factory.get();
+            for (Integer v : g.getVertices()) {
+                rebuilt.addVertex(v);
+                for (Integer w : g.adjacentTo(v)) { rebuilt.addEdge(v, w); }
+            }
+            assertEquals("After removals, " + g.getClass().getSimpleName(), rebuilt.hashCode(), g.hashCode());
+            assertEquals("Equal to the rebuilt graph", rebuilt, g);
+        }
+    }
+
+    @Test
+    public void bulkLoad()
+    {
+        List<int[]> edges = randomEdges(19, 5000);
+        List<Map.Entry<Integer, Integer>> entries = new ArrayList<>();
+        for (int[] edge : edges) { entries.add(new AbstractMap.SimpleEntry<>(edge[0], edge[1])); }
+        for (Supplier<Graph<Integer>> factory : factories()) {
+            Graph<Integer> g = factory.get();
+            g.addEdges(entries);
+            assertEquals("addEdges, " + g.getClass().getSimpleName(), build(factory, edges).hashCode(), g.hashCode());
+        }
+    }
+
+    @Test
+    public void tellsApartSmallChanges()
+    {
+        for (Supplier<Graph<Integer>> factory : factories()) {
+            Graph<Integer> g = factory.get();
+            g.addEdge(1, 2);
+            Graph<Integer> reversed = factory.get();
+            reversed.addEdge(2, 1);
+            Graph<Integer> isolated = factory.get();
+            isolated.addVertex(1);
+            isolated.addVertex(2);
+            assertNotEquals("Reversed edge", g.hashCode(), reversed.hashCode());
+            assertNotEquals("Vertices only", g.hashCode(), isolated.hashCode());
+            assertNotEquals("Not equal", g, reversed);
+        }
+    }
+
+    @Test
+    public void mapped() throws IOException
+    {
+        Graph<Integer> g = build(factories().get(0), randomEdges(20, 300));
+        Path path = folder.newFile().toPath();
+        MappedGraph.write(g, path, VertexCodec.INTEGERS);
+        Graph<Integer> mapped = MappedGraph.open(path, VertexCodec.INTEGERS);
+        assertEquals("Read from the header", g.hashCode(), mapped.hashCode());
+
+        g.removeEdge(g.getVertices().iterator().next(), g.adjacentTo(g.getVertices().iterator().next()).iterator().next());
+        Path other = folder.newFile().toPath();
+        MappedGraph.write(g, other, VertexCodec.INTEGERS);
+        assertNotEquals("One edge fewer", mapped, MappedGraph.open(other, VertexCodec.INTEGERS));
+    }
+}
@@ -0,0 +1,84 @@
+package edu.union.adt.graph.tests;
+
+import java.util.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.*;
+
+@RunWith(JUnit4.class)
+public class HashedAdjacencyTests
+{
+    private Graph<String> g;
+
+    @Before
+    public void setUp()
+    {
+        g = GraphFactory.<String>createGraph(GraphOption.HASHED_ADJACENCY);
+    }
+
+    @After
+    public void tearDown()
+    {
+        g = null;
+    }
+
+    private <T> List<T> toList(Iterable<T> container)
+    {
+        List<T> list = new ArrayList<>();
+        for (T x : container) { list.add(x); }
+        return list;
+    }
+
+    @Test
+    public void keepsInsertionOrder()
+    {
+        g.addEdge("A", "D");
+        g.addEdge("A", "B");
+        g.addEdge("A", "C");
+        g.addEdge("A", "B");
+        g.removeEdge("A", "D");
+        g.addEdge("A", "D");
+
+        assertEquals("Neighbors in the order their edges were added",
+                     Arrays.asList("B", "C", "D"), toList(g.adjacentTo("A")));
+        assertEquals("Duplicate edge not added", 3, g.numEdges());
+    }
+
+    @Test
+    public void hub()
+    {
+        for (int i = 0; i < 10000; i++) { g.addEdge("Hub", "V" + i); }
+        for (int i = 0; i < 10000; i++) { g.addEdge("Hub", "V" + i); }
+
+        assertEquals("Each edge added once", 10000, g.degree("Hub"));
+        assertTrue("Edge to the last vertex", g.hasEdge("Hub", "V9999"));
+
+        for (int i = 0; i < 10000; i += 2) { g.removeEdge("Hub", "V" + i); }
+
+        assertEquals("Half the edges removed", 5000, g.numEdges());
+        assertFalse("Edge to V0 removed", g.hasEdge("Hub", "V0"));
+        assertEquals("Remaining order kept", "V1", toList(g.adjacentTo("Hub")).get(0));
+    }
+
+    @Test
+    public void equalsListAdjacency()
+    {
+        Graph<String> list = GraphFactory.<String>createGraph();
+        g.addEdge("A", "B");
+        g.addEdge("A", "C");
+        list.addEdge("A", "B");
+        list.addEdge("A", "C");
+
+        assertEquals("Same edges in the same order", list, g);
+        assertEquals("Same edges in the same order", g, list);
+        assertEquals("Same string form", list.toString(), g.toString());
+    }
+}
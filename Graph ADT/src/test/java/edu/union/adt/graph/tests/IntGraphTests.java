@@ -0,0 +1,140 @@
+package edu.union.adt.graph.tests;
+
+import java.util.*;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.*;
+
+@RunWith(JUnit4.class)
+public class IntGraphTests
+{
+    private List<Integer> toList(PrimitiveIterator.OfInt iterator)
+    {
+        List<Integer> list = new ArrayList<>();
+        while (iterator.hasNext()) { list.add(iterator.nextInt()); }
+        return list;
+    }
+
+    @Test
+    public void basics()
+    {
+        IntGraph g = GraphFactory.createIntGraph();
+        assertTrue(g.isEmpty());
+        g.addEdge(1, 2);
+        g.addEdge(1, -7);
+        g.addEdge(1, 2);
+        g.addVertex(Integer.MIN_VALUE);
+
+        assertEquals(4, g.numVertices());
+        assertEquals(2, g.numEdges());
+        assertEquals(2, g.degree(1));
+        assertEquals(Arrays.asList(2, -7), toList(g.adjacentTo(1)));
+        assertTrue(toList(g.adjacentTo(99)).isEmpty());
+        assertTrue(g.hasEdge(1, -7));
+        assertFalse(g.hasEdge(-7, 1));
+        assertTrue(g.contains(Integer.MIN_VALUE));
+        assertEquals(new HashSet<>(Arrays.asList(1, 2, -7, Integer.MIN_VALUE)), new HashSet<>(toList(g.getVertices())));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void degreeOfMissingVertex()
+    {
+        GraphFactory.createIntGraph().degree(5);
+    }
+
+    @Test
+    public void paths()
+    {
+        IntGraph g = GraphFactory.createIntGraph();
+        g.addEdge(0, 1);
+        g.addEdge(1, 2);
+        g.addEdge(2, 3);
+        g.addEdge(0, 3);
+        g.addVertex(9);
+
+        assertTrue(g.hasPath(0, 2));
+        assertFalse(g.hasPath(3, 0));
+        assertTrue(g.hasPath(9, 9));
+        assertFalse(g.hasPath(9, 42));
+        assertEquals(1, g.pathLength(0, 3));
+        assertEquals(Integer.MAX_VALUE, g.pathLength(3, 0));
+        assertArrayEquals(new int[] { 0, 1, 2 }, g.getPath(0, 2));
+        assertArrayEquals(new int[0], g.getPath(3, 0));
+    }
+
+    @Test
+    public void agreesWithGraphImpl()
+    {
+        Random random = new Random(5);
+        IntGraph g = GraphFactory.createIntGraph();
+        Graph<Integer> expected = GraphFactory.createGraph();
+        for (int i = 0; i < 600; i++) {
+            int from = random.nextInt(40) - 20;
+            int to = random.nextInt(40) - 20;
+            switch (random.nextInt(6)) {
+                case 0:
+                    g.removeEdge(from, to);
+                    expected.removeEdge(from, to);
+                    break;
+                case 1:
+                    g.removeVertex(from);
+                    expected.removeVertex(from);
+                    break;
+                default:
+                    g.addEdge(from, to);
+                    expected.addEdge(from, to);
+            }
+        }
+
+        assertEquals(expected.numVertices(), g.numVertices());
+        assertEquals(expected.numEdges(), g.numEdges());
+        assertTrue(g.snapshot().equalsIgnoringOrder(expected));
+        assertEquals(expected.hashCode(), g.snapshot().hashCode());
+        for (Integer from : expected.getVertices()) {
+            List<Integer> successors = new ArrayList<>();
+            for (Integer to : expected.adjacentTo(from)) { successors.add(to); }
+            assertEquals(successors, toList(g.adjacentTo(from)));
+            for (Integer to : expected.getVertices()) {
+                assertEquals(expected.hasPath(from, to), g.hasPath(from, to));
+                assertEquals(expected.pathLength(from, to), g.pathLength(from, to));
+                assertEquals(expected.hasEdge(from, to), g.hasEdge(from, to));
+            }
+        }
+    }
+
+    @Test
+    public void snapshotIsIsolated()
+    {
+        IntGraph g = GraphFactory.createIntGraph();
+        g.addEdge(1, 2);
+        Graph<Integer> snapshot = g.snapshot();
+        assertTrue(snapshot == g.snapshot());
+        g.addEdge(2, 3);
+        assertFalse(snapshot.contains(3));
+        assertTrue(g.snapshot().hasEdge(2, 3));
+    }
+
+    @Test
+    public void manyVertices()
+    {
+        IntGraph g = GraphFactory.createIntGraph();
+        for (int v = 0; v < 200000; v++) { g.addEdge(v * 7, (v + 1) * 7); }
+        assertEquals(200001, g.numVertices());
+        assertEquals(200000, g.pathLength(0, 200000 * 7));
+        for (int v = 0; v < 2000; v += 2) { g.removeVertex(v * 7); }
+        assertEquals(199001, g.numVertices());
+        assertEquals(200000 - 1999, g.numEdges());
+        assertFalse(g.contains(0));
+        assertTrue(g.contains(7));
+        assertEquals(Integer.MAX_VALUE, g.pathLength(7, 200000 * 7));
+        g.addEdge(7, 1999 * 7);
+        assertEquals(200000 - 1999 + 1, g.pathLength(7, 200000 * 7));
+    }
+}
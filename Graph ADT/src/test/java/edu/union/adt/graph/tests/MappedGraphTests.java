@@ -0,0 +1,109 @@
+package edu.union.adt.graph.tests;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.*;
+
+@RunWith(JUnit4.class)
+public class MappedGraphTests
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private <T> List<T> toList(Iterable<T> container)
+    {
+        List<T> list = new ArrayList<>();
+        for (T x : container) { list.add(x); }
+        return list;
+    }
+
+    private <V> Graph<V> roundTrip(Graph<V> g, VertexCodec<V> codec) throws IOException
+    {
+        Path path = folder.newFile().toPath();
+        MappedGraph.write(g, path, codec);
+        return MappedGraph.open(path, codec);
+    }
+
+    @Test
+    public void strings() throws IOException
+    {
+        Graph<String> g = GraphFactory.<String>createGraph();
+        g.addEdge("A", "B");
+        g.addEdge("A", "C");
+        g.addEdge("C", "A");
+        g.addEdge("C", "C");
+        g.addVertex("lonely \u00e9");
+
+        Graph<String> mapped = roundTrip(g, VertexCodec.STRINGS);
+        assertEquals("Vertices", 4, mapped.numVertices());
+        assertEquals("Edges", 4, mapped.numEdges());
+        assertEquals("Successors in order", Arrays.asList("B", "C"), toList(mapped.adjacentTo("A")));
+        assertEquals("Degree", 2, mapped.degree("C"));
+        assertEquals("In-degree", 2, mapped.inDegree("C"));
+        assertTrue("Edge", mapped.hasEdge("C", "A"));
+        assertFalse("Not an edge", mapped.hasEdge("B", "A"));
+        assertTrue("Non-ASCII vertex", mapped.contains("lonely \u00e9"));
+        assertFalse("Missing vertex", mapped.contains("D"));
+        assertEquals("Path", Arrays.asList("C", "A", "B"), toList(mapped.getPath("C", "B")));
+        assertEquals("Same vertices", new HashSet<>(toList(g.getVertices())), new HashSet<>(toList(mapped.getVertices())));
+    }
+
+    @Test
+    public void largerGraph() throws IOException
+    {
+        Random random = new Random(13);
+        Graph<Integer> g = GraphFactory.<Integer>createCompactGraph();
+        for (int i = 0; i < 20000; i++) { g.addEdge(random.nextInt(3000), random.nextInt(3000)); }
+
+        Graph<Integer> mapped = roundTrip(g, VertexCodec.INTEGERS);
+        assertEquals("Vertices", g.numVertices(), mapped.numVertices());
+        assertEquals("Edges", g.numEdges(), mapped.numEdges());
+        for (Integer v : g.getVertices()) {
+            assertEquals("Successors of " + v, toList(g.adjacentTo(v)), toList(mapped.adjacentTo(v)));
+        }
+        assertEquals("Distances", g.distancesFrom(0), mapped.distancesFrom(0));
+        assertEquals("Equal to itself reopened", mapped, roundTrip(mapped, VertexCodec.INTEGERS));
+    }
+
+    @Test
+    public void emptyGraph() throws IOException
+    {
+        Graph<String> mapped = roundTrip(GraphFactory.<String>createGraph(), VertexCodec.STRINGS);
+        assertTrue("Empty", mapped.isEmpty());
+        assertFalse("No vertices", mapped.contains("A"));
+    }
+
+    @Test
+    public void readOnly() throws IOException
+    {
+        Graph<String> mapped = roundTrip(GraphFactory.<String>createGraph(), VertexCodec.STRINGS);
+        try {
+            mapped.addVertex("A");
+            fail("addVertex on a mapped graph");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void notAGraphFile() throws IOException
+    {
+        File file = folder.newFile();
+        Files.write(file.toPath(), "A: B,\n".getBytes("UTF-8"));
+        MappedGraph.open(file.toPath(), VertexCodec.STRINGS);
+    }
+}
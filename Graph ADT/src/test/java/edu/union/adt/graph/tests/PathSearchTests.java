@@ -0,0 +1,145 @@
+package edu.union.adt.graph.tests;
+
+import java.util.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.*;
+
+@RunWith(JUnit4.class)
+public class PathSearchTests
+{
+    private List<Graph<Integer>> graphs;
+
+    @Before
+    public void setUp()
+    {
+        graphs = new ArrayList<>();
+        graphs.add(GraphFactory.<Integer>createGraph());
+        graphs.add(GraphFactory.<Integer>createGraph(GraphOption.REVERSE_INDEX));
+        graphs.add(GraphFactory.<Integer>createGraph(GraphOption.REVERSE_INDEX, GraphOption.HASHED_ADJACENCY));
+        graphs.add(GraphFactory.<Integer>createCompactGraph());
+        graphs.add(GraphFactory.<Integer>createConcurrentGraph());
+    }
+
+    @After
+    public void tearDown()
+    {
+        graphs = null;
+    }
+
+    @Test
+    public void longChain()
+    {
+        for (Graph<Integer> g : graphs) {
+            for (int i = 0; i < 100000; i++) { g.addEdge(i, i + 1); }
+
+            assertTrue("End of the chain reachable", g.hasPath(0, 100000));
+            assertFalse("Chain is one way", g.hasPath(100000, 0));
+        }
+    }
+
+    @Test
+    public void repeatedSearches()
+    {
+        for (Graph<Integer> g : graphs) {
+            g.addEdge(1, 2);
+            g.addEdge(2, 3);
+            g.addEdge(4, 3);
+
+            for (int i = 0; i < 3; i++) {
+                assertTrue("1 reaches 3", g.hasPath(1, 3));
+                assertFalse("1 does not reach 4", g.hasPath(1, 4));
+                assertFalse("3 does not reach 1", g.hasPath(3, 1));
+                assertTrue("4 reaches 3", g.hasPath(4, 3));
+            }
+
+            g.removeVertex(2);
+            g.addEdge(5, 1);
+            assertFalse("Path went through 2", g.hasPath(1, 3));
+            assertTrue("New vertex reaches 1", g.hasPath(5, 1));
+        }
+    }
+
+    @Test
+    public void randomGraphs()
+    {
+        Random random = new Random(260);
+        for (int round = 0; round < 20; round++) {
+            setUp();
+            for (int i = 0; i < 150; i++) {
+                int u = random.nextInt(100);
+                int v = random.nextInt(100);
+                for (Graph<Integer> g : graphs) { g.addEdge(u, v); }
+            }
+
+            Graph<Integer> reference = graphs.get(0);
+            for (int u = 0; u < 100; u += 3) {
+                for (int v = 0; v < 100; v += 7) {
+                    boolean expected = reference.pathLength(u, v) != Integer.MAX_VALUE
+                        && reference.contains(u) && reference.contains(v);
+                    for (Graph<Integer> g : graphs) {
+                        assertEquals("hasPath agrees with pathLength", expected, g.hasPath(u, v));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shortestPaths()
+    {
+        Random random = new Random(26);
+        for (int round = 0; round < 20; round++) {
+            setUp();
+            for (int i = 0; i < 250; i++) {
+                int u = random.nextInt(120);
+                int v = random.nextInt(120);
+                for (Graph<Integer> g : graphs) { g.addEdge(u, v); }
+            }
+
+            for (int u = 0; u < 120; u += 5) {
+                for (int v = 1; v < 120; v += 3) {
+                    int expected = graphs.get(0).pathLength(u, v);
+                    for (Graph<Integer> g : graphs) {
+                        assertEquals("All graphs agree on the length", expected, g.pathLength(u, v));
+
+                        List<Integer> path = new ArrayList<>();
+                        for (Integer x : g.getPath(u, v)) { path.add(x); }
+                        if (expected == Integer.MAX_VALUE || !g.contains(u)) {
+                            assertTrue("No path", path.isEmpty());
+                            continue;
+                        }
+                        assertEquals("Path has length + 1 vertices", expected + 1, path.size());
+                        assertEquals("Path starts at the source", Integer.valueOf(u), path.get(0));
+                        assertEquals("Path ends at the destination", Integer.valueOf(v), path.get(path.size() - 1));
+                        for (int i = 0; i + 1 < path.size(); i++) {
+                            assertTrue("Path follows edges", g.hasEdge(path.get(i), path.get(i + 1)));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void longChainPath()
+    {
+        for (Graph<Integer> g : graphs) {
+            for (int i = 0; i < 50000; i++) { g.addEdge(i, i + 1); }
+            g.addEdge(10, 40000);
+
+            assertEquals("Shortcut from 10 to 40000", 10 + 1 + 10000, g.pathLength(0, 50000));
+            int count = 0;
+            for (Integer x : g.getPath(0, 50000)) { count++; }
+            assertEquals("Path has every vertex on the shortcut route", 10 + 1 + 10000 + 1, count);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package edu.union.adt.graph.tests;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.function.Supplier;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static edu.union.adt.graph.tests.TestGraphs.factories;
+import static edu.union.adt.graph.tests.TestGraphs.random;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.*;
+
+@RunWith(JUnit4.class)
+public class ReachabilityIndexTests
+{
+    private void assertAgrees(Graph<Integer> g)
+    {
+        ReachabilityIndex<Integer> index = new ReachabilityIndex<>(g);
+        for (Integer from : g.getVertices()) {
+            for (Integer to : g.getVertices()) {
+                assertEquals("hasPath(" + from + ", " + to + ")", g.hasPath(from, to), index.hasPath(from, to));
+            }
+        }
+    }
+
+    @Test
+    public void agreesWithSearch()
+    {
+        for (long seed = 0; seed < 6; seed++) {
+            assertAgrees(random(GraphFactory.<Integer>createGraph(), seed, 150, 160, false));
+            assertAgrees(random(GraphFactory.<Integer>createGraph(), seed, 150, 400, true));
+            assertAgrees(random(GraphFactory.<Integer>createCompactGraph(), seed, 150, 300, false));
+        }
+    }
+
+    @Test
+    public void otherImplementations()
+    {
+        long seed = 7;
+        for (Supplier<Graph<Integer>> factory : factories()) {
+            assertAgrees(random(factory.get(), seed++, 120, 200, false));
+            assertAgrees(random(factory.get(), seed++, 120, 200, true).snapshot());
+        }
+    }
+
+    @Test
+    public void missingVertices()
+    {
+        Graph<String> g = GraphFactory.<String>createGraph();
+        g.addEdge("A", "B");
+        g.addVertex("C");
+        ReachabilityIndex<String> index = new ReachabilityIndex<>(g);
+        assertTrue("Self", index.hasPath("C", "C"));
+        assertFalse("Missing source", index.hasPath("D", "A"));
+        assertFalse("Missing destination", index.hasPath("A", "D"));
+        assertFalse("Missing both", index.hasPath("D", "D"));
+    }
+
+    @Test
+    public void builtFromSnapshot()
+    {
+        Graph<String> g = GraphFactory.<String>createGraph();
+        g.addEdge("A", "B");
+        ReachabilityIndex<String> index = new ReachabilityIndex<>(g);
+        g.addEdge("B", "C");
+        g.removeEdge("A", "B");
+        assertTrue("Old edge", index.hasPath("A", "B"));
+        assertFalse("New edge", index.hasPath("B", "C"));
+        assertEquals("Graph answered for", 1, index.getGraph().numEdges());
+    }
+
+    @Test
+    public void longChain()
+    {
+        Graph<Integer> g = GraphFactory.<Integer>createCompactGraph();
+        int n = 200000;
+        for (int i = 0; i + 1 < n; i++) { g.addEdge(i, i + 1); }
+        g.addEdge(n - 1, n / 2); // a big cycle in the second half
+
+        ReachabilityIndex<Integer> index = new ReachabilityIndex<>(g);
+        assertTrue("Start to end", index.hasPath(0, n - 1));
+        assertTrue("Around the cycle", index.hasPath(n - 1, n / 2 + 1));
+        assertFalse("Back before the cycle", index.hasPath(n / 2, n / 2 - 1));
+        assertFalse("End to start", index.hasPath(n - 1, 0));
+    }
+
+    /**
+     * Private helper that builds an index of a graph whose labels
+     * leave many queries to the search, asks it every query, and
+     * drops it.
+     */
+    private WeakReference<ReachabilityIndex<Integer>> queriedIndex()
+    {
+        Graph<Integer> g = random(GraphFactory.<Integer>createGraph(), 10, 400, 3000, true);
+        ReachabilityIndex<Integer> index = new ReachabilityIndex<>(g);
+        for (Integer from : g.getVertices()) {
+            for (Integer to : g.getVertices()) { index.hasPath(from, to); }
+        }
+        return new WeakReference<>(index);
+    }
+
+    @Test
+    public void collectedAfterSearching()
+    {
+        WeakReference<ReachabilityIndex<Integer>> index = queriedIndex();
+        for (int i = 0; i < 20 && index.get() != null; i++) { System.gc(); }
+        assertNull("Index still reachable", index.get());
+    }
+}
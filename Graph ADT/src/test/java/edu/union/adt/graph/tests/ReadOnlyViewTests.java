@@ -0,0 +1,164 @@
+package edu.union.adt.graph.tests;
+
+import java.util.*;
+import java.util.function.Supplier;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.*;
+
+@RunWith(JUnit4.class)
+public class ReadOnlyViewTests
+{
+    /**
+     * The graphs whose views fail fast when the graph changes.
+     */
+    private List<Supplier<Graph<Integer>>> failFast()
+    {
+        return Arrays.<Supplier<Graph<Integer>>>asList(
+            () -> GraphFactory.<Integer>createGraph(),
+            () -> GraphFactory.<Integer>createGraph(GraphOption.REVERSE_INDEX),
+            () -> GraphFactory.<Integer>createGraph(GraphOption.HASHED_ADJACENCY),
+            () -> GraphFactory.<Integer>createCompactGraph(),
+            () -> GraphFactory.<Integer>createWeightedGraph());
+    }
+
+    private Graph<Integer> build(Graph<Integer> g)
+    {
+        for (int v = 0; v < 10; v++) {
+            g.addEdge(v, (v + 1) % 10);
+            g.addEdge(v, (v + 3) % 10);
+            g.addEdge(v, (v + 7) % 10);
+        }
+        return g;
+    }
+
+    private void assertReadOnly(String name, Collection<Integer> view)
+    {
+        try {
+            view.add(42);
+            fail(name + ": add");
+        }
+        catch (UnsupportedOperationException e) { }
+        try {
+            view.clear();
+            fail(name + ": clear");
+        }
+        catch (UnsupportedOperationException e) { }
+        try {
+            Iterator<Integer> iterator = view.iterator();
+            iterator.next();
+            iterator.remove();
+            fail(name + ": iterator remove");
+        }
+        catch (UnsupportedOperationException e) { }
+    }
+
+    @Test
+    public void viewsAreReadOnly()
+    {
+        List<Supplier<Graph<Integer>>> factories = new ArrayList<>(failFast());
+        factories.add(() -> GraphFactory.<Integer>createConcurrentGraph());
+        for (Supplier<Graph<Integer>> factory : factories) {
+            Graph<Integer> g = build(factory.get());
+            String name = g.getClass().getSimpleName();
+            assertReadOnly(name + " getVertices", g.getVertices());
+            assertReadOnly(name + " adjacentTo", g.adjacentTo(0));
+            assertReadOnly(name + " adjacentFrom", g.adjacentFrom(0));
+            assertReadOnly(name + " snapshot", g.snapshot().getVertices());
+
+            assertEquals(name, 10, g.numVertices());
+            assertEquals(name, 30, g.numEdges());
+            assertTrue(name, g.contains(0));
+        }
+    }
+
+    @Test
+    public void sizesMatchDegrees()
+    {
+        for (Supplier<Graph<Integer>> factory : failFast()) {
+            Graph<Integer> g = build(factory.get());
+            g.removeEdge(4, 5);
+            g.removeVertex(9);
+            assertEquals(g.numVertices(), g.getVertices().size());
+            for (Integer v : g.getVertices()) {
+                assertEquals(g.degree(v), g.adjacentTo(v).size());
+                assertEquals(g.inDegree(v), g.adjacentFrom(v).size());
+            }
+            assertEquals(0, g.adjacentTo(99).size());
+        }
+    }
+
+    @Test
+    public void verticesFailFast()
+    {
+        for (Supplier<Graph<Integer>> factory : failFast()) {
+            Graph<Integer> g = build(factory.get());
+            Iterator<Integer> iterator = g.getVertices().iterator();
+            iterator.next();
+            g.addVertex(100);
+            try {
+                iterator.next();
+                fail(g.getClass().getSimpleName());
+            }
+            catch (ConcurrentModificationException e) { }
+        }
+    }
+
+    @Test
+    public void neighborsFailFast()
+    {
+        for (Supplier<Graph<Integer>> factory : failFast()) {
+            Graph<Integer> g = build(factory.get());
+            Iterator<Integer> iterator = g.adjacentTo(0).iterator();
+            iterator.next();
+            g.removeEdge(0, 3);
+            try {
+                iterator.next();
+                fail(g.getClass().getSimpleName());
+            }
+            catch (ConcurrentModificationException e) { }
+        }
+    }
+
+    @Test
+    public void concurrentGraphViewsAreSnapshots()
+    {
+        Graph<Integer> g = build(GraphFactory.<Integer>createConcurrentGraph());
+        Collection<Integer> neighbors = g.adjacentTo(0);
+        Iterator<Integer> iterator = neighbors.iterator();
+        iterator.next();
+        g.removeEdge(0, 3);
+        g.addEdge(0, 5);
+        assertEquals(Integer.valueOf(3), iterator.next());
+        assertEquals(Arrays.asList(1, 3, 7), new ArrayList<>(neighbors));
+    }
+
+    @Test
+    public void intGraphIteratorsFailFast()
+    {
+        IntGraph g = GraphFactory.createIntGraph();
+        g.addEdge(1, 2);
+        g.addEdge(1, 3);
+        PrimitiveIterator.OfInt vertices = g.getVertices();
+        PrimitiveIterator.OfInt neighbors = g.adjacentTo(1);
+        vertices.nextInt();
+        neighbors.nextInt();
+        g.addEdge(3, 1);
+        try {
+            vertices.nextInt();
+            fail("getVertices");
+        }
+        catch (ConcurrentModificationException e) { }
+        try {
+            neighbors.nextInt();
+            fail("adjacentTo");
+        }
+        catch (ConcurrentModificationException e) { }
+    }
+}
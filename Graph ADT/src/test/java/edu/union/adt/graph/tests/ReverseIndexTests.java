@@ -0,0 +1,110 @@
+package edu.union.adt.graph.tests;
+
+import java.util.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.*;
+
+@RunWith(JUnit4.class)
+public class ReverseIndexTests
+{
+    private List<Graph<String>> graphs;
+
+    @Before
+    public void setUp()
+    {
+        graphs = new ArrayList<>();
+        graphs.add(GraphFactory.<String>createGraph());
+        graphs.add(GraphFactory.<String>createGraph(GraphOption.REVERSE_INDEX));
+        graphs.add(GraphFactory.<String>createGraph(GraphOption.REVERSE_INDEX, GraphOption.HASHED_ADJACENCY));
+        graphs.add(GraphFactory.<String>createCompactGraph());
+    }
+
+    @After
+    public void tearDown()
+    {
+        graphs = null;
+    }
+
+    private <T> Set<T> toSet(Iterable<T> container)
+    {
+        Set<T> set = new HashSet<>();
+        for (T x : container) { set.add(x); }
+        return set;
+    }
+
+    @Test
+    public void inDegree()
+    {
+        for (Graph<String> g : graphs) {
+            g.addEdge("A", "C");
+            g.addEdge("B", "C");
+            g.addEdge("C", "C");
+            g.addEdge("C", "A");
+
+            assertEquals("Three edges into C", 3, g.inDegree("C"));
+            assertEquals("One edge into A", 1, g.inDegree("A"));
+            assertEquals("No edges into B", 0, g.inDegree("B"));
+
+            g.removeEdge("B", "C");
+            assertEquals("Removing an edge lowers the in-degree", 2, g.inDegree("C"));
+
+            try {
+                g.inDegree("Z");
+                fail("inDegree of a missing vertex throws");
+            }
+            catch (RuntimeException expected) {
+            }
+        }
+    }
+
+    @Test
+    public void adjacentFrom()
+    {
+        for (Graph<String> g : graphs) {
+            g.addEdge("A", "C");
+            g.addEdge("B", "C");
+            g.addEdge("C", "D");
+
+            assertEquals("A and B have edges to C",
+                         new HashSet<>(Arrays.asList("A", "B")), toSet(g.adjacentFrom("C")));
+            assertTrue("Nothing has an edge to A", toSet(g.adjacentFrom("A")).isEmpty());
+            assertTrue("Missing vertex has no predecessors", toSet(g.adjacentFrom("Z")).isEmpty());
+        }
+    }
+
+    @Test
+    public void removeVertex()
+    {
+        for (Graph<String> g : graphs) {
+            g.addEdge("A", "B");
+            g.addEdge("B", "A");
+            g.addEdge("B", "B");
+            g.addEdge("B", "C");
+            g.addEdge("C", "B");
+            g.addEdge("C", "D");
+
+            g.removeVertex("B");
+
+            assertEquals("Three vertices left", 3, g.numVertices());
+            assertEquals("Only C to D is left", 1, g.numEdges());
+            assertFalse("No edge from A to B", g.hasEdge("A", "B"));
+            assertEquals("Nothing has an edge to A any more", 0, g.inDegree("A"));
+            assertEquals("C still has an edge to D",
+                         Collections.singleton("C"), toSet(g.adjacentFrom("D")));
+
+            g.addEdge("D", "B");
+            assertEquals("A re-added vertex starts clean", 1, g.inDegree("B"));
+            assertEquals("A re-added vertex starts clean", 0, g.degree("B"));
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package edu.union.adt.graph.tests;
+
+import java.util.*;
+import java.util.function.Supplier;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static edu.union.adt.graph.tests.TestGraphs.factories;
+import static edu.union.adt.graph.tests.TestGraphs.random;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.*;
+
+@RunWith(JUnit4.class)
+public class ShortestPathTreeTests
+{
+    private void assertAgrees(Graph<Integer> g)
+    {
+        for (Integer source : g.getVertices()) {
+            ShortestPathTree<Integer> tree = g.shortestPathTree(source);
+            assertEquals(source, tree.getSource());
+            int reached = 0;
+            for (Integer to : g.getVertices()) {
+                int length = g.pathLength(source, to);
+                assertEquals(length, tree.pathLength(to));
+                assertEquals(g.hasPath(source, to), tree.hasPath(to));
+
+                List<Integer> path = tree.getPath(to);
+                if (length == Integer.MAX_VALUE) {
+                    assertTrue(path.isEmpty());
+                    continue;
+                }
+                reached++;
+                assertEquals(length + 1, path.size());
+                assertEquals(source, path.get(0));
+                assertEquals(to, path.get(path.size() - 1));
+                for (int i = 0; i + 1 < path.size(); i++) { assertTrue(g.hasEdge(path.get(i), path.get(i + 1))); }
+            }
+            assertEquals(reached, tree.numReached());
+        }
+    }
+
+    @Test
+    public void agreesWithPathLength()
+    {
+        for (long seed = 0; seed < 4; seed++) {
+            assertAgrees(random(GraphFactory.<Integer>createGraph(), seed, 60, 90));
+            assertAgrees(random(GraphFactory.<Integer>createGraph(GraphOption.REVERSE_INDEX), seed, 60, 150));
+        }
+    }
+
+    @Test
+    public void otherImplementations()
+    {
+        long seed = 5;
+        for (Supplier<Graph<Integer>> factory : factories()) {
+            assertAgrees(random(factory.get(), seed++, 60, 100));
+            assertAgrees(random(factory.get(), seed++, 60, 100).snapshot());
+        }
+    }
+
+    @Test
+    public void missingSource()
+    {
+        Graph<String> g = GraphFactory.createGraph();
+        g.addEdge("A", "B");
+        ShortestPathTree<String> tree = g.shortestPathTree("Z");
+        assertEquals(0, tree.numReached());
+        assertFalse(tree.hasPath("Z"));
+        assertEquals(Integer.MAX_VALUE, tree.pathLength("A"));
+        assertTrue(tree.getPath("B").isEmpty());
+    }
+
+    @Test
+    public void unaffectedByLaterChanges()
+    {
+        Graph<String> g = GraphFactory.createGraph();
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        ShortestPathTree<String> tree = g.shortestPathTree("A");
+        g.addEdge("A", "C");
+        g.removeVertex("B");
+
+        assertEquals(2, tree.pathLength("C"));
+        assertEquals(Arrays.asList("A", "B", "C"), tree.getPath("C"));
+        assertEquals(0, tree.pathLength("A"));
+    }
+
+    @Test
+    public void longChain()
+    {
+        Graph<Integer> g = GraphFactory.createCompactGraph();
+        for (int v = 0; v < 100000; v++) { g.addEdge(v, v + 1); }
+        ShortestPathTree<Integer> tree = g.shortestPathTree(0);
+        assertEquals(100000, tree.pathLength(100000));
+        assertEquals(100001, tree.getPath(100000).size());
+        assertEquals(Integer.MAX_VALUE, g.shortestPathTree(100000).pathLength(0));
+    }
+}
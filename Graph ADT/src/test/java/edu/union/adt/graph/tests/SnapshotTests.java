@@ -0,0 +1,138 @@
+package edu.union.adt.graph.tests;
+
+import java.util.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.*;
+
+@RunWith(JUnit4.class)
+public class SnapshotTests
+{
+    private List<Graph<Integer>> graphs;
+
+    @Before
+    public void setUp()
+    {
+        graphs = new ArrayList<>();
+        graphs.add(GraphFactory.<Integer>createGraph());
+        graphs.add(GraphFactory.<Integer>createGraph(GraphOption.REVERSE_INDEX));
+        graphs.add(GraphFactory.<Integer>createCompactGraph());
+        graphs.add(GraphFactory.<Integer>createConcurrentGraph());
+    }
+
+    @After
+    public void tearDown()
+    {
+        graphs = null;
+    }
+
+    private <T> List<T> toList(Iterable<T> container)
+    {
+        List<T> list = new ArrayList<>();
+        for (T x : container) { list.add(x); }
+        return list;
+    }
+
+    @Test
+    public void unaffectedByLaterChanges()
+    {
+        for (Graph<Integer> g : graphs) {
+            g.addEdge(1, 2);
+            g.addEdge(2, 3);
+            Graph<Integer> snapshot = g.snapshot();
+
+            g.addEdge(3, 4);
+            g.removeVertex(2);
+
+            assertEquals("Vertices", 3, snapshot.numVertices());
+            assertEquals("Edges", 2, snapshot.numEdges());
+            assertTrue("Kept vertex", snapshot.contains(2));
+            assertFalse("Later vertex", snapshot.contains(4));
+            assertEquals("Path", Arrays.asList(1, 2, 3), toList(snapshot.getPath(1, 3)));
+            assertEquals("Predecessors", Arrays.asList(2), toList(snapshot.adjacentFrom(3)));
+            assertFalse("Live graph changed", g.hasPath(1, 3));
+        }
+    }
+
+    @Test
+    public void readOnly()
+    {
+        for (Graph<Integer> g : graphs) {
+            g.addEdge(1, 2);
+            Graph<Integer> snapshot = g.snapshot();
+            try {
+                snapshot.addEdge(2, 1);
+                fail("addEdge on a snapshot");
+            } catch (UnsupportedOperationException e) {
+                // expected
+            }
+            assertSame("A snapshot of a snapshot is itself", snapshot, snapshot.snapshot());
+        }
+    }
+
+    @Test
+    public void reusedUntilChanged()
+    {
+        for (Graph<Integer> g : graphs) {
+            g.addEdge(1, 2);
+            Graph<Integer> first = g.snapshot();
+            if (!(g instanceof ConcurrentGraph)) {
+                assertSame("No changes, same snapshot", first, g.snapshot());
+            }
+
+            g.addEdge(2, 1);
+            Graph<Integer> second = g.snapshot();
+            assertNotSame("Changed graph, new snapshot", first, second);
+            assertFalse("Snapshots differ", first.equals(second));
+            assertEquals("Equal to a snapshot of an equal graph", second, g.snapshot());
+        }
+    }
+
+    @Test
+    public void matchesGraphAcrossChunks()
+    {
+        // Enough vertices for several chunks, then a few changes so
+        // that later snapshots reuse most of the earlier ones.
+        Random random = new Random(11);
+        for (Graph<Integer> g : graphs) {
+            for (int i = 0; i < 20000; i++) { g.addEdge(random.nextInt(5000), random.nextInt(5000)); }
+            assertMatches(g, g.snapshot());
+
+            for (int round = 0; round < 5; round++) {
+                for (int i = 0; i < 50; i++) {
+                    int a = random.nextInt(6000);
+                    int b = random.nextInt(6000);
+                    switch (random.nextInt(3)) {
+                    case 0: g.removeVertex(a); break;
+                    case 1: g.removeEdge(a, b); break;
+                    default: g.addEdge(a, b); break;
+                    }
+                }
+                assertMatches(g, g.snapshot());
+            }
+        }
+    }
+
+    private void assertMatches(Graph<Integer> g, Graph<Integer> snapshot)
+    {
+        assertEquals("Vertices", g.numVertices(), snapshot.numVertices());
+        assertEquals("Edges", g.numEdges(), snapshot.numEdges());
+        for (Integer v : g.getVertices()) {
+            assertTrue("Vertex " + v, snapshot.contains(v));
+            assertEquals("Successors of " + v, toList(g.adjacentTo(v)), toList(snapshot.adjacentTo(v)));
+        }
+        Integer source = g.getVertices().iterator().next();
+        assertEquals("Distances", g.distancesFrom(source), snapshot.distancesFrom(source));
+    }
+}
@@ -0,0 +1,140 @@
+package edu.union.adt.graph.tests;
+
+import java.util.*;
+import java.util.function.Supplier;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static edu.union.adt.graph.tests.TestGraphs.factories;
+import static edu.union.adt.graph.tests.TestGraphs.random;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.*;
+
+@RunWith(JUnit4.class)
+public class StronglyConnectedComponentsTests
+{
+    /**
+     * Checks the components and the condensation against hasPath.
+     */
+    private void assertAgrees(Graph<Integer> g)
+    {
+        StronglyConnectedComponents<Integer> scc = new StronglyConnectedComponents<>(g);
+
+        Set<Integer> seen = new HashSet<>();
+        for (int c = 0; c < scc.count(); c++) {
+            assertFalse(scc.members(c).isEmpty());
+            for (Integer v : scc.members(c)) {
+                assertTrue(seen.add(v));
+                assertEquals(c, scc.componentOf(v));
+            }
+        }
+        assertEquals(g.numVertices(), seen.size());
+
+        for (Integer a : g.getVertices()) {
+            for (Integer b : g.getVertices()) {
+                boolean mutual = g.hasPath(a, b) && g.hasPath(b, a);
+                assertEquals(a + ", " + b, mutual, scc.stronglyConnected(a, b));
+            }
+        }
+
+        Graph<Integer> dag = scc.condensation();
+        assertEquals(scc.count(), dag.numVertices());
+        Set<List<Integer>> expected = new HashSet<>();
+        for (Integer a : g.getVertices()) {
+            for (Integer b : g.adjacentTo(a)) {
+                int c = scc.componentOf(a);
+                int d = scc.componentOf(b);
+                if (c != d) { expected.add(Arrays.asList(c, d)); }
+            }
+        }
+        assertEquals(expected.size(), dag.numEdges());
+        for (List<Integer> edge : expected) {
+            assertTrue(dag.hasEdge(edge.get(0), edge.get(1)));
+            assertTrue("Reverse topological order", edge.get(0) > edge.get(1));
+        }
+        for (Integer a : g.getVertices()) {
+            for (Integer b : g.getVertices()) {
+                assertEquals(g.hasPath(a, b), dag.hasPath(scc.componentOf(a), scc.componentOf(b)));
+            }
+        }
+    }
+
+    @Test
+    public void agreesWithSearch()
+    {
+        for (long seed = 0; seed < 5; seed++) {
+            assertAgrees(random(GraphFactory.<Integer>createGraph(), seed, 80, 90));
+            assertAgrees(random(GraphFactory.<Integer>createGraph(), seed, 80, 200));
+            assertAgrees(random(GraphFactory.<Integer>createCompactGraph(), seed, 80, 120));
+        }
+    }
+
+    @Test
+    public void otherImplementations()
+    {
+        long seed = 7;
+        for (Supplier<Graph<Integer>> factory : factories()) {
+            assertAgrees(random(factory.get(), seed++, 60, 80));
+            assertAgrees(random(factory.get(), seed++, 60, 80).snapshot());
+        }
+    }
+
+    @Test
+    public void smallCases()
+    {
+        Graph<String> g = GraphFactory.createGraph();
+        StronglyConnectedComponents<String> scc = new StronglyConnectedComponents<>(g);
+        assertEquals(0, scc.count());
+        assertTrue(scc.condensation().isEmpty());
+
+        g.addEdge("A", "B");
+        g.addEdge("B", "A");
+        g.addEdge("B", "C");
+        g.addEdge("C", "C");
+        g.addVertex("D");
+        scc = new StronglyConnectedComponents<>(g);
+        assertEquals(3, scc.count());
+        assertTrue(scc.stronglyConnected("A", "B"));
+        assertTrue(scc.stronglyConnected("C", "C"));
+        assertFalse(scc.stronglyConnected("B", "C"));
+        assertFalse(scc.stronglyConnected("A", "Z"));
+        assertEquals(-1, scc.componentOf("Z"));
+        assertEquals(new HashSet<>(Arrays.asList("A", "B")), new HashSet<>(scc.members(scc.componentOf("A"))));
+        assertEquals(1, scc.condensation().numEdges());
+
+        g.addEdge("C", "A");
+        assertEquals(3, scc.count());
+        assertTrue(scc.getGraph().hasEdge("B", "C"));
+        assertFalse(scc.getGraph().hasEdge("C", "A"));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void membersOfMissingComponent()
+    {
+        Graph<String> g = GraphFactory.createGraph();
+        g.addVertex("A");
+        new StronglyConnectedComponents<>(g).members(1);
+    }
+
+    @Test
+    public void longPaths()
+    {
+        int n = 300000;
+        Graph<Integer> chain = GraphFactory.createCompactGraph();
+        for (int v = 0; v + 1 < n; v++) { chain.addEdge(v, v + 1); }
+        StronglyConnectedComponents<Integer> scc = new StronglyConnectedComponents<>(chain);
+        assertEquals(n, scc.count());
+        assertEquals(n - 1, scc.condensation().numEdges());
+        assertTrue(scc.componentOf(0) > scc.componentOf(n - 1));
+
+        chain.addEdge(n - 1, 0);
+        scc = new StronglyConnectedComponents<>(chain);
+        assertEquals(1, scc.count());
+        assertEquals(n, scc.members(0).size());
+        assertEquals(0, scc.condensation().numEdges());
+    }
+}
@@ -0,0 +1,71 @@
+package edu.union.adt.graph.tests;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+import edu.union.adt.graph.*;
+
+/**
+ * Graphs shared by the tests, so that every test that runs against
+ * all implementations covers the same ones.
+ */
+public final class TestGraphs
+{
+    private TestGraphs()
+    {
+    }
+
+    /**
+     * @return a factory for every Graph implementation that can be
+     * built edge by edge, GraphImpl once per option.  The first is a
+     * plain GraphImpl.  FrozenGraph and MappedGraph are made from
+     * these, with snapshot and MappedGraph.write.
+     */
+    public static List<Supplier<Graph<Integer>>> factories()
+    {
+        return Arrays.<Supplier<Graph<Integer>>>asList(
+            () -> GraphFactory.<Integer>createGraph(),
+            () -> GraphFactory.<Integer>createGraph(GraphOption.REVERSE_INDEX),
+            () -> GraphFactory.<Integer>createGraph(GraphOption.HASHED_ADJACENCY),
+            () -> GraphFactory.<Integer>createCompactGraph(),
+            () -> GraphFactory.<Integer>createConcurrentGraph(),
+            () -> GraphFactory.<Integer>createWeightedGraph(),
+            () -> GraphFactory.createCachingGraph(GraphFactory.<Integer>createGraph(), 16));
+    }
+
+    /**
+     * Fills a graph with vertices 0 to vertices - 1 and random edges
+     * between them.
+     *
+     * @param g the graph to fill
+     * @param seed the seed of the edges
+     * @param vertices the number of vertices
+     * @param edges the number of edges to try; duplicates are added
+     * once
+     * @return g
+     */
+    public static Graph<Integer> random(Graph<Integer> g, long seed, int vertices, int edges)
+    {
+        return random(g, seed, vertices, edges, false);
+    }
+
+    /**
+     * Fills a graph as random(g, seed, vertices, edges) does, keeping
+     * only the edges from higher to lower vertices if asked, so the
+     * graph has no cycles.
+     *
+     * @return g
+     */
+    public static Graph<Integer> random(Graph<Integer> g, long seed, int vertices, int edges, boolean acyclic)
+    {
+        Random random = new Random(seed);
+        for (int v = 0; v < vertices; v++) { g.addVertex(v); }
+        for (int i = 0; i < edges; i++) {
+            int from = random.nextInt(vertices);
+            int to = random.nextInt(vertices);
+            if (acyclic && from <= to) { continue; }
+            g.addEdge(from, to);
+        }
+        return g;
+    }
+}
@@ -0,0 +1,216 @@
+package edu.union.adt.graph.tests;
+
+import java.util.*;
+import java.util.function.ToDoubleBiFunction;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.*;
+
+@RunWith(JUnit4.class)
+public class WeightedGraphTests
+{
+    private static final double EPSILON = 1e-9;
+
+    /**
+     * Floyd-Warshall over vertices 0 .. n-1.
+     */
+    private double[][] allCosts(WeightedGraph<Integer> g, int n)
+    {
+        double[][] cost = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) { cost[i][j] = i == j ? 0.0 : g.weight(i, j); }
+        }
+        for (int k = 0; k < n; k++) {
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) { cost[i][j] = Math.min(cost[i][j], cost[i][k] + cost[k][j]); }
+            }
+        }
+        return cost;
+    }
+
+    private WeightedGraph<Integer> random(long seed, int vertices, int edges)
+    {
+        Random random = new Random(seed);
+        WeightedGraph<Integer> g = GraphFactory.createWeightedGraph();
+        for (int v = 0; v < vertices; v++) { g.addVertex(v); }
+        for (int i = 0; i < edges; i++) {
+            g.addEdge(random.nextInt(vertices), random.nextInt(vertices), random.nextInt(20) / 2.0);
+        }
+        return g;
+    }
+
+    private double costOf(WeightedGraph<Integer> g, Iterable<Integer> path)
+    {
+        double cost = 0.0;
+        Integer previous = null;
+        for (Integer vertex : path) {
+            if (previous != null) {
+                assertTrue(g.hasEdge(previous, vertex));
+                cost += g.weight(previous, vertex);
+            }
+            previous = vertex;
+        }
+        return cost;
+    }
+
+    @Test
+    public void weights()
+    {
+        WeightedGraph<String> g = GraphFactory.createWeightedGraph();
+        g.addEdge("A", "B", 2.5);
+        g.addEdge("A", "C");
+        assertEquals(2.5, g.weight("A", "B"), EPSILON);
+        assertEquals(WeightedGraph.DEFAULT_WEIGHT, g.weight("A", "C"), EPSILON);
+        assertEquals(Double.POSITIVE_INFINITY, g.weight("B", "A"), EPSILON);
+        assertEquals(Double.POSITIVE_INFINITY, g.weight("A", "Z"), EPSILON);
+
+        g.addEdge("A", "B", 4.0);
+        g.addEdge("A", "C");
+        assertEquals(4.0, g.weight("A", "B"), EPSILON);
+        assertEquals(WeightedGraph.DEFAULT_WEIGHT, g.weight("A", "C"), EPSILON);
+        assertEquals(2, g.numEdges());
+        assertTrue(g.toString().contains("A: B, C,\n"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNegativeWeight()
+    {
+        GraphFactory.<String>createWeightedGraph().addEdge("A", "B", -1.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNaNWeight()
+    {
+        GraphFactory.<String>createWeightedGraph().addEdge("A", "B", Double.NaN);
+    }
+
+    @Test
+    public void cheapestIsNotShortest()
+    {
+        WeightedGraph<String> g = GraphFactory.createWeightedGraph();
+        g.addEdge("A", "D", 10.0);
+        g.addEdge("A", "B", 1.0);
+        g.addEdge("B", "C", 1.0);
+        g.addEdge("C", "D", 1.0);
+
+        assertEquals(1, g.pathLength("A", "D"));
+        assertEquals(Arrays.asList("A", "D"), g.getPath("A", "D"));
+        assertEquals(3.0, g.pathCost("A", "D"), EPSILON);
+        assertEquals(Arrays.asList("A", "B", "C", "D"), g.getCheapestPath("A", "D"));
+        assertEquals(0.0, g.pathCost("A", "A"), EPSILON);
+        assertEquals(Arrays.asList("A"), g.getCheapestPath("A", "A"));
+        assertEquals(Double.POSITIVE_INFINITY, g.pathCost("D", "A"), EPSILON);
+        assertFalse(g.getCheapestPath("D", "A").iterator().hasNext());
+        assertFalse(g.getCheapestPath("A", "Z").iterator().hasNext());
+    }
+
+    @Test
+    public void dijkstraAgreesWithFloydWarshall()
+    {
+        for (long seed = 0; seed < 5; seed++) {
+            WeightedGraph<Integer> g = random(seed, 40, 150);
+            double[][] expected = allCosts(g, 40);
+            for (int from = 0; from < 40; from++) {
+                for (int to = 0; to < 40; to++) {
+                    assertEquals(expected[from][to], g.pathCost(from, to), EPSILON);
+                    Iterable<Integer> path = g.getCheapestPath(from, to);
+                    if (expected[from][to] == Double.POSITIVE_INFINITY) { assertFalse(path.iterator().hasNext()); }
+                    else { assertEquals(expected[from][to], costOf(g, path), EPSILON); }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void aStarAgreesWithDijkstra()
+    {
+        // A grid whose edges cost at least 1 per step, so the
+        // Manhattan distance never overestimates.
+        final int side = 20;
+        Random random = new Random(11);
+        WeightedGraph<Integer> g = GraphFactory.createWeightedGraph();
+        for (int row = 0; row < side; row++) {
+            for (int column = 0; column < side; column++) {
+                int v = row * side + column;
+                if (column + 1 < side) {
+                    g.addEdge(v, v + 1, 1 + random.nextInt(5));
+                    g.addEdge(v + 1, v, 1 + random.nextInt(5));
+                }
+                if (row + 1 < side) {
+                    g.addEdge(v, v + side, 1 + random.nextInt(5));
+                    g.addEdge(v + side, v, 1 + random.nextInt(5));
+                }
+            }
+        }
+        ToDoubleBiFunction<Integer, Integer> manhattan =
+            (a, b) -> Math.abs(a / side - b / side) + Math.abs(a % side - b % side);
+
+        for (int i = 0; i < 100; i++) {
+            int from = random.nextInt(side * side);
+            int to = random.nextInt(side * side);
+            double cost = g.pathCost(from, to);
+            assertEquals(cost, g.pathCost(from, to, manhattan), EPSILON);
+            assertEquals(cost, costOf(g, g.getCheapestPath(from, to, manhattan)), EPSILON);
+            assertEquals(cost, g.pathCost(from, to, (a, b) -> 0.0), EPSILON);
+        }
+    }
+
+    @Test
+    public void changes()
+    {
+        WeightedGraph<Integer> g = random(3, 30, 100);
+        Graph<Integer> plain = GraphFactory.createGraph();
+        for (Integer v : g.getVertices()) {
+            plain.addVertex(v);
+            for (Integer w : g.adjacentTo(v)) { plain.addEdge(v, w); }
+        }
+        Random random = new Random(4);
+        for (int i = 0; i < 60; i++) {
+            int from = random.nextInt(30);
+            int to = random.nextInt(30);
+            if (i % 3 == 0) {
+                g.removeVertex(from);
+                plain.removeVertex(from);
+            }
+            else {
+                g.removeEdge(from, to);
+                plain.removeEdge(from, to);
+            }
+            assertTrue(g.equalsIgnoringOrder(plain));
+            assertEquals(plain.hashCode(), g.hashCode());
+        }
+
+        double[][] expected = allCosts(g, 30);
+        for (Integer from : g.getVertices()) {
+            for (Integer to : g.getVertices()) {
+                assertEquals(plain.pathLength(from, to), g.pathLength(from, to));
+                assertEquals(plain.hasPath(from, to), g.hasPath(from, to));
+                assertEquals(expected[from][to], g.pathCost(from, to), EPSILON);
+            }
+            assertEquals(plain.inDegree(from), g.inDegree(from));
+            assertEquals(plain.distancesFrom(from), g.distancesFrom(from));
+        }
+        assertTrue(g.snapshot().equalsIgnoringOrder(plain));
+    }
+
+    @Test
+    public void equalsComparesWeights()
+    {
+        WeightedGraph<String> first = GraphFactory.createWeightedGraph();
+        WeightedGraph<String> second = GraphFactory.createWeightedGraph();
+        first.addEdge("A", "B", 1.5);
+        second.addEdge("A", "B", 1.5);
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+
+        second.addEdge("A", "B", 2.0);
+        assertFalse(first.equals(second));
+        assertTrue(first.equalsIgnoringOrder(second));
+    }
+}
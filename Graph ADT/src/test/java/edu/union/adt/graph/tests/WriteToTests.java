@@ -0,0 +1,78 @@
+package edu.union.adt.graph.tests;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.*;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.*;
+
+@RunWith(JUnit4.class)
+public class WriteToTests
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private List<Graph<Integer>> graphs() throws IOException
+    {
+        List<Graph<Integer>> graphs = new ArrayList<>();
+        graphs.add(GraphFactory.<Integer>createGraph());
+        graphs.add(GraphFactory.<Integer>createCompactGraph());
+        graphs.add(GraphFactory.<Integer>createConcurrentGraph());
+        Random random = new Random(15);
+        for (Graph<Integer> g : graphs) {
+            random.setSeed(15);
+            for (int i = 0; i < 500; i++) { g.addEdge(random.nextInt(100), random.nextInt(100)); }
+        }
+        graphs.add(graphs.get(0).snapshot());
+        Path path = folder.newFile().toPath();
+        MappedGraph.write(graphs.get(0), path, VertexCodec.INTEGERS);
+        graphs.add(MappedGraph.open(path, VertexCodec.INTEGERS));
+        return graphs;
+    }
+
+    @Test
+    public void writeToMatchesToString() throws IOException
+    {
+        for (Graph<Integer> g : graphs()) {
+            StringWriter out = new StringWriter();
+            g.writeTo(out);
+            assertEquals("writeTo of " + g.getClass().getSimpleName(), g.toString(), out.toString());
+        }
+    }
+
+    @Test
+    public void capped() throws IOException
+    {
+        for (Graph<Integer> g : graphs()) {
+            String full = g.toString();
+            assertEquals("Cut off", full.substring(0, 40) + "...", g.toString(40));
+            assertEquals("Nothing shown", "...", g.toString(0));
+            assertEquals("Exact length", full, g.toString(full.length()));
+            assertEquals("Longer than needed", full, g.toString(Integer.MAX_VALUE));
+        }
+    }
+
+    @Test
+    public void format()
+    {
+        Graph<String> g = GraphFactory.<String>createGraph();
+        g.addEdge("A", "B");
+        g.addVertex("C");
+        assertEquals("Format", "A: B,\nB:\nC:\n", g.toString());
+        assertEquals("Cut mid-line", "A: ...", g.toString(3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeLength()
+    {
+        GraphFactory.<String>createGraph().toString(-1);
+    }
+}
@@ -105,6 +105,28 @@ public class NewGraphTests
 
     }
 
+    @Test
+    public void testNumEdgesAfterRemoveVertex()
+    {
+        g.addEdge("A", "B");
+        g.addEdge("B", "A");
+        g.addEdge("B", "B");
+        g.addEdge("B", "C");
+        g.addEdge("C", "B");
+        g.addEdge("C", "D");
+
+        g.removeVertex("B");
+
+        assertEquals("Only the edge from C to D is left", 1, g.numEdges());
+
+        g.removeVertex("C");
+        g.removeVertex("D");
+        g.removeVertex("A");
+
+        assertEquals("No edges left", 0, g.numEdges());
+        assertTrue("Graph is empty again", g.isEmpty());
+    }
+
     @Test 
     public void testRemoveEdgeInvalidEdge()
     {